@@ -0,0 +1,123 @@
+#!/bin/bash
+
+# radioawa - Startup Benchmark
+# Time from JVM launch to the first successful API response, per startup mode:
+#   default    java -jar, schema diff at boot (ddl-auto from the active profile)
+#   faststart  + faststart profile (no schema diff, no JDBC metadata at boot)
+#   aot        + Spring AOT bean definitions (-Dspring.aot.enabled=true)
+#   aot-cds    + AppCDS archive from the build's training run
+#
+# Build first:  cd backend && mvn -Pfaststart package -DskipTests
+# Then:         benchmarks/startup.sh [runs]
+# Needs the database of the active profile (local PostgreSQL by default) with the schema
+# already applied. Environment: PROFILES (default: none), PORT (8081), MODES, JAVA_OPTS.
+
+set -u
+
+cd "$(dirname "$0")/.." || exit 1
+
+RUNS=${1:-5}
+PORT=${PORT:-8081}
+PROFILES=${PROFILES:-}
+MODES=${MODES:-"default faststart aot aot-cds"}
+JAVA_OPTS=${JAVA_OPTS:-}
+URL="http://localhost:${PORT}/api/stations"
+TIMEOUT_SECONDS=120
+
+FASTSTART_DIR=target/faststart
+JAR=$(ls target/radioawa-backend-*.jar 2>/dev/null | grep -v '\.original$' | head -n 1)
+# The archive only matches the classpath it was trained with, so AOT modes run from the extracted directory
+EXTRACTED_JAR=$(cd "$FASTSTART_DIR" 2>/dev/null && ls radioawa-backend-*.jar 2>/dev/null | head -n 1)
+
+if [ -z "$JAR" ] || [ -z "$EXTRACTED_JAR" ] || [ ! -f "${FASTSTART_DIR}/application.jsa" ]; then
+    echo "Missing build output; run: mvn -Pfaststart package -DskipTests"
+    exit 1
+fi
+
+if curl -s -o /dev/null "$URL"; then
+    echo "Something is already listening on port ${PORT}; stop it first"
+    exit 1
+fi
+
+profiles_with() {
+    if [ -z "$PROFILES" ]; then echo "$1"; else echo "${PROFILES},$1"; fi
+}
+
+command_for() {
+    case "$1" in
+        default)
+            echo "java ${JAVA_OPTS} -jar ${JAR} --server.port=${PORT} ${PROFILES:+--spring.profiles.active=${PROFILES}}"
+            ;;
+        faststart)
+            echo "java ${JAVA_OPTS} -jar ${JAR} --server.port=${PORT} --spring.profiles.active=$(profiles_with faststart)"
+            ;;
+        aot)
+            echo "java ${JAVA_OPTS} -Dspring.aot.enabled=true -jar ${EXTRACTED_JAR} --server.port=${PORT} --spring.profiles.active=$(profiles_with faststart)"
+            ;;
+        aot-cds)
+            echo "java ${JAVA_OPTS} -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true -jar ${EXTRACTED_JAR} --server.port=${PORT} --spring.profiles.active=$(profiles_with faststart)"
+            ;;
+        *)
+            echo ""
+            ;;
+    esac
+}
+
+now_millis() {
+    echo $(( $(date +%s%N) / 1000000 ))
+}
+
+workdir_for() {
+    case "$1" in
+        aot|aot-cds) echo "$FASTSTART_DIR" ;;
+        *) echo "." ;;
+    esac
+}
+
+# Prints milliseconds to the first 200 from $URL, or "failed"
+measure() {
+    local command=$1
+    local workdir=$2
+    local log=$PWD/target/startup-benchmark.log
+    local start
+    start=$(now_millis)
+    (cd "$workdir" && exec $command) > "$log" 2>&1 &
+    local pid=$!
+    local elapsed=failed
+    while kill -0 "$pid" 2>/dev/null; do
+        if curl -s -f -o /dev/null "$URL"; then
+            elapsed=$(( $(now_millis) - start ))
+            break
+        fi
+        if [ $(( $(now_millis) - start )) -gt $(( TIMEOUT_SECONDS * 1000 )) ]; then
+            break
+        fi
+        sleep 0.02
+    done
+    kill "$pid" 2>/dev/null
+    wait "$pid" 2>/dev/null
+    echo "$elapsed"
+}
+
+echo "Startup benchmark: ${RUNS} runs per mode, first request to ${URL}"
+echo ""
+printf "%-10s %10s %10s %10s\n" "mode" "min ms" "median ms" "max ms"
+
+for mode in $MODES; do
+    command=$(command_for "$mode")
+    if [ -z "$command" ]; then
+        echo "Unknown mode: $mode"
+        continue
+    fi
+    times=()
+    for ((run = 1; run <= RUNS; run++)); do
+        result=$(measure "$command" "$(workdir_for "$mode")")
+        if [ "$result" = "failed" ]; then
+            echo "$mode: run $run did not answer within ${TIMEOUT_SECONDS}s (see target/startup-benchmark.log)"
+            continue 2
+        fi
+        times+=("$result")
+    done
+    sorted=($(printf "%s\n" "${times[@]}" | sort -n))
+    printf "%-10s %10s %10s %10s\n" "$mode" "${sorted[0]}" "${sorted[$(( RUNS / 2 ))]}" "${sorted[$(( RUNS - 1 ))]}"
+done
@@ -0,0 +1,40 @@
+package com.radioawa.benchmark;
+
+import com.radioawa.service.AlbumArtService;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AlbumArtService cache-hit benchmark
+ * Every metadata poll resolves artwork, so the hit path is what runs under load.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AlbumArtServiceBenchmark {
+
+    private HttpServer itunes;
+    private AlbumArtService albumArtService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        itunes = BenchmarkSupport.startStubItunes();
+        albumArtService = BenchmarkSupport.albumArtService(itunes);
+        albumArtService.fetchAlbumArt("Arijit Singh", "Tum Hi Ho");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        itunes.stop(0);
+    }
+
+    @Benchmark
+    public String fetchAlbumArt_cacheHit() {
+        return albumArtService.fetchAlbumArt("Arijit Singh", "Tum Hi Ho");
+    }
+}
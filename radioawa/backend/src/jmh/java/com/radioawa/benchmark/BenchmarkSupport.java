@@ -0,0 +1,113 @@
+package com.radioawa.benchmark;
+
+import com.radioawa.RadioawaApplication;
+import com.radioawa.cache.CacheInvalidationBus;
+import com.radioawa.entity.Station;
+import com.radioawa.repository.StationRepository;
+import com.radioawa.service.AlbumArtService;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.Tracer;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Shared setup for the JMH benchmarks
+ * Boots the application against an embedded H2 database and serves a canned
+ * iTunes search response locally so no benchmark touches the network.
+ */
+final class BenchmarkSupport {
+
+    static final String ITUNES_RESPONSE =
+            "{\"resultCount\":1,\"results\":[{\"artworkUrl100\":\"https://is1-ssl.mzstatic.com/image/100x100bb.jpg\"}]}";
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * Start the application without a web server, backed by an in-memory H2 database
+     */
+    static ConfigurableApplicationContext startApplication(String itunesUrl) {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        return new SpringApplicationBuilder(RadioawaApplication.class)
+                .run(
+                        "--spring.main.web-application-type=none",
+                        "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driverClassName=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.radioawa=WARN",
+                        // Benchmarks vote from fresh users and addresses on purpose: keep counting them
+                        "--app.fraud.action=flag",
+                        "--app.album-art.itunes-url=" + itunesUrl
+                );
+    }
+
+    static Station seedStation(ConfigurableApplicationContext context, String code) {
+        StationRepository stationRepository = context.getBean(StationRepository.class);
+        return stationRepository.findByCode(code).orElseGet(() -> stationRepository.save(createStation(code, 1)));
+    }
+
+    static Station createStation(String code, int displayOrder) {
+        Station station = new Station();
+        station.setCode(code);
+        station.setName("RadioAwa " + code);
+        station.setStreamUrl("https://d3d4yli4hf5bmh.cloudfront.net/hls/live.m3u8");
+        station.setMetadataUrl("/api/metadata/" + code.toLowerCase());
+        station.setIsActive(true);
+        station.setDisplayOrder(displayOrder);
+        station.setStreamFormat("HLS (HTTP Live Streaming)");
+        station.setStreamQuality("24-bit / 48 kHz Lossless");
+        station.setStreamCodec("AAC");
+        station.setStreamBitrate("2304 kbps");
+        station.setGenre("Eclectic Mix");
+        station.setTagline("Crystal-clear lossless audio streaming with live metadata");
+        station.setLogoUrl("https://placehold.co/120x120/FF6B35/FFF?text=ENG");
+        station.setDescription("RadioAwa delivers premium quality audio streaming with 24-bit/48kHz lossless sound.");
+        station.setSourceInfo("Streamed via Amazon CloudFront CDN");
+        return station;
+    }
+
+    /**
+     * Local stand-in for the iTunes Search API
+     */
+    static HttpServer startStubItunes() throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        byte[] body = ITUNES_RESPONSE.getBytes(StandardCharsets.UTF_8);
+        server.createContext("/search", exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        return server;
+    }
+
+    static AlbumArtService albumArtService(HttpServer itunes) {
+        return new AlbumArtService(new RestTemplateBuilder(), new SimpleMeterRegistry(), localInvalidationBus(), itunesUrl(itunes), Tracer.NOOP);
+    }
+
+    /**
+     * Invalidation bus that only evicts in-process (no PostgreSQL LISTEN/NOTIFY)
+     */
+    static CacheInvalidationBus localInvalidationBus() {
+        return new CacheInvalidationBus(null, new SimpleMeterRegistry(), false, "radioawa_cache",
+                "jdbc:h2:mem:benchmark", "", "", 10000, 1000);
+    }
+
+    static String itunesUrl(HttpServer server) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/search";
+    }
+}
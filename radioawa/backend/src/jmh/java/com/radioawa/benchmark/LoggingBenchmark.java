@@ -0,0 +1,132 @@
+package com.radioawa.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.encoder.Encoder;
+import com.radioawa.util.LogRateLimiter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.logging.logback.StructuredLogEncoder;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request logging cost benchmark
+ * Replays the statements one English metadata poll used to log ("before": two INFO lines,
+ * plus an ERROR line on every request while the upstream is down) against what it logs now
+ * ("after": the same lines at DEBUG, errors through a LogRateLimiter), for a synchronous and
+ * an asynchronous appender with the pattern and the JSON encoder.
+ *
+ * Output goes to the null device, so the write syscall is included but no terminal. The
+ * async numbers are the cost seen by the request thread; with neverBlock the appender drops
+ * events the worker cannot keep up with, exactly as configured in logback-spring.xml.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoggingBenchmark {
+
+    @Param({"sync", "async"})
+    public String appender;
+
+    @Param({"pattern", "json"})
+    public String encoder;
+
+    private LoggerContext context;
+    private Logger logger;
+    private LogRateLimiter errorLogLimiter;
+    private IllegalStateException upstreamError;
+
+    @Setup(org.openjdk.jmh.annotations.Level.Trial)
+    public void setUp() throws IOException {
+        context = new LoggerContext();
+        context.putObject(Environment.class.getName(), new StandardEnvironment());
+
+        OutputStreamAppender<ILoggingEvent> output = new OutputStreamAppender<>();
+        output.setContext(context);
+        output.setEncoder(encoder(encoder));
+        output.setOutputStream(new FileOutputStream(nullDevice()));
+        output.start();
+
+        Appender<ILoggingEvent> root = output;
+        if ("async".equals(appender)) {
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setQueueSize(8192);
+            async.setNeverBlock(true);
+            async.setIncludeCallerData(false);
+            async.addAppender(output);
+            async.start();
+            root = async;
+        }
+
+        logger = context.getLogger("com.radioawa.controller.MetadataProxyController");
+        logger.setLevel(Level.INFO);
+        logger.setAdditive(false);
+        logger.addAppender(root);
+
+        errorLogLimiter = LogRateLimiter.perInterval(5, 10_000);
+        upstreamError = new IllegalStateException("I/O error on GET request for \"https://d3d4yli4hf5bmh.cloudfront.net/metadatav2.json\"");
+    }
+
+    @TearDown(org.openjdk.jmh.annotations.Level.Trial)
+    public void tearDown() {
+        context.stop();
+    }
+
+    @Benchmark
+    public void requestLogging_before() {
+        logger.info("Fetching English station metadata from CloudFront");
+        logger.info("English metadata enriched with album art for: {} - {}", "Coldplay", "Yellow");
+    }
+
+    @Benchmark
+    public void requestLogging_after() {
+        logger.debug("Fetching English station metadata from CloudFront");
+        logger.debug("English metadata enriched with album art for: {} - {}", "Coldplay", "Yellow");
+    }
+
+    @Benchmark
+    public void upstreamFailure_before() {
+        logger.error("Error fetching English station metadata: {}", upstreamError.getMessage());
+    }
+
+    @Benchmark
+    public void upstreamFailure_after() {
+        long suppressed = errorLogLimiter.tryAcquire();
+        if (suppressed >= 0) {
+            logger.error("Error fetching English station metadata: {} ({} similar suppressed)", upstreamError.getMessage(), suppressed);
+        }
+    }
+
+    private Encoder<ILoggingEvent> encoder(String type) {
+        if ("json".equals(type)) {
+            StructuredLogEncoder json = new StructuredLogEncoder();
+            json.setContext(context);
+            json.setFormat("logstash");
+            json.start();
+            return json;
+        }
+        PatternLayoutEncoder pattern = new PatternLayoutEncoder();
+        pattern.setContext(context);
+        pattern.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p --- [%15.15t] %-40.40logger{39} : %m%n");
+        pattern.start();
+        return pattern;
+    }
+
+    private static String nullDevice() {
+        return System.getProperty("os.name").startsWith("Windows") ? "NUL" : "/dev/null";
+    }
+}
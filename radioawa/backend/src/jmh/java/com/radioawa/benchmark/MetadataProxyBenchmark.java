@@ -0,0 +1,56 @@
+package com.radioawa.benchmark;
+
+import com.radioawa.controller.MetadataProxyController;
+import com.radioawa.service.IcyMetadataService;
+import com.radioawa.service.StationMetadataService;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.Tracer;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hindi metadata benchmark
+ * Artwork for the whole playlist is cached during setup, so this measures
+ * snapshot assembly (rotation check, maps, timestamp formatting) on the hot path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetadataProxyBenchmark {
+
+    private HttpServer itunes;
+    private MetadataProxyController metadataProxyController;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        itunes = BenchmarkSupport.startStubItunes();
+        metadataProxyController = new MetadataProxyController(new StationMetadataService(
+                BenchmarkSupport.albumArtService(itunes),
+                new IcyMetadataService(new SimpleMeterRegistry(), "", 5000, 30000, 2000, 60000),
+                new RestTemplateBuilder(), "http://127.0.0.1:1/metadatav2.json", 5000, 3000, Tracer.NOOP));
+
+        // Walk the full playlist once so every song's artwork is cached
+        int playlistSize = (Integer) metadataProxyController.getPlaylist().getBody().get("totalSongs");
+        for (int i = 0; i < playlistSize; i++) {
+            metadataProxyController.nextSong();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        itunes.stop(0);
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, Object>> getHindiMetadata() {
+        return metadataProxyController.getHindiMetadata();
+    }
+}
@@ -0,0 +1,81 @@
+package com.radioawa.benchmark;
+
+import com.radioawa.dto.RatingCountsResponse;
+import com.radioawa.dto.RatingRequest;
+import com.radioawa.dto.RatingResponse;
+import com.radioawa.entity.RatingType;
+import com.radioawa.service.RatingService;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * RatingService benchmarks against an embedded H2 database
+ * Covers the full vote path (station lookup, rate-limit query, song upsert, rating insert)
+ * and the counts lookup polled by every listener.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RatingServiceBenchmark {
+
+    private static final int SONGS = 100;
+
+    private HttpServer itunes;
+    private ConfigurableApplicationContext context;
+    private RatingService ratingService;
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        itunes = BenchmarkSupport.startStubItunes();
+        context = BenchmarkSupport.startApplication(BenchmarkSupport.itunesUrl(itunes));
+        ratingService = context.getBean(RatingService.class);
+        BenchmarkSupport.seedStation(context, "ENGLISH");
+
+        for (int i = 0; i < SONGS; i++) {
+            ratingService.submitRating(request(i, "seed-user", "192.168.0." + (i % 250)));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        itunes.stop(0);
+    }
+
+    @Benchmark
+    public RatingResponse submitRating() {
+        long n = sequence.incrementAndGet();
+        // Unique user and IP per vote so neither the idempotency check nor the rate limit short-circuits
+        String ipAddress = "10." + ((n >> 16) & 0xFF) + "." + ((n >> 8) & 0xFF) + "." + (n & 0xFF);
+        return ratingService.submitRating(request((int) (n % SONGS), "user-" + n, ipAddress));
+    }
+
+    @Benchmark
+    public RatingCountsResponse getRatingCounts() {
+        return ratingService.getRatingCounts("ENGLISH", "Artist 7", "Title 7", "seed-user");
+    }
+
+    @Benchmark
+    public RatingCountsResponse getRatingCounts_anonymous() {
+        return ratingService.getRatingCounts("ENGLISH", "Artist 7", "Title 7", null);
+    }
+
+    private static RatingRequest request(int song, String userId, String ipAddress) {
+        RatingRequest request = new RatingRequest();
+        request.setStationCode("ENGLISH");
+        request.setArtist("Artist " + song);
+        request.setTitle("Title " + song);
+        request.setUserId(userId);
+        request.setIpAddress(ipAddress);
+        request.setRatingType(song % 3 == 0 ? RatingType.THUMBS_DOWN : RatingType.THUMBS_UP);
+        return request;
+    }
+}
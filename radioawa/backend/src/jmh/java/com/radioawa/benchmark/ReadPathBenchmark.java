@@ -0,0 +1,108 @@
+package com.radioawa.benchmark;
+
+import com.radioawa.dto.SongCounts;
+import com.radioawa.dto.StationResponse;
+import com.radioawa.entity.Song;
+import com.radioawa.entity.Station;
+import com.radioawa.repository.SongRepository;
+import com.radioawa.repository.StationRepository;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity vs projection read benchmarks against an embedded H2 database
+ * Each operation runs in its own read-only transaction, so the average time is also the
+ * time a pooled connection is held. Compare gc.alloc.rate.norm between the pairs to see
+ * what hydrating managed entities costs over selecting the needed columns.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReadPathBenchmark {
+
+    private static final int SONGS = 100;
+
+    private HttpServer itunes;
+    private ConfigurableApplicationContext context;
+    private SongRepository songRepository;
+    private StationRepository stationRepository;
+    private TransactionTemplate readOnly;
+    private Station station;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        itunes = BenchmarkSupport.startStubItunes();
+        context = BenchmarkSupport.startApplication(BenchmarkSupport.itunesUrl(itunes));
+        songRepository = context.getBean(SongRepository.class);
+        stationRepository = context.getBean(StationRepository.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+
+        station = BenchmarkSupport.seedStation(context, "ENGLISH");
+        BenchmarkSupport.seedStation(context, "HINDI");
+        for (int i = 0; i < SONGS; i++) {
+            Song song = new Song();
+            song.setStation(station);
+            song.setArtist("Artist " + i);
+            song.setTitle("Title " + i);
+            song.setThumbsUpCount(i);
+            song.setThumbsDownCount(i / 2);
+            songRepository.save(song);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        itunes.stop(0);
+    }
+
+    @Benchmark
+    public int songCounts_entity() {
+        int song = nextSong();
+        return readOnly.execute(status -> songRepository
+                .findByStationAndArtistAndTitle(station, "Artist " + song, "Title " + song)
+                .map(found -> found.getThumbsUpCount() + found.getThumbsDownCount())
+                .orElse(0));
+    }
+
+    @Benchmark
+    public int songCounts_projection() {
+        int song = nextSong();
+        return readOnly.execute(status -> songRepository
+                .findCountsByStationAndArtistAndTitle(station, "Artist " + song, "Title " + song)
+                .map(SongCounts::totalVotes)
+                .orElse(0));
+    }
+
+    @Benchmark
+    public int stations_entity() {
+        return readOnly.execute(status -> {
+            List<Station> stations = stationRepository.findAllByOrderByDisplayOrder();
+            return stations.size();
+        });
+    }
+
+    @Benchmark
+    public int stations_projection() {
+        return readOnly.execute(status -> {
+            List<StationResponse> stations = stationRepository.findAllResponsesOrderByDisplayOrder();
+            return stations.size();
+        });
+    }
+
+    private int nextSong() {
+        next = (next + 1) % SONGS;
+        return next;
+    }
+}
@@ -0,0 +1,92 @@
+package com.radioawa.benchmark;
+
+import com.radioawa.util.VoteMatrix;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.BitSet;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recommendation model benchmark on a synthetic million-vote dataset
+ * 50,000 listeners and 20,000 songs with skewed popularity (a few songs collect most votes,
+ * as with play counts), one vote in five a thumbs down. fullBuild computes every song's
+ * neighbors on the common fork/join pool, as a startup or hourly rebuild does;
+ * incrementalVote flips one vote and recomputes the songs it affects, as a refresh does.
+ *
+ * Run with -Djava.util.concurrent.ForkJoinPool.common.parallelism=1 in the JVM arguments
+ * to see the single-threaded build time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class RecommendationBenchmark {
+
+    private static final int USERS = 50_000;
+    private static final int SONGS = 20_000;
+    private static final int VOTES = 1_000_000;
+    private static final int NEIGHBORS = 50;
+    private static final int MIN_CO_VOTES = 2;
+    private static final int MAX_USER_VOTES = 500;
+
+    private VoteMatrix matrix;
+    private VoteMatrix.Neighbors[] neighbors;
+    private int[] allSongs;
+    private Random random;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        random = new Random(42);
+        matrix = new VoteMatrix();
+        for (int i = 0; i < SONGS; i++) {
+            matrix.addItem();
+        }
+        for (int i = 0; i < USERS; i++) {
+            matrix.addUser();
+        }
+        while (matrix.voteCount() < VOTES) {
+            matrix.set(random.nextInt(USERS), popularSong(), vote());
+        }
+        allSongs = new int[SONGS];
+        for (int i = 0; i < SONGS; i++) {
+            allSongs[i] = i;
+        }
+        neighbors = new VoteMatrix.Neighbors[SONGS];
+        matrix.computeNeighbors(allSongs, neighbors, NEIGHBORS, MIN_CO_VOTES, MAX_USER_VOTES);
+    }
+
+    @Benchmark
+    public VoteMatrix.Neighbors[] fullBuild() {
+        VoteMatrix.Neighbors[] out = new VoteMatrix.Neighbors[SONGS];
+        matrix.computeNeighbors(allSongs, out, NEIGHBORS, MIN_CO_VOTES, MAX_USER_VOTES);
+        return out;
+    }
+
+    @Benchmark
+    public VoteMatrix.Neighbors[] incrementalVote() {
+        int user = random.nextInt(USERS);
+        int song = popularSong();
+        matrix.set(user, song, vote());
+
+        BitSet dirty = new BitSet(SONGS);
+        dirty.set(song);
+        int[] items = new int[matrix.userVotes(user)];
+        matrix.copyRow(user, items, new byte[items.length]);
+        for (int item : items) {
+            dirty.set(item);
+        }
+        matrix.computeNeighbors(dirty.stream().toArray(), neighbors, NEIGHBORS, MIN_CO_VOTES, MAX_USER_VOTES);
+        return neighbors;
+    }
+
+    private int popularSong() {
+        return (int) (SONGS * Math.pow(random.nextDouble(), 3));
+    }
+
+    private int vote() {
+        return random.nextInt(5) == 0 ? -1 : 1;
+    }
+}
@@ -0,0 +1,75 @@
+package com.radioawa.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.radioawa.controller.StationController;
+import com.radioawa.dto.StationResponse;
+import com.radioawa.entity.Station;
+import com.radioawa.repository.StationRepository;
+import com.radioawa.service.StationCatalog;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * StationController JSON serialization benchmark
+ * The repository is replaced by an in-memory proxy behind the StationCatalog, so after the
+ * first call only the cached lookup and Jackson are measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StationControllerBenchmark {
+
+    private StationController stationController;
+    private ObjectMapper objectMapper;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Station> stations = List.of(
+                BenchmarkSupport.createStation("ENGLISH", 1),
+                BenchmarkSupport.createStation("HINDI", 2));
+        List<StationResponse> responses = stations.stream().map(StationControllerBenchmark::toResponse).toList();
+
+        StationRepository stationRepository = (StationRepository) Proxy.newProxyInstance(
+                StationRepository.class.getClassLoader(),
+                new Class<?>[]{StationRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findAllResponsesOrderByDisplayOrder" -> responses;
+                    case "findByCode" -> Optional.of(stations.get(0));
+                    case "existsByCode" -> true;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+
+        stationController = new StationController(
+                new StationCatalog(stationRepository, BenchmarkSupport.localInvalidationBus(), false, Long.MAX_VALUE));
+        objectMapper = new ObjectMapper();
+    }
+
+    private static StationResponse toResponse(Station station) {
+        return new StationResponse(station.getId(), station.getCode(), station.getName(), station.getStreamUrl(),
+                station.getMetadataUrl(), station.getIsActive(), station.getDisplayOrder(), station.getStreamFormat(),
+                station.getStreamQuality(), station.getStreamCodec(), station.getStreamBitrate(), station.getGenre(),
+                station.getTagline(), station.getLogoUrl(), station.getDescription(), station.getSourceInfo());
+    }
+
+    @Benchmark
+    public List<StationResponse> mapActiveStations() {
+        return stationController.getActiveStations().getBody();
+    }
+
+    @Benchmark
+    public byte[] mapAndSerializeActiveStations() throws Exception {
+        return objectMapper.writeValueAsBytes(stationController.getActiveStations().getBody());
+    }
+
+    @Benchmark
+    public byte[] mapAndSerializeStationByCode() throws Exception {
+        return objectMapper.writeValueAsBytes(stationController.getStationByCode("ENGLISH").getBody());
+    }
+}
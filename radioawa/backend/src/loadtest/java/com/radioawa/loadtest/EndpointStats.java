@@ -0,0 +1,67 @@
+package com.radioawa.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Endpoint Stats
+ * Collects every latency sample for one endpoint; percentiles are exact.
+ * A few million longs is cheap compared to the traffic that produced them.
+ */
+final class EndpointStats {
+
+    private final String endpoint;
+    private long[] samples = new long[4096];
+    private int size;
+    private long errors;
+    private long rejected;
+
+    EndpointStats(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    synchronized void record(long latencyNanos, Outcome outcome) {
+        if (size == samples.length) {
+            samples = Arrays.copyOf(samples, size * 2);
+        }
+        samples[size++] = latencyNanos;
+        if (outcome == Outcome.ERROR) {
+            errors++;
+        } else if (outcome == Outcome.REJECTED) {
+            rejected++;
+        }
+    }
+
+    synchronized Summary summarize() {
+        long[] sorted = Arrays.copyOf(samples, size);
+        Arrays.sort(sorted);
+        return new Summary(endpoint, size, errors, rejected,
+                percentileMillis(sorted, 0.50),
+                percentileMillis(sorted, 0.95),
+                percentileMillis(sorted, 0.99),
+                size == 0 ? 0 : sorted[size - 1] / 1_000_000.0);
+    }
+
+    private static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    enum Outcome {
+        OK,
+        // 429/503: the server shed load on purpose
+        REJECTED,
+        // 5xx other than 503, timeouts and transport failures
+        ERROR
+    }
+
+    record Summary(String endpoint, long requests, long errors, long rejected,
+                   double p50Millis, double p95Millis, double p99Millis, double maxMillis) {
+
+        double errorRate() {
+            return requests == 0 ? 0 : (double) errors / requests;
+        }
+    }
+}
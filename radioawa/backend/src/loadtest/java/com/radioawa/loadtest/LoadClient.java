@@ -0,0 +1,90 @@
+package com.radioawa.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Load Client
+ * Thin wrapper over the JDK HttpClient's async API that times every exchange.
+ * Requests never block a thread while waiting for the server, so a handful of
+ * threads can drive thousands of simulated listeners.
+ */
+final class LoadClient {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+
+    private final HttpClient httpClient;
+    private final URI baseUri;
+    private final LoadReport report;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    LoadClient(URI baseUri, Executor executor, LoadReport report) {
+        this.baseUri = baseUri;
+        this.report = report;
+        this.httpClient = HttpClient.newBuilder()
+                .executor(executor)
+                .connectTimeout(Duration.ofSeconds(5))
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+    }
+
+    HttpRequest get(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(REQUEST_TIMEOUT)
+                .GET()
+                .build();
+    }
+
+    HttpRequest.Builder post(String path, String json) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+    }
+
+    /**
+     * Send a request and record its latency under the given endpoint name.
+     * Completes with the response body, or null when the request failed.
+     */
+    CompletableFuture<String> send(String endpoint, HttpRequest request) {
+        long start = System.nanoTime();
+        inFlight.incrementAndGet();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .handle((response, error) -> {
+                    long latency = System.nanoTime() - start;
+                    inFlight.decrementAndGet();
+                    if (error != null) {
+                        report.record(endpoint, latency, EndpointStats.Outcome.ERROR);
+                        return null;
+                    }
+                    int status = response.statusCode();
+                    if (status == 429 || status == 503) {
+                        report.record(endpoint, latency, EndpointStats.Outcome.REJECTED);
+                        return null;
+                    }
+                    if (status >= 500) {
+                        report.record(endpoint, latency, EndpointStats.Outcome.ERROR);
+                        return null;
+                    }
+                    report.record(endpoint, latency, EndpointStats.Outcome.OK);
+                    return response.body();
+                });
+    }
+
+    /**
+     * Wait for outstanding requests after the listeners have been stopped
+     */
+    void awaitQuiescence(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(50);
+        }
+    }
+}
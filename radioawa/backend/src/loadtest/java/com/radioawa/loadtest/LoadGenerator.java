@@ -0,0 +1,73 @@
+package com.radioawa.loadtest;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load Generator
+ * Drives a population of simulated listeners against a running radioawa-backend.
+ *
+ * Standalone usage against any deployment:
+ *   java -cp ... com.radioawa.loadtest.LoadGenerator http://localhost:8081 -Dloadtest.listeners=1000
+ * Exits with status 1 when a threshold is violated.
+ */
+public final class LoadGenerator {
+
+    private static final String[] STATIONS = {"ENGLISH", "HINDI"};
+
+    private final LoadProfile profile;
+
+    public LoadGenerator(LoadProfile profile) {
+        this.profile = profile;
+    }
+
+    public LoadReport run() throws InterruptedException {
+        LoadReport report = new LoadReport();
+        int threads = Math.max(4, Runtime.getRuntime().availableProcessors());
+        ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(threads);
+        ExecutorService httpExecutor = Executors.newFixedThreadPool(threads);
+
+        try {
+            LoadClient client = new LoadClient(profile.getBaseUri(), httpExecutor, report);
+            List<SimulatedListener> listeners = new ArrayList<>(profile.getListeners());
+            long rampUpMillis = profile.getRampUp().toMillis();
+
+            for (int i = 0; i < profile.getListeners(); i++) {
+                SimulatedListener listener = new SimulatedListener(
+                        client, scheduler, profile, STATIONS[i % STATIONS.length], i);
+                listeners.add(listener);
+                // Spread listeners evenly over the ramp-up so polls do not arrive in lock-step
+                listener.start(rampUpMillis * i / Math.max(1, profile.getListeners()));
+            }
+
+            TimeUnit.MILLISECONDS.sleep(profile.getRampUp().plus(profile.getDuration()).toMillis());
+
+            listeners.forEach(SimulatedListener::stop);
+            client.awaitQuiescence(Duration.ofSeconds(15));
+        } finally {
+            scheduler.shutdownNow();
+            httpExecutor.shutdownNow();
+        }
+        return report;
+    }
+
+    public static void main(String[] args) throws Exception {
+        URI baseUri = URI.create(args.length > 0 ? args[0] : "http://localhost:8081");
+        LoadProfile profile = LoadProfile.fromSystemProperties(baseUri);
+
+        System.out.printf("Running %d listeners against %s for %s%n",
+                profile.getListeners(), baseUri, profile.getDuration());
+        LoadReport report = new LoadGenerator(profile).run();
+        report.print(System.out);
+
+        List<String> violations = report.violations(profile);
+        violations.forEach(violation -> System.out.println("FAIL: " + violation));
+        System.exit(violations.isEmpty() ? 0 : 1);
+    }
+}
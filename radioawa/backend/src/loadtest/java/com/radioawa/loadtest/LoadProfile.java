@@ -0,0 +1,94 @@
+package com.radioawa.loadtest;
+
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * Load Profile
+ * Listener behaviour and pass/fail thresholds for a load run.
+ * Every value can be overridden with a -Dloadtest.* system property.
+ */
+public final class LoadProfile {
+
+    private final URI baseUri;
+    private final int listeners;
+    private final Duration duration;
+    private final Duration rampUp;
+    private final Duration pollInterval;
+    private final double voteProbability;
+    private final Duration voteJitter;
+    private final long maxP95Millis;
+    private final long maxP99Millis;
+    private final double maxErrorRate;
+
+    public LoadProfile(URI baseUri, int listeners, Duration duration, Duration rampUp, Duration pollInterval,
+                       double voteProbability, Duration voteJitter,
+                       long maxP95Millis, long maxP99Millis, double maxErrorRate) {
+        this.baseUri = baseUri;
+        this.listeners = listeners;
+        this.duration = duration;
+        this.rampUp = rampUp;
+        this.pollInterval = pollInterval;
+        this.voteProbability = voteProbability;
+        this.voteJitter = voteJitter;
+        this.maxP95Millis = maxP95Millis;
+        this.maxP99Millis = maxP99Millis;
+        this.maxErrorRate = maxErrorRate;
+    }
+
+    public static LoadProfile fromSystemProperties(URI baseUri) {
+        return new LoadProfile(
+                baseUri,
+                Integer.getInteger("loadtest.listeners", 200),
+                Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 60)),
+                Duration.ofSeconds(Long.getLong("loadtest.ramp-up-seconds", 10)),
+                // The frontend polls metadata every 10 seconds
+                Duration.ofSeconds(Long.getLong("loadtest.poll-interval-seconds", 10)),
+                Double.parseDouble(System.getProperty("loadtest.vote-probability", "0.3")),
+                Duration.ofMillis(Long.getLong("loadtest.vote-jitter-ms", 3000)),
+                Long.getLong("loadtest.max-p95-ms", 250),
+                Long.getLong("loadtest.max-p99-ms", 500),
+                Double.parseDouble(System.getProperty("loadtest.max-error-rate", "0.01"))
+        );
+    }
+
+    public URI getBaseUri() {
+        return baseUri;
+    }
+
+    public int getListeners() {
+        return listeners;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public Duration getRampUp() {
+        return rampUp;
+    }
+
+    public Duration getPollInterval() {
+        return pollInterval;
+    }
+
+    public double getVoteProbability() {
+        return voteProbability;
+    }
+
+    public Duration getVoteJitter() {
+        return voteJitter;
+    }
+
+    public long getMaxP95Millis() {
+        return maxP95Millis;
+    }
+
+    public long getMaxP99Millis() {
+        return maxP99Millis;
+    }
+
+    public double getMaxErrorRate() {
+        return maxErrorRate;
+    }
+}
@@ -0,0 +1,59 @@
+package com.radioawa.loadtest;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Load Report
+ * Per-endpoint latency percentiles and error rates, checked against the profile's thresholds.
+ */
+public final class LoadReport {
+
+    private final Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+
+    void record(String endpoint, long latencyNanos, EndpointStats.Outcome outcome) {
+        stats.computeIfAbsent(endpoint, EndpointStats::new).record(latencyNanos, outcome);
+    }
+
+    public Map<String, EndpointStats.Summary> summaries() {
+        Map<String, EndpointStats.Summary> summaries = new ConcurrentSkipListMap<>();
+        stats.forEach((endpoint, endpointStats) -> summaries.put(endpoint, endpointStats.summarize()));
+        return summaries;
+    }
+
+    /**
+     * Threshold violations, empty when the run passed
+     */
+    public List<String> violations(LoadProfile profile) {
+        List<String> violations = new ArrayList<>();
+        for (EndpointStats.Summary summary : summaries().values()) {
+            if (summary.p95Millis() > profile.getMaxP95Millis()) {
+                violations.add(String.format("%s p95 %.1f ms > %d ms",
+                        summary.endpoint(), summary.p95Millis(), profile.getMaxP95Millis()));
+            }
+            if (summary.p99Millis() > profile.getMaxP99Millis()) {
+                violations.add(String.format("%s p99 %.1f ms > %d ms",
+                        summary.endpoint(), summary.p99Millis(), profile.getMaxP99Millis()));
+            }
+            if (summary.errorRate() > profile.getMaxErrorRate()) {
+                violations.add(String.format("%s error rate %.2f%% > %.2f%%",
+                        summary.endpoint(), summary.errorRate() * 100, profile.getMaxErrorRate() * 100));
+            }
+        }
+        return violations;
+    }
+
+    public void print(PrintStream out) {
+        out.printf("%-32s %10s %8s %8s %10s %10s %10s %10s%n",
+                "endpoint", "requests", "errors", "shed", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        for (EndpointStats.Summary summary : summaries().values()) {
+            out.printf("%-32s %10d %8d %8d %10.1f %10.1f %10.1f %10.1f%n",
+                    summary.endpoint(), summary.requests(), summary.errors(), summary.rejected(),
+                    summary.p50Millis(), summary.p95Millis(), summary.p99Millis(), summary.maxMillis());
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.radioawa.loadtest;
+
+import com.radioawa.entity.Station;
+import com.radioawa.repository.StationRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Load and latency regression test
+ * Boots the backend on a random port against Testcontainers PostgreSQL with
+ * stubbed CloudFront/iTunes upstreams, replays listener traffic and fails
+ * when any endpoint exceeds the configured p95/p99 or error-rate thresholds.
+ *
+ * Run with: mvn -Ploadtest test
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("Listener Load Test")
+class RadioawaLoadTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    static StubUpstreams upstreams;
+
+    static {
+        try {
+            upstreams = StubUpstreams.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.driverClassName", () -> "org.postgresql.Driver");
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.PostgreSQLDialect");
+        registry.add("app.metadata.english-url", upstreams::metadataUrl);
+        registry.add("app.album-art.itunes-url", upstreams::itunesUrl);
+        registry.add("logging.level.com.radioawa", () -> "WARN");
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private StationRepository stationRepository;
+
+    @AfterAll
+    static void stopUpstreams() {
+        upstreams.close();
+    }
+
+    @Test
+    @DisplayName("Listener traffic should stay within latency and error thresholds")
+    void listenerTraffic_withinThresholds() throws Exception {
+        seedStation("ENGLISH", "RadioAwa English", 1);
+        seedStation("HINDI", "Vividh Bharati - All India Radio", 2);
+
+        LoadProfile profile = LoadProfile.fromSystemProperties(URI.create("http://localhost:" + port));
+        LoadReport report = new LoadGenerator(profile).run();
+        report.print(System.out);
+
+        assertThat(report.summaries()).isNotEmpty();
+        assertThat(report.violations(profile)).isEmpty();
+    }
+
+    private void seedStation(String code, String name, int displayOrder) {
+        if (stationRepository.findByCode(code).isPresent()) {
+            return;
+        }
+        Station station = new Station();
+        station.setCode(code);
+        station.setName(name);
+        station.setStreamUrl("https://example.com/" + code.toLowerCase() + "/live.m3u8");
+        station.setMetadataUrl("/api/metadata/" + code.toLowerCase());
+        station.setIsActive(true);
+        station.setDisplayOrder(displayOrder);
+        stationRepository.save(station);
+    }
+}
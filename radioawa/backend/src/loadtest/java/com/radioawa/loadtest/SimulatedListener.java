@@ -0,0 +1,130 @@
+package com.radioawa.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Simulated Listener
+ * Replays what one browser tab does: poll station metadata on a fixed interval,
+ * look up rating counts for the current song, and sometimes vote shortly after
+ * the song changes (which is what makes vote traffic bursty).
+ */
+final class SimulatedListener {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final LoadClient client;
+    private final ScheduledExecutorService scheduler;
+    private final LoadProfile profile;
+    private final String stationCode;
+    private final String userId = UUID.randomUUID().toString();
+    // Distinct client address per listener so the per-IP rate limit behaves like production
+    private final String ipAddress;
+
+    private volatile boolean running = true;
+    private String currentArtist;
+    private String currentTitle;
+
+    SimulatedListener(LoadClient client, ScheduledExecutorService scheduler, LoadProfile profile,
+                      String stationCode, int index) {
+        this.client = client;
+        this.scheduler = scheduler;
+        this.profile = profile;
+        this.stationCode = stationCode;
+        this.ipAddress = "10." + ((index >> 16) & 0xFF) + "." + ((index >> 8) & 0xFF) + "." + (index & 0xFF);
+    }
+
+    void start(long initialDelayMillis) {
+        scheduler.schedule(this::poll, initialDelayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    void stop() {
+        running = false;
+    }
+
+    private void poll() {
+        if (!running) {
+            return;
+        }
+        String path = "/api/metadata/" + stationCode.toLowerCase();
+        client.send("GET /api/metadata/" + stationCode.toLowerCase(), client.get(path))
+                .whenComplete((body, error) -> {
+                    if (body != null) {
+                        onMetadata(body);
+                    }
+                    if (running) {
+                        scheduler.schedule(this::poll, profile.getPollInterval().toMillis(), TimeUnit.MILLISECONDS);
+                    }
+                });
+    }
+
+    private synchronized void onMetadata(String body) {
+        String artist;
+        String title;
+        try {
+            JsonNode metadata = OBJECT_MAPPER.readTree(body);
+            artist = metadata.path("artist").asText(null);
+            title = metadata.path("title").asText(null);
+        } catch (Exception e) {
+            return;
+        }
+        if (artist == null || title == null) {
+            return;
+        }
+
+        boolean songChanged = !Objects.equals(artist, currentArtist) || !Objects.equals(title, currentTitle);
+        currentArtist = artist;
+        currentTitle = title;
+
+        lookupCounts(artist, title);
+
+        if (songChanged && ThreadLocalRandom.current().nextDouble() < profile.getVoteProbability()) {
+            long jitter = ThreadLocalRandom.current().nextLong(Math.max(1, profile.getVoteJitter().toMillis()));
+            scheduler.schedule(() -> vote(artist, title), jitter, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void lookupCounts(String artist, String title) {
+        String path = "/api/ratings/counts?stationCode=" + encode(stationCode)
+                + "&artist=" + encode(artist)
+                + "&title=" + encode(title)
+                + "&userId=" + encode(userId);
+        client.send("GET /api/ratings/counts", client.get(path));
+    }
+
+    private void vote(String artist, String title) {
+        if (!running) {
+            return;
+        }
+        String ratingType = ThreadLocalRandom.current().nextInt(4) == 0 ? "THUMBS_DOWN" : "THUMBS_UP";
+        String json = String.format(
+                "{\"stationCode\":\"%s\",\"artist\":%s,\"title\":%s,\"userId\":\"%s\",\"ratingType\":\"%s\"}",
+                stationCode, quote(artist), quote(title), userId, ratingType);
+
+        HttpRequest request = client.post("/api/ratings", json)
+                .header("X-Forwarded-For", ipAddress)
+                .build();
+        client.send("POST /api/ratings", request);
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static String quote(String value) {
+        try {
+            return OBJECT_MAPPER.writeValueAsString(value);
+        } catch (Exception e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+}
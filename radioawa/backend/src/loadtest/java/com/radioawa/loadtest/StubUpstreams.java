@@ -0,0 +1,96 @@
+package com.radioawa.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stub Upstreams
+ * Local stand-ins for the CloudFront metadata feed and the iTunes Search API.
+ * The metadata feed rotates songs on a fixed interval to trigger vote bursts,
+ * and both endpoints add a fixed delay to mimic a remote network hop.
+ */
+public final class StubUpstreams implements AutoCloseable {
+
+    private static final String[][] SONGS = {
+            {"Radiohead", "Weird Fishes", "In Rainbows"},
+            {"Daft Punk", "Instant Crush", "Random Access Memories"},
+            {"Fleetwood Mac", "Dreams", "Rumours"},
+            {"Nina Simone", "Feeling Good", "I Put a Spell on You"},
+            {"Talking Heads", "This Must Be the Place", "Speaking in Tongues"},
+            {"Massive Attack", "Teardrop", "Mezzanine"}
+    };
+
+    private static final String ITUNES_RESPONSE =
+            "{\"resultCount\":1,\"results\":[{\"artworkUrl100\":\"https://is1-ssl.mzstatic.com/image/100x100bb.jpg\"}]}";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Duration songLength;
+    private final Duration upstreamDelay;
+    private final long startNanos = System.nanoTime();
+
+    private StubUpstreams(Duration songLength, Duration upstreamDelay) throws IOException {
+        this.songLength = songLength;
+        this.upstreamDelay = upstreamDelay;
+        this.executor = Executors.newFixedThreadPool(16);
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        this.server.setExecutor(executor);
+        this.server.createContext("/metadatav2.json", this::handleMetadata);
+        this.server.createContext("/search", exchange -> respond(exchange, ITUNES_RESPONSE));
+        this.server.start();
+    }
+
+    public static StubUpstreams start() throws IOException {
+        return new StubUpstreams(
+                Duration.ofSeconds(Long.getLong("loadtest.song-length-seconds", 30)),
+                Duration.ofMillis(Long.getLong("loadtest.upstream-delay-ms", 20)));
+    }
+
+    public String metadataUrl() {
+        return baseUrl() + "/metadatav2.json";
+    }
+
+    public String itunesUrl() {
+        return baseUrl() + "/search";
+    }
+
+    private String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    private void handleMetadata(HttpExchange exchange) throws IOException {
+        long elapsed = System.nanoTime() - startNanos;
+        String[] song = SONGS[(int) ((elapsed / songLength.toNanos()) % SONGS.length)];
+        respond(exchange, String.format("{\"artist\":\"%s\",\"title\":\"%s\",\"album\":\"%s\"}",
+                song[0], song[1], song[2]));
+    }
+
+    private void respond(HttpExchange exchange, String json) throws IOException {
+        try {
+            TimeUnit.MILLISECONDS.sleep(upstreamDelay.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,276 @@
+package com.radioawa.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+
+/**
+ * Cache Invalidation Bus
+ * Keeps in-process caches consistent across backend instances using PostgreSQL LISTEN/NOTIFY.
+ *
+ * publish() evicts locally once the surrounding transaction commits and sends pg_notify in
+ * the same transaction, so other instances only hear about committed changes. Each instance
+ * listens on a dedicated connection (outside the Hikari pool) and forwards notifications
+ * from other instances to the subscribed caches. Database triggers (see DEPLOYMENT.md)
+ * notify with node id "db", so edits made directly in SQL reach every instance.
+ *
+ * Notifications sent while the listener is disconnected are lost, so every (re)connect
+ * triggers a full resync: subscribers drop everything they hold and reload on demand.
+ * A periodic heartbeat on the listen connection detects dead connections.
+ *
+ * When disabled (or not on PostgreSQL) publish() still evicts locally, which keeps a
+ * single instance correct.
+ */
+@Component
+public class CacheInvalidationBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheInvalidationBus.class);
+
+    private static final Pattern CHANNEL_NAME = Pattern.compile("[a-z_][a-z0-9_]*");
+    private static final long MAX_RECONNECT_BACKOFF_MS = 30000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final String channel;
+    private final String url;
+    private final String username;
+    private final String password;
+    private final long heartbeatMillis;
+    private final long reconnectBackoffMillis;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final List<CacheInvalidationListener> listeners = new CopyOnWriteArrayList<>();
+
+    private final Counter published;
+    private final Counter received;
+    private final Counter resyncs;
+    private final Counter reconnects;
+
+    private volatile boolean running;
+    private volatile boolean connected;
+    private volatile Connection listenConnection;
+    private Thread listenerThread;
+
+    public CacheInvalidationBus(
+            DataSource dataSource,
+            MeterRegistry meterRegistry,
+            @Value("${app.cache.invalidation.enabled:false}") boolean enabled,
+            @Value("${app.cache.invalidation.channel:radioawa_cache}") String channel,
+            @Value("${spring.datasource.url}") String url,
+            @Value("${spring.datasource.username:}") String username,
+            @Value("${spring.datasource.password:}") String password,
+            @Value("${app.cache.invalidation.heartbeat-ms:10000}") long heartbeatMillis,
+            @Value("${app.cache.invalidation.reconnect-backoff-ms:1000}") long reconnectBackoffMillis) {
+        if (!CHANNEL_NAME.matcher(channel).matches()) {
+            throw new IllegalArgumentException("Invalid cache invalidation channel name: " + channel);
+        }
+        // LISTEN/NOTIFY is PostgreSQL-only; other databases (H2 in tests) fall back to local eviction
+        this.enabled = enabled && url.startsWith("jdbc:postgresql:");
+        this.jdbcTemplate = this.enabled ? new JdbcTemplate(dataSource) : null;
+        this.channel = channel;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.heartbeatMillis = heartbeatMillis;
+        this.reconnectBackoffMillis = reconnectBackoffMillis;
+
+        this.published = meterRegistry.counter("radioawa.cache.invalidation.published");
+        this.received = meterRegistry.counter("radioawa.cache.invalidation.received");
+        this.resyncs = meterRegistry.counter("radioawa.cache.invalidation.resyncs");
+        this.reconnects = meterRegistry.counter("radioawa.cache.invalidation.reconnects");
+        Gauge.builder("radioawa.cache.invalidation.connected", this, bus -> bus.connected ? 1 : 0)
+                .description("1 while the LISTEN connection is up")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        listenerThread = new Thread(this::listenLoop, "cache-invalidation-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+        logger.info("Cache invalidation bus listening on channel '{}' as node {}", channel, nodeId);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        closeQuietly(listenConnection);
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+            try {
+                listenerThread.join(5000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    public void subscribe(CacheInvalidationListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Announce that an entry changed. Local caches are evicted after commit (or immediately
+     * outside a transaction); other instances are notified when the transaction commits.
+     */
+    public void publish(CacheTopic topic, String key) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatch(topic, key);
+                }
+            });
+        } else {
+            dispatch(topic, key);
+        }
+
+        if (enabled) {
+            // pg_notify is transactional: it is delivered on commit and discarded on rollback
+            jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", channel, nodeId + ':' + topic.name() + ':' + key);
+            published.increment();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isConnected() {
+        return connected;
+    }
+
+    private void listenLoop() {
+        long backoff = reconnectBackoffMillis;
+        while (running) {
+            try (Connection connection = openListenConnection()) {
+                listenConnection = connection;
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                connected = true;
+                backoff = reconnectBackoffMillis;
+                // Anything published while we were not listening is lost
+                resync();
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                long lastHeartbeat = System.currentTimeMillis();
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications((int) heartbeatMillis);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            handle(notification.getParameter());
+                        }
+                    }
+                    if (System.currentTimeMillis() - lastHeartbeat >= heartbeatMillis) {
+                        try (Statement statement = connection.createStatement()) {
+                            statement.execute("SELECT 1");
+                        }
+                        lastHeartbeat = System.currentTimeMillis();
+                    }
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    logger.warn("Cache invalidation listener lost its connection: {}", e.getMessage());
+                }
+            } finally {
+                connected = false;
+                listenConnection = null;
+            }
+
+            if (running) {
+                reconnects.increment();
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                backoff = Math.min(backoff * 2, MAX_RECONNECT_BACKOFF_MS);
+            }
+        }
+    }
+
+    private Connection openListenConnection() throws SQLException {
+        Properties properties = new Properties();
+        properties.setProperty("user", username);
+        properties.setProperty("password", password);
+        properties.setProperty("ApplicationName", "radioawa-cache-listener");
+        // Reads block for at most a few heartbeats, so a half-open socket is noticed
+        properties.setProperty("socketTimeout", String.valueOf(Math.max(1, heartbeatMillis * 3 / 1000)));
+        return DriverManager.getConnection(url, properties);
+    }
+
+    private void handle(String payload) {
+        // nodeId:TOPIC:key (the key may itself contain ':')
+        String[] parts = payload.split(":", 3);
+        if (parts.length != 3 || nodeId.equals(parts[0])) {
+            return;
+        }
+        try {
+            received.increment();
+            dispatch(CacheTopic.valueOf(parts[1]), parts[2]);
+        } catch (IllegalArgumentException e) {
+            logger.debug("Ignoring cache notification with unknown topic: {}", parts[1]);
+        }
+    }
+
+    private void dispatch(CacheTopic topic, String key) {
+        for (CacheInvalidationListener listener : listeners) {
+            try {
+                listener.onInvalidate(topic, key);
+            } catch (RuntimeException e) {
+                logger.error("Cache listener {} failed on {} {}: {}",
+                        listener.getClass().getSimpleName(), topic, key, e.getMessage());
+            }
+        }
+    }
+
+    private void resync() {
+        resyncs.increment();
+        for (CacheInvalidationListener listener : listeners) {
+            try {
+                listener.onResync();
+            } catch (RuntimeException e) {
+                logger.error("Cache listener {} failed to resync: {}", listener.getClass().getSimpleName(), e.getMessage());
+            }
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            // Already broken; the listener loop is exiting anyway
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.radioawa.cache;
+
+/**
+ * Cache Invalidation Listener
+ * Implemented by in-process caches that subscribe to the CacheInvalidationBus.
+ * Callbacks run on the bus listener thread (or the publishing thread after commit)
+ * and must be quick and non-blocking.
+ */
+public interface CacheInvalidationListener {
+
+    /**
+     * An entry changed somewhere; key is topic-specific and "*" means every entry of the topic
+     */
+    void onInvalidate(CacheTopic topic, String key);
+
+    /**
+     * Notifications may have been missed (e.g. while reconnecting): drop everything that could be stale
+     */
+    void onResync();
+}
@@ -0,0 +1,10 @@
+package com.radioawa.cache;
+
+/**
+ * Kinds of cached data that can be invalidated across instances
+ */
+public enum CacheTopic {
+    STATION,
+    SONG,
+    ARTWORK
+}
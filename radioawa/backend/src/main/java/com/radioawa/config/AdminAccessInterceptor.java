@@ -0,0 +1,43 @@
+package com.radioawa.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Admin Access Interceptor
+ * Guards /api/admin/** with a shared token sent in the X-Admin-Token header.
+ * When no token is configured the admin API is switched off and answers 404.
+ */
+@Component
+public class AdminAccessInterceptor implements HandlerInterceptor {
+
+    public static final String TOKEN_HEADER = "X-Admin-Token";
+
+    private final byte[] adminToken;
+
+    public AdminAccessInterceptor(@Value("${app.admin.token:}") String adminToken) {
+        this.adminToken = adminToken.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        if (adminToken.length == 0) {
+            response.sendError(HttpStatus.NOT_FOUND.value());
+            return false;
+        }
+        String presented = request.getHeader(TOKEN_HEADER);
+        // Constant-time comparison so the token cannot be guessed byte by byte from response timing
+        if (presented == null || !MessageDigest.isEqual(adminToken, presented.getBytes(StandardCharsets.UTF_8))) {
+            response.sendError(HttpStatus.UNAUTHORIZED.value());
+            return false;
+        }
+        return true;
+    }
+}
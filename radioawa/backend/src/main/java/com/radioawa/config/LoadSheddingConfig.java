@@ -0,0 +1,60 @@
+package com.radioawa.config;
+
+import com.radioawa.util.ConcurrencyLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Load Shedding Configuration
+ * Registers LoadSheddingFilter ahead of the rest of the chain, so shed requests cost
+ * no more than a header write.
+ *
+ * Keep app.load-shedding.votes.max-limit below the Hikari pool size: the remaining
+ * connections stay free for reads however many votes are waiting on the database.
+ */
+@Configuration
+public class LoadSheddingConfig {
+
+    @Value("${app.load-shedding.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.load-shedding.votes.initial-limit:8}")
+    private int voteInitialLimit;
+
+    @Value("${app.load-shedding.votes.min-limit:2}")
+    private int voteMinLimit;
+
+    @Value("${app.load-shedding.votes.max-limit:8}")
+    private int voteMaxLimit;
+
+    @Value("${app.load-shedding.votes.latency-threshold-ms:250}")
+    private long voteLatencyThresholdMillis;
+
+    @Value("${app.load-shedding.votes.backoff-ratio:0.9}")
+    private double voteBackoffRatio;
+
+    @Value("${app.load-shedding.reads.max-concurrent:100}")
+    private int readMaxConcurrent;
+
+    @Value("${app.load-shedding.stream.max-concurrent:80}")
+    private int streamMaxConcurrent;
+
+    @Bean
+    public FilterRegistrationBean<LoadSheddingFilter> loadSheddingFilter(MeterRegistry meterRegistry) {
+        LoadSheddingFilter filter = new LoadSheddingFilter(
+                ConcurrencyLimiter.adaptive(voteInitialLimit, voteMinLimit, voteMaxLimit,
+                        voteLatencyThresholdMillis, voteBackoffRatio),
+                ConcurrencyLimiter.fixed(readMaxConcurrent),
+                ConcurrencyLimiter.fixed(streamMaxConcurrent),
+                meterRegistry);
+        FilterRegistrationBean<LoadSheddingFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        registration.setEnabled(enabled);
+        return registration;
+    }
+}
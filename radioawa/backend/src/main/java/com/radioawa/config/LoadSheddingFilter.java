@@ -0,0 +1,151 @@
+package com.radioawa.config;
+
+import com.radioawa.util.ConcurrencyLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Load Shedding Filter
+ * Puts votes and reads into separate compartments so a write storm cannot take every
+ * request thread and database connection. Votes pass an adaptive limiter driven by vote
+ * latency; reads pass a fixed bulkhead. A request over its compartment's limit is
+ * answered 503 with Retry-After straight away instead of queueing behind the slowdown.
+ * Relayed HLS requests get a bulkhead of their own, so a crowd of listeners cannot starve
+ * API reads (or the reverse).
+ *
+ * Async requests (batched vote ingest) keep their slot until the response completes.
+ */
+public class LoadSheddingFilter extends OncePerRequestFilter {
+
+    private final Compartment votes;
+    private final Compartment reads;
+    private final Compartment stream;
+
+    public LoadSheddingFilter(ConcurrencyLimiter voteLimiter, ConcurrencyLimiter readBulkhead,
+                              ConcurrencyLimiter streamBulkhead, MeterRegistry meterRegistry) {
+        this.votes = new Compartment("votes", voteLimiter, meterRegistry);
+        this.reads = new Compartment("reads", readBulkhead, meterRegistry);
+        this.stream = new Compartment("stream", streamBulkhead, meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Compartment compartment = classify(request);
+        if (compartment == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        if (!compartment.limiter.tryAcquire()) {
+            compartment.rejected.increment();
+            reject(response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            chain.doFilter(request, response);
+            failed = false;
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseOnComplete(compartment, start));
+            } else {
+                compartment.limiter.release(System.nanoTime() - start, failed || isOverloadStatus(response.getStatus()));
+            }
+        }
+    }
+
+    private Compartment classify(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if ("POST".equals(request.getMethod()) && "/api/ratings".equals(path)) {
+            return votes;
+        }
+        // Health checks must answer even when reads are saturated
+        if ("GET".equals(request.getMethod()) && path.startsWith("/api/") && !path.startsWith("/api/health")) {
+            return path.startsWith("/api/stations/") && path.contains("/hls/") ? stream : reads;
+        }
+        return null;
+    }
+
+    private static void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\":\"Server is busy, please retry shortly\"}");
+    }
+
+    private static boolean isOverloadStatus(int status) {
+        return status >= 500;
+    }
+
+    private static final class Compartment {
+        private final ConcurrencyLimiter limiter;
+        private final Counter rejected;
+
+        private Compartment(String name, ConcurrencyLimiter limiter, MeterRegistry meterRegistry) {
+            this.limiter = limiter;
+            this.rejected = meterRegistry.counter("radioawa.load_shedding.rejected", "compartment", name);
+            Gauge.builder("radioawa.load_shedding.limit", limiter, ConcurrencyLimiter::getLimit)
+                    .tag("compartment", name)
+                    .register(meterRegistry);
+            Gauge.builder("radioawa.load_shedding.in_flight", limiter, ConcurrencyLimiter::getInFlight)
+                    .tag("compartment", name)
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Releases the slot of an async request once, whichever of complete/error/timeout fires
+     */
+    private static final class ReleaseOnComplete implements AsyncListener {
+        private final Compartment compartment;
+        private final long start;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private ReleaseOnComplete(Compartment compartment, long start) {
+            this.compartment = compartment;
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            HttpServletResponse response = (HttpServletResponse) event.getSuppliedResponse();
+            release(isOverloadStatus(response.getStatus()));
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release(true);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release(true);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+
+        private void release(boolean failed) {
+            if (released.compareAndSet(false, true)) {
+                compartment.limiter.release(System.nanoTime() - start, failed);
+            }
+        }
+    }
+}
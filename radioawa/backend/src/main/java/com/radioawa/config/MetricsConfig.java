@@ -0,0 +1,36 @@
+package com.radioawa.config;
+
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Metrics Configuration
+ * Caps tag cardinality so user-controlled values (station codes, request URIs)
+ * cannot create an unbounded number of time series. Meters beyond the cap are dropped.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Value("${app.metrics.max-station-tags:20}")
+    private int maxStationTags;
+
+    @Value("${app.metrics.max-uri-tags:100}")
+    private int maxUriTags;
+
+    @Bean
+    public MeterFilter stationTagCardinalityFilter() {
+        return MeterFilter.maximumAllowableTags("radioawa", "station", maxStationTags, MeterFilter.deny());
+    }
+
+    @Bean
+    public MeterFilter serverUriCardinalityFilter() {
+        return MeterFilter.maximumAllowableTags("http.server.requests", "uri", maxUriTags, MeterFilter.deny());
+    }
+
+    @Bean
+    public MeterFilter clientUriCardinalityFilter() {
+        return MeterFilter.maximumAllowableTags("http.client.requests", "uri", maxUriTags, MeterFilter.deny());
+    }
+}
@@ -0,0 +1,80 @@
+package com.radioawa.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Replica Health Monitor
+ * Periodically probes the read replica for replication lag. The replica is only
+ * used while the last probe succeeded and the lag is within the configured tolerance.
+ */
+public class ReplicaHealthMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaHealthMonitor.class);
+
+    // Lag in milliseconds; 0 when the replica has replayed everything it received
+    // (or when it is not in recovery at all, e.g. a standalone instance)
+    public static final String DEFAULT_LAG_QUERY =
+            "SELECT CASE " +
+            "WHEN NOT pg_is_in_recovery() THEN 0 " +
+            "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE COALESCE(EXTRACT(EPOCH FROM (now() - pg_last_xact_replay_timestamp())) * 1000, 0) " +
+            "END";
+
+    private final DataSource replica;
+    private final long maxLagMillis;
+    private final String lagQuery;
+
+    private volatile boolean replicaUsable = false;
+    private volatile long lastLagMillis = -1;
+
+    public ReplicaHealthMonitor(DataSource replica, long maxLagMillis, String lagQuery) {
+        this.replica = replica;
+        this.maxLagMillis = maxLagMillis;
+        this.lagQuery = lagQuery;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.check-interval-ms:2000}")
+    public void checkReplica() {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(lagQuery)) {
+
+            long lag = resultSet.next() ? resultSet.getLong(1) : Long.MAX_VALUE;
+            lastLagMillis = lag;
+            boolean usable = lag <= maxLagMillis;
+
+            if (usable != replicaUsable) {
+                logger.info("Read replica is now {} (lag {} ms, tolerance {} ms)",
+                        usable ? "in use" : "bypassed", lag, maxLagMillis);
+            }
+            replicaUsable = usable;
+        } catch (Exception e) {
+            markUnavailable(e.getMessage());
+        }
+    }
+
+    /**
+     * Stop routing to the replica until the next successful probe
+     */
+    public void markUnavailable(String reason) {
+        if (replicaUsable) {
+            logger.warn("Read replica marked unavailable: {}", reason);
+        }
+        replicaUsable = false;
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    public long getLastLagMillis() {
+        return lastLagMillis;
+    }
+}
@@ -0,0 +1,56 @@
+package com.radioawa.config;
+
+import com.radioawa.tracing.JsonLinesSpanExporter;
+import com.radioawa.tracing.RepositoryTracingPostProcessor;
+import com.radioawa.tracing.TailSamplingSpanProcessor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.tracing.Tracer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Tracing Configuration
+ * Spans are created for every request (management.tracing.sampling.probability=1.0) and
+ * the decision which traces to keep is taken at the end, by TailSamplingSpanProcessor,
+ * which hands the kept traces to a background thread that writes them as JSON lines to
+ * app.tracing.file (or the log).
+ *
+ * No SpanExporter bean is registered on purpose: Boot would wrap it in a batch
+ * processor that exports every span, bypassing the tail sampling.
+ */
+@Configuration
+public class TracingConfig {
+
+    @Value("${app.tracing.slow-threshold-ms:500}")
+    private long slowThresholdMs;
+
+    @Value("${app.tracing.keep-ratio:0.01}")
+    private double keepRatio;
+
+    @Value("${app.tracing.max-pending-traces:10000}")
+    private int maxPendingTraces;
+
+    @Value("${app.tracing.export-queue-size:2048}")
+    private int exportQueueSize;
+
+    @Value("${app.tracing.file:}")
+    private String file;
+
+    @Bean
+    public TailSamplingSpanProcessor tailSamplingSpanProcessor(MeterRegistry meterRegistry) throws IOException {
+        JsonLinesSpanExporter exporter = new JsonLinesSpanExporter(file.isBlank() ? null : Path.of(file));
+        return new TailSamplingSpanProcessor(exporter, slowThresholdMs, keepRatio, maxPendingTraces,
+                exportQueueSize, meterRegistry);
+    }
+
+    // Static so it is registered before the repository factory beans are created
+    @Bean
+    public static RepositoryTracingPostProcessor repositoryTracingPostProcessor(ObjectProvider<Tracer> tracer) {
+        return new RepositoryTracingPostProcessor(tracer);
+    }
+}
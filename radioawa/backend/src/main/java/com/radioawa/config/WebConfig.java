@@ -3,6 +3,7 @@ package com.radioawa.config;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
@@ -11,6 +12,12 @@ public class WebConfig implements WebMvcConfigurer {
     @Value("${spring.web.cors.allowed-origins:http://localhost:5171,http://frontend:5171}")
     private String[] allowedOrigins;
 
+    private final AdminAccessInterceptor adminAccessInterceptor;
+
+    public WebConfig(AdminAccessInterceptor adminAccessInterceptor) {
+        this.adminAccessInterceptor = adminAccessInterceptor;
+    }
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/api/**")
@@ -19,4 +26,9 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowedHeaders("*")
                 .allowCredentials(true);
     }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(adminAccessInterceptor).addPathPatterns("/api/admin/**");
+    }
 }
@@ -0,0 +1,78 @@
+package com.radioawa.controller;
+
+import com.radioawa.dto.ImportResultResponse;
+import com.radioawa.service.BulkImportService;
+import com.radioawa.service.ImportFormat;
+import com.radioawa.service.ImportTarget;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.BufferedInputStream;
+import java.io.InputStream;
+import java.util.Map;
+
+/**
+ * Admin Import Controller
+ * Bulk-loads stations or songs from a CSV (with header) or NDJSON request body.
+ * Protected by AdminAccessInterceptor (X-Admin-Token).
+ *
+ * Example: curl -H "X-Admin-Token: $TOKEN" -H "Content-Type: text/csv" \
+ *   --data-binary @songs.csv "http://localhost:8081/api/admin/import/songs?onConflict=skip"
+ */
+@RestController
+@RequestMapping("/api/admin/import")
+public class AdminImportController {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdminImportController.class);
+
+    private final BulkImportService bulkImportService;
+
+    public AdminImportController(BulkImportService bulkImportService) {
+        this.bulkImportService = bulkImportService;
+    }
+
+    /**
+     * Import the request body into stations or songs
+     * POST /api/admin/import/{target}?format=csv|ndjson&onConflict=skip|update
+     * update overwrites the columns in the file for existing stations; existing songs keep their counts
+     */
+    @PostMapping("/{target}")
+    public ResponseEntity<?> importFile(
+            @PathVariable String target,
+            @RequestParam(required = false) String format,
+            @RequestParam(defaultValue = "skip") String onConflict,
+            HttpServletRequest request) {
+        try {
+            ImportTarget importTarget = ImportTarget.fromParam(target);
+            ImportFormat importFormat = ImportFormat.detect(format != null ? format : request.getContentType());
+            boolean updateExisting = parseConflictMode(onConflict);
+
+            try (InputStream body = new BufferedInputStream(request.getInputStream(), 64 * 1024)) {
+                ImportResultResponse result = bulkImportService.importFile(importTarget, importFormat, updateExisting, body);
+                return ResponseEntity.ok(result);
+            }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        } catch (UnsupportedOperationException e) {
+            return ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED).body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Import into {} failed: {}", target, e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", "Import failed: " + e.getMessage()));
+        }
+    }
+
+    private static boolean parseConflictMode(String onConflict) {
+        return switch (onConflict.toLowerCase()) {
+            case "skip" -> false;
+            case "update" -> true;
+            default -> throw new IllegalArgumentException("Unsupported onConflict: " + onConflict + " (expected skip or update)");
+        };
+    }
+}
@@ -0,0 +1,96 @@
+package com.radioawa.controller;
+
+import com.radioawa.service.FlightRecorderService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+
+/**
+ * Admin Profiling Controller
+ * Starts, inspects and stops a bounded JDK Flight Recorder recording and downloads it.
+ * Protected by AdminAccessInterceptor (X-Admin-Token).
+ *
+ * Example: curl -X POST -H "X-Admin-Token: $TOKEN" "http://localhost:8081/api/admin/profiling/recording?seconds=120"
+ *          curl -X POST -H "X-Admin-Token: $TOKEN" -o radioawa.jfr "http://localhost:8081/api/admin/profiling/recording/stop"
+ */
+@RestController
+@RequestMapping("/api/admin/profiling/recording")
+public class AdminProfilingController {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdminProfilingController.class);
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final FlightRecorderService flightRecorderService;
+
+    public AdminProfilingController(FlightRecorderService flightRecorderService) {
+        this.flightRecorderService = flightRecorderService;
+    }
+
+    /**
+     * Start a recording
+     * POST /api/admin/profiling/recording?seconds=60&settings=default|profile
+     */
+    @PostMapping
+    public ResponseEntity<Map<String, Object>> start(
+            @RequestParam(defaultValue = "60") long seconds,
+            @RequestParam(defaultValue = "default") String settings) {
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(flightRecorderService.start(Duration.ofSeconds(seconds), settings));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * State of the current or last recording
+     * GET /api/admin/profiling/recording
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> status() {
+        return ResponseEntity.ok(flightRecorderService.status());
+    }
+
+    /**
+     * Stop the recording (if it has not ended by itself) and download it as a .jfr file
+     * POST /api/admin/profiling/recording/stop
+     */
+    @PostMapping("/stop")
+    public ResponseEntity<?> stop() {
+        try {
+            Path file = flightRecorderService.stopAndDump();
+            long size = Files.size(file);
+            // Deleted as soon as the response has been written
+            InputStreamResource body = new InputStreamResource(
+                    Files.newInputStream(file, StandardOpenOption.DELETE_ON_CLOSE));
+            String filename = "radioawa-" + LocalDateTime.now().format(FILE_TIMESTAMP) + ".jfr";
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                    .contentLength(size)
+                    .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                    .body(body);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Writing the JFR recording failed: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", "Writing the recording failed: " + e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.radioawa.controller;
+
+import com.radioawa.dto.BootstrapResponse;
+import com.radioawa.service.BootstrapService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Bootstrap Controller
+ * Everything the player needs for its first paint in one response: health, environment,
+ * stations, the selected station's now-playing metadata and the rating counts for that song.
+ * A part that fails or misses app.bootstrap.timeout-ms is reported as such instead of failing
+ * the whole response, so the client can fall back to that part's own endpoint.
+ */
+@RestController
+@RequestMapping("/api")
+public class BootstrapController {
+
+    private final BootstrapService bootstrapService;
+
+    public BootstrapController(BootstrapService bootstrapService) {
+        this.bootstrapService = bootstrapService;
+    }
+
+    /**
+     * Initial state for the player
+     * GET /api/bootstrap?stationCode=ENGLISH&userId=...
+     * stationCode is the listener's last station; unknown or missing codes select the first active station
+     */
+    @GetMapping("/bootstrap")
+    public ResponseEntity<BootstrapResponse> bootstrap(
+            @RequestParam(required = false) String stationCode,
+            @RequestParam(required = false) String userId) {
+        // Counts include the caller's own vote
+        return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(bootstrapService.bootstrap(stationCode, userId));
+    }
+}
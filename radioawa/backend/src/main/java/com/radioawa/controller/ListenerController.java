@@ -0,0 +1,79 @@
+package com.radioawa.controller;
+
+import com.radioawa.dto.ListenerHeartbeatRequest;
+import com.radioawa.dto.ListenerStatsResponse;
+import com.radioawa.service.ListenerStatsService;
+import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Listener Controller
+ * Player heartbeats in, HyperLogLog listener estimates out (see ListenerStatsService).
+ */
+@RestController
+@RequestMapping("/api/stations")
+public class ListenerController {
+
+    private static final int MAX_RANGE_DAYS = 366;
+
+    private final ListenerStatsService listenerStatsService;
+
+    public ListenerController(ListenerStatsService listenerStatsService) {
+        this.listenerStatsService = listenerStatsService;
+    }
+
+    /**
+     * Listener heartbeat, sent by the player every 30 seconds while playing
+     * POST /api/stations/{code}/heartbeat
+     */
+    @PostMapping("/{code}/heartbeat")
+    public ResponseEntity<Void> heartbeat(@PathVariable String code, @Valid @RequestBody ListenerHeartbeatRequest request) {
+        if (!listenerStatsService.heartbeat(code, request.getUserId())) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Listener estimates for all stations
+     * GET /api/stations/listeners
+     */
+    @GetMapping("/listeners")
+    public ResponseEntity<List<ListenerStatsResponse>> getAllListeners() {
+        return ResponseEntity.ok(listenerStatsService.findAll());
+    }
+
+    /**
+     * Listener estimates for one station; with from/to, also unique listeners over those UTC days
+     * GET /api/stations/{code}/listeners?from=2026-10-01&to=2026-10-07
+     */
+    @GetMapping("/{code}/listeners")
+    public ResponseEntity<?> getListeners(
+            @PathVariable String code,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        if (from == null && to == null) {
+            return listenerStatsService.findByStation(code)
+                    .<ResponseEntity<?>>map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+        }
+        if (from == null || to == null || to.isBefore(from) || ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            return ResponseEntity.badRequest().body(Map.of("error", "from and to must form a range of at most 366 days"));
+        }
+        Map<String, Object> response = new HashMap<>();
+        response.put("stationCode", code);
+        response.put("from", from);
+        response.put("to", to);
+        response.put("uniqueListeners", listenerStatsService.uniqueListenersBetween(code, from, to));
+        return ResponseEntity.ok(response);
+    }
+}
@@ -3,47 +3,78 @@ package com.radioawa.controller;
 import com.radioawa.dto.RatingCountsResponse;
 import com.radioawa.dto.RatingRequest;
 import com.radioawa.dto.RatingResponse;
+import com.radioawa.service.RatingIngestPipeline;
 import com.radioawa.service.RatingService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/ratings")
 public class RatingController {
 
     private final RatingService ratingService;
+    private final RatingIngestPipeline ingestPipeline;
 
-    public RatingController(RatingService ratingService) {
+    public RatingController(RatingService ratingService, RatingIngestPipeline ingestPipeline) {
         this.ratingService = ratingService;
+        this.ingestPipeline = ingestPipeline;
     }
 
+    /**
+     * Submit a vote
+     * In batched ingest mode the request thread is released while the vote waits for its
+     * writer; in direct mode the vote is applied on the request thread as before.
+     */
     @PostMapping
-    public ResponseEntity<RatingResponse> submitRating(
+    public CompletableFuture<ResponseEntity<RatingResponse>> submitRating(
             @Valid @RequestBody RatingRequest request,
             HttpServletRequest httpRequest) {
-        try {
-            // Capture IP address from request
-            String ipAddress = getClientIpAddress(httpRequest);
-            request.setIpAddress(ipAddress);
+        // Capture IP address from request
+        String ipAddress = getClientIpAddress(httpRequest);
+        request.setIpAddress(ipAddress);
+        request.setUserAgent(httpRequest.getHeader(HttpHeaders.USER_AGENT));
 
+        try {
+            if (ingestPipeline.isEnabled()) {
+                return ingestPipeline.submit(request)
+                        .thenApply(ResponseEntity::ok)
+                        .exceptionally(this::toErrorResponse);
+            }
             RatingResponse response = ratingService.submitRating(request);
-            return ResponseEntity.ok(response);
-        } catch (RuntimeException e) {
+            return CompletableFuture.completedFuture(ResponseEntity.ok(response));
+        } catch (Exception e) {
+            return CompletableFuture.completedFuture(toErrorResponse(e));
+        }
+    }
+
+    private ResponseEntity<RatingResponse> toErrorResponse(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        RatingResponse errorResponse = new RatingResponse();
+
+        if (cause instanceof RejectedExecutionException) {
+            // Ingest queue is full: tell the client to back off briefly
+            errorResponse.setMessage("Too many votes right now, please retry shortly");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(errorResponse);
+        }
+        if (cause instanceof RuntimeException) {
             // Handle rate limiting and other business logic errors
-            RatingResponse errorResponse = new RatingResponse();
-            errorResponse.setMessage(e.getMessage());
+            errorResponse.setMessage(cause.getMessage());
             return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(errorResponse);
-        } catch (Exception e) {
-            RatingResponse errorResponse = new RatingResponse();
-            errorResponse.setMessage("Failed to submit rating: " + e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
         }
+        errorResponse.setMessage("Failed to submit rating: " + cause.getMessage());
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
     }
 
     /**
@@ -0,0 +1,48 @@
+package com.radioawa.controller;
+
+import com.radioawa.dto.SongRecommendation;
+import com.radioawa.service.RecommendationService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Recommendation Controller
+ * Songs a listener is likely to up-vote, served from the in-process RecommendationService.
+ */
+@RestController
+@RequestMapping("/api/recommendations")
+public class RecommendationController {
+
+    private final RecommendationService recommendationService;
+
+    public RecommendationController(RecommendationService recommendationService) {
+        this.recommendationService = recommendationService;
+    }
+
+    /**
+     * Recommend songs similar to the ones the listener voted on
+     * GET /api/recommendations?userId=...&station=HINDI&limit=10
+     */
+    @GetMapping
+    public ResponseEntity<?> recommend(
+            @RequestParam String userId,
+            @RequestParam(required = false) String station,
+            @RequestParam(defaultValue = "10") int limit) {
+        if (userId.isBlank()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "userId is required"));
+        }
+        if (!recommendationService.isReady()) {
+            // Only during the first build after startup
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .body(Map.of("error", "Recommendations are still loading"));
+        }
+        List<SongRecommendation> results = recommendationService.recommend(userId, station, limit);
+        return ResponseEntity.ok(results);
+    }
+}
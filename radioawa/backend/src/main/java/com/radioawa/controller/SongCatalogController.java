@@ -0,0 +1,101 @@
+package com.radioawa.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.radioawa.dto.SongPageResponse;
+import com.radioawa.service.SongCatalogService;
+import com.radioawa.service.SongSort;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Song Catalog Controller
+ * Browses a station's songs by net score or recency, either page by page (keyset cursors)
+ * or as a single NDJSON stream for exports.
+ */
+@RestController
+@RequestMapping("/api/stations/{code}/songs")
+public class SongCatalogController {
+
+    private static final Logger logger = LoggerFactory.getLogger(SongCatalogController.class);
+    private static final String NDJSON = "application/x-ndjson";
+
+    private final SongCatalogService songCatalogService;
+    private final ObjectMapper objectMapper;
+
+    public SongCatalogController(SongCatalogService songCatalogService, ObjectMapper objectMapper) {
+        this.songCatalogService = songCatalogService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Get one page of a station's songs
+     * GET /api/stations/{code}/songs?sort=score|recent&limit=50&cursor=...
+     */
+    @GetMapping
+    public ResponseEntity<?> getSongs(
+            @PathVariable String code,
+            @RequestParam(defaultValue = "score") String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        try {
+            Optional<SongPageResponse> page = songCatalogService.findPage(code, SongSort.fromParam(sort), cursor, limit);
+            return page.<ResponseEntity<?>>map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Stream all of a station's songs as newline-delimited JSON
+     * GET /api/stations/{code}/songs/stream?sort=score|recent&cursor=...
+     */
+    @GetMapping(value = "/stream", produces = NDJSON)
+    public void streamSongs(
+            @PathVariable String code,
+            @RequestParam(defaultValue = "score") String sort,
+            @RequestParam(required = false) String cursor,
+            HttpServletResponse response) throws IOException {
+        SongSort songSort;
+        try {
+            songSort = SongSort.fromParam(sort);
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), e.getMessage());
+            return;
+        }
+
+        response.setContentType(NDJSON);
+        OutputStream out = new BufferedOutputStream(response.getOutputStream(), 64 * 1024);
+        try {
+            boolean found = songCatalogService.stream(code, songSort, cursor, song -> {
+                try {
+                    out.write(objectMapper.writeValueAsBytes(song));
+                    out.write('\n');
+                } catch (IOException e) {
+                    // Client went away: abort the query instead of reading the rest of the catalog
+                    throw new UncheckedIOException(e);
+                }
+            });
+            if (!found) {
+                response.sendError(HttpStatus.NOT_FOUND.value());
+                return;
+            }
+            out.flush();
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), e.getMessage());
+        } catch (UncheckedIOException e) {
+            logger.debug("Song stream for {} aborted: {}", code, e.getCause().getMessage());
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.radioawa.controller;
+
+import com.radioawa.dto.SongSearchResult;
+import com.radioawa.service.SongSearchIndex;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Song Search Controller
+ * Search-as-you-type over artist and title words, served from the in-process SongSearchIndex.
+ */
+@RestController
+@RequestMapping("/api/songs")
+public class SongSearchController {
+
+    private static final int MAX_QUERY_LENGTH = 200;
+
+    private final SongSearchIndex songSearchIndex;
+
+    public SongSearchController(SongSearchIndex songSearchIndex) {
+        this.songSearchIndex = songSearchIndex;
+    }
+
+    /**
+     * Find songs whose artist/title words start with every word of the query
+     * GET /api/songs/search?q=arij tum&station=HINDI&limit=10
+     */
+    @GetMapping("/search")
+    public ResponseEntity<?> search(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) String station,
+            @RequestParam(defaultValue = "10") int limit) {
+        if (query.length() > MAX_QUERY_LENGTH) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Query is too long"));
+        }
+        if (!songSearchIndex.isReady()) {
+            // Only during the first build after startup
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(Map.of("error", "Search index is still loading"));
+        }
+        List<SongSearchResult> results = songSearchIndex.search(query, station, limit);
+        return ResponseEntity.ok(results);
+    }
+}
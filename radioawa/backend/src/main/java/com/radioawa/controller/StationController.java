@@ -1,23 +1,21 @@
 package com.radioawa.controller;
 
 import com.radioawa.dto.StationResponse;
-import com.radioawa.entity.Station;
-import com.radioawa.repository.StationRepository;
+import com.radioawa.service.StationCatalog;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/stations")
 public class StationController {
 
-    private final StationRepository stationRepository;
+    private final StationCatalog stationCatalog;
 
-    public StationController(StationRepository stationRepository) {
-        this.stationRepository = stationRepository;
+    public StationController(StationCatalog stationCatalog) {
+        this.stationCatalog = stationCatalog;
     }
 
     /**
@@ -26,13 +24,7 @@ public class StationController {
      */
     @GetMapping
     public ResponseEntity<List<StationResponse>> getActiveStations() {
-        List<Station> stations = stationRepository.findByIsActiveTrueOrderByDisplayOrder();
-
-        List<StationResponse> responses = stations.stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
-
-        return ResponseEntity.ok(responses);
+        return ResponseEntity.ok(stationCatalog.findActive());
     }
 
     /**
@@ -41,8 +33,8 @@ public class StationController {
      */
     @GetMapping("/{code}")
     public ResponseEntity<StationResponse> getStationByCode(@PathVariable String code) {
-        return stationRepository.findByCode(code)
-                .map(station -> ResponseEntity.ok(toResponse(station)))
+        return stationCatalog.findByCode(code)
+                .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND).build());
     }
 
@@ -52,36 +44,6 @@ public class StationController {
      */
     @GetMapping("/all")
     public ResponseEntity<List<StationResponse>> getAllStations() {
-        List<Station> stations = stationRepository.findAllByOrderByDisplayOrder();
-
-        List<StationResponse> responses = stations.stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
-
-        return ResponseEntity.ok(responses);
-    }
-
-    /**
-     * Convert Station entity to StationResponse DTO
-     */
-    private StationResponse toResponse(Station station) {
-        return new StationResponse(
-                station.getId(),
-                station.getCode(),
-                station.getName(),
-                station.getStreamUrl(),
-                station.getMetadataUrl(),
-                station.getIsActive(),
-                station.getDisplayOrder(),
-                station.getStreamFormat(),
-                station.getStreamQuality(),
-                station.getStreamCodec(),
-                station.getStreamBitrate(),
-                station.getGenre(),
-                station.getTagline(),
-                station.getLogoUrl(),
-                station.getDescription(),
-                station.getSourceInfo()
-        );
+        return ResponseEntity.ok(stationCatalog.findAll());
     }
 }
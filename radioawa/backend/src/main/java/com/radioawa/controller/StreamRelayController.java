@@ -0,0 +1,57 @@
+package com.radioawa.controller;
+
+import com.radioawa.service.StreamRelayService;
+import com.radioawa.service.StreamRelayService.RelayedResource;
+import com.radioawa.service.StreamRelayService.UpstreamException;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Stream Relay Controller
+ * Serves station HLS playlists and segments from StreamRelayService. The cached byte[] is
+ * handed to the response as-is, so every listener is written from the same buffer.
+ */
+@RestController
+@RequestMapping("/api/stations")
+public class StreamRelayController {
+
+    private static final CacheControl SEGMENT_CACHE = CacheControl.maxAge(Duration.ofHours(1)).cachePublic().immutable();
+
+    private final StreamRelayService streamRelayService;
+
+    public StreamRelayController(StreamRelayService streamRelayService) {
+        this.streamRelayService = streamRelayService;
+    }
+
+    /**
+     * Relayed playlist or segment
+     * GET /api/stations/{code}/hls/playlist.m3u8
+     */
+    @GetMapping("/{code}/hls/{*path}")
+    public ResponseEntity<byte[]> relay(@PathVariable String code, @PathVariable String path, HttpServletRequest request) {
+        Optional<RelayedResource> resource;
+        try {
+            resource = streamRelayService.fetch(code, path, request.getQueryString());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (UpstreamException e) {
+            HttpStatus status = e.getStatus() == 404 ? HttpStatus.NOT_FOUND : HttpStatus.BAD_GATEWAY;
+            return ResponseEntity.status(status).build();
+        }
+
+        return resource
+                .map(relayed -> ResponseEntity.ok()
+                        .contentType(MediaType.parseMediaType(relayed.contentType()))
+                        // Playlists change every target duration; segments never change
+                        .cacheControl(relayed.playlist() ? CacheControl.noCache() : SEGMENT_CACHE)
+                        .body(relayed.body()))
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
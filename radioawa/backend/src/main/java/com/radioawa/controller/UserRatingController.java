@@ -0,0 +1,64 @@
+package com.radioawa.controller;
+
+import com.radioawa.dto.UserRatingPageResponse;
+import com.radioawa.entity.RatingType;
+import com.radioawa.service.UserRatingService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * User Rating Controller
+ * A listener's rating history, newest change first, page by page (keyset cursors).
+ */
+@RestController
+@RequestMapping("/api/users/{userId}/ratings")
+public class UserRatingController {
+
+    private static final int MAX_USER_ID_LENGTH = 36;
+
+    private final UserRatingService userRatingService;
+
+    public UserRatingController(UserRatingService userRatingService) {
+        this.userRatingService = userRatingService;
+    }
+
+    /**
+     * Get one page of a listener's ratings
+     * GET /api/users/{userId}/ratings?station=HINDI&ratingType=THUMBS_UP&limit=50&cursor=...
+     */
+    @GetMapping
+    public ResponseEntity<?> getRatings(
+            @PathVariable String userId,
+            @RequestParam(required = false) String station,
+            @RequestParam(required = false) String ratingType,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        if (userId.isBlank() || userId.length() > MAX_USER_ID_LENGTH) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Invalid userId"));
+        }
+        try {
+            Optional<UserRatingPageResponse> page = userRatingService.findPage(
+                    userId, station, parseRatingType(ratingType), cursor, limit);
+            return page.<ResponseEntity<?>>map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    private static RatingType parseRatingType(String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        for (RatingType type : RatingType.values()) {
+            if (type.name().equalsIgnoreCase(value)) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported ratingType: " + value + " (expected THUMBS_UP or THUMBS_DOWN)");
+    }
+}
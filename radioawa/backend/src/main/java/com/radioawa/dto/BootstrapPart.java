@@ -0,0 +1,77 @@
+package com.radioawa.dto;
+
+/**
+ * One part of the /api/bootstrap response with its freshness: where it came from
+ * (live, snapshot, cache, icy, playlist, fallback), when that data was produced and how old
+ * it was when the response was assembled. status is ok, error, timeout or unavailable; on
+ * anything but ok, data is null and the client should call the part's own endpoint.
+ */
+public class BootstrapPart<T> {
+    private String status;
+    private String source;
+    private String asOf;
+    private Long ageMs;
+    private T data;
+    private String error;
+
+    public BootstrapPart() {
+    }
+
+    public BootstrapPart(String status, String source, String asOf, Long ageMs, T data, String error) {
+        this.status = status;
+        this.source = source;
+        this.asOf = asOf;
+        this.ageMs = ageMs;
+        this.data = data;
+        this.error = error;
+    }
+
+    // Getters and Setters
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public void setSource(String source) {
+        this.source = source;
+    }
+
+    public String getAsOf() {
+        return asOf;
+    }
+
+    public void setAsOf(String asOf) {
+        this.asOf = asOf;
+    }
+
+    public Long getAgeMs() {
+        return ageMs;
+    }
+
+    public void setAgeMs(Long ageMs) {
+        this.ageMs = ageMs;
+    }
+
+    public T getData() {
+        return data;
+    }
+
+    public void setData(T data) {
+        this.data = data;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -0,0 +1,74 @@
+package com.radioawa.dto;
+
+import java.util.List;
+import java.util.Map;
+
+public class BootstrapResponse {
+    private String generatedAt;
+    private String stationCode; // station the nowPlaying and ratingCounts parts are for
+    private BootstrapPart<Map<String, Object>> health;
+    private BootstrapPart<EnvironmentInfoResponse> environment;
+    private BootstrapPart<List<StationResponse>> stations;
+    private BootstrapPart<Map<String, Object>> nowPlaying;
+    private BootstrapPart<RatingCountsResponse> ratingCounts;
+
+    public BootstrapResponse() {
+    }
+
+    // Getters and Setters
+    public String getGeneratedAt() {
+        return generatedAt;
+    }
+
+    public void setGeneratedAt(String generatedAt) {
+        this.generatedAt = generatedAt;
+    }
+
+    public String getStationCode() {
+        return stationCode;
+    }
+
+    public void setStationCode(String stationCode) {
+        this.stationCode = stationCode;
+    }
+
+    public BootstrapPart<Map<String, Object>> getHealth() {
+        return health;
+    }
+
+    public void setHealth(BootstrapPart<Map<String, Object>> health) {
+        this.health = health;
+    }
+
+    public BootstrapPart<EnvironmentInfoResponse> getEnvironment() {
+        return environment;
+    }
+
+    public void setEnvironment(BootstrapPart<EnvironmentInfoResponse> environment) {
+        this.environment = environment;
+    }
+
+    public BootstrapPart<List<StationResponse>> getStations() {
+        return stations;
+    }
+
+    public void setStations(BootstrapPart<List<StationResponse>> stations) {
+        this.stations = stations;
+    }
+
+    public BootstrapPart<Map<String, Object>> getNowPlaying() {
+        return nowPlaying;
+    }
+
+    public void setNowPlaying(BootstrapPart<Map<String, Object>> nowPlaying) {
+        this.nowPlaying = nowPlaying;
+    }
+
+    public BootstrapPart<RatingCountsResponse> getRatingCounts() {
+        return ratingCounts;
+    }
+
+    public void setRatingCounts(BootstrapPart<RatingCountsResponse> ratingCounts) {
+        this.ratingCounts = ratingCounts;
+    }
+}
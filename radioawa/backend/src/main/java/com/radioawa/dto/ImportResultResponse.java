@@ -0,0 +1,92 @@
+package com.radioawa.dto;
+
+public class ImportResultResponse {
+    private String target;
+    private String format;
+    private long rowsStaged;   // rows read from the file
+    private long inserted;
+    private long updated;
+    private long skipped;      // duplicates, invalid rows, unknown stations or kept existing rows
+    private long durationMs;
+    private long rowsPerSecond;
+
+    public ImportResultResponse() {
+    }
+
+    public ImportResultResponse(String target, String format, long rowsStaged, long inserted, long updated,
+                                long skipped, long durationMs, long rowsPerSecond) {
+        this.target = target;
+        this.format = format;
+        this.rowsStaged = rowsStaged;
+        this.inserted = inserted;
+        this.updated = updated;
+        this.skipped = skipped;
+        this.durationMs = durationMs;
+        this.rowsPerSecond = rowsPerSecond;
+    }
+
+    // Getters and Setters
+    public String getTarget() {
+        return target;
+    }
+
+    public void setTarget(String target) {
+        this.target = target;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public void setFormat(String format) {
+        this.format = format;
+    }
+
+    public long getRowsStaged() {
+        return rowsStaged;
+    }
+
+    public void setRowsStaged(long rowsStaged) {
+        this.rowsStaged = rowsStaged;
+    }
+
+    public long getInserted() {
+        return inserted;
+    }
+
+    public void setInserted(long inserted) {
+        this.inserted = inserted;
+    }
+
+    public long getUpdated() {
+        return updated;
+    }
+
+    public void setUpdated(long updated) {
+        this.updated = updated;
+    }
+
+    public long getSkipped() {
+        return skipped;
+    }
+
+    public void setSkipped(long skipped) {
+        this.skipped = skipped;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public void setDurationMs(long durationMs) {
+        this.durationMs = durationMs;
+    }
+
+    public long getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+
+    public void setRowsPerSecond(long rowsPerSecond) {
+        this.rowsPerSecond = rowsPerSecond;
+    }
+}
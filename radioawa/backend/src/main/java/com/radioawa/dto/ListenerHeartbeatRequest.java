@@ -0,0 +1,19 @@
+package com.radioawa.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+public class ListenerHeartbeatRequest {
+    @NotBlank(message = "User ID is required")
+    @Size(max = 64, message = "User ID is too long")
+    private String userId;
+
+    // Getters and Setters
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+}
@@ -0,0 +1,52 @@
+package com.radioawa.dto;
+
+import java.time.Instant;
+
+public class ListenerStatsResponse {
+    private String stationCode;
+    private long currentListeners; // distinct listeners in the last complete minute
+    private long uniqueListenersThisHour;
+    private long uniqueListenersToday; // UTC day
+    private Instant updatedAt;
+
+    // Getters and Setters
+    public String getStationCode() {
+        return stationCode;
+    }
+
+    public void setStationCode(String stationCode) {
+        this.stationCode = stationCode;
+    }
+
+    public long getCurrentListeners() {
+        return currentListeners;
+    }
+
+    public void setCurrentListeners(long currentListeners) {
+        this.currentListeners = currentListeners;
+    }
+
+    public long getUniqueListenersThisHour() {
+        return uniqueListenersThisHour;
+    }
+
+    public void setUniqueListenersThisHour(long uniqueListenersThisHour) {
+        this.uniqueListenersThisHour = uniqueListenersThisHour;
+    }
+
+    public long getUniqueListenersToday() {
+        return uniqueListenersToday;
+    }
+
+    public void setUniqueListenersToday(long uniqueListenersToday) {
+        this.uniqueListenersToday = uniqueListenersToday;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -22,6 +22,8 @@ public class RatingRequest {
 
     private String ipAddress; // Optional, will be set by controller
 
+    private String userAgent; // Optional, will be set by controller
+
     // Getters and Setters
     public String getStationCode() {
         return stationCode;
@@ -70,4 +72,12 @@ public class RatingRequest {
     public void setIpAddress(String ipAddress) {
         this.ipAddress = ipAddress;
     }
+
+    public String getUserAgent() {
+        return userAgent;
+    }
+
+    public void setUserAgent(String userAgent) {
+        this.userAgent = userAgent;
+    }
 }
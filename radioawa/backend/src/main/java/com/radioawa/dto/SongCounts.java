@@ -0,0 +1,13 @@
+package com.radioawa.dto;
+
+/**
+ * Song Counts
+ * Immutable snapshot of a song's vote totals, selected as a JPQL constructor projection.
+ * Unlike a managed Song entity it is safe to share between requests.
+ */
+public record SongCounts(Long songId, String artist, String title, Integer thumbsUpCount, Integer thumbsDownCount) {
+
+    public int totalVotes() {
+        return thumbsUpCount + thumbsDownCount;
+    }
+}
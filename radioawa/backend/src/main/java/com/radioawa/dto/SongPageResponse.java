@@ -0,0 +1,33 @@
+package com.radioawa.dto;
+
+import java.util.List;
+
+public class SongPageResponse {
+    private List<SongSummaryResponse> songs;
+    private String nextCursor; // null on the last page
+
+    public SongPageResponse() {
+    }
+
+    public SongPageResponse(List<SongSummaryResponse> songs, String nextCursor) {
+        this.songs = songs;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters and Setters
+    public List<SongSummaryResponse> getSongs() {
+        return songs;
+    }
+
+    public void setSongs(List<SongSummaryResponse> songs) {
+        this.songs = songs;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
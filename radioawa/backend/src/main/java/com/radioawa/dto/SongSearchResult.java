@@ -0,0 +1,51 @@
+package com.radioawa.dto;
+
+public class SongSearchResult {
+    private Long id;
+    private String stationCode;
+    private String artist;
+    private String title;
+
+    public SongSearchResult() {
+    }
+
+    public SongSearchResult(Long id, String stationCode, String artist, String title) {
+        this.id = id;
+        this.stationCode = stationCode;
+        this.artist = artist;
+        this.title = title;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getStationCode() {
+        return stationCode;
+    }
+
+    public void setStationCode(String stationCode) {
+        this.stationCode = stationCode;
+    }
+
+    public String getArtist() {
+        return artist;
+    }
+
+    public void setArtist(String artist) {
+        this.artist = artist;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+}
@@ -0,0 +1,84 @@
+package com.radioawa.dto;
+
+import java.time.LocalDateTime;
+
+public class SongSummaryResponse {
+    private Long id;
+    private String artist;
+    private String title;
+    private Integer thumbsUpCount;
+    private Integer thumbsDownCount;
+    private Integer netScore;
+    private LocalDateTime createdAt;
+
+    public SongSummaryResponse() {
+    }
+
+    public SongSummaryResponse(Long id, String artist, String title, Integer thumbsUpCount,
+                               Integer thumbsDownCount, Integer netScore, LocalDateTime createdAt) {
+        this.id = id;
+        this.artist = artist;
+        this.title = title;
+        this.thumbsUpCount = thumbsUpCount;
+        this.thumbsDownCount = thumbsDownCount;
+        this.netScore = netScore;
+        this.createdAt = createdAt;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getArtist() {
+        return artist;
+    }
+
+    public void setArtist(String artist) {
+        this.artist = artist;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public Integer getThumbsUpCount() {
+        return thumbsUpCount;
+    }
+
+    public void setThumbsUpCount(Integer thumbsUpCount) {
+        this.thumbsUpCount = thumbsUpCount;
+    }
+
+    public Integer getThumbsDownCount() {
+        return thumbsDownCount;
+    }
+
+    public void setThumbsDownCount(Integer thumbsDownCount) {
+        this.thumbsDownCount = thumbsDownCount;
+    }
+
+    public Integer getNetScore() {
+        return netScore;
+    }
+
+    public void setNetScore(Integer netScore) {
+        this.netScore = netScore;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,13 @@
+package com.radioawa.dto;
+
+/**
+ * Song Voter
+ * A user who rated a song and whether the vote is in the song's counters, selected as a JPQL
+ * constructor projection.
+ */
+public record SongVoter(String userId, Boolean quarantined) {
+
+    public boolean counted() {
+        return !Boolean.TRUE.equals(quarantined);
+    }
+}
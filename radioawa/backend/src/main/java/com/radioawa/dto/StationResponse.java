@@ -18,6 +18,7 @@ public class StationResponse {
     private String logoUrl;
     private String description;
     private String sourceInfo;
+    private String relayUrl;
 
     // Constructors
 
@@ -175,4 +176,12 @@ public class StationResponse {
     public void setSourceInfo(String sourceInfo) {
         this.sourceInfo = sourceInfo;
     }
+
+    public String getRelayUrl() {
+        return relayUrl;
+    }
+
+    public void setRelayUrl(String relayUrl) {
+        this.relayUrl = relayUrl;
+    }
 }
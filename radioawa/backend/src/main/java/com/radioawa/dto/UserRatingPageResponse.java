@@ -0,0 +1,33 @@
+package com.radioawa.dto;
+
+import java.util.List;
+
+public class UserRatingPageResponse {
+    private List<UserRatingResponse> ratings;
+    private String nextCursor; // null on the last page
+
+    public UserRatingPageResponse() {
+    }
+
+    public UserRatingPageResponse(List<UserRatingResponse> ratings, String nextCursor) {
+        this.ratings = ratings;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters and Setters
+    public List<UserRatingResponse> getRatings() {
+        return ratings;
+    }
+
+    public void setRatings(List<UserRatingResponse> ratings) {
+        this.ratings = ratings;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
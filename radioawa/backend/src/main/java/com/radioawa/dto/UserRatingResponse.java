@@ -0,0 +1,131 @@
+package com.radioawa.dto;
+
+import com.radioawa.entity.RatingType;
+
+import java.time.LocalDateTime;
+
+/**
+ * One vote from a listener's rating history, with the song and station it was cast on
+ */
+public class UserRatingResponse {
+    private Long id;
+    private RatingType ratingType;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private Long songId;
+    private String artist;
+    private String title;
+    private Integer thumbsUpCount;
+    private Integer thumbsDownCount;
+    private String stationCode;
+    private String stationName;
+
+    public UserRatingResponse() {
+    }
+
+    public UserRatingResponse(Long id, RatingType ratingType, LocalDateTime createdAt,
+                              LocalDateTime updatedAt, Long songId, String artist, String title,
+                              Integer thumbsUpCount, Integer thumbsDownCount, String stationCode,
+                              String stationName) {
+        this.id = id;
+        this.ratingType = ratingType;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.songId = songId;
+        this.artist = artist;
+        this.title = title;
+        this.thumbsUpCount = thumbsUpCount;
+        this.thumbsDownCount = thumbsDownCount;
+        this.stationCode = stationCode;
+        this.stationName = stationName;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public RatingType getRatingType() {
+        return ratingType;
+    }
+
+    public void setRatingType(RatingType ratingType) {
+        this.ratingType = ratingType;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public Long getSongId() {
+        return songId;
+    }
+
+    public void setSongId(Long songId) {
+        this.songId = songId;
+    }
+
+    public String getArtist() {
+        return artist;
+    }
+
+    public void setArtist(String artist) {
+        this.artist = artist;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public Integer getThumbsUpCount() {
+        return thumbsUpCount;
+    }
+
+    public void setThumbsUpCount(Integer thumbsUpCount) {
+        this.thumbsUpCount = thumbsUpCount;
+    }
+
+    public Integer getThumbsDownCount() {
+        return thumbsDownCount;
+    }
+
+    public void setThumbsDownCount(Integer thumbsDownCount) {
+        this.thumbsDownCount = thumbsDownCount;
+    }
+
+    public String getStationCode() {
+        return stationCode;
+    }
+
+    public void setStationCode(String stationCode) {
+        this.stationCode = stationCode;
+    }
+
+    public String getStationName() {
+        return stationName;
+    }
+
+    public void setStationName(String stationName) {
+        this.stationName = stationName;
+    }
+}
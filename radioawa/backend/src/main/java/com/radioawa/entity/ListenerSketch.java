@@ -0,0 +1,96 @@
+package com.radioawa.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * One instance's HyperLogLog sketch of listener ids for a station and time bucket.
+ * Every instance writes its own row; estimates merge all rows of a bucket.
+ */
+@Entity
+@Table(name = "listener_sketches",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"station_code", "granularity", "bucket_start", "instance_id"}),
+       indexes = @Index(name = "idx_listener_sketches_bucket", columnList = "granularity, bucket_start"))
+public class ListenerSketch {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "station_code", nullable = false, length = 50)
+    private String stationCode;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private ListenerSketchGranularity granularity;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart; // UTC
+
+    @Column(name = "instance_id", nullable = false, length = 64)
+    private String instanceId;
+
+    @Column(nullable = false, length = 65537)
+    private byte[] registers; // HyperLogLog.toBytes()
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onWrite() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getStationCode() {
+        return stationCode;
+    }
+
+    public void setStationCode(String stationCode) {
+        this.stationCode = stationCode;
+    }
+
+    public ListenerSketchGranularity getGranularity() {
+        return granularity;
+    }
+
+    public void setGranularity(ListenerSketchGranularity granularity) {
+        this.granularity = granularity;
+    }
+
+    public LocalDateTime getBucketStart() {
+        return bucketStart;
+    }
+
+    public void setBucketStart(LocalDateTime bucketStart) {
+        this.bucketStart = bucketStart;
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    public void setInstanceId(String instanceId) {
+        this.instanceId = instanceId;
+    }
+
+    public byte[] getRegisters() {
+        return registers;
+    }
+
+    public void setRegisters(byte[] registers) {
+        this.registers = registers;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
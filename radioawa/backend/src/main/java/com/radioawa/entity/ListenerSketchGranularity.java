@@ -0,0 +1,19 @@
+package com.radioawa.entity;
+
+import java.time.Duration;
+
+public enum ListenerSketchGranularity {
+    MINUTE(Duration.ofMinutes(1)),
+    HOUR(Duration.ofHours(1)),
+    DAY(Duration.ofDays(1));
+
+    private final Duration length;
+
+    ListenerSketchGranularity(Duration length) {
+        this.length = length;
+    }
+
+    public Duration getLength() {
+        return length;
+    }
+}
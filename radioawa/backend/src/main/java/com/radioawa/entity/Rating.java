@@ -5,7 +5,11 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "ratings",
-       uniqueConstraints = @UniqueConstraint(columnNames = {"song_id", "user_id"}))
+       uniqueConstraints = @UniqueConstraint(columnNames = {"song_id", "user_id"}),
+       indexes = {
+           // Keyset pagination of a listener's rating history, newest first
+           @Index(name = "idx_ratings_user_updated_at", columnList = "user_id, updated_at, id")
+       })
 public class Rating {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -25,6 +29,9 @@ public class Rating {
     @Column(name = "rating_type", nullable = false, length = 20)
     private RatingType ratingType;
 
+    @Column(name = "quarantined")
+    private Boolean quarantined; // Flagged by VoteFraudDetector: stored, but not in the song's counters
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -98,4 +105,12 @@ public class Rating {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    public Boolean getQuarantined() {
+        return quarantined;
+    }
+
+    public void setQuarantined(Boolean quarantined) {
+        this.quarantined = quarantined;
+    }
 }
@@ -5,7 +5,12 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "songs",
-       uniqueConstraints = @UniqueConstraint(columnNames = {"station_id", "artist", "title"}))
+       uniqueConstraints = @UniqueConstraint(columnNames = {"station_id", "artist", "title"}),
+       indexes = {
+           // Keyset pagination of a station's catalog (scanned backwards for DESC order)
+           @Index(name = "idx_songs_station_net_score", columnList = "station_id, net_score, id"),
+           @Index(name = "idx_songs_station_created_at", columnList = "station_id, created_at, id")
+       })
 public class Song {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -27,6 +32,10 @@ public class Song {
     @Column(name = "thumbs_down_count", nullable = false)
     private Integer thumbsDownCount = 0;
 
+    // thumbs up minus thumbs down, stored so "top rated" can be served from an index
+    @Column(name = "net_score", nullable = false, columnDefinition = "integer default 0 not null")
+    private Integer netScore = 0;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -37,11 +46,13 @@ public class Song {
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
+        netScore = thumbsUpCount - thumbsDownCount;
     }
 
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
+        netScore = thumbsUpCount - thumbsDownCount;
     }
 
     // Getters and Setters
@@ -93,6 +104,10 @@ public class Song {
         this.thumbsDownCount = thumbsDownCount;
     }
 
+    public Integer getNetScore() {
+        return netScore;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -0,0 +1,43 @@
+package com.radioawa.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Snapshot Rebuild Event
+ * A rebuild of one of the in-memory snapshots readers are served from: the station
+ * catalog, the song search index or a station's now-playing metadata.
+ */
+@Name("com.radioawa.SnapshotRebuild")
+@Label("Snapshot Rebuild")
+@Category({"RadioAwa", "Snapshots"})
+@Description("Rebuild of an in-memory read snapshot (stations, song search index, now playing)")
+@StackTrace(false)
+public class SnapshotRebuildEvent extends Event {
+
+    @Label("Snapshot")
+    private String snapshot;
+
+    @Label("Station")
+    @Description("Station the snapshot belongs to, if it is per station")
+    private String station;
+
+    @Label("Entries")
+    private int entries;
+
+    public SnapshotRebuildEvent(String snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    public void setStation(String station) {
+        this.station = station;
+    }
+
+    public void setEntries(int entries) {
+        this.entries = entries;
+    }
+}
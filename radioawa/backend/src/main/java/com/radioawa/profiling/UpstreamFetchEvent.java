@@ -0,0 +1,64 @@
+package com.radioawa.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Upstream Fetch Event
+ * One call to an external service, or the cache hit that avoided it. Hits are recorded
+ * with no duration so a recording shows the hit ratio next to the cost of the misses.
+ * Status is the HTTP status, or 0 when no response arrived.
+ */
+@Name("com.radioawa.UpstreamFetch")
+@Label("Upstream Fetch")
+@Category({"RadioAwa", "Upstream"})
+@Description("A request to an external service (album art, metadata, stream origin) or a cache hit in its place")
+@StackTrace(false)
+public class UpstreamFetchEvent extends Event {
+
+    @Label("Source")
+    @Description("What was fetched: itunes, english-metadata, relay-playlist, relay-segment")
+    private String source;
+
+    @Label("Host")
+    private String host;
+
+    @Label("Cache Hit")
+    private boolean cacheHit;
+
+    @Label("Status")
+    private int status;
+
+    @Label("Bytes")
+    @DataAmount
+    private long bytes;
+
+    public UpstreamFetchEvent(String source, String host) {
+        this.source = source;
+        this.host = host;
+    }
+
+    /**
+     * Record a hit that needed no upstream request
+     */
+    public static void cacheHit(String source, String host) {
+        UpstreamFetchEvent event = new UpstreamFetchEvent(source, host);
+        if (event.isEnabled()) {
+            event.cacheHit = true;
+            event.commit();
+        }
+    }
+
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    public void setBytes(long bytes) {
+        this.bytes = bytes;
+    }
+}
@@ -0,0 +1,60 @@
+package com.radioawa.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Vote Submission Event
+ * One vote applied by RatingService: the event duration is the whole apply, the phase
+ * fields split it the same way as the radioawa.ratings.submit.phase timers.
+ */
+@Name("com.radioawa.VoteSubmission")
+@Label("Vote Submission")
+@Category({"RadioAwa", "Ratings"})
+@Description("A vote applied by RatingService, with its station, phases and outcome")
+@StackTrace(false)
+public class VoteSubmissionEvent extends Event {
+
+    @Label("Station")
+    private String station;
+
+    @Label("Outcome")
+    private String outcome;
+
+    @Label("Lookup")
+    @Timespan(Timespan.NANOSECONDS)
+    private long lookupNanos;
+
+    @Label("Rate Limit")
+    @Timespan(Timespan.NANOSECONDS)
+    private long rateLimitNanos;
+
+    @Label("Write")
+    @Timespan(Timespan.NANOSECONDS)
+    private long writeNanos;
+
+    public void setStation(String station) {
+        this.station = station;
+    }
+
+    public void setOutcome(String outcome) {
+        this.outcome = outcome;
+    }
+
+    public void setLookupNanos(long lookupNanos) {
+        this.lookupNanos = lookupNanos;
+    }
+
+    public void setRateLimitNanos(long rateLimitNanos) {
+        this.rateLimitNanos = rateLimitNanos;
+    }
+
+    public void setWriteNanos(long writeNanos) {
+        this.writeNanos = writeNanos;
+    }
+}
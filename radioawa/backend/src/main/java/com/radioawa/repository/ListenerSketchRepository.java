@@ -0,0 +1,30 @@
+package com.radioawa.repository;
+
+import com.radioawa.entity.ListenerSketch;
+import com.radioawa.entity.ListenerSketchGranularity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ListenerSketchRepository extends JpaRepository<ListenerSketch, Long> {
+
+    // This instance's rows for a bucket, to update in place
+    List<ListenerSketch> findByGranularityAndBucketStartAndInstanceId(
+            ListenerSketchGranularity granularity, LocalDateTime bucketStart, String instanceId);
+
+    // Every instance's rows for a bucket, to merge
+    List<ListenerSketch> findByGranularityAndBucketStart(ListenerSketchGranularity granularity, LocalDateTime bucketStart);
+
+    // One station's rows across a range of buckets (e.g. day rows for a date range)
+    List<ListenerSketch> findByStationCodeAndGranularityAndBucketStartBetween(
+            String stationCode, ListenerSketchGranularity granularity, LocalDateTime from, LocalDateTime to);
+
+    @Modifying
+    @Query("DELETE FROM ListenerSketch s WHERE s.granularity = :granularity AND s.bucketStart < :before")
+    int deleteOlderThan(@Param("granularity") ListenerSketchGranularity granularity, @Param("before") LocalDateTime before);
+}
@@ -1,6 +1,8 @@
 package com.radioawa.repository;
 
+import com.radioawa.dto.SongVoter;
 import com.radioawa.entity.Rating;
+import com.radioawa.entity.RatingType;
 import com.radioawa.entity.Song;
 import com.radioawa.entity.Station;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -8,6 +10,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -15,6 +18,18 @@ public interface RatingRepository extends JpaRepository<Rating, Long> {
     Optional<Rating> findBySongAndUserId(Song song, String userId);
     boolean existsBySongAndUserId(Song song, String userId);
 
+    // A user's vote on a song without loading the Rating entity
+    @Query("SELECT r.ratingType FROM Rating r WHERE r.song = :song AND r.userId = :userId")
+    Optional<RatingType> findRatingTypeBySongAndUserId(@Param("song") Song song, @Param("userId") String userId);
+
+    // Seeds the per-song rated-user filter
+    @Query("SELECT new com.radioawa.dto.SongVoter(r.userId, r.quarantined) FROM Rating r WHERE r.song = :song")
+    List<SongVoter> findVotersBySong(@Param("song") Song song);
+
+    // Seeds the vote fraud detector's seen users; updated_at is set on insert, so this covers new voters
+    @Query("SELECT DISTINCT r.userId FROM Rating r WHERE r.updatedAt >= :since")
+    List<String> findUserIdsVotingSince(@Param("since") LocalDateTime since);
+
     // Station-scoped IP-based rate limiting queries
     @Query("SELECT COUNT(r) FROM Rating r WHERE r.song.station = :station AND r.ipAddress = :ipAddress AND r.createdAt > :since")
     long countByStationAndIpAddressAndCreatedAtAfter(
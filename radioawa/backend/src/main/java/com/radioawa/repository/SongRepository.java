@@ -1,8 +1,11 @@
 package com.radioawa.repository;
 
+import com.radioawa.dto.SongCounts;
 import com.radioawa.entity.Song;
 import com.radioawa.entity.Station;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 import java.util.Optional;
@@ -15,6 +18,17 @@ public interface SongRepository extends JpaRepository<Song, Long> {
      */
     Optional<Song> findByStationAndArtistAndTitle(Station station, String artist, String title);
 
+    /**
+     * Vote totals of a song (station-scoped), selected without loading the entity
+     */
+    @Query("SELECT new com.radioawa.dto.SongCounts(s.id, s.artist, s.title, s.thumbsUpCount, s.thumbsDownCount) " +
+           "FROM Song s WHERE s.station = :station AND s.artist = :artist AND s.title = :title")
+    Optional<SongCounts> findCountsByStationAndArtistAndTitle(
+            @Param("station") Station station,
+            @Param("artist") String artist,
+            @Param("title") String title
+    );
+
     /**
      * Find all songs for a specific station
      */
@@ -1,13 +1,17 @@
 package com.radioawa.repository;
 
+import com.radioawa.dto.StationResponse;
 import com.radioawa.entity.Station;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
 
 @Repository
+@Transactional(readOnly = true)
 public interface StationRepository extends JpaRepository<Station, Long> {
 
     /**
@@ -24,4 +28,15 @@ public interface StationRepository extends JpaRepository<Station, Long> {
      * Find all stations ordered by display order
      */
     List<Station> findAllByOrderByDisplayOrder();
+
+    /**
+     * All stations ordered by display order, selected straight into response DTOs
+     */
+    @Query("SELECT new com.radioawa.dto.StationResponse(s.id, s.code, s.name, s.streamUrl, s.metadataUrl, " +
+           "s.isActive, s.displayOrder, s.streamFormat, s.streamQuality, s.streamCodec, s.streamBitrate, " +
+           "s.genre, s.tagline, s.logoUrl, s.description, s.sourceInfo) " +
+           "FROM Station s ORDER BY s.displayOrder")
+    List<StationResponse> findAllResponsesOrderByDisplayOrder();
+
+    boolean existsByCode(String code);
 }
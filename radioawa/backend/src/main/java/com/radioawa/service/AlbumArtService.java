@@ -2,16 +2,29 @@ package com.radioawa.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.radioawa.cache.CacheInvalidationBus;
+import com.radioawa.cache.CacheInvalidationListener;
+import com.radioawa.cache.CacheTopic;
+import com.radioawa.profiling.UpstreamFetchEvent;
+import com.radioawa.util.LogRateLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
-import org.springframework.web.util.UriComponentsBuilder;
 
+import java.net.URI;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Album Art Service
@@ -20,21 +33,56 @@ import java.util.Map;
  * Author: Sujit K Singh
  */
 @Service
-public class AlbumArtService {
+public class AlbumArtService implements CacheInvalidationListener {
 
     private static final Logger logger = LoggerFactory.getLogger(AlbumArtService.class);
-    private static final String ITUNES_API_URL = "https://itunes.apple.com/search";
     private static final String FALLBACK_IMAGE = "https://dummyimage.com/300x300/FF6B35/ffffff.png?text=Music";
 
-    private final RestTemplate restTemplate;
-    private final ObjectMapper objectMapper;
+    private static final String FETCH_SOURCE = "itunes";
 
-    // Cache to avoid repeated API calls for same song
-    private final Map<String, String> artworkCache = new HashMap<>();
+    // Misses and failures repeat for every listener while a song plays; a few per 10 s are enough
+    private final LogRateLimiter lookupLogLimiter = LogRateLimiter.perInterval(5, 10_000);
 
-    public AlbumArtService() {
-        this.restTemplate = new RestTemplate();
+    private final String itunesApiUrl;
+    private final String itunesHost;
+    private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper;
+    private final CacheInvalidationBus invalidationBus;
+    private final Tracer tracer;
+
+    // Cache to avoid repeated API calls for same song (read concurrently by every metadata poll)
+    private final Map<String, String> artworkCache = new ConcurrentHashMap<>();
+
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
+    private final Counter lookupsFound;
+    private final Counter lookupsNotFound;
+    private final Counter lookupsFailed;
+
+    public AlbumArtService(
+            RestTemplateBuilder restTemplateBuilder,
+            MeterRegistry meterRegistry,
+            CacheInvalidationBus invalidationBus,
+            @Value("${app.album-art.itunes-url:https://itunes.apple.com/search}") String itunesApiUrl,
+            Tracer tracer) {
+        this.itunesApiUrl = itunesApiUrl;
+        this.tracer = tracer;
+        this.itunesHost = URI.create(itunesApiUrl).getHost();
+        this.invalidationBus = invalidationBus;
+        // Built from the Boot builder so outbound calls are timed as http.client.requests
+        // and carry the W3C traceparent header of the current span
+        this.restTemplate = restTemplateBuilder.build();
         this.objectMapper = new ObjectMapper();
+
+        this.cacheHits = meterRegistry.counter("radioawa.album_art.cache", "result", "hit");
+        this.cacheMisses = meterRegistry.counter("radioawa.album_art.cache", "result", "miss");
+        this.lookupsFound = meterRegistry.counter("radioawa.album_art.lookups", "result", "found");
+        this.lookupsNotFound = meterRegistry.counter("radioawa.album_art.lookups", "result", "not_found");
+        this.lookupsFailed = meterRegistry.counter("radioawa.album_art.lookups", "result", "error");
+        Gauge.builder("radioawa.album_art.cache.size", artworkCache, Map::size)
+                .description("Number of cached artwork URLs")
+                .register(meterRegistry);
+        invalidationBus.subscribe(this);
     }
 
     /**
@@ -47,23 +95,44 @@ public class AlbumArtService {
         String cacheKey = artist + "|" + title;
 
         // Check cache first
-        if (artworkCache.containsKey(cacheKey)) {
+        String cached = artworkCache.get(cacheKey);
+        if (cached != null) {
             logger.debug("Cache hit for: {} - {}", artist, title);
-            return artworkCache.get(cacheKey);
+            cacheHits.increment();
+            UpstreamFetchEvent.cacheHit(FETCH_SOURCE, itunesHost);
+            return cached;
         }
+        cacheMisses.increment();
 
+        Span span = tracer.nextSpan().name("album-art.fetch").tag("cache", "miss").start();
+        try (Tracer.SpanInScope scope = tracer.withSpan(span)) {
+            return lookup(artist, title, cacheKey, span);
+        } finally {
+            span.end();
+        }
+    }
+
+    private String lookup(String artist, String title, String cacheKey, Span span) {
+
+        UpstreamFetchEvent event = new UpstreamFetchEvent(FETCH_SOURCE, itunesHost);
+        event.begin();
         try {
-            // Build search query
+            // Build search query (templated so the client metrics keep a single uri tag)
             String searchTerm = artist + " " + title;
-            String url = UriComponentsBuilder.fromHttpUrl(ITUNES_API_URL)
-                    .queryParam("term", searchTerm)
-                    .queryParam("entity", "song")
-                    .queryParam("limit", "1")
-                    .build()
-                    .toUriString();
 
-            logger.info("Fetching album art from iTunes API: {} - {}", artist, title);
-            String response = restTemplate.getForObject(url, String.class);
+            logger.debug("Fetching album art from iTunes API: {} - {}", artist, title);
+            String response;
+            try {
+                response = restTemplate.getForObject(
+                        itunesApiUrl + "?term={term}&entity=song&limit=1", String.class, searchTerm);
+                event.setStatus(200);
+                event.setBytes(response == null ? 0 : response.length());
+            } catch (HttpStatusCodeException e) {
+                event.setStatus(e.getStatusCode().value());
+                throw e;
+            } finally {
+                event.commit();
+            }
 
             // Parse JSON response
             JsonNode root = objectMapper.readTree(response);
@@ -76,16 +145,29 @@ public class AlbumArtService {
                 // Convert to higher resolution (600x600 instead of 100x100)
                 String highResUrl = artworkUrl.replace("100x100bb", "600x600bb");
 
-                logger.info("Found album art: {}", highResUrl);
+                logger.debug("Found album art: {}", highResUrl);
+                lookupsFound.increment();
+                span.tag("result", "found");
                 artworkCache.put(cacheKey, highResUrl);
                 return highResUrl;
             } else {
-                logger.warn("No results found for: {} - {}", artist, title);
+                long suppressed = lookupLogLimiter.tryAcquire();
+                if (suppressed >= 0) {
+                    logger.warn("No results found for: {} - {} ({} similar suppressed)", artist, title, suppressed);
+                }
+                lookupsNotFound.increment();
+                span.tag("result", "not_found");
                 return getFallbackImage(title);
             }
 
         } catch (Exception e) {
-            logger.error("Error fetching album art for {} - {}: {}", artist, title, e.getMessage());
+            long suppressed = lookupLogLimiter.tryAcquire();
+            if (suppressed >= 0) {
+                logger.error("Error fetching album art for {} - {}: {} ({} similar suppressed)",
+                        artist, title, e.getMessage(), suppressed);
+            }
+            lookupsFailed.increment();
+            span.error(e);
             return getFallbackImage(title);
         }
     }
@@ -106,8 +188,33 @@ public class AlbumArtService {
      * Clear the artwork cache (for testing/debugging)
      */
     public void clearCache() {
+        // Clears this instance after the call and every other instance via the bus
+        invalidationBus.publish(CacheTopic.ARTWORK, "*");
+    }
+
+    /**
+     * Forget the cached artwork for one song on every instance
+     */
+    public void evict(String artist, String title) {
+        invalidationBus.publish(CacheTopic.ARTWORK, artist + "|" + title);
+    }
+
+    @Override
+    public void onInvalidate(CacheTopic topic, String key) {
+        if (topic != CacheTopic.ARTWORK) {
+            return;
+        }
+        if ("*".equals(key)) {
+            artworkCache.clear();
+            logger.info("Album art cache cleared");
+        } else {
+            artworkCache.remove(key);
+        }
+    }
+
+    @Override
+    public void onResync() {
         artworkCache.clear();
-        logger.info("Album art cache cleared");
     }
 
     /**
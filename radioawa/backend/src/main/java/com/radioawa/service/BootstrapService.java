@@ -0,0 +1,197 @@
+package com.radioawa.service;
+
+import com.radioawa.dto.BootstrapPart;
+import com.radioawa.dto.BootstrapResponse;
+import com.radioawa.dto.RatingCountsResponse;
+import com.radioawa.dto.StationResponse;
+import com.radioawa.service.StationMetadataService.StationMetadata;
+import com.radioawa.util.LogRateLimiter;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Bootstrap Service
+ * Everything the player needs for its first paint: health, environment, stations, the
+ * selected station's now-playing metadata and the rating counts for that song, each with
+ * its own freshness.
+ *
+ * Health, environment and stations are in memory and assembled on the calling thread.
+ * Metadata (which may call CloudFront) and then counts (which may query the database) run
+ * on a pool of app.bootstrap.threads with a queue of app.bootstrap.queue-capacity; when the
+ * queue is full the part is reported unavailable. A part that fails or misses
+ * app.bootstrap.timeout-ms is reported as such and its task is cancelled, so the client can
+ * fall back to that part's own endpoint.
+ */
+@Service
+public class BootstrapService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BootstrapService.class);
+
+    private final EnvironmentService environmentService;
+    private final StationCatalog stationCatalog;
+    private final StationMetadataService stationMetadataService;
+    private final RatingService ratingService;
+    private final long timeoutNanos;
+    private final ThreadPoolExecutor executor;
+    private final LogRateLimiter partErrorLogLimiter = LogRateLimiter.perInterval(5, 10_000);
+
+    public BootstrapService(
+            EnvironmentService environmentService,
+            StationCatalog stationCatalog,
+            StationMetadataService stationMetadataService,
+            RatingService ratingService,
+            @Value("${app.bootstrap.timeout-ms:2000}") long timeoutMillis,
+            @Value("${app.bootstrap.threads:8}") int threads,
+            @Value("${app.bootstrap.queue-capacity:32}") int queueCapacity) {
+        this.environmentService = environmentService;
+        this.stationCatalog = stationCatalog;
+        this.stationMetadataService = stationMetadataService;
+        this.ratingService = ratingService;
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "bootstrap-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Initial state for the player
+     * @param stationCode the listener's last station; unknown or missing codes select the first active station
+     * @param userId listener whose own vote the counts include, or null
+     */
+    public BootstrapResponse bootstrap(String stationCode, String userId) {
+        long deadline = System.nanoTime() + timeoutNanos;
+
+        BootstrapResponse response = new BootstrapResponse();
+        response.setHealth(inline("health", () -> ok("live", Instant.now(), health())));
+        response.setEnvironment(inline("environment", () -> ok("live", Instant.now(), environmentService.getEnvironmentInfo())));
+        BootstrapPart<List<StationResponse>> stations = inline("stations",
+                () -> ok("snapshot", stationCatalog.loadedAt(), stationCatalog.findActive()));
+        response.setStations(stations);
+
+        Optional<StationResponse> selected = select(stations.getData(), stationCode);
+        response.setStationCode(selected.map(StationResponse::getCode).orElse(null));
+
+        BootstrapPart<Map<String, Object>> nowPlaying = selected.isEmpty() ? unavailable() : await("nowPlaying",
+                submit(() -> toNowPlaying(stationMetadataService.currentMetadata(selected.get().getMetadataUrl()))), deadline);
+        response.setNowPlaying(nowPlaying);
+        // Counts need the song named by the metadata
+        response.setRatingCounts(!"ok".equals(nowPlaying.getStatus()) || "fallback".equals(nowPlaying.getSource())
+                ? unavailable()
+                : await("ratingCounts", submit(() -> ratingCounts(nowPlaying.getData(), selected.get(), userId)), deadline));
+        response.setGeneratedAt(Instant.now().toString());
+        return response;
+    }
+
+    private BootstrapPart<RatingCountsResponse> ratingCounts(Map<String, Object> song, StationResponse station, String userId) {
+        Object artist = song.get("artist");
+        Object title = song.get("title");
+        if (artist == null || title == null) {
+            return unavailable();
+        }
+        String user = userId == null || userId.isBlank() ? null : userId;
+        RatingCountsResponse counts = ratingService.getRatingCounts(station.getCode(), artist.toString(), title.toString(), user);
+        // Served through RatingCountsCache, so at most its TTL old
+        return ok("cache", Instant.now(), counts);
+    }
+
+    private static BootstrapPart<Map<String, Object>> toNowPlaying(Optional<StationMetadata> metadata) {
+        return metadata.map(current -> ok(current.source(), current.asOf(), current.metadata()))
+                .orElseGet(BootstrapService::unavailable);
+    }
+
+    private static Map<String, Object> health() {
+        // Same body as /api/health
+        return Map.of("status", "UP", "service", "Radioawa Backend", "timestamp", System.currentTimeMillis());
+    }
+
+    private static Optional<StationResponse> select(List<StationResponse> stations, String stationCode) {
+        if (stations == null) {
+            return Optional.empty();
+        }
+        return stations.stream().filter(station -> station.getCode().equals(stationCode)).findFirst()
+                .or(() -> stations.stream().findFirst());
+    }
+
+    private static <T> BootstrapPart<T> ok(String source, Instant asOf, T data) {
+        long ageMs = Math.max(0, Duration.between(asOf, Instant.now()).toMillis());
+        return new BootstrapPart<>("ok", source, asOf.toString(), ageMs, data, null);
+    }
+
+    private static <T> BootstrapPart<T> unavailable() {
+        return new BootstrapPart<>("unavailable", null, null, null, null, null);
+    }
+
+    private <T> BootstrapPart<T> inline(String name, Supplier<BootstrapPart<T>> part) {
+        try {
+            return part.get();
+        } catch (RuntimeException e) {
+            return failed(name, e);
+        }
+    }
+
+    /**
+     * The task, or null if the pool's queue is full
+     */
+    private <T> Future<BootstrapPart<T>> submit(Callable<BootstrapPart<T>> part) {
+        try {
+            return executor.submit(part);
+        } catch (RejectedExecutionException e) {
+            return null;
+        }
+    }
+
+    private <T> BootstrapPart<T> await(String name, Future<BootstrapPart<T>> part, long deadline) {
+        if (part == null) {
+            return unavailable();
+        }
+        try {
+            return part.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // Frees the pool thread if the task is still queued or waiting interruptibly
+            part.cancel(true);
+            return new BootstrapPart<>("timeout", null, null, null, null, "Not ready in time");
+        } catch (ExecutionException e) {
+            return failed(name, e.getCause());
+        } catch (InterruptedException e) {
+            part.cancel(true);
+            Thread.currentThread().interrupt();
+            return new BootstrapPart<>("error", null, null, null, null, "Interrupted");
+        }
+    }
+
+    private <T> BootstrapPart<T> failed(String name, Throwable error) {
+        long suppressed = partErrorLogLimiter.tryAcquire();
+        if (suppressed >= 0) {
+            logger.warn("Bootstrap part {} failed: {} ({} similar suppressed)", name, error.getMessage(), suppressed);
+        }
+        return new BootstrapPart<>("error", null, null, null, null, error.getMessage());
+    }
+}
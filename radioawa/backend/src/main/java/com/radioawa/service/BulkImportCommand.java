@@ -0,0 +1,83 @@
+package com.radioawa.service;
+
+import com.radioawa.dto.ImportResultResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Bulk Import Command
+ * Runs a one-off import at startup and exits, for seeding or migrating catalogs from the shell:
+ *
+ *   java -jar radioawa-backend.jar --spring.main.web-application-type=none \
+ *        --app.import.file=stations.csv --app.import.target=stations [--app.import.on-conflict=update]
+ *
+ * The format comes from the file extension (.csv, .ndjson, .jsonl) unless app.import.format is set.
+ */
+@Component
+@ConditionalOnProperty(name = "app.import.file")
+public class BulkImportCommand implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkImportCommand.class);
+
+    private final BulkImportService bulkImportService;
+    private final ConfigurableApplicationContext context;
+    private final String file;
+    private final String target;
+    private final String format;
+    private final String onConflict;
+    private final boolean exitWhenDone;
+
+    public BulkImportCommand(
+            BulkImportService bulkImportService,
+            ConfigurableApplicationContext context,
+            @Value("${app.import.file}") String file,
+            @Value("${app.import.target:songs}") String target,
+            @Value("${app.import.format:}") String format,
+            @Value("${app.import.on-conflict:skip}") String onConflict,
+            @Value("${app.import.exit:true}") boolean exitWhenDone) {
+        this.bulkImportService = bulkImportService;
+        this.context = context;
+        this.file = file;
+        this.target = target;
+        this.format = format;
+        this.onConflict = onConflict;
+        this.exitWhenDone = exitWhenDone;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int exitCode = 0;
+        Path path = Path.of(file);
+        try (InputStream input = new BufferedInputStream(Files.newInputStream(path), 1024 * 1024)) {
+            logger.info("Importing {} ({} MB) into {}", path, Files.size(path) / (1024 * 1024), target);
+            ImportResultResponse result = bulkImportService.importFile(
+                    ImportTarget.fromParam(target),
+                    ImportFormat.detect(format.isEmpty() ? path.getFileName().toString() : format),
+                    "update".equalsIgnoreCase(onConflict),
+                    input);
+            logger.info("Import complete: {} rows read, {} inserted, {} updated, {} skipped, {} rows/s",
+                    result.getRowsStaged(), result.getInserted(), result.getUpdated(), result.getSkipped(),
+                    result.getRowsPerSecond());
+        } catch (Exception e) {
+            logger.error("Import of {} failed: {}", path, e.getMessage());
+            exitCode = 1;
+        }
+
+        if (exitWhenDone) {
+            int code = exitCode;
+            System.exit(SpringApplication.exit(context, () -> code));
+        }
+    }
+}
@@ -0,0 +1,415 @@
+package com.radioawa.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import com.radioawa.cache.CacheInvalidationBus;
+import com.radioawa.cache.CacheTopic;
+import com.radioawa.dto.ImportResultResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Bulk Import Service
+ * Loads stations or songs from CSV or NDJSON through PostgreSQL COPY instead of row-by-row JPA saves.
+ *
+ * The file is streamed into a temp staging table with COPY, then merged into the real table
+ * with one INSERT ... SELECT ... ON CONFLICT (last row wins for duplicate keys within a file).
+ * Existing rows are kept unless updateExisting is set, and then only the columns the file
+ * carries are overwritten. Vote counts of existing songs are never touched: they must keep
+ * matching the song's counted ratings. Everything runs in one transaction, so
+ * a failed import leaves the catalog untouched. Songs for unknown stations and rows missing
+ * required values are counted as skipped rather than failing the import.
+ */
+@Service
+public class BulkImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkImportService.class);
+
+    private static final int COPY_CHUNK_BYTES = 64 * 1024;
+    private static final int MAX_HEADER_BYTES = 8 * 1024;
+
+    private final DataSource dataSource;
+    private final CacheInvalidationBus invalidationBus;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final long progressIntervalMillis;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public BulkImportService(
+            DataSource dataSource,
+            CacheInvalidationBus invalidationBus,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${app.import.progress-interval-ms:5000}") long progressIntervalMillis) {
+        this.dataSource = dataSource;
+        this.invalidationBus = invalidationBus;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.progressIntervalMillis = progressIntervalMillis;
+    }
+
+    /**
+     * Import a file into the target table
+     * @param updateExisting overwrite the file's columns of stations that already exist instead of
+     *                       keeping them; existing songs are always kept
+     * @throws IllegalArgumentException for malformed files (bad header, unparsable rows or values)
+     * @throws IllegalStateException if another import is running
+     * @throws UnsupportedOperationException if the database is not PostgreSQL
+     */
+    public ImportResultResponse importFile(ImportTarget target, ImportFormat format, boolean updateExisting,
+                                           InputStream input) throws IOException, SQLException {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("Another import is already running");
+        }
+        String targetTag = target.name().toLowerCase();
+        long start = System.nanoTime();
+        long staged;
+        long[] merged;
+        try (Connection connection = dataSource.getConnection()) {
+            if (!connection.isWrapperFor(PGConnection.class)) {
+                throw new UnsupportedOperationException("Bulk import requires PostgreSQL (COPY)");
+            }
+            CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                execute(connection, target.stagingDdl());
+
+                ProgressInputStream progress = new ProgressInputStream(input, targetTag);
+                Set<String> present = new HashSet<>();
+                staged = format == ImportFormat.CSV
+                        ? copyCsv(copyManager, target, progress, present)
+                        : copyNdjson(copyManager, target, progress, present);
+                long copied = System.nanoTime();
+                progress.reportBytes();
+                recordPhase(targetTag, "copy", copied - start);
+                logger.info("Import {}: staged {} rows ({} MB) in {} ms", targetTag, staged,
+                        progress.bytes / (1024 * 1024), TimeUnit.NANOSECONDS.toMillis(copied - start));
+
+                // Temp tables are never auto-analyzed; give the planner real row counts for the merge
+                execute(connection, "ANALYZE import_staging");
+                merged = merge(connection, target, updateExisting, present);
+                connection.commit();
+                recordPhase(targetTag, "merge", System.nanoTime() - copied);
+            } catch (SQLException e) {
+                connection.rollback();
+                // Class 22 is "data exception": a value in the file could not be converted
+                if (e.getSQLState() != null && e.getSQLState().startsWith("22")) {
+                    throw new IllegalArgumentException("Invalid value in import file: " + e.getMessage(), e);
+                }
+                throw e;
+            } catch (IOException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } finally {
+            running.set(false);
+        }
+
+        invalidationBus.publish(target == ImportTarget.STATIONS ? CacheTopic.STATION : CacheTopic.SONG, "*");
+
+        long durationMs = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        long skipped = Math.max(0, staged - merged[0] - merged[1]);
+        long rowsPerSecond = staged * 1000 / durationMs;
+        meterRegistry.counter("radioawa.import.rows", "target", targetTag, "result", "staged").increment(staged);
+        meterRegistry.counter("radioawa.import.rows", "target", targetTag, "result", "inserted").increment(merged[0]);
+        meterRegistry.counter("radioawa.import.rows", "target", targetTag, "result", "updated").increment(merged[1]);
+        meterRegistry.counter("radioawa.import.rows", "target", targetTag, "result", "skipped").increment(skipped);
+        logger.info("Import {} finished: {} rows, {} inserted, {} updated, {} skipped in {} ms ({} rows/s)",
+                targetTag, staged, merged[0], merged[1], skipped, durationMs, rowsPerSecond);
+
+        return new ImportResultResponse(targetTag, format.name().toLowerCase(), staged, merged[0], merged[1],
+                skipped, durationMs, rowsPerSecond);
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    /**
+     * CSV is passed to COPY as-is after the header is checked, so the server does all the parsing
+     * @param present filled with the header's columns
+     */
+    private long copyCsv(CopyManager copyManager, ImportTarget target, InputStream input, Set<String> present)
+            throws IOException, SQLException {
+        List<String> columns = parseHeader(readHeader(input), target);
+        present.addAll(columns);
+        return copyManager.copyIn(copySql(columns), input, COPY_CHUNK_BYTES);
+    }
+
+    /**
+     * NDJSON objects are re-encoded as CSV rows and sent to COPY in 64 KB chunks
+     * @param present filled with the target columns that appear as a key in any row
+     */
+    private long copyNdjson(CopyManager copyManager, ImportTarget target, ProgressInputStream input, Set<String> present)
+            throws IOException, SQLException {
+        CopyIn copyIn = copyManager.copyIn(copySql(target.columns()));
+        CopyBuffer buffer = new CopyBuffer();
+        long line = 0;
+        try (MappingIterator<JsonNode> rows = objectMapper.readerFor(JsonNode.class).readValues(input)) {
+            while (rows.hasNext()) {
+                line++;
+                JsonNode row = rows.next();
+                if (!row.isObject()) {
+                    throw new IllegalArgumentException("Line " + line + " is not a JSON object");
+                }
+                if (present.size() < target.columns().size()) {
+                    row.fieldNames().forEachRemaining(name -> {
+                        if (target.columns().contains(name)) {
+                            present.add(name);
+                        }
+                    });
+                }
+                appendCsvRow(buffer, row, target.columns());
+                input.rows++;
+                if (buffer.size() >= COPY_CHUNK_BYTES) {
+                    buffer.flushTo(copyIn);
+                }
+            }
+            buffer.flushTo(copyIn);
+            return copyIn.endCopy();
+        } catch (JsonProcessingException | RuntimeJsonMappingException e) {
+            throw new IllegalArgumentException("Invalid JSON after line " + line + ": " + e.getMessage(), e);
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    private long[] merge(Connection connection, ImportTarget target, boolean updateExisting, Set<String> present)
+            throws SQLException {
+        // xmax = 0 only for freshly inserted rows, which separates inserts from conflict updates
+        String sql = "WITH merged AS (" + mergeSql(target, updateExisting, present) + " RETURNING (xmax = 0) AS inserted) " +
+                "SELECT count(*) FILTER (WHERE inserted), count(*) FILTER (WHERE NOT inserted) FROM merged";
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return new long[]{resultSet.getLong(1), resultSet.getLong(2)};
+        }
+    }
+
+    private static String mergeSql(ImportTarget target, boolean updateExisting, Set<String> present) {
+        if (target == ImportTarget.STATIONS) {
+            return "INSERT INTO stations (code, name, stream_url, metadata_url, is_active, display_order, " +
+                    "stream_format, stream_quality, stream_codec, stream_bitrate, genre, tagline, logo_url, " +
+                    "description, source_info, created_at, updated_at) " +
+                    "SELECT DISTINCT ON (code) code, name, stream_url, metadata_url, COALESCE(is_active, true), " +
+                    "COALESCE(display_order, 0), left(stream_format, 100), left(stream_quality, 100), " +
+                    "left(stream_codec, 50), left(stream_bitrate, 50), left(genre, 100), left(tagline, 200), " +
+                    "left(logo_url, 500), left(description, 1000), left(source_info, 500), now(), now() " +
+                    "FROM import_staging " +
+                    "WHERE code <> '' AND name <> '' AND stream_url <> '' AND metadata_url <> '' " +
+                    "AND length(code) <= 50 AND length(name) <= 200 " +
+                    "AND length(stream_url) <= 500 AND length(metadata_url) <= 500 " +
+                    "ORDER BY code, seq DESC " +
+                    (updateExisting
+                            ? "ON CONFLICT (code) DO UPDATE SET " + stationAssignments(present)
+                            : "ON CONFLICT (code) DO NOTHING");
+        }
+        return "INSERT INTO songs (station_id, artist, title, thumbs_up_count, thumbs_down_count, net_score, " +
+                "created_at, updated_at) " +
+                "SELECT DISTINCT ON (st.id, s.artist, s.title) st.id, s.artist, s.title, " +
+                "COALESCE(s.thumbs_up_count, 0), COALESCE(s.thumbs_down_count, 0), " +
+                "COALESCE(s.thumbs_up_count, 0) - COALESCE(s.thumbs_down_count, 0), now(), now() " +
+                "FROM import_staging s JOIN stations st ON st.code = s.station_code " +
+                "WHERE s.artist <> '' AND s.title <> '' AND length(s.artist) <= 500 AND length(s.title) <= 500 " +
+                "AND COALESCE(s.thumbs_up_count, 0) >= 0 AND COALESCE(s.thumbs_down_count, 0) >= 0 " +
+                "ORDER BY st.id, s.artist, s.title, s.seq DESC " +
+                // Counts only seed new songs; an existing song's counts are its counted ratings
+                // (RatingService and RatedUserFilter rely on that), and it has no other columns
+                "ON CONFLICT (station_id, artist, title) DO NOTHING";
+    }
+
+    /**
+     * SET list for existing stations: the file's columns only, so an update with a partial
+     * header leaves the other columns as they are
+     */
+    private static String stationAssignments(Set<String> present) {
+        List<String> assignments = new ArrayList<>();
+        for (String column : ImportTarget.STATIONS.columns()) {
+            boolean required = ImportTarget.STATIONS.requiredColumns().contains(column);
+            if (!column.equals("code") && (required || present.contains(column))) {
+                assignments.add(column + " = EXCLUDED." + column);
+            }
+        }
+        assignments.add("updated_at = now()");
+        return String.join(", ", assignments);
+    }
+
+    private static String copySql(List<String> columns) {
+        return "COPY import_staging (" + String.join(", ", columns) + ") FROM STDIN WITH (FORMAT csv)";
+    }
+
+    private static List<String> parseHeader(String header, ImportTarget target) {
+        List<String> columns = new ArrayList<>();
+        for (String name : header.split(",")) {
+            String column = name.trim().replace("\"", "").toLowerCase();
+            if (!target.columns().contains(column)) {
+                throw new IllegalArgumentException("Unknown column '" + column + "' for " +
+                        target.name().toLowerCase() + "; expected some of " + target.columns());
+            }
+            if (columns.contains(column)) {
+                throw new IllegalArgumentException("Duplicate column '" + column + "'");
+            }
+            columns.add(column);
+        }
+        for (String required : target.requiredColumns()) {
+            if (!columns.contains(required)) {
+                throw new IllegalArgumentException("Missing required column '" + required + "'");
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * Read the first line byte by byte so the rest of the stream can go straight to COPY
+     */
+    private static String readHeader(InputStream input) throws IOException {
+        ByteArrayOutputStream header = new ByteArrayOutputStream();
+        int b;
+        while ((b = input.read()) != -1 && b != '\n') {
+            if (header.size() >= MAX_HEADER_BYTES) {
+                throw new IllegalArgumentException("CSV header line is too long");
+            }
+            header.write(b);
+        }
+        String line = header.toString(StandardCharsets.UTF_8).replace("\r", "");
+        // Tolerate a UTF-8 byte order mark from spreadsheet exports
+        return line.startsWith("\uFEFF") ? line.substring(1) : line;
+    }
+
+    private static void appendCsvRow(ByteArrayOutputStream buffer, JsonNode row, List<String> columns) {
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            JsonNode value = row.get(columns.get(i));
+            if (value == null || value.isNull()) {
+                continue; // unquoted empty field is NULL in COPY csv
+            }
+            if (value.isNumber() || value.isBoolean()) {
+                line.append(value.asText());
+            } else {
+                line.append('"').append(value.asText().replace("\"", "\"\"")).append('"');
+            }
+        }
+        line.append('\n');
+        buffer.writeBytes(line.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private void recordPhase(String target, String phase, long nanos) {
+        Timer.builder("radioawa.import.duration")
+                .description("Time spent in each bulk import phase")
+                .tag("target", target)
+                .tag("phase", phase)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Chunk buffer handed to COPY without copying its backing array
+     */
+    private static final class CopyBuffer extends ByteArrayOutputStream {
+        private CopyBuffer() {
+            super(COPY_CHUNK_BYTES + 4096);
+        }
+
+        private void flushTo(CopyIn copyIn) throws SQLException {
+            if (count > 0) {
+                copyIn.writeToCopy(buf, 0, count);
+                reset();
+            }
+        }
+    }
+
+    /**
+     * Counts bytes (and parsed rows, for NDJSON) and logs progress at a fixed interval
+     */
+    private final class ProgressInputStream extends FilterInputStream {
+        private final String target;
+        private final long startNanos = System.nanoTime();
+        private long bytes;
+        private long reportedBytes;
+        private long rows;
+        private long lastReport = System.currentTimeMillis();
+
+        private ProgressInputStream(InputStream in, String target) {
+            super(in);
+            this.target = target;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                advance(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) {
+                advance(n);
+            }
+            return n;
+        }
+
+        private void advance(int n) {
+            bytes += n;
+            long now = System.currentTimeMillis();
+            if (now - lastReport >= progressIntervalMillis) {
+                lastReport = now;
+                double seconds = Math.max(1e-3, (System.nanoTime() - startNanos) / 1e9);
+                reportBytes();
+                logger.info("Import {}: {} MB read ({} MB/s){}", target, bytes / (1024 * 1024),
+                        String.format("%.1f", bytes / (1024.0 * 1024.0) / seconds),
+                        rows > 0 ? String.format(", %d rows parsed (%.0f rows/s)", rows, rows / seconds) : "");
+            }
+        }
+
+        private void reportBytes() {
+            meterRegistry.counter("radioawa.import.bytes", "target", target).increment(bytes - reportedBytes);
+            reportedBytes = bytes;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.radioawa.service;
+
+import com.radioawa.profiling.SnapshotRebuildEvent;
+import com.radioawa.profiling.UpstreamFetchEvent;
+import com.radioawa.profiling.VoteSubmissionEvent;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Flight Recorder Service
+ * On-demand JDK Flight Recorder recordings for profiling a live instance. At most one
+ * recording runs at a time; it stops by itself after its duration and never grows past
+ * app.profiling.max-size-mb, so a forgotten recording costs nothing after it ends.
+ *
+ * Besides the JDK events of the chosen settings ("default" is designed to stay around 1%
+ * overhead, "profile" samples more), the recording always includes the application
+ * events: VoteSubmission, UpstreamFetch and SnapshotRebuild.
+ */
+@Service
+public class FlightRecorderService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FlightRecorderService.class);
+
+    private static final List<String> SETTINGS = List.of("default", "profile");
+    private static final List<Class<? extends jdk.jfr.Event>> APPLICATION_EVENTS =
+            List.of(VoteSubmissionEvent.class, UpstreamFetchEvent.class, SnapshotRebuildEvent.class);
+
+    private final Duration maxDuration;
+    private final long maxSizeBytes;
+
+    private Recording recording;
+    private String settings;
+
+    public FlightRecorderService(
+            @Value("${app.profiling.max-duration-seconds:300}") long maxDurationSeconds,
+            @Value("${app.profiling.max-size-mb:100}") long maxSizeMb) {
+        this.maxDuration = Duration.ofSeconds(maxDurationSeconds);
+        this.maxSizeBytes = maxSizeMb * 1024 * 1024;
+    }
+
+    /**
+     * Start a recording
+     * @param duration how long to record; capped at app.profiling.max-duration-seconds
+     * @throws IllegalArgumentException for unknown settings or a non-positive duration
+     * @throws IllegalStateException if a recording is already running
+     */
+    public synchronized Map<String, Object> start(Duration duration, String settingsName) {
+        if (!SETTINGS.contains(settingsName)) {
+            throw new IllegalArgumentException("Unsupported settings: " + settingsName + " (expected default or profile)");
+        }
+        if (duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("Duration must be positive");
+        }
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new IllegalStateException("A recording is already running");
+        }
+        discard();
+
+        Recording started;
+        try {
+            started = new Recording(Configuration.getConfiguration(settingsName));
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("Cannot load JFR settings " + settingsName + ": " + e.getMessage(), e);
+        }
+        for (Class<? extends jdk.jfr.Event> event : APPLICATION_EVENTS) {
+            started.enable(event).withoutStackTrace();
+        }
+        started.setName("radioawa-" + settingsName);
+        started.setToDisk(true);
+        started.setMaxSize(maxSizeBytes);
+        started.setDuration(duration.compareTo(maxDuration) > 0 ? maxDuration : duration);
+        started.start();
+
+        recording = started;
+        settings = settingsName;
+        logger.info("JFR recording started ({} settings, {} s)", settingsName, started.getDuration().toSeconds());
+        return status();
+    }
+
+    /**
+     * Stop the recording if it is still running and write it to a temporary .jfr file.
+     * The caller owns the file and deletes it when done
+     * @throws IllegalStateException if no recording was started
+     */
+    public synchronized Path stopAndDump() throws IOException {
+        if (recording == null) {
+            throw new IllegalStateException("No recording to stop");
+        }
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+        }
+        Path file = Files.createTempFile("radioawa-", ".jfr");
+        try {
+            recording.dump(file);
+        } catch (IOException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        } finally {
+            discard();
+        }
+        logger.info("JFR recording stopped, {} KB", Files.size(file) / 1024);
+        return file;
+    }
+
+    public synchronized Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        if (recording == null) {
+            status.put("state", "NONE");
+            return status;
+        }
+        status.put("state", recording.getState().name());
+        status.put("settings", settings);
+        Instant startTime = recording.getStartTime();
+        if (startTime != null) {
+            status.put("startedAt", startTime.toString());
+        }
+        status.put("durationSeconds", recording.getDuration().toSeconds());
+        status.put("maxSizeBytes", recording.getMaxSize());
+        return status;
+    }
+
+    @PreDestroy
+    public synchronized void discard() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+            settings = null;
+        }
+    }
+}
@@ -0,0 +1,354 @@
+package com.radioawa.service;
+
+import com.radioawa.profiling.SnapshotRebuildEvent;
+import com.radioawa.util.IcyMetadataParser;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import javax.net.ssl.SSLSocketFactory;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ICY Metadata Service
+ * Keeps a now-playing snapshot for stations whose stream carries inline ICY metadata
+ * but that have no metadata API. Each source in app.metadata.icy.sources
+ * ("HINDI=http://host:8000/stream,...") gets one background reader that holds a single
+ * connection with "Icy-MetaData: 1" and feeds it through IcyMetadataParser from one
+ * reusable buffer. Audio is read and discarded; only StreamTitle changes are published.
+ *
+ * Readers reconnect with backoff (reconnect-delay-ms doubling up to max-reconnect-delay-ms).
+ * Snapshots are immutable and replaced on each change, so readers of nowPlaying never lock.
+ */
+@Service
+public class IcyMetadataService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IcyMetadataService.class);
+
+    private static final int BUFFER_BYTES = 16 * 1024;
+    private static final int MAX_HEADER_BYTES = 8 * 1024;
+    private static final int MAX_REDIRECTS = 3;
+    private static final int HISTORY_SIZE = 5;
+
+    private final Map<String, URI> sources;
+    private final int connectTimeoutMillis;
+    private final int readTimeoutMillis;
+    private final long reconnectDelayMillis;
+    private final long maxReconnectDelayMillis;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, NowPlaying> snapshots = new ConcurrentHashMap<>();
+    private final List<Reader> readers = new ArrayList<>();
+    private volatile boolean running;
+
+    public IcyMetadataService(
+            MeterRegistry meterRegistry,
+            @Value("${app.metadata.icy.sources:}") String sources,
+            @Value("${app.metadata.icy.connect-timeout-ms:5000}") int connectTimeoutMillis,
+            @Value("${app.metadata.icy.read-timeout-ms:30000}") int readTimeoutMillis,
+            @Value("${app.metadata.icy.reconnect-delay-ms:2000}") long reconnectDelayMillis,
+            @Value("${app.metadata.icy.max-reconnect-delay-ms:60000}") long maxReconnectDelayMillis) {
+        this.meterRegistry = meterRegistry;
+        this.sources = parseSources(sources);
+        this.connectTimeoutMillis = connectTimeoutMillis;
+        this.readTimeoutMillis = readTimeoutMillis;
+        this.reconnectDelayMillis = reconnectDelayMillis;
+        this.maxReconnectDelayMillis = maxReconnectDelayMillis;
+    }
+
+    /**
+     * Current track of the station, or empty if it has no ICY source or no title was seen yet
+     */
+    public Optional<NowPlaying> nowPlaying(String stationCode) {
+        return Optional.ofNullable(snapshots.get(stationCode.toUpperCase(Locale.ROOT)));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (running || sources.isEmpty()) {
+            return;
+        }
+        running = true;
+        sources.forEach((station, uri) -> {
+            Reader reader = new Reader(station, uri);
+            readers.add(reader);
+            reader.thread.start();
+        });
+        logger.info("ICY metadata readers started for {}", sources.keySet());
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        running = false;
+        for (Reader reader : readers) {
+            reader.close();
+        }
+        readers.clear();
+    }
+
+    /**
+     * Replace the station's snapshot; false if the title is the one already playing (e.g. after a reconnect)
+     */
+    private boolean publish(String station, String streamTitle) {
+        Track track = Track.parse(streamTitle);
+        NowPlaying previous = snapshots.get(station);
+        if (previous != null && Objects.equals(previous.current().artist(), track.artist())
+                && previous.current().title().equals(track.title())) {
+            return false;
+        }
+        SnapshotRebuildEvent event = new SnapshotRebuildEvent("now-playing");
+        event.begin();
+        List<Track> recent = new ArrayList<>(HISTORY_SIZE);
+        if (previous != null) {
+            recent.add(previous.current());
+            for (Track older : previous.recent()) {
+                if (recent.size() == HISTORY_SIZE) {
+                    break;
+                }
+                recent.add(older);
+            }
+        }
+        snapshots.put(station, new NowPlaying(track, List.copyOf(recent)));
+        event.setStation(station);
+        event.setEntries(recent.size() + 1);
+        event.commit();
+        logger.info("Now playing on {}: {} - {}", station, track.artist(), track.title());
+        return true;
+    }
+
+    static Map<String, URI> parseSources(String value) {
+        Map<String, URI> parsed = new LinkedHashMap<>();
+        for (String entry : value.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int separator = entry.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Expected CODE=url in app.metadata.icy.sources: " + entry);
+            }
+            parsed.put(entry.substring(0, separator).trim().toUpperCase(Locale.ROOT),
+                    URI.create(entry.substring(separator + 1).trim()));
+        }
+        return parsed;
+    }
+
+    /**
+     * One track as announced by the stream
+     */
+    public record Track(String artist, String title, Instant startedAt) {
+
+        /**
+         * Split "Artist - Title"; a StreamTitle without a separator is all title
+         */
+        static Track parse(String streamTitle) {
+            int separator = streamTitle.indexOf(" - ");
+            if (separator < 0) {
+                return new Track(null, streamTitle, Instant.now());
+            }
+            return new Track(streamTitle.substring(0, separator).trim(),
+                    streamTitle.substring(separator + 3).trim(), Instant.now());
+        }
+    }
+
+    /**
+     * Current track plus the most recent previous ones, newest first
+     */
+    public record NowPlaying(Track current, List<Track> recent) {
+    }
+
+    /**
+     * Background connection for one station
+     */
+    private final class Reader implements Runnable {
+        private final String station;
+        private final URI uri;
+        private final Thread thread;
+        // Reused across reconnects: the read loop itself allocates nothing
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+        private final Counter trackChanges;
+        private final Counter reconnects;
+        private volatile Socket socket;
+
+        private Reader(String station, URI uri) {
+            this.station = station;
+            this.uri = uri;
+            this.thread = new Thread(this, "icy-metadata-" + station.toLowerCase(Locale.ROOT));
+            this.thread.setDaemon(true);
+            this.trackChanges = meterRegistry.counter("radioawa.metadata.icy.track_changes", "station", station);
+            this.reconnects = meterRegistry.counter("radioawa.metadata.icy.reconnects", "station", station);
+        }
+
+        @Override
+        public void run() {
+            long delay = reconnectDelayMillis;
+            while (running) {
+                try {
+                    if (stream(uri, 0)) {
+                        delay = reconnectDelayMillis;
+                    }
+                } catch (IOException | RuntimeException e) {
+                    if (running) {
+                        logger.warn("ICY metadata stream for {} failed: {}", station, e.getMessage());
+                    }
+                } finally {
+                    close(socket);
+                }
+                if (!running) {
+                    return;
+                }
+                reconnects.increment();
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                delay = Math.min(maxReconnectDelayMillis, delay * 2);
+            }
+        }
+
+        /**
+         * Read one connection until it ends; true if metadata was flowing (so backoff resets)
+         */
+        private boolean stream(URI target, int redirects) throws IOException {
+            Socket connection = connect(target);
+            socket = connection;
+            ReadableByteChannel channel = Channels.newChannel(connection.getInputStream());
+            connection.getOutputStream().write(request(target));
+
+            buffer.clear();
+            Map<String, String> headers = readHeaders(channel);
+            String status = headers.getOrDefault(":status", "");
+            if (status.startsWith("3") && headers.containsKey("location") && redirects < MAX_REDIRECTS) {
+                close(connection);
+                return stream(target.resolve(headers.get("location")), redirects + 1);
+            }
+            if (!status.equals("200")) {
+                throw new IOException("Unexpected status " + status + " from " + target);
+            }
+            String metaInt = headers.get("icy-metaint");
+            if (metaInt == null) {
+                throw new IOException("Stream at " + target + " does not carry ICY metadata");
+            }
+
+            boolean flowing = false;
+            IcyMetadataParser parser = new IcyMetadataParser(Integer.parseInt(metaInt.trim()), title -> {
+                if (publish(station, title)) {
+                    trackChanges.increment();
+                }
+            });
+            // Bytes after the header block are already stream data
+            parser.feed(buffer);
+            while (running) {
+                buffer.clear();
+                if (channel.read(buffer) < 0) {
+                    break;
+                }
+                buffer.flip();
+                parser.feed(buffer);
+                flowing = flowing || parser.lastTitle() != null;
+            }
+            return flowing;
+        }
+
+        private Socket connect(URI target) throws IOException {
+            boolean secure = "https".equalsIgnoreCase(target.getScheme());
+            int port = target.getPort() > 0 ? target.getPort() : (secure ? 443 : 80);
+            Socket connection = secure ? SSLSocketFactory.getDefault().createSocket() : new Socket();
+            connection.setSoTimeout(readTimeoutMillis);
+            connection.connect(new InetSocketAddress(target.getHost(), port), connectTimeoutMillis);
+            return connection;
+        }
+
+        private byte[] request(URI target) {
+            String path = target.getRawPath() == null || target.getRawPath().isEmpty() ? "/" : target.getRawPath();
+            if (target.getRawQuery() != null) {
+                path += "?" + target.getRawQuery();
+            }
+            // HTTP/1.0 so the body is never chunked
+            return ("GET " + path + " HTTP/1.0\r\n"
+                    + "Host: " + target.getHost() + (target.getPort() > 0 ? ":" + target.getPort() : "") + "\r\n"
+                    + "User-Agent: RadioAwa-Metadata/1.0\r\n"
+                    + "Icy-MetaData: 1\r\n"
+                    + "Connection: close\r\n\r\n").getBytes(StandardCharsets.US_ASCII);
+        }
+
+        /**
+         * Read up to the blank line; leaves the buffer positioned at the first stream byte
+         */
+        private Map<String, String> readHeaders(ReadableByteChannel channel) throws IOException {
+            int headerEnd;
+            while ((headerEnd = headerEnd(buffer)) < 0) {
+                if (!buffer.hasRemaining() || buffer.position() >= MAX_HEADER_BYTES) {
+                    throw new IOException("Response headers too large");
+                }
+                if (channel.read(buffer) < 0) {
+                    throw new IOException("Connection closed before headers ended");
+                }
+            }
+            byte[] raw = new byte[headerEnd];
+            buffer.flip();
+            buffer.get(raw);
+            buffer.position(headerEnd + 4);
+
+            // Status line is "HTTP/1.x 200 OK" or, from Shoutcast v1, "ICY 200 OK"
+            String[] lines = new String(raw, StandardCharsets.ISO_8859_1).split("\r\n");
+            Map<String, String> headers = new LinkedHashMap<>();
+            String[] statusLine = lines[0].split(" ");
+            headers.put(":status", statusLine.length > 1 ? statusLine[1] : "");
+            for (int i = 1; i < lines.length; i++) {
+                int colon = lines[i].indexOf(':');
+                if (colon > 0) {
+                    headers.put(lines[i].substring(0, colon).trim().toLowerCase(Locale.ROOT), lines[i].substring(colon + 1).trim());
+                }
+            }
+            return headers;
+        }
+
+        private int headerEnd(ByteBuffer received) {
+            for (int i = 0; i + 3 < received.position(); i++) {
+                if (received.get(i) == '\r' && received.get(i + 1) == '\n'
+                        && received.get(i + 2) == '\r' && received.get(i + 3) == '\n') {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private void close() {
+            thread.interrupt();
+            close(socket);
+        }
+
+        private void close(Socket connection) {
+            if (connection != null) {
+                try {
+                    connection.close();
+                } catch (IOException ignored) {
+                    // Already closed
+                }
+            }
+        }
+    }
+}
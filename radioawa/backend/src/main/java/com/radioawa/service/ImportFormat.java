@@ -0,0 +1,23 @@
+package com.radioawa.service;
+
+/**
+ * Import file formats: CSV with a header row, or one JSON object per line
+ */
+public enum ImportFormat {
+    CSV,
+    NDJSON;
+
+    /**
+     * Resolve from a request parameter, content type or file name
+     */
+    public static ImportFormat detect(String hint) {
+        String value = hint == null ? "" : hint.toLowerCase();
+        if (value.contains("csv")) {
+            return CSV;
+        }
+        if (value.contains("ndjson") || value.contains("jsonl") || value.contains("json")) {
+            return NDJSON;
+        }
+        throw new IllegalArgumentException("Cannot tell the import format from '" + hint + "' (expected csv or ndjson)");
+    }
+}
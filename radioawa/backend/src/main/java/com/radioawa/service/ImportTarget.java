@@ -0,0 +1,58 @@
+package com.radioawa.service;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tables the bulk importer can load, with the columns accepted in an import file
+ */
+public enum ImportTarget {
+    STATIONS(
+            List.of("code", "name", "stream_url", "metadata_url", "is_active", "display_order",
+                    "stream_format", "stream_quality", "stream_codec", "stream_bitrate",
+                    "genre", "tagline", "logo_url", "description", "source_info"),
+            List.of("code", "name", "stream_url", "metadata_url"),
+            Map.of("is_active", "boolean", "display_order", "integer")),
+    SONGS(
+            List.of("station_code", "artist", "title", "thumbs_up_count", "thumbs_down_count"),
+            List.of("station_code", "artist", "title"),
+            Map.of("thumbs_up_count", "integer", "thumbs_down_count", "integer"));
+
+    private final List<String> columns;
+    private final List<String> requiredColumns;
+    private final Map<String, String> columnTypes;
+
+    ImportTarget(List<String> columns, List<String> requiredColumns, Map<String, String> columnTypes) {
+        this.columns = columns;
+        this.requiredColumns = requiredColumns;
+        this.columnTypes = columnTypes;
+    }
+
+    public List<String> columns() {
+        return columns;
+    }
+
+    public List<String> requiredColumns() {
+        return requiredColumns;
+    }
+
+    /**
+     * Temp table the file is copied into; seq keeps file order so the last duplicate wins
+     */
+    String stagingDdl() {
+        StringBuilder ddl = new StringBuilder("CREATE TEMP TABLE import_staging (seq bigserial");
+        for (String column : columns) {
+            ddl.append(", ").append(column).append(' ').append(columnTypes.getOrDefault(column, "text"));
+        }
+        return ddl.append(") ON COMMIT DROP").toString();
+    }
+
+    public static ImportTarget fromParam(String value) {
+        for (ImportTarget target : values()) {
+            if (target.name().equalsIgnoreCase(value)) {
+                return target;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported import target: " + value + " (expected stations or songs)");
+    }
+}
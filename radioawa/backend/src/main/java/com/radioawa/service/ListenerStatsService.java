@@ -0,0 +1,342 @@
+package com.radioawa.service;
+
+import com.radioawa.dto.ListenerStatsResponse;
+import com.radioawa.entity.ListenerSketch;
+import com.radioawa.entity.ListenerSketchGranularity;
+import com.radioawa.repository.ListenerSketchRepository;
+import com.radioawa.util.Hashing;
+import com.radioawa.util.HyperLogLog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listener Stats Service
+ * Counts listeners from player heartbeats without storing a row per heartbeat. Each
+ * heartbeat adds the listener's id to HyperLogLog sketches for the current minute, hour
+ * and UTC day of its station, so memory stays at a few KB per station however many
+ * listeners there are.
+ *
+ * Once a minute (flush-cron) every instance writes its own sketches to listener_sketches;
+ * half a minute later (refresh-cron) each instance merges all instances' rows into the
+ * estimates it serves. Concurrent listeners are the distinct ids heard during the last
+ * complete minute (the player beats every 30 s); unique listeners are distinct ids in the
+ * current hour and day. Day rows are kept for retention-days, so unique listeners over
+ * any range of days is one merge away.
+ */
+@Service
+public class ListenerStatsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ListenerStatsService.class);
+
+    private static final long MINUTE_MILLIS = TimeUnit.MINUTES.toMillis(1);
+    private static final long HOUR_MILLIS = TimeUnit.HOURS.toMillis(1);
+    private static final long DAY_MILLIS = TimeUnit.DAYS.toMillis(1);
+
+    private final StationCatalog stationCatalog;
+    private final ListenerSketchRepository sketchRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int precision;
+    private final int retentionDays;
+    private final String instanceId;
+
+    private final Map<String, StationWindow> windows = new ConcurrentHashMap<>();
+    private volatile Map<String, ListenerStatsResponse> estimates = Map.of();
+
+    private final Counter heartbeats;
+    private final MultiGauge currentGauge;
+    private final MultiGauge uniqueGauge;
+
+    public ListenerStatsService(
+            StationCatalog stationCatalog,
+            ListenerSketchRepository sketchRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.listeners.sketch-precision:10}") int precision,
+            @Value("${app.listeners.retention-days:90}") int retentionDays,
+            @Value("${app.listeners.instance-id:}") String instanceId) {
+        this.stationCatalog = stationCatalog;
+        this.sketchRepository = sketchRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.precision = precision;
+        this.retentionDays = retentionDays;
+        this.instanceId = instanceId.isBlank() ? UUID.randomUUID().toString() : instanceId;
+
+        this.heartbeats = meterRegistry.counter("radioawa.listeners.heartbeats");
+        this.currentGauge = MultiGauge.builder("radioawa.listeners.current")
+                .description("Distinct listeners heard during the last complete minute")
+                .register(meterRegistry);
+        this.uniqueGauge = MultiGauge.builder("radioawa.listeners.unique")
+                .description("Distinct listeners in the current hour / UTC day")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Record that a listener is tuned in
+     * @return false if the station does not exist
+     */
+    public boolean heartbeat(String stationCode, String userId) {
+        return heartbeat(stationCode, userId, System.currentTimeMillis());
+    }
+
+    boolean heartbeat(String stationCode, String userId, long nowMillis) {
+        if (stationCatalog.findByCode(stationCode).isEmpty()) {
+            return false;
+        }
+        long hash = Hashing.hash64(userId);
+        windows.computeIfAbsent(stationCode, code -> new StationWindow()).add(hash, nowMillis);
+        heartbeats.increment();
+        return true;
+    }
+
+    /**
+     * Latest merged estimates for every station that has had listeners today
+     */
+    public List<ListenerStatsResponse> findAll() {
+        return List.copyOf(estimates.values());
+    }
+
+    public Optional<ListenerStatsResponse> findByStation(String stationCode) {
+        return Optional.ofNullable(estimates.get(stationCode));
+    }
+
+    /**
+     * Distinct listeners of a station over whole UTC days, merged from every instance's day rows
+     */
+    public long uniqueListenersBetween(String stationCode, LocalDate from, LocalDate to) {
+        HyperLogLog merged = new HyperLogLog(precision);
+        transactionTemplate.executeWithoutResult(status -> {
+            for (ListenerSketch row : sketchRepository.findByStationCodeAndGranularityAndBucketStartBetween(
+                    stationCode, ListenerSketchGranularity.DAY, from.atStartOfDay(), to.atStartOfDay())) {
+                mergeInto(merged, row);
+            }
+        });
+        return merged.estimate();
+    }
+
+    @Scheduled(cron = "${app.listeners.flush-cron:5 * * * * *}")
+    public void flush() {
+        flush(System.currentTimeMillis());
+    }
+
+    @Scheduled(cron = "${app.listeners.refresh-cron:35 * * * * *}")
+    public void refreshEstimates() {
+        refreshEstimates(System.currentTimeMillis());
+    }
+
+    /**
+     * Write this instance's sketches: the last complete minute, the current hour and day,
+     * and an hour or day that ended since the previous flush
+     */
+    void flush(long nowMillis) {
+        List<PendingRow> rows = new ArrayList<>();
+        windows.forEach((station, window) -> window.drain(station, nowMillis, rows));
+        if (rows.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Map<String, ListenerSketch> existing = new HashMap<>();
+                Set<String> loadedBuckets = new HashSet<>();
+                for (PendingRow row : rows) {
+                    String bucket = row.granularity + "|" + row.bucketStart;
+                    if (loadedBuckets.add(bucket)) {
+                        for (ListenerSketch sketch : sketchRepository.findByGranularityAndBucketStartAndInstanceId(
+                                row.granularity, row.bucketStart, instanceId)) {
+                            existing.put(bucket + "|" + sketch.getStationCode(), sketch);
+                        }
+                    }
+                    ListenerSketch sketch = existing.get(bucket + "|" + row.station);
+                    if (sketch == null) {
+                        sketch = new ListenerSketch();
+                        sketch.setStationCode(row.station);
+                        sketch.setGranularity(row.granularity);
+                        sketch.setBucketStart(row.bucketStart);
+                        sketch.setInstanceId(instanceId);
+                    }
+                    sketch.setRegisters(row.sketch.toBytes());
+                    sketchRepository.save(sketch);
+                }
+            });
+        } catch (RuntimeException e) {
+            logger.warn("Failed to flush listener sketches: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Merge every instance's rows into the estimates served by the API and metrics
+     */
+    void refreshEstimates(long nowMillis) {
+        LocalDateTime lastMinute = bucketStart(nowMillis - MINUTE_MILLIS, MINUTE_MILLIS);
+        LocalDateTime hour = bucketStart(nowMillis, HOUR_MILLIS);
+        LocalDateTime day = bucketStart(nowMillis, DAY_MILLIS);
+
+        Map<String, ListenerStatsResponse> refreshed = new HashMap<>();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Map<String, HyperLogLog> current = merge(ListenerSketchGranularity.MINUTE, lastMinute);
+                Map<String, HyperLogLog> hourly = merge(ListenerSketchGranularity.HOUR, hour);
+                Map<String, HyperLogLog> daily = merge(ListenerSketchGranularity.DAY, day);
+                for (String station : daily.keySet()) {
+                    ListenerStatsResponse stats = new ListenerStatsResponse();
+                    stats.setStationCode(station);
+                    stats.setCurrentListeners(estimate(current.get(station)));
+                    stats.setUniqueListenersThisHour(estimate(hourly.get(station)));
+                    stats.setUniqueListenersToday(estimate(daily.get(station)));
+                    stats.setUpdatedAt(Instant.ofEpochMilli(nowMillis));
+                    refreshed.put(station, stats);
+                }
+
+                sketchRepository.deleteOlderThan(ListenerSketchGranularity.MINUTE, lastMinute.minusMinutes(10));
+                sketchRepository.deleteOlderThan(ListenerSketchGranularity.HOUR, hour.minusDays(2));
+                sketchRepository.deleteOlderThan(ListenerSketchGranularity.DAY, day.minusDays(retentionDays));
+            });
+        } catch (RuntimeException e) {
+            logger.warn("Failed to refresh listener estimates: {}", e.getMessage());
+            return;
+        }
+
+        estimates = Map.copyOf(refreshed);
+        List<MultiGauge.Row<?>> currentRows = new ArrayList<>();
+        List<MultiGauge.Row<?>> uniqueRows = new ArrayList<>();
+        for (ListenerStatsResponse stats : refreshed.values()) {
+            currentRows.add(MultiGauge.Row.of(Tags.of("station", stats.getStationCode()), stats.getCurrentListeners()));
+            uniqueRows.add(MultiGauge.Row.of(Tags.of("station", stats.getStationCode(), "window", "hour"),
+                    stats.getUniqueListenersThisHour()));
+            uniqueRows.add(MultiGauge.Row.of(Tags.of("station", stats.getStationCode(), "window", "day"),
+                    stats.getUniqueListenersToday()));
+        }
+        currentGauge.register(currentRows, true);
+        uniqueGauge.register(uniqueRows, true);
+    }
+
+    private Map<String, HyperLogLog> merge(ListenerSketchGranularity granularity, LocalDateTime bucketStart) {
+        Map<String, HyperLogLog> merged = new HashMap<>();
+        for (ListenerSketch row : sketchRepository.findByGranularityAndBucketStart(granularity, bucketStart)) {
+            mergeInto(merged.computeIfAbsent(row.getStationCode(), code -> new HyperLogLog(precision)), row);
+        }
+        return merged;
+    }
+
+    private void mergeInto(HyperLogLog target, ListenerSketch row) {
+        try {
+            target.merge(HyperLogLog.fromBytes(row.getRegisters()));
+        } catch (IllegalArgumentException e) {
+            // Written with another precision (setting changed): skip rather than fail the whole bucket
+            logger.debug("Skipping listener sketch {}: {}", row.getId(), e.getMessage());
+        }
+    }
+
+    private static long estimate(HyperLogLog sketch) {
+        return sketch == null ? 0 : sketch.estimate();
+    }
+
+    private static LocalDateTime bucketStart(long millis, long bucketMillis) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(millis, bucketMillis) * bucketMillis / 1000, 0, ZoneOffset.UTC);
+    }
+
+    private record PendingRow(String station, ListenerSketchGranularity granularity, LocalDateTime bucketStart,
+                              HyperLogLog sketch) {
+    }
+
+    /**
+     * In-memory sketches of one station on this instance
+     */
+    private final class StationWindow {
+        private long minute = Long.MIN_VALUE;
+        private HyperLogLog currentMinute = new HyperLogLog(precision);
+        private HyperLogLog previousMinute;
+        private long hour = Long.MIN_VALUE;
+        private HyperLogLog currentHour = new HyperLogLog(precision);
+        private HyperLogLog endedHour;
+        private long endedHourBucket;
+        private long day = Long.MIN_VALUE;
+        private HyperLogLog currentDay = new HyperLogLog(precision);
+        private HyperLogLog endedDay;
+        private long endedDayBucket;
+
+        synchronized void add(long hash, long nowMillis) {
+            roll(nowMillis);
+            currentMinute.addHash(hash);
+            currentHour.addHash(hash);
+            currentDay.addHash(hash);
+        }
+
+        synchronized void drain(String station, long nowMillis, List<PendingRow> rows) {
+            roll(nowMillis);
+            if (previousMinute != null && !previousMinute.isEmpty()) {
+                rows.add(new PendingRow(station, ListenerSketchGranularity.MINUTE,
+                        bucketStart((minute - 1) * MINUTE_MILLIS, MINUTE_MILLIS), previousMinute.copy()));
+            }
+            // The tail of an hour/day that ended since the last flush
+            if (endedHour != null) {
+                rows.add(new PendingRow(station, ListenerSketchGranularity.HOUR,
+                        bucketStart(endedHourBucket * HOUR_MILLIS, HOUR_MILLIS), endedHour));
+                endedHour = null;
+            }
+            if (endedDay != null) {
+                rows.add(new PendingRow(station, ListenerSketchGranularity.DAY,
+                        bucketStart(endedDayBucket * DAY_MILLIS, DAY_MILLIS), endedDay));
+                endedDay = null;
+            }
+            if (!currentHour.isEmpty()) {
+                rows.add(new PendingRow(station, ListenerSketchGranularity.HOUR,
+                        bucketStart(hour * HOUR_MILLIS, HOUR_MILLIS), currentHour.copy()));
+            }
+            if (!currentDay.isEmpty()) {
+                rows.add(new PendingRow(station, ListenerSketchGranularity.DAY,
+                        bucketStart(day * DAY_MILLIS, DAY_MILLIS), currentDay.copy()));
+            }
+        }
+
+        private void roll(long nowMillis) {
+            long nowMinute = Math.floorDiv(nowMillis, MINUTE_MILLIS);
+            if (nowMinute != minute) {
+                previousMinute = nowMinute == minute + 1 ? currentMinute : null;
+                currentMinute = new HyperLogLog(precision);
+                minute = nowMinute;
+            }
+            long nowHour = Math.floorDiv(nowMillis, HOUR_MILLIS);
+            if (nowHour != hour) {
+                if (hour != Long.MIN_VALUE && !currentHour.isEmpty()) {
+                    endedHour = currentHour;
+                    endedHourBucket = hour;
+                }
+                currentHour = new HyperLogLog(precision);
+                hour = nowHour;
+            }
+            long nowDay = Math.floorDiv(nowMillis, DAY_MILLIS);
+            if (nowDay != day) {
+                if (day != Long.MIN_VALUE && !currentDay.isEmpty()) {
+                    endedDay = currentDay;
+                    endedDayBucket = day;
+                }
+                currentDay = new HyperLogLog(precision);
+                day = nowDay;
+            }
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.radioawa.service;
+
+import com.radioawa.cache.CacheInvalidationBus;
+import com.radioawa.cache.CacheInvalidationListener;
+import com.radioawa.cache.CacheTopic;
+import com.radioawa.dto.SongVoter;
+import com.radioawa.entity.RatingType;
+import com.radioawa.entity.Song;
+import com.radioawa.repository.RatingRepository;
+import com.radioawa.util.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Rated User Filter
+ * Per-song bloom filter of the userIds that have rated the song, so counts polls from
+ * listeners who never voted can skip the ratings lookup.
+ *
+ * A filter is built lazily on the first poll for a song, sized from the song's vote count,
+ * and updated after each local vote commits. It is only trusted while it accounts for every
+ * vote the song's counters report; votes taken by other instances make it stale, in which
+ * case the filter is rebuilt from the database before answering. Quarantined voters are in
+ * the filter (their rating is still returned) but, like the counters, not in its vote count.
+ */
+@Component
+public class RatedUserFilter implements CacheInvalidationListener {
+
+    private final RatingRepository ratingRepository;
+    private final boolean enabled;
+    private final double falsePositiveProbability;
+    private final int maxVotes;
+    private final int maxSongs;
+
+    private final Map<Long, SongFilter> filters = new ConcurrentHashMap<>();
+
+    private final Counter definiteMisses;
+    private final Counter lookups;
+    private final Counter falsePositives;
+    private final Counter rebuilds;
+
+    public RatedUserFilter(
+            RatingRepository ratingRepository,
+            MeterRegistry meterRegistry,
+            CacheInvalidationBus invalidationBus,
+            @Value("${app.ratings.user-filter.enabled:true}") boolean enabled,
+            @Value("${app.ratings.user-filter.false-positive-probability:0.01}") double falsePositiveProbability,
+            @Value("${app.ratings.user-filter.max-votes:100000}") int maxVotes,
+            @Value("${app.ratings.user-filter.max-songs:10000}") int maxSongs) {
+        this.ratingRepository = ratingRepository;
+        this.enabled = enabled;
+        this.falsePositiveProbability = falsePositiveProbability;
+        this.maxVotes = maxVotes;
+        this.maxSongs = maxSongs;
+
+        this.definiteMisses = meterRegistry.counter("radioawa.ratings.user_filter", "result", "skipped");
+        this.lookups = meterRegistry.counter("radioawa.ratings.user_filter", "result", "lookup");
+        this.falsePositives = meterRegistry.counter("radioawa.ratings.user_filter", "result", "false_positive");
+        this.rebuilds = meterRegistry.counter("radioawa.ratings.user_filter.rebuilds");
+        Gauge.builder("radioawa.ratings.user_filter.false_positive_rate", this, RatedUserFilter::observedFalsePositiveRate)
+                .description("Share of unrated listeners the filter could not rule out")
+                .register(meterRegistry);
+        Gauge.builder("radioawa.ratings.user_filter.songs", filters, Map::size)
+                .description("Songs with a rated-user filter in memory")
+                .register(meterRegistry);
+        invalidationBus.subscribe(this);
+    }
+
+    /**
+     * Look up the user's rating for a song, skipping the database when the user definitely has not voted
+     */
+    public Optional<RatingType> findUserRating(Song song, String userId) {
+        return findUserRating(song, song.getThumbsUpCount() + song.getThumbsDownCount(), userId);
+    }
+
+    /**
+     * Same as findUserRating(song, userId) with the vote total supplied by the caller, so the song
+     * may be an uninitialized reference
+     */
+    public Optional<RatingType> findUserRating(Song song, int votes, String userId) {
+        SongFilter filter = enabled ? filterFor(song, votes) : null;
+        if (filter != null && !filter.bloom.mightContain(userId)) {
+            definiteMisses.increment();
+            return Optional.empty();
+        }
+
+        lookups.increment();
+        Optional<RatingType> rating = ratingRepository.findRatingTypeBySongAndUserId(song, userId);
+        if (filter != null && rating.isEmpty()) {
+            falsePositives.increment();
+        }
+        return rating;
+    }
+
+    /**
+     * Add a new voter to the song's filter once the vote's transaction commits
+     * @param counted whether the vote went into the song's counters (false when quarantined)
+     */
+    public void recordVote(Song song, String userId, boolean counted) {
+        if (!enabled || song.getId() == null) {
+            return;
+        }
+        Long songId = song.getId();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    addVoter(songId, userId, counted);
+                }
+            });
+        } else {
+            addVoter(songId, userId, counted);
+        }
+    }
+
+    @Override
+    public void onInvalidate(CacheTopic topic, String key) {
+        if (topic != CacheTopic.SONG) {
+            return;
+        }
+        if ("*".equals(key)) {
+            filters.clear();
+        } else {
+            filters.remove(Long.valueOf(key));
+        }
+    }
+
+    @Override
+    public void onResync() {
+        filters.clear();
+    }
+
+    public double observedFalsePositiveRate() {
+        double positives = falsePositives.count();
+        double negatives = positives + definiteMisses.count();
+        return negatives == 0 ? 0.0 : positives / negatives;
+    }
+
+    private void addVoter(Long songId, String userId, boolean counted) {
+        // computeIfPresent waits for a concurrent build of the same song, so the vote is not lost.
+        // A voter already in the filter was seen by its build; counting it again would hide the
+        // next remote vote, while skipping a false positive only costs an extra rebuild
+        filters.computeIfPresent(songId, (id, filter) -> {
+            if (!filter.bloom.mightContain(userId)) {
+                filter.bloom.put(userId);
+                filter.voters.incrementAndGet();
+                if (counted) {
+                    filter.knownVotes.incrementAndGet();
+                }
+            }
+            return filter;
+        });
+    }
+
+    private SongFilter filterFor(Song song, int votes) {
+        if (votes > maxVotes) {
+            return null;
+        }
+
+        SongFilter filter = filters.get(song.getId());
+        // More votes than the filter accounts for means they were taken elsewhere; more voters than it
+        // was sized for means it is saturated. Either way drop it and rebuild from the database
+        if (filter != null && (votes > filter.knownVotes.get() || filter.voters.get() > filter.capacity)) {
+            filters.remove(song.getId(), filter);
+            rebuilds.increment();
+            filter = null;
+        }
+        if (filter == null) {
+            evictIfFull();
+            filter = filters.computeIfAbsent(song.getId(), id -> build(song, votes));
+        }
+        return filter.complete ? filter : null;
+    }
+
+    private SongFilter build(Song song, int votes) {
+        List<SongVoter> voters = ratingRepository.findVotersBySong(song);
+        // Compared with the counters, so quarantined rows must not be included
+        int countedVotes = (int) voters.stream().filter(SongVoter::counted).count();
+        // Leave room for the song to double its audience before a rebuild is needed
+        int capacity = Math.max(64, Math.max(votes, voters.size()) * 2);
+        // Counters that disagree with the ratings table leave the filter unused until the next vote
+        SongFilter filter = new SongFilter(BloomFilter.create(capacity, falsePositiveProbability), capacity,
+                countedVotes >= votes);
+        for (SongVoter voter : voters) {
+            filter.bloom.put(voter.userId());
+        }
+        filter.voters.set(voters.size());
+        filter.knownVotes.set(Math.max(votes, countedVotes));
+        return filter;
+    }
+
+    private void evictIfFull() {
+        if (filters.size() < maxSongs) {
+            return;
+        }
+        Iterator<Long> songIds = filters.keySet().iterator();
+        if (songIds.hasNext()) {
+            songIds.next();
+            songIds.remove();
+        }
+    }
+
+    private static final class SongFilter {
+        private final BloomFilter bloom;
+        private final int capacity;
+        private final boolean complete;
+        private final AtomicInteger voters = new AtomicInteger();
+        // Counted votes only, to compare with the song's counters
+        private final AtomicInteger knownVotes = new AtomicInteger();
+
+        private SongFilter(BloomFilter bloom, int capacity, boolean complete) {
+            this.bloom = bloom;
+            this.capacity = capacity;
+            this.complete = complete;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.radioawa.service;
+
+import com.radioawa.dto.SongCounts;
+import com.radioawa.util.SingleFlightCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Rating Counts Cache
+ * Coalesces the burst of identical counts lookups that follows every song change: all
+ * listeners of a station ask for the new song's counts within the same second. Concurrent
+ * lookups of one (station, artist, title) share a single database read, and its result is
+ * reused for app.ratings.counts.cache-ttl-ms.
+ *
+ * Only the shared aggregate is cached here; a user's own rating is always resolved per request.
+ */
+@Component
+public class RatingCountsCache {
+
+    private final SingleFlightCache<Key, Optional<SongCounts>> cache;
+
+    public RatingCountsCache(
+            MeterRegistry meterRegistry,
+            @Value("${app.ratings.counts.cache-ttl-ms:500}") long ttlMillis,
+            @Value("${app.ratings.counts.cache-max-entries:10000}") int maxEntries) {
+        this.cache = new SingleFlightCache<>(ttlMillis, maxEntries);
+        FunctionCounter.builder("radioawa.ratings.counts.cache", cache, SingleFlightCache::hitCount)
+                .description("Counts lookups served from the micro-cache")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("radioawa.ratings.counts.cache", cache, SingleFlightCache::joinCount)
+                .description("Counts lookups that waited for an identical in-flight read")
+                .tag("result", "shared")
+                .register(meterRegistry);
+        FunctionCounter.builder("radioawa.ratings.counts.cache", cache, SingleFlightCache::loadCount)
+                .description("Counts lookups that went to the database")
+                .tag("result", "load")
+                .register(meterRegistry);
+        Gauge.builder("radioawa.ratings.counts.cache.size", cache, SingleFlightCache::size)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Counts for the song, or empty if nobody has rated it yet
+     */
+    public Optional<SongCounts> get(String stationCode, String artist, String title, Supplier<Optional<SongCounts>> loader) {
+        return cache.get(new Key(stationCode, artist, title), key -> loader.get());
+    }
+
+    /**
+     * Drop the cached counts once the vote's transaction commits, so the voter does not read
+     * pre-vote totals (other listeners may still see them for up to one TTL)
+     */
+    public void evict(String stationCode, String artist, String title) {
+        Key key = new Key(stationCode, artist, title);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(key);
+                }
+            });
+        } else {
+            cache.invalidate(key);
+        }
+    }
+
+    private record Key(String stationCode, String artist, String title) {
+    }
+}
@@ -0,0 +1,260 @@
+package com.radioawa.service;
+
+import com.radioawa.dto.RatingRequest;
+import com.radioawa.dto.RatingResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rating Ingest Pipeline
+ * Optional write path for vote storms (app.ratings.ingest.mode=batched).
+ *
+ * Votes are queued per song on one of a few writer threads. Each writer applies up to
+ * batch-size votes, or whatever arrived within max-wait-ms, in a single transaction and
+ * completes every caller's future with its own result. Because a song always maps to the
+ * same writer, votes for one song (and so one user's votes on it) are applied in arrival
+ * order and never race on the song's counters.
+ *
+ * Queues are bounded: when a writer's queue stays full for offer-timeout-ms the vote is
+ * rejected so callers see backpressure instead of the heap absorbing the storm.
+ */
+@Service
+public class RatingIngestPipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(RatingIngestPipeline.class);
+
+    public static final String MODE_DIRECT = "direct";
+    public static final String MODE_BATCHED = "batched";
+
+    private final RatingService ratingService;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int writerCount;
+    private final int batchSize;
+    private final long maxWaitNanos;
+    private final int queueCapacity;
+    private final long offerTimeoutMillis;
+
+    private final List<Writer> writers = new ArrayList<>();
+    private Counter rejectedVotes;
+    private DistributionSummary batchSizes;
+
+    public RatingIngestPipeline(
+            RatingService ratingService,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.ratings.ingest.mode:direct}") String mode,
+            @Value("${app.ratings.ingest.writers:2}") int writerCount,
+            @Value("${app.ratings.ingest.batch-size:50}") int batchSize,
+            @Value("${app.ratings.ingest.max-wait-ms:5}") long maxWaitMillis,
+            @Value("${app.ratings.ingest.queue-capacity:1000}") int queueCapacity,
+            @Value("${app.ratings.ingest.offer-timeout-ms:50}") long offerTimeoutMillis) {
+        if (writerCount < 1 || batchSize < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("Rating ingest writers, batch-size and queue-capacity must be at least 1: writers="
+                    + writerCount + ", batch-size=" + batchSize + ", queue-capacity=" + queueCapacity);
+        }
+        this.ratingService = ratingService;
+        this.transactionManager = transactionManager;
+        this.meterRegistry = meterRegistry;
+        this.enabled = MODE_BATCHED.equalsIgnoreCase(mode);
+        this.writerCount = writerCount;
+        this.batchSize = batchSize;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+        this.queueCapacity = queueCapacity;
+        this.offerTimeoutMillis = offerTimeoutMillis;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        rejectedVotes = meterRegistry.counter("radioawa.ratings.ingest.rejected");
+        batchSizes = DistributionSummary.builder("radioawa.ratings.ingest.batch.size")
+                .description("Votes applied per transaction")
+                .register(meterRegistry);
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        for (int i = 0; i < writerCount; i++) {
+            Writer writer = new Writer(i, transactionTemplate);
+            writers.add(writer);
+            Gauge.builder("radioawa.ratings.ingest.queue.depth", writer.queue, BlockingQueue::size)
+                    .tag("writer", String.valueOf(i))
+                    .register(meterRegistry);
+            writer.thread.start();
+        }
+        logger.info("Batched rating ingest started: {} writers, batch size {}, max wait {} ms",
+                writerCount, batchSize, TimeUnit.NANOSECONDS.toMillis(maxWaitNanos));
+    }
+
+    @PreDestroy
+    public void stop() {
+        for (Writer writer : writers) {
+            writer.running = false;
+        }
+        for (Writer writer : writers) {
+            try {
+                writer.thread.join(5000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queue a validated vote for its song's writer
+     * @throws RejectedExecutionException when the writer's queue stays full (backpressure)
+     */
+    public CompletableFuture<RatingResponse> submit(RatingRequest request) {
+        if (!enabled) {
+            throw new IllegalStateException("Batched rating ingest is disabled");
+        }
+        PendingVote vote = new PendingVote(request);
+        Writer writer = writers.get(Math.floorMod(songKey(request).hashCode(), writers.size()));
+
+        boolean accepted;
+        try {
+            accepted = writer.running && writer.queue.offer(vote, offerTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            accepted = false;
+        }
+        if (!accepted) {
+            rejectedVotes.increment();
+            throw new RejectedExecutionException("Rating ingest queue is full");
+        }
+        return vote.result;
+    }
+
+    private static String songKey(RatingRequest request) {
+        return request.getStationCode() + '|' + request.getArtist() + '|' + request.getTitle();
+    }
+
+    private static final class PendingVote {
+        private final RatingRequest request;
+        private final CompletableFuture<RatingResponse> result = new CompletableFuture<>();
+        // Shared by the batch attempt and its one-by-one replay so the vote is counted once
+        private final VoteFraudDetector.Inspection inspection = new VoteFraudDetector.Inspection();
+
+        private PendingVote(RatingRequest request) {
+            this.request = request;
+        }
+    }
+
+    private final class Writer implements Runnable {
+
+        private final BlockingQueue<PendingVote> queue = new ArrayBlockingQueue<>(queueCapacity);
+        private final TransactionTemplate transactionTemplate;
+        private final Thread thread;
+        private volatile boolean running = true;
+
+        private Writer(int index, TransactionTemplate transactionTemplate) {
+            this.transactionTemplate = transactionTemplate;
+            this.thread = new Thread(this, "rating-writer-" + index);
+            this.thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            List<PendingVote> batch = new ArrayList<>(batchSize);
+            // Keep draining after shutdown is requested so queued callers still get an answer
+            while (running || !queue.isEmpty()) {
+                try {
+                    PendingVote first = queue.poll(100, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+
+                    long deadline = System.nanoTime() + maxWaitNanos;
+                    while (batch.size() < batchSize) {
+                        long remaining = deadline - System.nanoTime();
+                        PendingVote next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                        if (next == null) {
+                            break;
+                        }
+                        batch.add(next);
+                    }
+
+                    applyBatch(batch);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    running = false;
+                } catch (RuntimeException e) {
+                    logger.error("Rating writer {} failed: {}", thread.getName(), e.getMessage());
+                    batch.forEach(vote -> vote.result.completeExceptionally(e));
+                } finally {
+                    batch.clear();
+                }
+            }
+        }
+
+        private void applyBatch(List<PendingVote> batch) {
+            batchSizes.record(batch.size());
+            List<Object> outcomes = new ArrayList<>(batch.size());
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    for (PendingVote vote : batch) {
+                        try {
+                            outcomes.add(ratingService.applyRating(vote.request, vote.inspection));
+                        } catch (RatingRejectedException e) {
+                            // Thrown before any write, so the batch can continue; any other
+                            // exception aborts the transaction and the batch is replayed vote by vote
+                            outcomes.add(e);
+                        }
+                    }
+                });
+            } catch (RuntimeException batchFailure) {
+                logger.warn("Batch of {} votes failed ({}), applying individually",
+                        batch.size(), batchFailure.getMessage());
+                applyIndividually(batch);
+                return;
+            }
+
+            for (int i = 0; i < batch.size(); i++) {
+                Object outcome = outcomes.get(i);
+                if (outcome instanceof RatingResponse response) {
+                    batch.get(i).result.complete(response);
+                } else {
+                    batch.get(i).result.completeExceptionally((Throwable) outcome);
+                }
+            }
+        }
+
+        /**
+         * One bad vote must not fail its neighbours: replay each in its own transaction, in order
+         */
+        private void applyIndividually(List<PendingVote> batch) {
+            for (PendingVote vote : batch) {
+                try {
+                    vote.result.complete(transactionTemplate.execute(status -> ratingService.applyRating(vote.request, vote.inspection)));
+                } catch (RuntimeException e) {
+                    vote.result.completeExceptionally(e);
+                }
+            }
+        }
+    }
+}
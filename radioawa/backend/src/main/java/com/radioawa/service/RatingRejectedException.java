@@ -0,0 +1,12 @@
+package com.radioawa.service;
+
+/**
+ * Thrown when a vote is refused for a business reason (unknown station, rate limit).
+ * Always raised before anything is written, so the surrounding transaction stays usable.
+ */
+public class RatingRejectedException extends RuntimeException {
+
+    public RatingRejectedException(String message) {
+        super(message);
+    }
+}
@@ -1,43 +1,140 @@
 package com.radioawa.service;
 
+import com.radioawa.cache.CacheInvalidationBus;
+import com.radioawa.cache.CacheTopic;
 import com.radioawa.dto.RatingCountsResponse;
 import com.radioawa.dto.RatingRequest;
 import com.radioawa.dto.RatingResponse;
+import com.radioawa.dto.SongCounts;
 import com.radioawa.entity.Rating;
 import com.radioawa.entity.RatingType;
 import com.radioawa.entity.Song;
 import com.radioawa.entity.Station;
+import com.radioawa.profiling.VoteSubmissionEvent;
 import com.radioawa.repository.RatingRepository;
 import com.radioawa.repository.SongRepository;
-import com.radioawa.repository.StationRepository;
-import jakarta.transaction.Transactional;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class RatingService {
 
     private final SongRepository songRepository;
     private final RatingRepository ratingRepository;
-    private final StationRepository stationRepository;
+    private final StationCatalog stationCatalog;
+    private final RatedUserFilter ratedUserFilter;
+    private final RatingCountsCache ratingCountsCache;
+    private final CacheInvalidationBus invalidationBus;
+    private final VoteFraudDetector fraudDetector;
+    private final RecommendationService recommendationService;
+    private final MeterRegistry meterRegistry;
+    private final Tracer tracer;
 
     // Rate limiting: Max votes per IP per hour per station
     private static final int MAX_VOTES_PER_HOUR_PER_IP = 20;
     private static final int RATE_LIMIT_HOURS = 1;
 
-    public RatingService(SongRepository songRepository, RatingRepository ratingRepository, StationRepository stationRepository) {
+    // Metric names; tags are limited to station code, phase and outcome (never artist/title/user)
+    private static final String SUBMIT_TIMER = "radioawa.ratings.submit";
+    private static final String SUBMIT_PHASE_TIMER = "radioawa.ratings.submit.phase";
+    private static final String COUNTS_TIMER = "radioawa.ratings.counts";
+    private static final String UNKNOWN_STATION = "unknown";
+
+    public RatingService(SongRepository songRepository, RatingRepository ratingRepository,
+                         StationCatalog stationCatalog, RatedUserFilter ratedUserFilter,
+                         RatingCountsCache ratingCountsCache, CacheInvalidationBus invalidationBus,
+                         VoteFraudDetector fraudDetector, RecommendationService recommendationService,
+                         MeterRegistry meterRegistry, Tracer tracer) {
         this.songRepository = songRepository;
         this.ratingRepository = ratingRepository;
-        this.stationRepository = stationRepository;
+        this.stationCatalog = stationCatalog;
+        this.ratedUserFilter = ratedUserFilter;
+        this.ratingCountsCache = ratingCountsCache;
+        this.invalidationBus = invalidationBus;
+        this.fraudDetector = fraudDetector;
+        this.recommendationService = recommendationService;
+        this.meterRegistry = meterRegistry;
+        this.tracer = tracer;
     }
 
     @Transactional
     public RatingResponse submitRating(RatingRequest request) {
-        // Lookup station by code
-        Station station = stationRepository.findByCode(request.getStationCode())
-                .orElseThrow(() -> new RuntimeException("Station not found: " + request.getStationCode()));
+        return applyRating(request);
+    }
+
+    /**
+     * Apply a single vote inside the caller's transaction.
+     * Used by the batched ingest pipeline to apply many votes in one transaction;
+     * business rejections (unknown station, rate limit) are thrown before anything is written.
+     */
+    @Transactional(propagation = Propagation.MANDATORY, noRollbackFor = RatingRejectedException.class)
+    public RatingResponse applyRating(RatingRequest request) {
+        return applyRating(request, new VoteFraudDetector.Inspection());
+    }
+
+    /**
+     * Apply a single vote inside the caller's transaction, reusing its fraud inspection.
+     * A vote retried after its transaction rolled back passes the same inspection, so the
+     * fraud detector's sketches count it once.
+     */
+    @Transactional(propagation = Propagation.MANDATORY, noRollbackFor = RatingRejectedException.class)
+    public RatingResponse applyRating(RatingRequest request, VoteFraudDetector.Inspection inspection) {
+        VoteSubmissionEvent event = new VoteSubmissionEvent();
+        event.begin();
+        Span span = tracer.nextSpan().name("rating.apply").start();
+        long start = System.nanoTime();
+        String stationTag = UNKNOWN_STATION;
+        String outcome = "error";
+        try (Tracer.SpanInScope scope = tracer.withSpan(span)) {
+            // Lookup station by code
+            Station station = stationCatalog.findReference(request.getStationCode())
+                    .orElseThrow(() -> new RatingRejectedException("Station not found: " + request.getStationCode()));
+            stationTag = request.getStationCode();
+            long phaseStart = recordPhase("lookup", stationTag, start);
+            event.setLookupNanos(phaseStart - start);
+
+            checkRateLimit(station, request);
+            long rateLimitEnd = recordPhase("rate_limit", stationTag, phaseStart);
+            event.setRateLimitNanos(rateLimitEnd - phaseStart);
+            phaseStart = rateLimitEnd;
+
+            RatingResponse response = writeRating(station, request, inspection);
+            event.setWriteNanos(recordPhase("write", stationTag, phaseStart) - phaseStart);
 
+            outcome = "success";
+            return response;
+        } catch (RatingRejectedException e) {
+            outcome = "rejected";
+            throw e;
+        } catch (RuntimeException e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.tag("station", stationTag).tag("outcome", outcome).end();
+            event.end();
+            if (event.shouldCommit()) {
+                event.setStation(stationTag);
+                event.setOutcome(outcome);
+                event.commit();
+            }
+            Timer.builder(SUBMIT_TIMER)
+                    .description("Time to apply a vote")
+                    .tag("station", stationTag)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void checkRateLimit(Station station, RatingRequest request) {
         // IP-based rate limiting check (per station)
         if (request.getIpAddress() != null && !request.getIpAddress().isEmpty()) {
             java.time.LocalDateTime rateLimitStart = java.time.LocalDateTime.now().minusHours(RATE_LIMIT_HOURS);
@@ -45,10 +142,14 @@ public class RatingService {
                 station, request.getIpAddress(), rateLimitStart);
 
             if (recentVotesFromIp >= MAX_VOTES_PER_HOUR_PER_IP) {
-                throw new RuntimeException("Rate limit exceeded. Maximum " + MAX_VOTES_PER_HOUR_PER_IP +
+                throw new RatingRejectedException("Rate limit exceeded. Maximum " + MAX_VOTES_PER_HOUR_PER_IP +
                     " votes per hour allowed per station.");
             }
         }
+    }
+
+    private RatingResponse writeRating(Station station, RatingRequest request,
+                                       VoteFraudDetector.Inspection inspection) {
         // Find or create song (station-scoped)
         Song song = songRepository.findByStationAndArtistAndTitle(station, request.getArtist(), request.getTitle())
                 .orElseGet(() -> {
@@ -58,7 +159,11 @@ public class RatingService {
                     newSong.setTitle(request.getTitle());
                     newSong.setThumbsUpCount(0);
                     newSong.setThumbsDownCount(0);
-                    return songRepository.save(newSong);
+                    Song saved = songRepository.save(newSong);
+                    // Only creation is announced: counter updates would put a NOTIFY (and its
+                    // commit-time lock) on every vote
+                    invalidationBus.publish(CacheTopic.SONG, String.valueOf(saved.getId()));
+                    return saved;
                 });
 
         // Check if user already rated this song
@@ -72,6 +177,13 @@ public class RatingService {
                 return buildRatingResponse(song, request.getRatingType(), "Rating already submitted");
             }
 
+            if (Boolean.TRUE.equals(rating.getQuarantined())) {
+                // Never counted, so there is nothing to move between counters
+                rating.setRatingType(request.getRatingType());
+                ratingRepository.save(rating);
+                return buildRatingResponse(song, request.getRatingType(), "Rating updated successfully");
+            }
+
             // Change vote: decrement old count, increment new count
             RatingType oldType = rating.getRatingType();
             if (oldType == RatingType.THUMBS_UP) {
@@ -86,17 +198,32 @@ public class RatingService {
             rating.setIpAddress(request.getIpAddress()); // Update IP address
             ratingRepository.save(rating);
             songRepository.save(song);
+            ratingCountsCache.evict(request.getStationCode(), song.getArtist(), song.getTitle());
+            recommendationService.recordVote(song, request.getStationCode(), request.getUserId(), request.getRatingType());
 
             return buildRatingResponse(song, request.getRatingType(), "Rating updated successfully");
         }
 
         // New rating
+        VoteFraudDetector.Signal suspicious = fraudDetector.inspect(request, inspection);
         Rating newRating = new Rating();
         newRating.setSong(song);
         newRating.setUserId(request.getUserId());
         newRating.setIpAddress(request.getIpAddress());
         newRating.setRatingType(request.getRatingType());
+        if (suspicious != null) {
+            newRating.setQuarantined(true);
+        }
         ratingRepository.save(newRating);
+        ratedUserFilter.recordVote(song, request.getUserId(), suspicious == null);
+
+        if (suspicious != null) {
+            // Kept for review but left out of the counters; the voter sees the usual response
+            meterRegistry.counter("radioawa.ratings.fraud.quarantined", "station", request.getStationCode()).increment();
+            return buildRatingResponse(song, request.getRatingType(), "Rating submitted successfully");
+        }
+        ratingCountsCache.evict(request.getStationCode(), song.getArtist(), song.getTitle());
+        recommendationService.recordVote(song, request.getStationCode(), request.getUserId(), request.getRatingType());
 
         // Increment count
         if (request.getRatingType() == RatingType.THUMBS_UP) {
@@ -109,37 +236,75 @@ public class RatingService {
         return buildRatingResponse(song, request.getRatingType(), "Rating submitted successfully");
     }
 
+    @Transactional(readOnly = true)
     public RatingCountsResponse getRatingCounts(String stationCode, String artist, String title, String userId) {
-        // Lookup station by code
-        Station station = stationRepository.findByCode(stationCode)
-                .orElseThrow(() -> new RuntimeException("Station not found: " + stationCode));
+        Span span = tracer.nextSpan().name("rating.counts").start();
+        long start = System.nanoTime();
+        String stationTag = UNKNOWN_STATION;
+        try (Tracer.SpanInScope scope = tracer.withSpan(span)) {
+            // Lookup station by code
+            Station station = stationCatalog.findReference(stationCode)
+                    .orElseThrow(() -> new RuntimeException("Station not found: " + stationCode));
+            stationTag = stationCode;
+            return findRatingCounts(station, stationCode, artist, title, userId);
+        } catch (RuntimeException e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.tag("station", stationTag).end();
+            Timer.builder(COUNTS_TIMER)
+                    .description("Time to look up rating counts")
+                    .tag("station", stationTag)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
 
-        // Find song (station-scoped)
-        Optional<Song> songOpt = songRepository.findByStationAndArtistAndTitle(station, artist, title);
+    private RatingCountsResponse findRatingCounts(Station station, String stationCode, String artist, String title,
+                                                  String userId) {
+        // Shared by every listener polling this song; identical concurrent lookups run one query
+        Optional<SongCounts> countsOpt = ratingCountsCache.get(stationCode, artist, title, () ->
+                songRepository.findCountsByStationAndArtistAndTitle(station, artist, title));
 
-        if (songOpt.isEmpty()) {
+        if (countsOpt.isEmpty()) {
             // Song not rated yet
             return new RatingCountsResponse(null, artist, title, 0, 0, null);
         }
 
-        Song song = songOpt.get();
+        SongCounts counts = countsOpt.get();
         RatingType userRating = null;
 
         if (userId != null && !userId.isEmpty()) {
-            Optional<Rating> ratingOpt = ratingRepository.findBySongAndUserId(song, userId);
-            userRating = ratingOpt.map(Rating::getRatingType).orElse(null);
+            // Most pollers never voted on this song; the filter answers those without a query.
+            // The reference is only used for its id, so no song row is loaded here
+            Song song = songRepository.getReferenceById(counts.songId());
+            userRating = ratedUserFilter.findUserRating(song, counts.totalVotes(), userId).orElse(null);
         }
 
         return new RatingCountsResponse(
-            song.getId(),
-            song.getArtist(),
-            song.getTitle(),
-            song.getThumbsUpCount(),
-            song.getThumbsDownCount(),
+            counts.songId(),
+            counts.artist(),
+            counts.title(),
+            counts.thumbsUpCount(),
+            counts.thumbsDownCount(),
             userRating
         );
     }
 
+    /**
+     * Record the time since phaseStart for one submitRating phase and return the new phase start
+     */
+    private long recordPhase(String phase, String stationTag, long phaseStart) {
+        long now = System.nanoTime();
+        Timer.builder(SUBMIT_PHASE_TIMER)
+                .description("Time spent in each phase of applying a vote")
+                .tag("phase", phase)
+                .tag("station", stationTag)
+                .register(meterRegistry)
+                .record(now - phaseStart, TimeUnit.NANOSECONDS);
+        return now;
+    }
+
     private RatingResponse buildRatingResponse(Song song, RatingType userRating, String message) {
         return new RatingResponse(
             song.getId(),
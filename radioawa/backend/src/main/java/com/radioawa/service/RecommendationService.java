@@ -0,0 +1,405 @@
+package com.radioawa.service;
+
+import com.radioawa.cache.CacheInvalidationBus;
+import com.radioawa.cache.CacheInvalidationListener;
+import com.radioawa.cache.CacheTopic;
+import com.radioawa.dto.SongRecommendation;
+import com.radioawa.entity.RatingType;
+import com.radioawa.entity.Song;
+import com.radioawa.profiling.SnapshotRebuildEvent;
+import com.radioawa.util.LongIntHashMap;
+import com.radioawa.util.TopK;
+import com.radioawa.util.VoteMatrix;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recommendation Service
+ * Item-based collaborative filtering over the ratings table: songs are recommended to a
+ * listener for being similar, by co-votes, to the songs they voted on.
+ *
+ * The votes are held in a VoteMatrix; each song keeps its app.recommendations.neighbors most
+ * similar songs. A recommendation sums, over the listener's votes, vote × similarity for each
+ * neighbor, so a thumbs down pushes the down-voted song's neighbors away. Songs the listener
+ * already voted on are never recommended.
+ *
+ * All writes happen on one background thread; requests read a volatile immutable snapshot.
+ * The full build (startup, bulk imports, bus resyncs and every rebuild-interval-ms) computes
+ * every song's neighbors in parallel on the common fork/join pool. Votes taken by this
+ * instance are queued after commit and applied every refresh-interval-ms: only the voted
+ * song and the other songs of that voter are recomputed, which leaves the similarities of
+ * their neighbors to the voted song slightly stale until the next full build. Votes taken by
+ * other instances are picked up by the periodic full build.
+ */
+@Service
+public class RecommendationService implements CacheInvalidationListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecommendationService.class);
+
+    private static final String SELECT_SONGS =
+            "SELECT s.id, st.code, s.artist, s.title FROM songs s JOIN stations st ON st.id = s.station_id";
+    private static final String SELECT_VOTES =
+            "SELECT song_id, user_id, rating_type FROM ratings WHERE quarantined IS NOT TRUE";
+    private static final int LOAD_FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SnapshotUpdater updater;
+    private final int neighborsPerSong;
+    private final int minCoVotes;
+    private final int maxUserVotes;
+    private final int maxResults;
+    private final long refreshIntervalMillis;
+    private final long rebuildIntervalMillis;
+    private final Timer recommendTimer;
+    private final MeterRegistry meterRegistry;
+
+    private final Queue<Vote> pendingVotes = new ConcurrentLinkedQueue<>();
+
+    // Owned by the updater thread
+    private Model model;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    private volatile boolean ready;
+
+    public RecommendationService(
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            CacheInvalidationBus invalidationBus,
+            MeterRegistry meterRegistry,
+            @Value("${app.recommendations.neighbors:50}") int neighborsPerSong,
+            @Value("${app.recommendations.min-co-votes:2}") int minCoVotes,
+            @Value("${app.recommendations.max-user-votes:500}") int maxUserVotes,
+            @Value("${app.recommendations.max-results:50}") int maxResults,
+            @Value("${app.recommendations.refresh-interval-ms:30000}") long refreshIntervalMillis,
+            @Value("${app.recommendations.rebuild-interval-ms:3600000}") long rebuildIntervalMillis) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(LOAD_FETCH_SIZE);
+        this.updater = new SnapshotUpdater("recommendations", transactionManager, this::rebuild);
+        this.neighborsPerSong = neighborsPerSong;
+        this.minCoVotes = minCoVotes;
+        this.maxUserVotes = maxUserVotes;
+        this.maxResults = maxResults;
+        this.refreshIntervalMillis = refreshIntervalMillis;
+        this.rebuildIntervalMillis = rebuildIntervalMillis;
+        this.meterRegistry = meterRegistry;
+        this.recommendTimer = Timer.builder("radioawa.recommendations.request")
+                .description("Time to compute a listener's recommendations from the in-process model")
+                .register(meterRegistry);
+        Gauge.builder("radioawa.recommendations.songs", this, RecommendationService::songsWithNeighbors)
+                .description("Songs with at least one similar song in the recommendation model")
+                .register(meterRegistry);
+        invalidationBus.subscribe(this);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        updater.requestRebuild();
+        updater.scheduleWithFixedDelay(this::applyPendingVotes, refreshIntervalMillis);
+        updater.scheduleWithFixedDelay(updater::requestRebuild, rebuildIntervalMillis);
+    }
+
+    @PreDestroy
+    public void stop() {
+        updater.stop();
+    }
+
+    /**
+     * False until the first build has finished
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Number of songs that have at least one neighbor
+     */
+    public int songsWithNeighbors() {
+        int count = 0;
+        for (VoteMatrix.Neighbors neighbors : snapshot.neighbors) {
+            if (neighbors != null && neighbors.size() > 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Songs the listener has not voted on, best first; empty for listeners without votes
+     * @param stationCode restrict to one station, or null for all stations
+     */
+    public List<SongRecommendation> recommend(String userId, String stationCode, int limit) {
+        return recommendTimer.record(() -> {
+            Snapshot current = snapshot;
+            UserVotes votes = current.users.get(userId);
+            if (votes == null || votes.items.length == 0) {
+                return List.of();
+            }
+
+            // Every (neighbor, vote × similarity) contribution, keyed by neighbor so equal
+            // neighbors sort next to each other: song ordinal in the high bits, slot in the low
+            int total = 0;
+            for (int item : votes.items) {
+                total += current.neighborsOf(item).size();
+            }
+            long[] keys = new long[total];
+            float[] contributions = new float[total];
+            int count = 0;
+            for (int v = 0; v < votes.items.length; v++) {
+                VoteMatrix.Neighbors neighbors = current.neighborsOf(votes.items[v]);
+                for (int n = 0; n < neighbors.size(); n++) {
+                    keys[count] = ((long) neighbors.items()[n] << 32) | count;
+                    contributions[count] = votes.values[v] * neighbors.scores()[n];
+                    count++;
+                }
+            }
+            Arrays.sort(keys, 0, count);
+
+            int size = Math.min(Math.max(1, limit), maxResults);
+            TopK top = new TopK(size);
+            for (int start = 0; start < count; ) {
+                int item = (int) (keys[start] >>> 32);
+                float score = 0;
+                int end = start;
+                while (end < count && (int) (keys[end] >>> 32) == item) {
+                    score += contributions[(int) keys[end]];
+                    end++;
+                }
+                start = end;
+                if (score > 0 && item < current.songs.length
+                        && Arrays.binarySearch(votes.items, item) < 0
+                        && (stationCode == null || stationCode.equals(current.songs[item].stationCode()))) {
+                    top.offer(item, score);
+                }
+            }
+
+            int[] items = new int[size];
+            float[] scores = new float[size];
+            int found = top.drain(items, scores);
+            List<SongRecommendation> results = new ArrayList<>(found);
+            for (int i = 0; i < found; i++) {
+                SongRef song = current.songs[items[i]];
+                results.add(new SongRecommendation(song.id(), song.stationCode(), song.artist(), song.title(), scores[i]));
+            }
+            return results;
+        });
+    }
+
+    /**
+     * Queue a counted vote for the next incremental update, once its transaction commits
+     */
+    public void recordVote(Song song, String stationCode, String userId, RatingType ratingType) {
+        if (song.getId() == null) {
+            return;
+        }
+        Vote vote = new Vote(new SongRef(song.getId(), stationCode, song.getArtist(), song.getTitle()),
+                userId, ratingType == RatingType.THUMBS_UP ? 1 : -1);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    pendingVotes.add(vote);
+                }
+            });
+        } else {
+            pendingVotes.add(vote);
+        }
+    }
+
+    @Override
+    public void onInvalidate(CacheTopic topic, String key) {
+        // Bulk imports replace songs wholesale; single song creations arrive with their first vote
+        if (topic == CacheTopic.SONG && "*".equals(key)) {
+            updater.requestRebuild();
+        }
+    }
+
+    @Override
+    public void onResync() {
+        updater.requestRebuild();
+    }
+
+    private void rebuild() {
+        SnapshotRebuildEvent event = new SnapshotRebuildEvent("recommendations");
+        event.begin();
+        long start = System.nanoTime();
+        Model fresh = new Model();
+        // Streamed through cursors; only the matrix's primitive rows are held per vote
+        updater.load(() -> {
+            jdbcTemplate.query(SELECT_SONGS, (RowCallbackHandler) rs ->
+                    fresh.song(new SongRef(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4))));
+            jdbcTemplate.query(SELECT_VOTES, (RowCallbackHandler) rs -> {
+                int item = fresh.songOrdinals.get(rs.getLong(1));
+                // A song created after the songs query; its vote is in the pending queue too
+                if (item != LongIntHashMap.MISSING) {
+                    fresh.matrix.set(fresh.user(rs.getString(2)).ordinal, item,
+                            RatingType.THUMBS_UP.name().equals(rs.getString(3)) ? 1 : -1);
+                }
+            });
+        });
+        long loaded = System.nanoTime();
+
+        VoteMatrix.Neighbors[] neighbors = new VoteMatrix.Neighbors[fresh.matrix.itemCount()];
+        int[] all = new int[neighbors.length];
+        Arrays.setAll(all, i -> i);
+        fresh.matrix.computeNeighbors(all, neighbors, neighborsPerSong, minCoVotes, maxUserVotes);
+        fresh.users.replaceAll((userId, votes) -> fresh.copyRow(votes.ordinal));
+
+        model = fresh;
+        snapshot = new Snapshot(neighbors, fresh.songsCopy(), fresh.users);
+        ready = true;
+        long built = System.nanoTime();
+        record("full", built - loaded);
+        event.setEntries(neighbors.length);
+        event.commit();
+
+        logger.info("Recommendation model built: {} songs, {} listeners, {} votes (load {} ms, build {} ms)",
+                neighbors.length, fresh.users.size(), fresh.matrix.voteCount(),
+                TimeUnit.NANOSECONDS.toMillis(loaded - start),
+                TimeUnit.NANOSECONDS.toMillis(built - loaded));
+        // Votes queued during the load may already be in it; applying them again is harmless
+        applyPendingVotes();
+    }
+
+    private void applyPendingVotes() {
+        Model current = model;
+        if (current == null || pendingVotes.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        BitSet dirty = new BitSet();
+        Set<String> changedUsers = new HashSet<>();
+        Vote vote;
+        while ((vote = pendingVotes.poll()) != null) {
+            int item = current.songOrdinals.get(vote.song().id());
+            if (item == LongIntHashMap.MISSING) {
+                item = current.song(vote.song());
+            }
+            UserVotes user = current.user(vote.userId());
+            if (current.matrix.set(user.ordinal, item, vote.value()) == vote.value()) {
+                continue;
+            }
+            changedUsers.add(vote.userId());
+            // The song's own neighbors, and the voter's other songs (whose co-votes with it changed)
+            dirty.set(item);
+            if (current.matrix.userVotes(user.ordinal) <= maxUserVotes) {
+                for (int other : current.copyRow(user.ordinal).items) {
+                    dirty.set(other);
+                }
+            }
+        }
+        if (dirty.isEmpty()) {
+            return;
+        }
+
+        Snapshot previous = snapshot;
+        VoteMatrix.Neighbors[] neighbors = Arrays.copyOf(previous.neighbors, current.matrix.itemCount());
+        current.matrix.computeNeighbors(dirty.stream().toArray(), neighbors, neighborsPerSong, minCoVotes, maxUserVotes);
+        for (String userId : changedUsers) {
+            current.users.put(userId, current.copyRow(current.users.get(userId).ordinal));
+        }
+        snapshot = new Snapshot(neighbors, current.songsCopy(), current.users);
+        record("incremental", System.nanoTime() - start);
+        logger.debug("Recommendation model updated: {} songs recomputed for {} listeners",
+                dirty.cardinality(), changedUsers.size());
+    }
+
+    private void record(String kind, long nanos) {
+        Timer.builder("radioawa.recommendations.build")
+                .description("Time to compute song neighbors for the recommendation model")
+                .tag("kind", kind)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private record SongRef(long id, String stationCode, String artist, String title) {
+    }
+
+    private record Vote(SongRef song, String userId, int value) {
+    }
+
+    /**
+     * A listener's votes as the snapshot sees them: song ordinals in ascending order with the vote on each
+     */
+    private record UserVotes(int ordinal, int[] items, byte[] values) {
+    }
+
+    /**
+     * What requests read. The users map is shared with the model and updated in place, so a
+     * listener's votes may name songs newer than the neighbor array; those have no neighbors yet.
+     */
+    private record Snapshot(VoteMatrix.Neighbors[] neighbors, SongRef[] songs, Map<String, UserVotes> users) {
+        static final Snapshot EMPTY = new Snapshot(new VoteMatrix.Neighbors[0], new SongRef[0], Map.of());
+
+        VoteMatrix.Neighbors neighborsOf(int item) {
+            VoteMatrix.Neighbors neighbors = item < this.neighbors.length ? this.neighbors[item] : null;
+            return neighbors == null ? VoteMatrix.Neighbors.EMPTY : neighbors;
+        }
+    }
+
+    /**
+     * The vote matrix and the ordinals of its songs and listeners
+     */
+    private static final class Model {
+        private final VoteMatrix matrix = new VoteMatrix();
+        private final LongIntHashMap songOrdinals = new LongIntHashMap(1024);
+        private final Map<String, UserVotes> users = new ConcurrentHashMap<>();
+        private SongRef[] songs = new SongRef[1024];
+
+        int song(SongRef song) {
+            int item = matrix.addItem();
+            if (item == songs.length) {
+                songs = Arrays.copyOf(songs, item * 2);
+            }
+            songs[item] = song;
+            songOrdinals.put(song.id(), item);
+            return item;
+        }
+
+        UserVotes user(String userId) {
+            UserVotes votes = users.get(userId);
+            if (votes == null) {
+                votes = new UserVotes(matrix.addUser(), new int[0], new byte[0]);
+                users.put(userId, votes);
+            }
+            return votes;
+        }
+
+        UserVotes copyRow(int user) {
+            int size = matrix.userVotes(user);
+            int[] items = new int[size];
+            byte[] values = new byte[size];
+            matrix.copyRow(user, items, values);
+            return new UserVotes(user, items, values);
+        }
+
+        SongRef[] songsCopy() {
+            return Arrays.copyOf(songs, matrix.itemCount());
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.radioawa.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Snapshot Updater
+ * The single background thread behind an in-process snapshot (song search index,
+ * recommendation model): every rebuild and incremental update runs on it, so the snapshot
+ * has one writer and requests read it without locks. A failed task is logged and the
+ * thread carries on.
+ *
+ * Full loads run in a read-write transaction on purpose, so they come from the primary: a
+ * lagging replica could miss rows whose incremental update was already applied.
+ */
+final class SnapshotUpdater {
+
+    private static final Logger logger = LoggerFactory.getLogger(SnapshotUpdater.class);
+
+    private final String name;
+    private final Runnable rebuild;
+    private final TransactionTemplate loadTransaction;
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+    private final ScheduledExecutorService executor;
+
+    SnapshotUpdater(String name, PlatformTransactionManager transactionManager, Runnable rebuild) {
+        this.name = name;
+        this.rebuild = rebuild;
+        this.loadTransaction = new TransactionTemplate(transactionManager);
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Queue a full rebuild unless one is already waiting, so bursts (e.g. a bus resync right
+     * after startup) cost a single rebuild
+     */
+    void requestRebuild() {
+        if (rebuildQueued.compareAndSet(false, true)) {
+            submit(() -> {
+                rebuildQueued.set(false);
+                rebuild.run();
+            });
+        }
+    }
+
+    /**
+     * Run an incremental update on the updater thread, after anything already queued
+     */
+    void submit(Runnable task) {
+        if (executor.isShutdown()) {
+            return;
+        }
+        executor.execute(() -> runLogged(task));
+    }
+
+    void scheduleWithFixedDelay(Runnable task, long delayMillis) {
+        executor.scheduleWithFixedDelay(() -> runLogged(task), delayMillis, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Run a full load in one transaction on the primary
+     */
+    void load(Runnable queries) {
+        loadTransaction.executeWithoutResult(status -> queries.run());
+    }
+
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    private void runLogged(Runnable task) {
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            logger.warn("Updating {} failed: {}", name, e.getMessage());
+        }
+    }
+}
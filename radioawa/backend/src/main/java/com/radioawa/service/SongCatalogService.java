@@ -0,0 +1,126 @@
+package com.radioawa.service;
+
+import com.radioawa.dto.SongPageResponse;
+import com.radioawa.dto.SongSummaryResponse;
+import com.radioawa.dto.StationResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Song Catalog Service
+ * Reads a station's songs page by page or as a stream without loading the catalog onto the heap.
+ *
+ * Pages use keyset pagination: the cursor carries the last row's (sort key, id) and the next
+ * page starts with a row-value comparison against it, so every page is an index range scan
+ * no matter how deep the client has paged. Streams run the same query through a JDBC cursor
+ * with a fixed fetch size, so memory stays flat for any catalog size.
+ */
+@Service
+public class SongCatalogService {
+
+    private static final String SELECT_SONGS =
+            "SELECT id, artist, title, thumbs_up_count, thumbs_down_count, net_score, created_at " +
+            "FROM songs WHERE station_id = ?";
+
+    private static final RowMapper<SongSummaryResponse> SONG_ROW = (rs, rowNum) -> new SongSummaryResponse(
+            rs.getLong("id"),
+            rs.getString("artist"),
+            rs.getString("title"),
+            rs.getInt("thumbs_up_count"),
+            rs.getInt("thumbs_down_count"),
+            rs.getInt("net_score"),
+            rs.getObject("created_at", LocalDateTime.class));
+
+    private final StationCatalog stationCatalog;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int maxPageSize;
+
+    public SongCatalogService(
+            StationCatalog stationCatalog,
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.songs.stream.fetch-size:500}") int fetchSize,
+            @Value("${app.songs.page.max-size:200}") int maxPageSize) {
+        this.stationCatalog = stationCatalog;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.maxPageSize = maxPageSize;
+    }
+
+    /**
+     * One page of a station's songs, or empty if the station does not exist
+     * @param cursor nextCursor from the previous page, or null for the first page
+     * @throws IllegalArgumentException for a malformed cursor
+     */
+    @Transactional(readOnly = true)
+    public Optional<SongPageResponse> findPage(String stationCode, SongSort sort, String cursor, int limit) {
+        SongCursor after = cursor != null && !cursor.isEmpty() ? SongCursor.decode(cursor, sort) : null;
+        int pageSize = Math.min(Math.max(1, limit), maxPageSize);
+
+        return stationCatalog.findByCode(stationCode).map(StationResponse::getId).map(stationId -> {
+            List<Object> args = new ArrayList<>();
+            // Fetch one extra row to know whether another page exists
+            String sql = buildQuery(stationId, sort, after, args) + " LIMIT ?";
+            args.add(pageSize + 1);
+            List<SongSummaryResponse> songs = jdbcTemplate.query(sql, SONG_ROW, args.toArray());
+
+            String nextCursor = null;
+            if (songs.size() > pageSize) {
+                songs = songs.subList(0, pageSize);
+                SongSummaryResponse last = songs.get(pageSize - 1);
+                nextCursor = SongCursor.after(sort, last.getNetScore(), last.getCreatedAt(), last.getId()).encode();
+            }
+            return new SongPageResponse(songs, nextCursor);
+        });
+    }
+
+    /**
+     * Stream every song of a station (after the cursor, if given) to the sink in sort order
+     * @return false if the station does not exist
+     * @throws IllegalArgumentException for a malformed cursor
+     */
+    public boolean stream(String stationCode, SongSort sort, String cursor, Consumer<SongSummaryResponse> sink) {
+        SongCursor after = cursor != null && !cursor.isEmpty() ? SongCursor.decode(cursor, sort) : null;
+        Optional<Long> stationId = stationCatalog.findByCode(stationCode).map(StationResponse::getId);
+        if (stationId.isEmpty()) {
+            return false;
+        }
+
+        List<Object> args = new ArrayList<>();
+        String sql = buildQuery(stationId.get(), sort, after, args);
+        // PostgreSQL only honours the fetch size (server-side cursor) inside a transaction
+        readOnlyTransaction.executeWithoutResult(status ->
+                jdbcTemplate.query(sql, resultSet -> {
+                    sink.accept(SONG_ROW.mapRow(resultSet, 0));
+                }, args.toArray()));
+        return true;
+    }
+
+    private String buildQuery(long stationId, SongSort sort, SongCursor after, List<Object> args) {
+        StringBuilder sql = new StringBuilder(SELECT_SONGS);
+        args.add(stationId);
+        if (after != null) {
+            sql.append(" AND (").append(sort.column()).append(", id) < (?, ?)");
+            args.add(after.sortValue() instanceof LocalDateTime createdAt ? Timestamp.valueOf(createdAt) : after.sortValue());
+            args.add(after.id());
+        }
+        sql.append(" ORDER BY ").append(sort.column()).append(" DESC, id DESC");
+        return sql.toString();
+    }
+}
@@ -0,0 +1,44 @@
+package com.radioawa.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Song Cursor
+ * Opaque keyset position in a station's song catalog: the sort key and id of the last
+ * song returned. Encoded as URL-safe base64 so clients treat it as a token.
+ */
+public record SongCursor(SongSort sort, Object sortValue, long id) {
+
+    public static SongCursor after(SongSort sort, int netScore, LocalDateTime createdAt, long id) {
+        return new SongCursor(sort, sort == SongSort.SCORE ? (Object) netScore : createdAt, id);
+    }
+
+    public String encode() {
+        String raw = sort.name() + ':' + sortValue + ':' + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException for malformed cursors or cursors issued for a different sort
+     */
+    public static SongCursor decode(String token, SongSort expectedSort) {
+        SongCursor cursor;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int first = raw.indexOf(':');
+            int last = raw.lastIndexOf(':');
+            SongSort sort = SongSort.valueOf(raw.substring(0, first));
+            String value = raw.substring(first + 1, last);
+            long id = Long.parseLong(raw.substring(last + 1));
+            cursor = new SongCursor(sort, sort == SongSort.SCORE ? (Object) Integer.parseInt(value) : LocalDateTime.parse(value), id);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        if (cursor.sort() != expectedSort) {
+            throw new IllegalArgumentException("Cursor was issued for sort " + cursor.sort().name().toLowerCase());
+        }
+        return cursor;
+    }
+}
@@ -0,0 +1,499 @@
+package com.radioawa.service;
+
+import com.radioawa.cache.CacheInvalidationBus;
+import com.radioawa.cache.CacheInvalidationListener;
+import com.radioawa.cache.CacheTopic;
+import com.radioawa.dto.SongSearchResult;
+import com.radioawa.profiling.SnapshotRebuildEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Song Search Index
+ * In-process prefix index over normalized artist and title tokens for search-as-you-type.
+ *
+ * Each station has an immutable segment: a sorted array of distinct tokens with a posting list
+ * (song positions) per token. A query token matches the contiguous range of tokens it prefixes,
+ * found with two binary searches. New songs go into a small per-station delta that is scanned
+ * linearly and folded into the segment once it grows past app.songs.search.delta-size.
+ *
+ * All writes happen on one background thread; searches read volatile immutable snapshots and
+ * never block. The index is built at startup (stations in parallel), extended on SONG
+ * invalidations and rebuilt on "*" invalidations (bulk imports) and bus resyncs.
+ */
+@Service
+public class SongSearchIndex implements CacheInvalidationListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(SongSearchIndex.class);
+
+    private static final String SELECT_SONGS =
+            "SELECT s.id, st.code, s.artist, s.title FROM songs s JOIN stations st ON st.id = s.station_id";
+    private static final int LOAD_FETCH_SIZE = 1000;
+
+    // Latin accents are folded ("Beyoncé" matches "beyonce"); other combining marks, such as
+    // Devanagari vowel signs, are part of the word and kept
+    private static final Pattern LATIN_DIACRITICS = Pattern.compile("[\\u0300-\\u036f]");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{M}\\p{N}]+");
+
+    private static final RowMapper<SongDoc> SONG_ROW = (rs, rowNum) -> new SongDoc(
+            rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SnapshotUpdater updater;
+    private final int maxResults;
+    private final int maxDeltaSize;
+    private final int maxCandidates;
+    private final Timer searchTimer;
+
+    private volatile Map<String, StationIndex> stations = Map.of();
+    private volatile boolean ready;
+
+    public SongSearchIndex(
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            CacheInvalidationBus invalidationBus,
+            MeterRegistry meterRegistry,
+            @Value("${app.songs.search.max-results:50}") int maxResults,
+            @Value("${app.songs.search.delta-size:512}") int maxDeltaSize,
+            @Value("${app.songs.search.max-candidates:20000}") int maxCandidates) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(LOAD_FETCH_SIZE);
+        this.updater = new SnapshotUpdater("song-search-index", transactionManager, this::rebuild);
+        this.maxResults = maxResults;
+        this.maxDeltaSize = maxDeltaSize;
+        this.maxCandidates = maxCandidates;
+        this.searchTimer = Timer.builder("radioawa.songs.search")
+                .description("Time to answer a song search from the in-process index")
+                .register(meterRegistry);
+        Gauge.builder("radioawa.songs.search.indexed", this, SongSearchIndex::size)
+                .description("Songs in the in-process search index")
+                .register(meterRegistry);
+        invalidationBus.subscribe(this);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        updater.requestRebuild();
+    }
+
+    @PreDestroy
+    public void stop() {
+        updater.stop();
+    }
+
+    /**
+     * False until the first build has finished
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Number of indexed songs across all stations
+     */
+    public int size() {
+        int size = 0;
+        for (StationIndex station : stations.values()) {
+            size += station.size();
+        }
+        return size;
+    }
+
+    /**
+     * Songs whose artist or title words start with every word of the query
+     * @param stationCode restrict to one station, or null for all stations
+     */
+    public List<SongSearchResult> search(String query, String stationCode, int limit) {
+        return searchTimer.record(() -> {
+            String[] tokens = tokenize(query);
+            if (tokens.length == 0) {
+                return List.of();
+            }
+            Map<String, StationIndex> snapshot = stations;
+            Collection<StationIndex> targets = stationCode == null
+                    ? snapshot.values()
+                    : snapshot.containsKey(stationCode) ? List.of(snapshot.get(stationCode)) : List.of();
+
+            List<Hit> hits = new ArrayList<>();
+            for (StationIndex station : targets) {
+                station.collect(tokens, hits, maxCandidates);
+            }
+            int size = Math.min(Math.max(1, limit), maxResults);
+            return hits.stream()
+                    .sorted(Hit.RANKING)
+                    .limit(size)
+                    .map(hit -> new SongSearchResult(hit.id, hit.stationCode, hit.artist, hit.title))
+                    .toList();
+        });
+    }
+
+    @Override
+    public void onInvalidate(CacheTopic topic, String key) {
+        if (topic != CacheTopic.SONG) {
+            return;
+        }
+        if ("*".equals(key)) {
+            updater.requestRebuild();
+            return;
+        }
+        try {
+            long songId = Long.parseLong(key);
+            updater.submit(() -> index(songId));
+        } catch (NumberFormatException e) {
+            logger.debug("Ignoring song invalidation with non-numeric key {}", key);
+        }
+    }
+
+    @Override
+    public void onResync() {
+        // Song creations may have been missed while the bus was disconnected
+        updater.requestRebuild();
+    }
+
+    private void rebuild() {
+        SnapshotRebuildEvent event = new SnapshotRebuildEvent("song-search-index");
+        event.begin();
+        long start = System.nanoTime();
+        Map<String, List<SongDoc>> byStation = new HashMap<>();
+        // Streamed through a cursor so only the compact per-song rows are held during the load
+        updater.load(() ->
+                jdbcTemplate.query(SELECT_SONGS + " ORDER BY s.id", (RowCallbackHandler) rs -> {
+                    SongDoc song = SONG_ROW.mapRow(rs, 0);
+                    byStation.computeIfAbsent(song.stationCode(), code -> new ArrayList<>()).add(song);
+                }));
+        long loaded = System.nanoTime();
+
+        // Tokenizing and sorting dominate the build, and stations are independent of each other
+        Map<String, StationIndex> rebuilt = byStation.entrySet().parallelStream()
+                .collect(Collectors.toUnmodifiableMap(
+                        Map.Entry::getKey,
+                        entry -> new StationIndex(entry.getKey(), Segment.build(entry.getValue()), StationIndex.NO_DELTA)));
+        stations = rebuilt;
+        ready = true;
+        event.setEntries(size());
+        event.commit();
+
+        logger.info("Song search index built: {} songs, {} stations (load {} ms, build {} ms)",
+                size(), rebuilt.size(),
+                TimeUnit.NANOSECONDS.toMillis(loaded - start),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - loaded));
+    }
+
+    private void index(long songId) {
+        for (SongDoc song : jdbcTemplate.query(SELECT_SONGS + " WHERE s.id = ?", SONG_ROW, songId)) {
+            Map<String, StationIndex> current = stations;
+            StationIndex station = current.get(song.stationCode());
+            if (station == null) {
+                station = new StationIndex(song.stationCode(), Segment.build(List.of()), StationIndex.NO_DELTA);
+            }
+            if (station.contains(song.id())) {
+                continue;
+            }
+            StationIndex updated = station.withDelta(new DeltaDoc(song, tokenize(song.artist() + ' ' + song.title())));
+            if (updated.delta.length > maxDeltaSize) {
+                updated = updated.compact();
+            }
+            Map<String, StationIndex> next = new HashMap<>(current);
+            next.put(song.stationCode(), updated);
+            stations = Map.copyOf(next);
+        }
+    }
+
+    /**
+     * Distinct, sorted, lowercased words with Latin accents removed
+     */
+    static String[] tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return new String[0];
+        }
+        String folded = LATIN_DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARATORS.splitAsStream(folded.toLowerCase(Locale.ROOT))
+                .filter(token -> !token.isEmpty())
+                .distinct()
+                .sorted()
+                .toArray(String[]::new);
+    }
+
+    /**
+     * First index in the sorted array whose value is not less than the key
+     */
+    private static int lowerBound(String[] sorted, int from, int to, String key) {
+        int low = from;
+        int high = to;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int lowerBound(int[] sorted, int key) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Highest string that any token starting with the prefix sorts below
+     */
+    private static String prefixEnd(String prefix) {
+        return prefix + Character.MAX_VALUE;
+    }
+
+    private record SongDoc(long id, String stationCode, String artist, String title) {
+    }
+
+    private record DeltaDoc(SongDoc song, String[] tokens) {
+
+        /**
+         * Number of query tokens matched exactly, or -1 if some token prefixes no word
+         */
+        int match(String[] query) {
+            int exact = 0;
+            for (String token : query) {
+                int position = lowerBound(tokens, 0, tokens.length, token);
+                if (position == tokens.length || !tokens[position].startsWith(token)) {
+                    return -1;
+                }
+                if (tokens[position].equals(token)) {
+                    exact++;
+                }
+            }
+            return exact;
+        }
+    }
+
+    private record Hit(long id, String stationCode, String artist, String title, int exactMatches) {
+        // Whole-word matches first, then shorter (closer) names, then oldest
+        static final Comparator<Hit> RANKING = Comparator.comparingInt(Hit::exactMatches).reversed()
+                .thenComparingInt((Hit hit) -> hit.artist.length() + hit.title.length())
+                .thenComparingLong(Hit::id);
+    }
+
+    /**
+     * One station's songs: an immutable segment plus the songs added since it was built
+     */
+    private static final class StationIndex {
+        static final DeltaDoc[] NO_DELTA = new DeltaDoc[0];
+
+        private final String code;
+        private final Segment segment;
+        private final DeltaDoc[] delta;
+
+        private StationIndex(String code, Segment segment, DeltaDoc[] delta) {
+            this.code = code;
+            this.segment = segment;
+            this.delta = delta;
+        }
+
+        int size() {
+            return segment.ids.length + delta.length;
+        }
+
+        boolean contains(long songId) {
+            if (Arrays.binarySearch(segment.ids, songId) >= 0) {
+                return true;
+            }
+            for (DeltaDoc doc : delta) {
+                if (doc.song.id() == songId) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        StationIndex withDelta(DeltaDoc doc) {
+            DeltaDoc[] next = Arrays.copyOf(delta, delta.length + 1);
+            next[delta.length] = doc;
+            return new StationIndex(code, segment, next);
+        }
+
+        StationIndex compact() {
+            List<SongDoc> songs = new ArrayList<>(size());
+            for (int i = 0; i < segment.ids.length; i++) {
+                songs.add(new SongDoc(segment.ids[i], code, segment.artists[i], segment.titles[i]));
+            }
+            for (DeltaDoc doc : delta) {
+                songs.add(doc.song);
+            }
+            return new StationIndex(code, Segment.build(songs), NO_DELTA);
+        }
+
+        void collect(String[] query, List<Hit> hits, int maxCandidates) {
+            segment.collect(code, query, hits, maxCandidates);
+            for (DeltaDoc doc : delta) {
+                int exact = doc.match(query);
+                if (exact >= 0) {
+                    hits.add(new Hit(doc.song.id(), code, doc.song.artist(), doc.song.title(), exact));
+                }
+            }
+        }
+    }
+
+    /**
+     * Sorted token dictionary with posting lists; songs are stored column-wise in id order
+     */
+    private static final class Segment {
+        private final String[] terms;
+        private final int[][] postings;
+        private final int[][] songTerms;
+        private final long[] ids;
+        private final String[] artists;
+        private final String[] titles;
+
+        private Segment(String[] terms, int[][] postings, int[][] songTerms,
+                        long[] ids, String[] artists, String[] titles) {
+            this.terms = terms;
+            this.postings = postings;
+            this.songTerms = songTerms;
+            this.ids = ids;
+            this.artists = artists;
+            this.titles = titles;
+        }
+
+        static Segment build(List<SongDoc> input) {
+            List<SongDoc> songs = new ArrayList<>(input);
+            songs.sort(Comparator.comparingLong(SongDoc::id));
+            int count = songs.size();
+            long[] ids = new long[count];
+            String[] artists = new String[count];
+            String[] titles = new String[count];
+            String[][] songTokens = new String[count][];
+            Map<String, int[]> frequencies = new HashMap<>();
+            for (int i = 0; i < count; i++) {
+                SongDoc song = songs.get(i);
+                ids[i] = song.id();
+                artists[i] = song.artist();
+                titles[i] = song.title();
+                songTokens[i] = tokenize(song.artist() + ' ' + song.title());
+                for (String token : songTokens[i]) {
+                    frequencies.computeIfAbsent(token, key -> new int[1])[0]++;
+                }
+            }
+
+            String[] terms = frequencies.keySet().toArray(String[]::new);
+            Arrays.sort(terms);
+            Map<String, Integer> ordinals = new HashMap<>(terms.length * 2);
+            int[][] postings = new int[terms.length][];
+            for (int t = 0; t < terms.length; t++) {
+                ordinals.put(terms[t], t);
+                postings[t] = new int[frequencies.get(terms[t])[0]];
+            }
+
+            // Songs are visited in order, so every posting list comes out sorted
+            int[] fill = new int[terms.length];
+            int[][] songTerms = new int[count][];
+            for (int i = 0; i < count; i++) {
+                String[] tokens = songTokens[i];
+                int[] termIds = new int[tokens.length];
+                for (int k = 0; k < tokens.length; k++) {
+                    // Tokens are sorted, so their ordinals are ascending too
+                    int term = ordinals.get(tokens[k]);
+                    termIds[k] = term;
+                    postings[term][fill[term]++] = i;
+                }
+                songTerms[i] = termIds;
+            }
+            return new Segment(terms, postings, songTerms, ids, artists, titles);
+        }
+
+        void collect(String stationCode, String[] query, List<Hit> hits, int maxCandidates) {
+            int[] from = new int[query.length];
+            int[] to = new int[query.length];
+            int driver = -1;
+            long driverPostings = Long.MAX_VALUE;
+            for (int q = 0; q < query.length; q++) {
+                from[q] = lowerBound(terms, 0, terms.length, query[q]);
+                to[q] = lowerBound(terms, from[q], terms.length, prefixEnd(query[q]));
+                if (from[q] == to[q]) {
+                    return;
+                }
+                // Drive from the most selective word; stop summing once it cannot win
+                long total = 0;
+                for (int t = from[q]; t < to[q] && total < driverPostings; t++) {
+                    total += postings[t].length;
+                }
+                if (total < driverPostings) {
+                    driverPostings = total;
+                    driver = q;
+                }
+            }
+
+            // Terms are walked in order, so an exact word match (if any) is seen first
+            Set<Integer> seen = driverPostings > postings[from[driver]].length ? new HashSet<>() : null;
+            int examined = 0;
+            for (int t = from[driver]; t < to[driver] && examined < maxCandidates; t++) {
+                for (int song : postings[t]) {
+                    if (++examined > maxCandidates) {
+                        break;
+                    }
+                    if (seen != null && !seen.add(song)) {
+                        continue;
+                    }
+                    int exact = match(song, query, from, to);
+                    if (exact >= 0) {
+                        hits.add(new Hit(ids[song], stationCode, artists[song], titles[song], exact));
+                    }
+                }
+            }
+        }
+
+        /**
+         * Number of query words the song matches exactly, or -1 if some word prefixes none of its tokens
+         */
+        private int match(int song, String[] query, int[] from, int[] to) {
+            int[] termIds = songTerms[song];
+            int exact = 0;
+            for (int q = 0; q < query.length; q++) {
+                int position = lowerBound(termIds, from[q]);
+                if (position == termIds.length || termIds[position] >= to[q]) {
+                    return -1;
+                }
+                if (terms[termIds[position]].equals(query[q])) {
+                    exact++;
+                }
+            }
+            return exact;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.radioawa.service;
+
+/**
+ * Orderings supported by the station song catalog; both are descending with id as tie-breaker
+ */
+public enum SongSort {
+    SCORE("net_score"),
+    RECENT("created_at");
+
+    private final String column;
+
+    SongSort(String column) {
+        this.column = column;
+    }
+
+    String column() {
+        return column;
+    }
+
+    public static SongSort fromParam(String value) {
+        for (SongSort sort : values()) {
+            if (sort.name().equalsIgnoreCase(value)) {
+                return sort;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported sort: " + value + " (expected score or recent)");
+    }
+}
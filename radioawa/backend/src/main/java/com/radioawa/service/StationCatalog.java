@@ -0,0 +1,163 @@
+package com.radioawa.service;
+
+import com.radioawa.cache.CacheInvalidationBus;
+import com.radioawa.cache.CacheInvalidationListener;
+import com.radioawa.cache.CacheTopic;
+import com.radioawa.dto.StationResponse;
+import com.radioawa.entity.Station;
+import com.radioawa.profiling.SnapshotRebuildEvent;
+import com.radioawa.repository.StationRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Station Catalog
+ * In-process copy of the stations table. Stations change rarely but are read on every
+ * station list request, vote and counts poll, so the whole table is loaded once and
+ * kept until a STATION invalidation (or a bus resync) drops it. SQL edits notify through
+ * the database triggers in DEPLOYMENT.md; without them (or with the bus disabled) a
+ * snapshot older than app.stations.catalog.max-age-ms is reloaded on the next read.
+ *
+ * With app.stream.relay.enabled, HLS stations also carry the relayUrl players should load.
+ */
+@Service
+public class StationCatalog implements CacheInvalidationListener {
+
+    private final StationRepository stationRepository;
+    private final boolean relayEnabled;
+    private final long maxAgeNanos;
+
+    private volatile Snapshot snapshot;
+    private long generation;
+
+    public StationCatalog(StationRepository stationRepository, CacheInvalidationBus invalidationBus,
+                          @Value("${app.stream.relay.enabled:false}") boolean relayEnabled,
+                          @Value("${app.stations.catalog.max-age-ms:300000}") long maxAgeMillis) {
+        this.stationRepository = stationRepository;
+        this.relayEnabled = relayEnabled;
+        this.maxAgeNanos = TimeUnit.MILLISECONDS.toNanos(maxAgeMillis);
+        invalidationBus.subscribe(this);
+    }
+
+    /**
+     * All active stations ordered by display order
+     */
+    public List<StationResponse> findActive() {
+        return snapshot().active;
+    }
+
+    /**
+     * All stations (including inactive) ordered by display order
+     */
+    public List<StationResponse> findAll() {
+        return snapshot().all;
+    }
+
+    /**
+     * When the current snapshot was loaded from the database
+     */
+    public Instant loadedAt() {
+        return snapshot().loadedAt;
+    }
+
+    public Optional<StationResponse> findByCode(String code) {
+        StationResponse station = snapshot().byCode.get(code);
+        if (station == null && stationRepository.existsByCode(code)) {
+            // Added out-of-band (e.g. by a SQL migration) without a notification: reload
+            clear();
+            station = snapshot().byCode.get(code);
+        }
+        return Optional.ofNullable(station);
+    }
+
+    /**
+     * Station reference for use in queries and associations, without selecting the row again
+     */
+    public Optional<Station> findReference(String code) {
+        return findByCode(code).map(station -> stationRepository.getReferenceById(station.getId()));
+    }
+
+    @Override
+    public void onInvalidate(CacheTopic topic, String key) {
+        if (topic == CacheTopic.STATION) {
+            clear();
+        }
+    }
+
+    @Override
+    public void onResync() {
+        clear();
+    }
+
+    private synchronized void clear() {
+        generation++;
+        snapshot = null;
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current != null && !isExpired(current)) {
+            return current;
+        }
+        long loadGeneration;
+        synchronized (this) {
+            if (snapshot != null) {
+                if (!isExpired(snapshot)) {
+                    return snapshot;
+                }
+                generation++;
+                snapshot = null;
+            }
+            loadGeneration = generation;
+        }
+
+        SnapshotRebuildEvent event = new SnapshotRebuildEvent("stations");
+        event.begin();
+        Snapshot loaded = new Snapshot(stationRepository.findAllResponsesOrderByDisplayOrder(), relayEnabled);
+        event.setEntries(loaded.all.size());
+        event.commit();
+        synchronized (this) {
+            // An invalidation that arrived during the load means the rows may already be stale
+            if (generation == loadGeneration) {
+                snapshot = loaded;
+            }
+        }
+        return loaded;
+    }
+
+    private boolean isExpired(Snapshot current) {
+        return System.nanoTime() - current.loadedNanos >= maxAgeNanos;
+    }
+
+    private static final class Snapshot {
+        private final List<StationResponse> all;
+        private final List<StationResponse> active;
+        private final Map<String, StationResponse> byCode = new LinkedHashMap<>();
+        private final Instant loadedAt = Instant.now();
+        private final long loadedNanos = System.nanoTime();
+
+        private Snapshot(List<StationResponse> stations, boolean relayEnabled) {
+            if (relayEnabled) {
+                for (StationResponse station : stations) {
+                    String streamUrl = station.getStreamUrl();
+                    if (streamUrl != null && streamUrl.toLowerCase(Locale.ROOT).endsWith(".m3u8")) {
+                        station.setRelayUrl(StreamRelayService.relayUrl(station.getCode(), streamUrl));
+                    }
+                }
+            }
+            this.all = List.copyOf(stations);
+            this.active = all.stream().filter(station -> Boolean.TRUE.equals(station.getIsActive())).toList();
+            for (StationResponse station : all) {
+                byCode.put(station.getCode(), station);
+            }
+        }
+    }
+}
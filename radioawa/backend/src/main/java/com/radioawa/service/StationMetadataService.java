@@ -0,0 +1,329 @@
+package com.radioawa.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.radioawa.profiling.UpstreamFetchEvent;
+import com.radioawa.service.IcyMetadataService.NowPlaying;
+import com.radioawa.service.IcyMetadataService.Track;
+import com.radioawa.util.LogRateLimiter;
+import com.radioawa.util.SingleFlightCache;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+
+/**
+ * Station Metadata Service
+ * Now-playing metadata for the stations served by /api/metadata: the English station's
+ * CloudFront metadata enriched with iTunes artwork, and the Hindi station's ICY titles or,
+ * without an ICY source, a rotating sample playlist.
+ *
+ * English fetches are shared through a SingleFlightCache for app.metadata.english-cache-ms
+ * and bounded by app.metadata.english-timeout-ms, so a slow CloudFront holds no caller
+ * longer than that.
+ */
+@Service
+public class StationMetadataService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StationMetadataService.class);
+
+    private static final String HINDI_STATION = "HINDI";
+    private static final String ENGLISH_STATION = "ENGLISH";
+    private static final int SONG_DURATION_MINUTES = 4; // Average song duration
+
+    // Sample Hindi songs representing Vividh Bharati's classic collection
+    // Note: Actual songs playing on Vividh Bharati may differ. This shows popular Hindi classics.
+    private static final List<Map<String, String>> HINDI_SONGS = Arrays.asList(
+        createSong("Arijit Singh", "Tum Hi Ho", "Aashiqui 2"),
+        createSong("Shreya Ghoshal", "Sunn Raha Hai", "Aashiqui 2"),
+        createSong("Atif Aslam", "Jeene Laga Hoon", "Ramaiya Vastavaiya"),
+        createSong("Arijit Singh", "Chahun Main Ya Naa", "Aashiqui 2"),
+        createSong("Mohit Chauhan", "Tum Se Hi", "Jab We Met"),
+        createSong("Shreya Ghoshal", "Teri Meri", "Bodyguard"),
+        createSong("Arijit Singh", "Channa Mereya", "Ae Dil Hai Mushkil"),
+        createSong("Neha Kakkar", "Aankh Marey", "Simmba"),
+        createSong("Armaan Malik", "Bol Do Na Zara", "Azhar"),
+        createSong("Atif Aslam", "Pehli Nazar Mein", "Race"),
+        createSong("Arijit Singh", "Ae Dil Hai Mushkil", "Ae Dil Hai Mushkil"),
+        createSong("Shreya Ghoshal", "Deewani Mastani", "Bajirao Mastani"),
+        createSong("Arijit Singh", "Raabta", "Agent Vinod"),
+        createSong("Neha Kakkar", "Dilbar", "Satyameva Jayate"),
+        createSong("Sonu Nigam", "Abhi Mujh Mein Kahin", "Agneepath")
+    );
+
+    private final AlbumArtService albumArtService;
+    private final IcyMetadataService icyMetadataService;
+    private final String englishMetadataUrl;
+    private final String englishMetadataHost;
+    private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper;
+    private final Tracer tracer;
+    // Every poll of the English station fails the same way while CloudFront is down
+    private final LogRateLimiter englishErrorLogLimiter = LogRateLimiter.perInterval(5, 10_000);
+    private final SingleFlightCache<String, StationMetadata> englishMetadataCache;
+
+    private int currentSongIndex = 0;
+    private LocalDateTime lastSongChange = LocalDateTime.now();
+
+    public StationMetadataService(
+            AlbumArtService albumArtService,
+            IcyMetadataService icyMetadataService,
+            RestTemplateBuilder restTemplateBuilder,
+            @Value("${app.metadata.english-url:https://d3d4yli4hf5bmh.cloudfront.net/metadatav2.json}") String englishMetadataUrl,
+            @Value("${app.metadata.english-cache-ms:5000}") long englishCacheMillis,
+            @Value("${app.metadata.english-timeout-ms:3000}") long englishTimeoutMillis,
+            Tracer tracer) {
+        this.albumArtService = albumArtService;
+        this.icyMetadataService = icyMetadataService;
+        this.englishMetadataUrl = englishMetadataUrl;
+        this.englishMetadataHost = URI.create(englishMetadataUrl).getHost();
+        this.restTemplate = restTemplateBuilder
+                .connectTimeout(Duration.ofMillis(englishTimeoutMillis))
+                .readTimeout(Duration.ofMillis(englishTimeoutMillis))
+                .build();
+        this.objectMapper = new ObjectMapper();
+        this.tracer = tracer;
+        this.englishMetadataCache = new SingleFlightCache<>(englishCacheMillis, 1);
+    }
+
+    private static Map<String, String> createSong(String artist, String title, String album) {
+        Map<String, String> song = new HashMap<>();
+        song.put("artist", artist);
+        song.put("title", title);
+        song.put("album", album);
+        return song;
+    }
+
+    /**
+     * Metadata a station's metadata endpoint would return, with when it was produced and
+     * where it came from. Empty for metadata URLs not served by this backend
+     */
+    public Optional<StationMetadata> currentMetadata(String metadataUrl) {
+        if (metadataUrl == null) {
+            return Optional.empty();
+        }
+        if (metadataUrl.endsWith("/api/metadata/english")) {
+            return Optional.of(englishMetadata());
+        }
+        if (metadataUrl.endsWith("/api/metadata/hindi")) {
+            return Optional.of(hindiMetadata());
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Current Hindi song: ICY titles when available, otherwise the rotating sample playlist
+     */
+    public StationMetadata hindiMetadata() {
+        Optional<NowPlaying> live = icyMetadataService.nowPlaying(HINDI_STATION);
+        if (live.isPresent()) {
+            return new StationMetadata(liveMetadata(live.get()), "icy", live.get().current().startedAt());
+        }
+
+        // Check if it's time to change to next song
+        LocalDateTime now = LocalDateTime.now();
+        long minutesSinceLastChange = Duration.between(lastSongChange, now).toMinutes();
+
+        if (minutesSinceLastChange >= SONG_DURATION_MINUTES) {
+            currentSongIndex = (currentSongIndex + 1) % HINDI_SONGS.size();
+            lastSongChange = now;
+        }
+
+        Map<String, String> currentSong = HINDI_SONGS.get(currentSongIndex);
+        String artist = currentSong.get("artist");
+        String title = currentSong.get("title");
+        String album = currentSong.get("album");
+
+        // Fetch real album artwork from iTunes API
+        String albumArt = albumArtService.fetchAlbumArt(artist, title);
+
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("artist", artist);
+        metadata.put("title", title);
+        metadata.put("album", album);
+        metadata.put("album_art", albumArt);
+        metadata.put("timestamp", LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+
+        // Add notice about metadata mismatch
+        metadata.put("is_demo", true);
+        metadata.put("demo_notice", "⚠️ METADATA MISMATCH: Vividh Bharati is a LIVE radio stream - the actual songs playing are different from what's displayed here. This simulated metadata shows popular Hindi classics for demonstration purposes only.");
+
+        // Add previous songs (recently played)
+        List<Map<String, String>> queue = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            int prevIndex = (currentSongIndex - i + HINDI_SONGS.size()) % HINDI_SONGS.size();
+            Map<String, String> prevSong = HINDI_SONGS.get(prevIndex);
+            Map<String, String> queueSong = new HashMap<>();
+            queueSong.put("artist", prevSong.get("artist"));
+            queueSong.put("title", prevSong.get("title"));
+            queue.add(queueSong);
+        }
+
+        // Add to metadata in the format expected by frontend
+        for (int i = 0; i < queue.size(); i++) {
+            metadata.put("prev_artist_" + (i + 1), queue.get(i).get("artist"));
+            metadata.put("prev_title_" + (i + 1), queue.get(i).get("title"));
+        }
+
+        return new StationMetadata(metadata, "playlist", lastSongChange.atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    /**
+     * Artwork URL, artist and title of the current Hindi song
+     */
+    public Map<String, String> hindiArtwork() {
+        Optional<NowPlaying> live = icyMetadataService.nowPlaying(HINDI_STATION);
+        Map<String, String> currentSong = HINDI_SONGS.get(currentSongIndex);
+        String artist = live.map(nowPlaying -> artistOf(nowPlaying.current())).orElse(currentSong.get("artist"));
+        String title = live.map(nowPlaying -> nowPlaying.current().title()).orElse(currentSong.get("title"));
+
+        String albumArt = albumArtService.fetchAlbumArt(artist, title);
+
+        Map<String, String> artwork = new HashMap<>();
+        artwork.put("url", albumArt);
+        artwork.put("artist", artist);
+        artwork.put("title", title);
+        return artwork;
+    }
+
+    /**
+     * Manually advance the sample playlist to the next song
+     */
+    public void nextHindiSong() {
+        currentSongIndex = (currentSongIndex + 1) % HINDI_SONGS.size();
+        lastSongChange = LocalDateTime.now();
+    }
+
+    /**
+     * Sample playlist and its position
+     */
+    public Map<String, Object> hindiPlaylist() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("totalSongs", HINDI_SONGS.size());
+        response.put("currentIndex", currentSongIndex);
+        response.put("currentSong", HINDI_SONGS.get(currentSongIndex));
+        response.put("playlist", HINDI_SONGS);
+        return response;
+    }
+
+    /**
+     * English metadata shared for app.metadata.english-cache-ms, or fallback metadata if
+     * CloudFront fails (never cached). The cached map is shared, never modify it
+     */
+    public StationMetadata englishMetadata() {
+        try {
+            return englishMetadataCache.get(ENGLISH_STATION, station -> fetchEnglishMetadata());
+        } catch (RuntimeException e) {
+            long suppressed = englishErrorLogLimiter.tryAcquire();
+            if (suppressed >= 0) {
+                logger.error("Error fetching English station metadata: {} ({} similar suppressed)", e.getMessage(), suppressed);
+            }
+
+            // Return fallback metadata
+            Map<String, Object> fallback = new HashMap<>();
+            fallback.put("artist", "RadioAwa");
+            fallback.put("title", "English Station");
+            fallback.put("album", "Live Stream");
+            fallback.put("album_art", "https://dummyimage.com/300x300/FF6B35/ffffff.png?text=RadioAwa");
+            return new StationMetadata(fallback, "fallback", Instant.now());
+        }
+    }
+
+    /**
+     * Hindi metadata from the stream's own ICY titles, in the same shape as the sample playlist
+     */
+    private Map<String, Object> liveMetadata(NowPlaying nowPlaying) {
+        Track current = nowPlaying.current();
+        String artist = artistOf(current);
+
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("artist", artist);
+        metadata.put("title", current.title());
+        metadata.put("album", "");
+        metadata.put("album_art", albumArtService.fetchAlbumArt(artist, current.title()));
+        metadata.put("timestamp", LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+        metadata.put("is_demo", false);
+
+        List<Track> recent = nowPlaying.recent();
+        for (int i = 0; i < recent.size(); i++) {
+            metadata.put("prev_artist_" + (i + 1), artistOf(recent.get(i)));
+            metadata.put("prev_title_" + (i + 1), recent.get(i).title());
+        }
+        return metadata;
+    }
+
+    private static String artistOf(Track track) {
+        return track.artist() != null ? track.artist() : "Vividh Bharati";
+    }
+
+    private StationMetadata fetchEnglishMetadata() {
+        // Parent of the CloudFront and iTunes client spans, so a failed fetch shows up as an error trace
+        Span span = tracer.nextSpan().name("metadata.english").start();
+        try (Tracer.SpanInScope scope = tracer.withSpan(span)) {
+            // Fetch metadata from CloudFront
+            logger.debug("Fetching English station metadata from CloudFront");
+            UpstreamFetchEvent event = new UpstreamFetchEvent("english-metadata", englishMetadataHost);
+            event.begin();
+            String response;
+            try {
+                response = restTemplate.getForObject(englishMetadataUrl, String.class);
+                event.setStatus(200);
+                event.setBytes(response == null ? 0 : response.length());
+            } catch (HttpStatusCodeException e) {
+                event.setStatus(e.getStatusCode().value());
+                throw e;
+            } finally {
+                event.commit();
+            }
+
+            // Parse JSON response
+            JsonNode jsonNode = objectMapper.readTree(response);
+
+            // Convert to Map
+            Map<String, Object> metadata = objectMapper.convertValue(jsonNode, Map.class);
+
+            // Extract artist and title
+            String artist = metadata.getOrDefault("artist", "Unknown Artist").toString();
+            String title = metadata.getOrDefault("title", "Unknown Track").toString();
+
+            // Fetch real album artwork from iTunes API
+            String albumArt = albumArtService.fetchAlbumArt(artist, title);
+
+            // Add album_art to metadata
+            metadata.put("album_art", albumArt);
+
+            logger.debug("English metadata enriched with album art for: {} - {}", artist, title);
+            // Shared by every caller until the TTL expires, so never handed out for modification
+            return new StationMetadata(Collections.unmodifiableMap(metadata), "cache", Instant.now());
+        } catch (JsonProcessingException e) {
+            span.error(e);
+            throw new IllegalStateException("Invalid metadata JSON: " + e.getOriginalMessage(), e);
+        } catch (RuntimeException e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    /**
+     * Metadata with its source (cache, icy, playlist or fallback) and the time it was fetched
+     * or the song started
+     */
+    public record StationMetadata(Map<String, Object> metadata, String source, Instant asOf) {
+    }
+}
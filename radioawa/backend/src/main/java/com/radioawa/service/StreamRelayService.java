@@ -0,0 +1,417 @@
+package com.radioawa.service;
+
+import com.radioawa.dto.StationResponse;
+import com.radioawa.profiling.UpstreamFetchEvent;
+import com.radioawa.util.LogRateLimiter;
+import com.radioawa.util.SingleFlightCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Stream Relay Service
+ * Relays a station's HLS stream so the origin sees one fetch per playlist refresh and one
+ * per segment, however many listeners are tuned in.
+ *
+ * Paths are relative to the directory of the station's streamUrl. Playlists are cached for
+ * app.stream.relay.playlist-ttl-ms and rewritten so every URI under that directory points
+ * back at the relay; if the origin fails, the last good playlist is served for up to
+ * stale-playlist-ms. Segments never change once published, so each is fetched once and kept
+ * in a per-station ring bounded by max-bytes-per-station (oldest evicted first). Concurrent
+ * misses on the same playlist or segment share one upstream request.
+ *
+ * Client query strings are not forwarded, except for the parameters named in
+ * app.stream.relay.forwarded-query-params (e.g. an origin's access token), so caches are
+ * keyed on the path and a client cannot grow them or bypass them with made-up parameters.
+ */
+@Service
+public class StreamRelayService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StreamRelayService.class);
+
+    public static final String PLAYLIST_CONTENT_TYPE = "application/vnd.apple.mpegurl";
+
+    private static final String SEGMENT_SOURCE = "relay-segment";
+    // Playlists per station (variants, audio renditions) are few; this only stops an origin that answers any path
+    private static final int MAX_STALE_PLAYLISTS = 1000;
+    private static final Pattern URI_ATTRIBUTE = Pattern.compile("URI=\"([^\"]*)\"");
+    private static final Map<String, String> SEGMENT_CONTENT_TYPES = Map.of(
+            "ts", "video/mp2t",
+            "aac", "audio/aac",
+            "m4s", "video/iso.segment",
+            "mp4", "video/mp4",
+            "m4a", "audio/mp4",
+            "vtt", "text/vtt");
+
+    private final StationCatalog stationCatalog;
+    private final boolean enabled;
+    private final long stalePlaylistMillis;
+    private final long maxBytesPerStation;
+    private final int maxSegmentBytes;
+    private final Duration readTimeout;
+    private final Set<String> forwardedQueryParams;
+    private final HttpClient httpClient;
+
+    private final SingleFlightCache<String, byte[]> playlists;
+    private final SingleFlightCache<String, byte[]> segmentFetches;
+    private final Map<String, StalePlaylist> lastGoodPlaylists = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, StalePlaylist> eldest) {
+                    return size() > MAX_STALE_PLAYLISTS;
+                }
+            });
+    private final Map<String, SegmentRing> rings = new ConcurrentHashMap<>();
+    // An unreachable origin fails every listener's segment request
+    private final LogRateLimiter fetchLogLimiter = LogRateLimiter.perInterval(5, 10_000);
+
+    private final Counter segmentHits;
+    private final Counter segmentMisses;
+    private final Counter stalePlaylistsServed;
+    private final Counter upstreamErrors;
+    private final Counter upstreamBytes;
+
+    public StreamRelayService(
+            StationCatalog stationCatalog,
+            MeterRegistry meterRegistry,
+            @Value("${app.stream.relay.enabled:false}") boolean enabled,
+            @Value("${app.stream.relay.playlist-ttl-ms:1000}") long playlistTtlMillis,
+            @Value("${app.stream.relay.stale-playlist-ms:10000}") long stalePlaylistMillis,
+            @Value("${app.stream.relay.max-bytes-per-station:67108864}") long maxBytesPerStation,
+            @Value("${app.stream.relay.max-segment-bytes:8388608}") int maxSegmentBytes,
+            @Value("${app.stream.relay.connect-timeout-ms:2000}") long connectTimeoutMillis,
+            @Value("${app.stream.relay.read-timeout-ms:5000}") long readTimeoutMillis,
+            @Value("${app.stream.relay.forwarded-query-params:}") String forwardedQueryParams) {
+        this.stationCatalog = stationCatalog;
+        this.enabled = enabled;
+        this.stalePlaylistMillis = stalePlaylistMillis;
+        this.maxBytesPerStation = maxBytesPerStation;
+        this.maxSegmentBytes = maxSegmentBytes;
+        this.readTimeout = Duration.ofMillis(readTimeoutMillis);
+        this.forwardedQueryParams = parseNames(forwardedQueryParams);
+        // JDK client on purpose: segment URLs are unbounded, so they must not become
+        // http.client.requests uri tags
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMillis))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+        this.playlists = new SingleFlightCache<>(playlistTtlMillis, 1000);
+        // TTL 0: only collapses concurrent misses, the ring keeps the bytes
+        this.segmentFetches = new SingleFlightCache<>(0, 1000);
+
+        this.segmentHits = meterRegistry.counter("radioawa.relay.segments", "result", "hit");
+        this.segmentMisses = meterRegistry.counter("radioawa.relay.segments", "result", "miss");
+        this.stalePlaylistsServed = meterRegistry.counter("radioawa.relay.playlists.stale");
+        this.upstreamErrors = meterRegistry.counter("radioawa.relay.upstream.errors");
+        this.upstreamBytes = meterRegistry.counter("radioawa.relay.upstream.bytes");
+        Gauge.builder("radioawa.relay.cache.bytes", rings, StreamRelayService::cachedBytes)
+                .description("Segment bytes held by the stream relay")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Relay URL a player should load instead of the station's streamUrl
+     */
+    public static String relayUrl(String stationCode, String streamUrl) {
+        return relayPrefix(stationCode) + streamUrl.substring(streamUrl.lastIndexOf('/') + 1);
+    }
+
+    /**
+     * A playlist or segment of the station's stream, or empty if the relay is off or the station is unknown
+     * @param path path below the directory of the station's streamUrl
+     * @param query raw query string from the client, or null; only forwarded-query-params are kept
+     * @throws IllegalArgumentException if the path leaves the stream directory
+     * @throws UpstreamException if the origin fails and nothing usable is cached
+     */
+    public Optional<RelayedResource> fetch(String stationCode, String path, String query) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        Optional<StationResponse> station = stationCatalog.findByCode(stationCode);
+        if (station.isEmpty() || station.get().getStreamUrl() == null) {
+            return Optional.empty();
+        }
+
+        String streamUrl = station.get().getStreamUrl();
+        String base = streamUrl.substring(0, streamUrl.lastIndexOf('/') + 1);
+        URI target = resolve(base, path, filterQuery(query, forwardedQueryParams));
+        String key = stationCode + '|' + target;
+
+        if (path.toLowerCase(Locale.ROOT).endsWith(".m3u8")) {
+            return Optional.of(new RelayedResource(playlist(key, stationCode, base, target), PLAYLIST_CONTENT_TYPE, true));
+        }
+        return Optional.of(new RelayedResource(segment(key, stationCode, target), segmentContentType(path), false));
+    }
+
+    private byte[] playlist(String key, String stationCode, String base, URI target) {
+        try {
+            byte[] body = playlists.get(key, k -> {
+                String playlist = new String(download(target, "relay-playlist"), StandardCharsets.UTF_8);
+                return rewritePlaylist(playlist, target, base, relayPrefix(stationCode)).getBytes(StandardCharsets.UTF_8);
+            });
+            lastGoodPlaylists.put(key, new StalePlaylist(body, System.currentTimeMillis()));
+            return body;
+        } catch (UpstreamException e) {
+            // Ride out origin hiccups: players keep going on a slightly old playlist
+            StalePlaylist stale = lastGoodPlaylists.get(key);
+            if (stale != null && System.currentTimeMillis() - stale.fetchedAt <= stalePlaylistMillis) {
+                stalePlaylistsServed.increment();
+                return stale.body;
+            }
+            throw e;
+        }
+    }
+
+    private byte[] segment(String key, String stationCode, URI target) {
+        SegmentRing ring = rings.computeIfAbsent(stationCode, code -> new SegmentRing(maxBytesPerStation));
+        byte[] cached = ring.get(key);
+        if (cached != null) {
+            segmentHits.increment();
+            UpstreamFetchEvent.cacheHit(SEGMENT_SOURCE, target.getHost());
+            return cached;
+        }
+        return segmentFetches.get(key, k -> {
+            // Another caller may have finished the same fetch while this one was on its way in
+            byte[] raced = ring.get(k);
+            if (raced != null) {
+                segmentHits.increment();
+                UpstreamFetchEvent.cacheHit(SEGMENT_SOURCE, target.getHost());
+                return raced;
+            }
+            segmentMisses.increment();
+            byte[] body = download(target, SEGMENT_SOURCE);
+            ring.put(k, body);
+            return body;
+        });
+    }
+
+    private byte[] download(URI target, String source) {
+        HttpRequest request = HttpRequest.newBuilder(target).timeout(readTimeout).GET().build();
+        UpstreamFetchEvent event = new UpstreamFetchEvent(source, target.getHost());
+        event.begin();
+        try {
+            HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            event.setStatus(response.statusCode());
+            try (InputStream body = response.body()) {
+                if (response.statusCode() != 200) {
+                    upstreamErrors.increment();
+                    throw new UpstreamException(response.statusCode(), "Origin answered " + response.statusCode() + " for " + target);
+                }
+                byte[] bytes = readLimited(body, maxSegmentBytes);
+                upstreamBytes.increment(bytes.length);
+                event.setBytes(bytes.length);
+                return bytes;
+            }
+        } catch (IOException | UncheckedIOException e) {
+            upstreamErrors.increment();
+            long suppressed = fetchLogLimiter.tryAcquire();
+            if (suppressed >= 0) {
+                logger.warn("Relay fetch of {} failed: {} ({} similar suppressed)", target, e.getMessage(), suppressed);
+            }
+            throw new UpstreamException(0, "Origin unreachable: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UpstreamException(0, "Interrupted while fetching " + target);
+        } finally {
+            event.commit();
+        }
+    }
+
+    /**
+     * Point every URI under the stream directory at the relay; anything else is left for the player to fetch directly
+     */
+    static String rewritePlaylist(String playlist, URI playlistUri, String base, String relayPrefix) {
+        StringBuilder rewritten = new StringBuilder(playlist.length() + 256);
+        for (String line : playlist.split("\r?\n")) {
+            if (line.isBlank()) {
+                rewritten.append(line);
+            } else if (line.startsWith("#")) {
+                Matcher matcher = URI_ATTRIBUTE.matcher(line);
+                StringBuilder tag = new StringBuilder();
+                while (matcher.find()) {
+                    String uri = rewriteUri(matcher.group(1), playlistUri, base, relayPrefix);
+                    matcher.appendReplacement(tag, Matcher.quoteReplacement("URI=\"" + uri + "\""));
+                }
+                matcher.appendTail(tag);
+                rewritten.append(tag);
+            } else {
+                rewritten.append(rewriteUri(line.trim(), playlistUri, base, relayPrefix));
+            }
+            rewritten.append('\n');
+        }
+        return rewritten.toString();
+    }
+
+    private static String rewriteUri(String reference, URI playlistUri, String base, String relayPrefix) {
+        String resolved = playlistUri.resolve(reference.replace(" ", "%20")).toString();
+        return resolved.startsWith(base) ? relayPrefix + resolved.substring(base.length()) : resolved;
+    }
+
+    private static URI resolve(String base, String path, String query) {
+        String relative = path.startsWith("/") ? path.substring(1) : path;
+        URI target;
+        try {
+            target = URI.create(base).resolve(relative).normalize();
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid stream path: " + path);
+        }
+        if (relative.isEmpty() || !target.toString().startsWith(base) || target.getRawQuery() != null) {
+            throw new IllegalArgumentException("Invalid stream path: " + path);
+        }
+        return query == null || query.isEmpty() ? target : URI.create(target + "?" + query);
+    }
+
+    /**
+     * The allowed parameters of a query string in a fixed order, or null if none are left
+     */
+    static String filterQuery(String query, Set<String> allowed) {
+        if (query == null || query.isEmpty() || allowed.isEmpty()) {
+            return null;
+        }
+        List<String> kept = new ArrayList<>();
+        for (String parameter : query.split("&")) {
+            int separator = parameter.indexOf('=');
+            String name = separator >= 0 ? parameter.substring(0, separator) : parameter;
+            if (allowed.contains(name)) {
+                kept.add(parameter);
+            }
+        }
+        if (kept.isEmpty()) {
+            return null;
+        }
+        Collections.sort(kept);
+        return String.join("&", kept);
+    }
+
+    private static Set<String> parseNames(String value) {
+        Set<String> names = new HashSet<>();
+        for (String name : value.split(",")) {
+            if (!name.isBlank()) {
+                names.add(name.trim());
+            }
+        }
+        return Set.copyOf(names);
+    }
+
+    private static String relayPrefix(String stationCode) {
+        return "/api/stations/" + stationCode + "/hls/";
+    }
+
+    private static String segmentContentType(String path) {
+        String extension = path.substring(path.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+        return SEGMENT_CONTENT_TYPES.getOrDefault(extension, "application/octet-stream");
+    }
+
+    private static byte[] readLimited(InputStream body, int limit) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64 * 1024);
+        byte[] buffer = new byte[16 * 1024];
+        int read;
+        while ((read = body.read(buffer)) != -1) {
+            if (out.size() + read > limit) {
+                throw new IOException("Upstream resource is larger than " + limit + " bytes");
+            }
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    private static double cachedBytes(Map<String, SegmentRing> rings) {
+        long total = 0;
+        for (SegmentRing ring : rings.values()) {
+            total += ring.bytes();
+        }
+        return total;
+    }
+
+    /**
+     * Body and content type of a relayed playlist or segment; the body is shared, never modify it
+     */
+    public record RelayedResource(byte[] body, String contentType, boolean playlist) {
+    }
+
+    /**
+     * The origin failed; status is the origin's HTTP status, or 0 if it could not be reached
+     */
+    public static class UpstreamException extends RuntimeException {
+        private final int status;
+
+        public UpstreamException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+    }
+
+    private record StalePlaylist(byte[] body, long fetchedAt) {
+    }
+
+    /**
+     * Most recent segments of one station, evicted oldest-first once over the byte budget
+     */
+    private static final class SegmentRing {
+        private final long maxBytes;
+        private final LinkedHashMap<String, byte[]> segments = new LinkedHashMap<>();
+        private long bytes;
+
+        private SegmentRing(long maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        synchronized byte[] get(String key) {
+            return segments.get(key);
+        }
+
+        synchronized void put(String key, byte[] body) {
+            byte[] previous = segments.put(key, body);
+            bytes += body.length - (previous != null ? previous.length : 0);
+            Iterator<byte[]> oldest = segments.values().iterator();
+            while (bytes > maxBytes && oldest.hasNext()) {
+                byte[] evicted = oldest.next();
+                if (evicted == body) {
+                    break;
+                }
+                bytes -= evicted.length;
+                oldest.remove();
+            }
+        }
+
+        synchronized long bytes() {
+            return bytes;
+        }
+    }
+}
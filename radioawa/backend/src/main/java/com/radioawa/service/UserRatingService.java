@@ -0,0 +1,118 @@
+package com.radioawa.service;
+
+import com.radioawa.dto.StationResponse;
+import com.radioawa.dto.UserRatingPageResponse;
+import com.radioawa.dto.UserRatingResponse;
+import com.radioawa.entity.RatingType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * User Rating Service
+ * A listener's votes, newest change first, with the song and station of each vote.
+ *
+ * Ratings, songs and stations come back from one joined query, so a page costs a single
+ * round trip however many songs it covers (loading Rating entities would fetch each lazy
+ * song separately). Pages use keyset pagination on (updated_at, id) within the listener's
+ * rows of idx_ratings_user_updated_at, so deep pages cost the same as the first one.
+ * Station and rating type filters are checked while walking that range.
+ */
+@Service
+public class UserRatingService {
+
+    private static final String SELECT_RATINGS =
+            "SELECT r.id, r.rating_type, r.created_at, r.updated_at, " +
+            "s.id AS song_id, s.artist, s.title, s.thumbs_up_count, s.thumbs_down_count, " +
+            "st.code AS station_code, st.name AS station_name " +
+            "FROM ratings r JOIN songs s ON s.id = r.song_id JOIN stations st ON st.id = s.station_id " +
+            // Every row has updated_at (set on insert); see DEPLOYMENT.md for older rows
+            "WHERE r.user_id = ? AND r.updated_at IS NOT NULL";
+
+    private static final RowMapper<UserRatingResponse> RATING_ROW = (rs, rowNum) -> new UserRatingResponse(
+            rs.getLong("id"),
+            RatingType.valueOf(rs.getString("rating_type")),
+            rs.getObject("created_at", LocalDateTime.class),
+            rs.getObject("updated_at", LocalDateTime.class),
+            rs.getLong("song_id"),
+            rs.getString("artist"),
+            rs.getString("title"),
+            rs.getInt("thumbs_up_count"),
+            rs.getInt("thumbs_down_count"),
+            rs.getString("station_code"),
+            rs.getString("station_name"));
+
+    private final StationCatalog stationCatalog;
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxPageSize;
+
+    public UserRatingService(
+            StationCatalog stationCatalog,
+            DataSource dataSource,
+            @Value("${app.ratings.history.max-page-size:200}") int maxPageSize) {
+        this.stationCatalog = stationCatalog;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.maxPageSize = maxPageSize;
+    }
+
+    /**
+     * One page of the listener's ratings, or empty if the station filter names an unknown station
+     * @param stationCode only ratings of songs on this station, or null for all stations
+     * @param ratingType only ratings of this type, or null for both
+     * @param cursor nextCursor from the previous page, or null for the first page
+     * @throws IllegalArgumentException for a malformed cursor
+     */
+    @Transactional(readOnly = true)
+    public Optional<UserRatingPageResponse> findPage(String userId, String stationCode, RatingType ratingType,
+                                                     String cursor, int limit) {
+        RatingCursor after = cursor != null && !cursor.isEmpty() ? RatingCursor.decode(cursor) : null;
+        int pageSize = Math.min(Math.max(1, limit), maxPageSize);
+
+        Long stationId = null;
+        if (stationCode != null) {
+            Optional<Long> station = stationCatalog.findByCode(stationCode).map(StationResponse::getId);
+            if (station.isEmpty()) {
+                return Optional.empty();
+            }
+            stationId = station.get();
+        }
+
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = new StringBuilder(SELECT_RATINGS);
+        args.add(userId);
+        if (stationId != null) {
+            sql.append(" AND s.station_id = ?");
+            args.add(stationId);
+        }
+        if (ratingType != null) {
+            sql.append(" AND r.rating_type = ?");
+            args.add(ratingType.name());
+        }
+        if (after != null) {
+            sql.append(" AND (r.updated_at, r.id) < (?, ?)");
+            args.add(Timestamp.valueOf(after.updatedAt()));
+            args.add(after.id());
+        }
+        // Fetch one extra row to know whether another page exists
+        sql.append(" ORDER BY r.updated_at DESC, r.id DESC LIMIT ?");
+        args.add(pageSize + 1);
+        List<UserRatingResponse> ratings = jdbcTemplate.query(sql.toString(), RATING_ROW, args.toArray());
+
+        String nextCursor = null;
+        if (ratings.size() > pageSize) {
+            ratings = ratings.subList(0, pageSize);
+            UserRatingResponse last = ratings.get(pageSize - 1);
+            nextCursor = new RatingCursor(last.getUpdatedAt(), last.getId()).encode();
+        }
+        return Optional.of(new UserRatingPageResponse(ratings, nextCursor));
+    }
+}
@@ -0,0 +1,309 @@
+package com.radioawa.service;
+
+import com.radioawa.dto.RatingRequest;
+import com.radioawa.repository.RatingRepository;
+import com.radioawa.util.BloomFilter;
+import com.radioawa.util.Hashing;
+import com.radioawa.util.SlidingCountMinSketch;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vote Fraud Detector
+ * Streaming check for coordinated vote stuffing that gets past the per-IP rate limit by
+ * rotating addresses or minting fresh user ids. Every new vote is counted, per song, in
+ * three sliding-window count-min sketches:
+ *   - SUBNET: votes from the voter's /24 (IPv4, including IPv4-mapped IPv6) or /64 (IPv6)
+ *   - USER_AGENT: votes with the voter's exact User-Agent, whatever the address
+ *   - NEW_USERS: votes from user ids not seen in the last new-user-memory-hours
+ * A vote that takes any count over its threshold within app.fraud.window-ms is suspicious.
+ * With app.fraud.action=flag (the default) it is only counted in metrics; with quarantine
+ * it is stored but not applied to the song's counters.
+ *
+ * Frozen browser UA strings are shared by many listeners, so the User-Agent threshold has to
+ * sit well above a song's organic votes per common browser; it catches scripts that rotate
+ * addresses but keep one client string. The seen-user memory is seeded at startup from the
+ * users who voted within the memory window. If that load fails, NEW_USERS stays quiet until
+ * the instance has been up for a full window, since every voter would look new.
+ *
+ * Memory is fixed by the sketch dimensions (see radioawa.ratings.fraud.memory); each vote
+ * costs a few hashes and array updates.
+ */
+@Component
+public class VoteFraudDetector {
+
+    private static final Logger logger = LoggerFactory.getLogger(VoteFraudDetector.class);
+
+    public enum Signal {
+        SUBNET, USER_AGENT, NEW_USERS
+    }
+
+    public enum Action {
+        OFF, FLAG, QUARANTINE
+    }
+
+    private final RatingRepository ratingRepository;
+    private final Action action;
+    private final Map<Signal, SlidingCountMinSketch> sketches = new EnumMap<>(Signal.class);
+    private final Map<Signal, Integer> thresholds = new EnumMap<>(Signal.class);
+    private final Map<Signal, Counter> flagged = new EnumMap<>(Signal.class);
+
+    private final long newUserMemoryMillis;
+    private final int expectedUsers;
+    private BloomFilter seenUsers;
+    private BloomFilter previouslySeenUsers;
+    private long seenUsersSince;
+    private boolean seenUsersWarm;
+
+    public VoteFraudDetector(
+            RatingRepository ratingRepository,
+            MeterRegistry meterRegistry,
+            @Value("${app.fraud.action:flag}") String action,
+            @Value("${app.fraud.window-ms:600000}") long windowMillis,
+            @Value("${app.fraud.sketch-depth:4}") int depth,
+            @Value("${app.fraud.sketch-width:2048}") int width,
+            @Value("${app.fraud.subnet-threshold:8}") int subnetThreshold,
+            @Value("${app.fraud.user-agent-threshold:40}") int userAgentThreshold,
+            @Value("${app.fraud.new-user-threshold:20}") int newUserThreshold,
+            @Value("${app.fraud.new-user-memory-hours:24}") long newUserMemoryHours,
+            @Value("${app.fraud.expected-users:200000}") int expectedUsers) {
+        this.ratingRepository = ratingRepository;
+        this.action = Action.valueOf(action.trim().toUpperCase(Locale.ROOT));
+        this.newUserMemoryMillis = TimeUnit.HOURS.toMillis(newUserMemoryHours);
+        this.expectedUsers = expectedUsers;
+        this.seenUsers = BloomFilter.create(expectedUsers, 0.01);
+        this.previouslySeenUsers = BloomFilter.create(expectedUsers, 0.01);
+
+        thresholds.put(Signal.SUBNET, subnetThreshold);
+        thresholds.put(Signal.USER_AGENT, userAgentThreshold);
+        thresholds.put(Signal.NEW_USERS, newUserThreshold);
+        long sketchBytes = 0;
+        for (Signal signal : Signal.values()) {
+            SlidingCountMinSketch sketch = new SlidingCountMinSketch(depth, width, 10, windowMillis);
+            sketches.put(signal, sketch);
+            sketchBytes += sketch.memoryBytes();
+            flagged.put(signal, meterRegistry.counter("radioawa.ratings.fraud.flagged",
+                    "signal", signal.name().toLowerCase(Locale.ROOT)));
+        }
+        long memory = sketchBytes;
+        Gauge.builder("radioawa.ratings.fraud.memory", () -> memory)
+                .description("Bytes held by the vote fraud sketches (bloom filters excluded)")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Remember everyone who voted within the memory window, so NEW_USERS works right after a deploy
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (action == Action.OFF) {
+            return;
+        }
+        LocalDateTime since = LocalDateTime.now().minus(newUserMemoryMillis, ChronoUnit.MILLIS);
+        try {
+            List<String> userIds = ratingRepository.findUserIdsVotingSince(since);
+            seedSeenUsers(userIds, System.currentTimeMillis());
+            logger.info("Vote fraud detector loaded {} recent voters", userIds.size());
+        } catch (RuntimeException e) {
+            logger.warn("Could not load recent voters, new-user votes are not counted for {} h: {}",
+                    TimeUnit.MILLISECONDS.toHours(newUserMemoryMillis), e.getMessage());
+        }
+    }
+
+    public Action getAction() {
+        return action;
+    }
+
+    /**
+     * Count a new vote and decide whether it should be kept off the song's counters
+     * @return the signal that tripped, or null if the vote looks normal (always null unless action is QUARANTINE)
+     */
+    public Signal inspect(RatingRequest request) {
+        return inspect(request, System.currentTimeMillis());
+    }
+
+    /**
+     * Same as inspect(request), but a vote is only counted the first time it is seen with the
+     * given inspection; later calls (a failed batch replayed vote by vote) return the same result
+     */
+    public Signal inspect(RatingRequest request, Inspection inspection) {
+        if (!inspection.done) {
+            inspection.signal = inspect(request);
+            inspection.done = true;
+        }
+        return inspection.signal;
+    }
+
+    Signal inspect(RatingRequest request, long nowMillis) {
+        if (action == Action.OFF) {
+            return null;
+        }
+        long song = Hashing.hash64(request.getStationCode() + '\n'
+                + request.getArtist().toLowerCase(Locale.ROOT) + '\n'
+                + request.getTitle().toLowerCase(Locale.ROOT));
+
+        Signal tripped = null;
+        String subnet = subnetOf(request.getIpAddress());
+        if (subnet != null) {
+            tripped = count(Signal.SUBNET, song, Hashing.hash64(subnet), nowMillis, tripped);
+        }
+        String userAgent = request.getUserAgent();
+        if (userAgent != null && !userAgent.isBlank()) {
+            tripped = count(Signal.USER_AGENT, song, Hashing.hash64(userAgent), nowMillis, tripped);
+        }
+        if (isNewUser(request.getUserId(), nowMillis)) {
+            tripped = count(Signal.NEW_USERS, song, 0, nowMillis, tripped);
+        }
+
+        if (tripped != null) {
+            flagged.get(tripped).increment();
+            logger.debug("Suspicious vote on {} / {} - {} ({}), action {}", request.getStationCode(),
+                    request.getArtist(), request.getTitle(), tripped, action);
+        }
+        return action == Action.QUARANTINE ? tripped : null;
+    }
+
+    private Signal count(Signal signal, long song, long attribute, long nowMillis, Signal tripped) {
+        // Counting continues after the first tripped signal so every sketch sees every vote
+        long key = Hashing.mix64(song ^ Long.rotateLeft(attribute, 29) ^ signal.ordinal());
+        int count = sketches.get(signal).addAndEstimate(key, nowMillis);
+        return tripped == null && count > thresholds.get(signal) ? signal : tripped;
+    }
+
+    /**
+     * Mark the users as seen, as if they had voted at nowMillis, and start counting new users
+     */
+    synchronized void seedSeenUsers(Collection<String> userIds, long nowMillis) {
+        for (String userId : userIds) {
+            seenUsers.put(userId);
+        }
+        if (seenUsersSince == 0) {
+            seenUsersSince = nowMillis;
+        }
+        seenUsersWarm = true;
+    }
+
+    /**
+     * True the first time a user id votes within the memory window (approximately: bloom filters).
+     * Always false until the filters are seeded or cover a full window, since every user is
+     * unknown at startup.
+     */
+    private synchronized boolean isNewUser(String userId, long nowMillis) {
+        if (seenUsersSince == 0) {
+            seenUsersSince = nowMillis;
+        } else if (nowMillis - seenUsersSince >= newUserMemoryMillis) {
+            // Two generations: an id is remembered for one to two memory windows
+            previouslySeenUsers = seenUsers;
+            seenUsers = BloomFilter.create(expectedUsers, 0.01);
+            seenUsersSince = nowMillis;
+            seenUsersWarm = true;
+        }
+        boolean inCurrent = seenUsers.mightContain(userId);
+        boolean seen = inCurrent || previouslySeenUsers.mightContain(userId);
+        if (!inCurrent) {
+            seenUsers.put(userId);
+        }
+        return seenUsersWarm && !seen;
+    }
+
+    /**
+     * /24 network of an IPv4 address or /64 of an IPv6 address, or null if unparseable.
+     * IPv4-mapped addresses (::ffff:a.b.c.d, how dual-stack sockets report IPv4 clients) get
+     * their IPv4 /24; otherwise they would all share ::/64.
+     */
+    static String subnetOf(String ipAddress) {
+        if (ipAddress == null || ipAddress.isBlank()) {
+            return null;
+        }
+        String ip = ipAddress.trim();
+        if (ip.indexOf(':') >= 0) {
+            int zone = ip.indexOf('%');
+            String[] groups = expandIpv6(zone >= 0 ? ip.substring(0, zone) : ip);
+            if (groups == null) {
+                return null;
+            }
+            if (isIpv4Mapped(groups)) {
+                int high = Integer.parseInt(groups[6], 16);
+                int low = Integer.parseInt(groups[7], 16);
+                return (high >> 8) + "." + (high & 0xff) + "." + (low >> 8) + ".0/24";
+            }
+            return String.join(":", groups[0], groups[1], groups[2], groups[3]) + "::/64";
+        }
+        int lastDot = ip.lastIndexOf('.');
+        return lastDot > 0 ? ip.substring(0, lastDot) + ".0/24" : null;
+    }
+
+    private static boolean isIpv4Mapped(String[] groups) {
+        for (int i = 0; i < 5; i++) {
+            if (!groups[i].equals("0")) {
+                return false;
+            }
+        }
+        return groups[5].equals("ffff") && groups[6].matches("[0-9a-f]{1,4}") && groups[7].matches("[0-9a-f]{1,4}");
+    }
+
+    private static String[] expandIpv6(String ip) {
+        int lastColon = ip.lastIndexOf(':');
+        if (ip.indexOf('.', lastColon) >= 0) {
+            // Dotted IPv4 tail (::ffff:a.b.c.d) becomes the last two groups
+            String[] octets = ip.substring(lastColon + 1).split("\\.", -1);
+            if (octets.length != 4) {
+                return null;
+            }
+            int[] values = new int[4];
+            for (int i = 0; i < 4; i++) {
+                if (!octets[i].matches("\\d{1,3}")) {
+                    return null;
+                }
+                values[i] = Integer.parseInt(octets[i]);
+                if (values[i] > 255) {
+                    return null;
+                }
+            }
+            ip = ip.substring(0, lastColon + 1) + Integer.toHexString(values[0] << 8 | values[1])
+                    + ":" + Integer.toHexString(values[2] << 8 | values[3]);
+        }
+        int doubleColon = ip.indexOf("::");
+        String[] head = doubleColon >= 0 ? split(ip.substring(0, doubleColon)) : split(ip);
+        String[] tail = doubleColon >= 0 ? split(ip.substring(doubleColon + 2)) : new String[0];
+        if (head.length + tail.length > 8 || (doubleColon < 0 && head.length != 8)) {
+            return null;
+        }
+        String[] groups = new String[8];
+        for (int i = 0; i < 8; i++) {
+            int fromTail = i - (8 - tail.length);
+            String group = i < head.length ? head[i] : fromTail >= 0 ? tail[fromTail] : "0";
+            groups[i] = group.isEmpty() ? "0" : group.toLowerCase(Locale.ROOT).replaceFirst("^0+(?=.)", "");
+        }
+        return groups;
+    }
+
+    private static String[] split(String part) {
+        return part.isEmpty() ? new String[0] : part.split(":", -1);
+    }
+
+    /**
+     * Remembers the outcome of one vote's inspection across attempts to apply it
+     */
+    public static final class Inspection {
+        private boolean done;
+        private Signal signal;
+    }
+}
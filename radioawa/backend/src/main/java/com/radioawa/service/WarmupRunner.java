@@ -0,0 +1,231 @@
+package com.radioawa.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.radioawa.dto.RatingRequest;
+import com.radioawa.dto.RatingResponse;
+import com.radioawa.dto.SongPageResponse;
+import com.radioawa.dto.SongSummaryResponse;
+import com.radioawa.dto.StationResponse;
+import com.radioawa.entity.RatingType;
+import com.radioawa.entity.Station;
+import com.radioawa.repository.RatingRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Warm-up Runner
+ * Runs synthetic traffic through the hot paths before the instance reports ready, so the
+ * JIT has compiled them and the caches are filled when real listeners arrive. Spring Boot
+ * only switches readiness to ACCEPTING_TRAFFIC after every ApplicationRunner has returned,
+ * so /actuator/health/readiness stays OUT_OF_SERVICE for the whole warm-up.
+ *
+ * Each iteration:
+ *   - applies a few votes on synthetic songs through RatingService in a transaction that is
+ *     always rolled back (no IP or User-Agent, so neither the rate limit nor the fraud
+ *     sketches count them), and round-trips the DTOs through Jackson
+ *   - reads stations, rating counts of real songs and Hindi metadata over HTTP on the local
+ *     port, through the same filters, controllers and serializers as listener requests
+ *
+ * Stops after app.warmup.iterations or app.warmup.duration-ms, whichever comes first.
+ * Error responses are skipped; exceptions end the warm-up early but never stop the
+ * application from starting.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class WarmupRunner implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(WarmupRunner.class);
+
+    private static final int VOTES_PER_ITERATION = 4;
+    private static final int SYNTHETIC_USERS = 8;
+    private static final int SONGS_PER_STATION = 20;
+
+    private final RatingService ratingService;
+    private final RatingRepository ratingRepository;
+    private final StationCatalog stationCatalog;
+    private final TransactionTemplate rollbackOnly;
+    private final ObjectMapper objectMapper;
+    private final ApplicationContext context;
+    private final boolean enabled;
+    private final long durationMillis;
+    private final int iterations;
+    private final String contextPath;
+
+    public WarmupRunner(
+            RatingService ratingService,
+            RatingRepository ratingRepository,
+            StationCatalog stationCatalog,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            ApplicationContext context,
+            @Value("${app.warmup.enabled:false}") boolean enabled,
+            @Value("${app.warmup.duration-ms:30000}") long durationMillis,
+            @Value("${app.warmup.iterations:2000}") int iterations,
+            @Value("${server.servlet.context-path:}") String contextPath) {
+        this.ratingService = ratingService;
+        this.ratingRepository = ratingRepository;
+        this.stationCatalog = stationCatalog;
+        this.rollbackOnly = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.context = context;
+        this.enabled = enabled;
+        this.durationMillis = durationMillis;
+        this.iterations = iterations;
+        this.contextPath = contextPath.endsWith("/") ? contextPath.substring(0, contextPath.length() - 1) : contextPath;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled || iterations <= 0 || durationMillis <= 0) {
+            return;
+        }
+        List<StationResponse> stations = stationCatalog.findActive();
+        if (stations.isEmpty()) {
+            logger.info("Warm-up skipped: no active stations");
+            return;
+        }
+
+        HttpReads reads = httpReads();
+        long start = System.nanoTime();
+        long deadline = start + Duration.ofMillis(durationMillis).toNanos();
+        int completed = 0;
+        try {
+            if (reads != null) {
+                reads.loadSongs(stations);
+            }
+            while (completed < iterations && System.nanoTime() < deadline) {
+                StationResponse station = stations.get(completed % stations.size());
+                writeRolledBack(station.getCode(), completed);
+                if (reads != null) {
+                    reads.read(station.getCode(), completed);
+                }
+                completed++;
+            }
+        } catch (Exception e) {
+            logger.warn("Warm-up stopped after {} iterations: {}", completed, e.getMessage());
+        }
+        logger.info("Warm-up finished: {} iterations in {} ms{}", completed,
+                Duration.ofNanos(System.nanoTime() - start).toMillis(),
+                reads == null ? " (no web server, HTTP reads skipped)" : "");
+    }
+
+    /**
+     * Synthetic votes in one transaction that is rolled back whatever happens
+     */
+    private void writeRolledBack(String stationCode, int iteration) {
+        rollbackOnly.executeWithoutResult(status -> {
+            status.setRollbackOnly();
+            Station station = stationCatalog.findReference(stationCode).orElseThrow();
+            // Same query as the rate limit, which is skipped for votes without an IP
+            ratingRepository.countByStationAndIpAddressAndCreatedAtAfter(
+                    station, "192.0.2.1", LocalDateTime.now().minusHours(1));
+            for (int vote = 0; vote < VOTES_PER_ITERATION; vote++) {
+                RatingRequest request = new RatingRequest();
+                request.setStationCode(stationCode);
+                request.setArtist("Warm-up Artist");
+                request.setTitle("Warm-up Track " + (vote % 2));
+                // One user votes on both tracks, then votes again: covers new, changed and repeated votes
+                request.setUserId("warmup-" + (iteration % SYNTHETIC_USERS));
+                request.setRatingType(vote < 2 || (vote == 2 && iteration % 2 == 1)
+                        ? RatingType.THUMBS_UP : RatingType.THUMBS_DOWN);
+                try {
+                    RatingRequest parsed = objectMapper.readValue(objectMapper.writeValueAsBytes(request), RatingRequest.class);
+                    RatingResponse response = ratingService.applyRating(parsed);
+                    objectMapper.writeValueAsBytes(response);
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        });
+    }
+
+    private HttpReads httpReads() {
+        if (context instanceof WebServerApplicationContext web && web.getWebServer() != null
+                && web.getWebServer().getPort() > 0) {
+            return new HttpReads("http://localhost:" + web.getWebServer().getPort() + contextPath);
+        }
+        return null;
+    }
+
+    /**
+     * Listener-style GETs against this instance
+     */
+    private final class HttpReads {
+        private final String baseUrl;
+        private final HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(2))
+                .build();
+        private final List<List<SongSummaryResponse>> songsByStation = new ArrayList<>();
+        private final List<String> stationCodes = new ArrayList<>();
+
+        private HttpReads(String baseUrl) {
+            this.baseUrl = baseUrl;
+        }
+
+        void loadSongs(List<StationResponse> stations) throws IOException, InterruptedException {
+            for (StationResponse station : stations) {
+                byte[] body = get("/api/stations/" + station.getCode() + "/songs?limit=" + SONGS_PER_STATION);
+                SongPageResponse page = body == null ? null : objectMapper.readValue(body, SongPageResponse.class);
+                stationCodes.add(station.getCode());
+                songsByStation.add(page == null || page.getSongs() == null ? List.of() : page.getSongs());
+            }
+        }
+
+        void read(String stationCode, int iteration) throws IOException, InterruptedException {
+            get("/api/stations");
+            List<SongSummaryResponse> songs = songsByStation.get(stationCodes.indexOf(stationCode));
+            if (!songs.isEmpty()) {
+                SongSummaryResponse song = songs.get(iteration % songs.size());
+                get("/api/ratings/counts?stationCode=" + encode(stationCode)
+                        + "&artist=" + encode(song.getArtist())
+                        + "&title=" + encode(song.getTitle())
+                        + "&userId=warmup-" + (iteration % SYNTHETIC_USERS));
+            }
+            get("/api/metadata/hindi");
+            get("/api/metadata/hindi/artwork");
+        }
+
+        /**
+         * Body of a successful response, or null; only connection failures end the warm-up
+         */
+        private byte[] get(String path) throws IOException, InterruptedException {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(Duration.ofSeconds(5))
+                    .header("Accept", "application/json")
+                    .GET()
+                    .build();
+            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() >= 400) {
+                logger.debug("Warm-up GET {} returned {}", path, response.statusCode());
+                return null;
+            }
+            return response.body();
+        }
+
+        private String encode(String value) {
+            return URLEncoder.encode(value, StandardCharsets.UTF_8);
+        }
+    }
+}
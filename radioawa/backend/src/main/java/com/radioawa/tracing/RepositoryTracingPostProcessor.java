@@ -0,0 +1,71 @@
+package com.radioawa.tracing;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+/**
+ * Repository Tracing Post Processor
+ * Adds a child span around every Spring Data repository call, named after the
+ * repository and method (e.g. RatingRepository.findByUserIdAndSongId).
+ *
+ * Only calls made inside an existing trace get a span, so scheduled jobs and start-up
+ * work do not each produce a root trace of their own. The Tracer is looked up on first
+ * use because repositories are created before the tracing auto-configuration.
+ */
+public class RepositoryTracingPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<Tracer> tracerProvider;
+
+    public RepositoryTracingPostProcessor(ObjectProvider<Tracer> tracerProvider) {
+        this.tracerProvider = tracerProvider;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                    (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(
+                            new SpanInterceptor(repositoryInformation.getRepositoryInterface().getSimpleName()))));
+        }
+        return bean;
+    }
+
+    private class SpanInterceptor implements MethodInterceptor {
+
+        private final String repositoryName;
+        private Tracer resolvedTracer;
+
+        SpanInterceptor(String repositoryName) {
+            this.repositoryName = repositoryName;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            Tracer tracer = tracer();
+            if (tracer.currentSpan() == null || invocation.getMethod().getDeclaringClass() == Object.class) {
+                return invocation.proceed();
+            }
+            Span span = tracer.nextSpan().name(repositoryName + "." + invocation.getMethod().getName()).start();
+            try (Tracer.SpanInScope scope = tracer.withSpan(span)) {
+                return invocation.proceed();
+            } catch (Throwable e) {
+                span.error(e);
+                throw e;
+            } finally {
+                span.end();
+            }
+        }
+
+        private Tracer tracer() {
+            if (resolvedTracer == null) {
+                resolvedTracer = tracerProvider.getIfAvailable(() -> Tracer.NOOP);
+            }
+            return resolvedTracer;
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package com.radioawa.tracing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.ReadWriteSpan;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Tail Sampling Span Processor
+ * Every span is recorded, but a trace is only exported once its local root span has
+ * ended and the whole trace is known to be interesting:
+ * - any span ended with an error status (or a server span answered with a 5xx), or
+ * - the root span took at least the slow threshold, or
+ * - it falls in the random keep ratio, as a baseline of normal traffic.
+ *
+ * Unfinished traces are held in a bounded map; when it is full the oldest trace is
+ * dropped, so spans whose root never ends cannot grow the heap. Spans that end after
+ * their root (fire-and-forget work) are not exported.
+ *
+ * The decision is taken on the thread that ends the root span; kept traces are handed to a
+ * bounded queue and serialized and written by a background thread, like OpenTelemetry's
+ * BatchSpanProcessor. When that queue is full the trace is dropped and counted.
+ */
+public class TailSamplingSpanProcessor implements SpanProcessor {
+
+    private static final Logger logger = LoggerFactory.getLogger(TailSamplingSpanProcessor.class);
+    private static final int MAX_SPANS_PER_TRACE = 1000;
+    private static final int MAX_TRACES_PER_EXPORT = 64;
+    private static final AttributeKey<String> OUTCOME = AttributeKey.stringKey("outcome");
+
+    private final SpanExporter exporter;
+    private final long slowThresholdNanos;
+    private final double keepRatio;
+    private final Map<String, List<SpanData>> pending;
+    private final BlockingQueue<List<SpanData>> exportQueue;
+    private final Queue<CompletableResultCode> flushRequests = new ConcurrentLinkedQueue<>();
+    private final Thread exportThread;
+    private final AtomicBoolean shutdown = new AtomicBoolean();
+
+    private final Counter keptError;
+    private final Counter keptSlow;
+    private final Counter keptSampled;
+    private final Counter dropped;
+    private final Counter evicted;
+    private final Counter queueFull;
+
+    public TailSamplingSpanProcessor(SpanExporter exporter, long slowThresholdMs, double keepRatio,
+                                     int maxPendingTraces, int exportQueueSize, MeterRegistry meterRegistry) {
+        this.exporter = exporter;
+        this.slowThresholdNanos = slowThresholdMs * 1_000_000;
+        this.keepRatio = keepRatio;
+        this.evicted = meterRegistry.counter("radioawa.tracing.traces", "decision", "evicted");
+        this.pending = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, List<SpanData>> eldest) {
+                if (size() > maxPendingTraces) {
+                    evicted.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+        this.keptError = meterRegistry.counter("radioawa.tracing.traces", "decision", "error");
+        this.keptSlow = meterRegistry.counter("radioawa.tracing.traces", "decision", "slow");
+        this.keptSampled = meterRegistry.counter("radioawa.tracing.traces", "decision", "sampled");
+        this.dropped = meterRegistry.counter("radioawa.tracing.traces", "decision", "dropped");
+        this.queueFull = meterRegistry.counter("radioawa.tracing.export.dropped");
+        this.exportQueue = new ArrayBlockingQueue<>(exportQueueSize);
+        Gauge.builder("radioawa.tracing.export.queue", exportQueue, BlockingQueue::size)
+                .description("Kept traces waiting for the background writer")
+                .register(meterRegistry);
+
+        this.exportThread = new Thread(this::exportLoop, "trace-exporter");
+        this.exportThread.setDaemon(true);
+        this.exportThread.start();
+    }
+
+    @Override
+    public void onStart(Context parentContext, ReadWriteSpan span) {
+    }
+
+    @Override
+    public boolean isStartRequired() {
+        return false;
+    }
+
+    @Override
+    public void onEnd(ReadableSpan span) {
+        if (shutdown.get()) {
+            return;
+        }
+        SpanData data = span.toSpanData();
+        SpanContext parent = data.getParentSpanContext();
+        boolean localRoot = !parent.isValid() || parent.isRemote();
+
+        List<SpanData> trace;
+        synchronized (pending) {
+            if (!localRoot) {
+                List<SpanData> spans = pending.computeIfAbsent(data.getTraceId(), id -> new ArrayList<>());
+                if (spans.size() < MAX_SPANS_PER_TRACE) {
+                    spans.add(data);
+                }
+                return;
+            }
+            trace = pending.remove(data.getTraceId());
+        }
+        if (trace == null) {
+            trace = new ArrayList<>(1);
+        }
+        trace.add(data);
+
+        if (trace.stream().anyMatch(TailSamplingSpanProcessor::isError)) {
+            keptError.increment();
+        } else if (data.getEndEpochNanos() - data.getStartEpochNanos() >= slowThresholdNanos) {
+            keptSlow.increment();
+        } else if (keepRatio > 0 && ThreadLocalRandom.current().nextDouble() < keepRatio) {
+            keptSampled.increment();
+        } else {
+            dropped.increment();
+            return;
+        }
+        if (!exportQueue.offer(trace)) {
+            queueFull.increment();
+        }
+    }
+
+    @Override
+    public boolean isEndRequired() {
+        return true;
+    }
+
+    /**
+     * Completes once every trace queued before the call has been written and flushed
+     */
+    @Override
+    public CompletableResultCode forceFlush() {
+        if (shutdown.get()) {
+            return CompletableResultCode.ofSuccess();
+        }
+        CompletableResultCode result = new CompletableResultCode();
+        flushRequests.add(result);
+        return result;
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        if (!shutdown.compareAndSet(false, true)) {
+            return CompletableResultCode.ofSuccess();
+        }
+        synchronized (pending) {
+            pending.clear();
+        }
+        // The export thread drains what is already queued before it stops
+        try {
+            exportThread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return exporter.shutdown();
+    }
+
+    int pendingTraces() {
+        synchronized (pending) {
+            return pending.size();
+        }
+    }
+
+    private void exportLoop() {
+        List<List<SpanData>> traces = new ArrayList<>(MAX_TRACES_PER_EXPORT);
+        while (!shutdown.get() || !exportQueue.isEmpty()) {
+            try {
+                List<SpanData> first = exportQueue.poll(100, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    traces.add(first);
+                    exportQueue.drainTo(traces, MAX_TRACES_PER_EXPORT - 1);
+                    export(traces);
+                }
+                if (!flushRequests.isEmpty()) {
+                    flush();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                logger.warn("Exporting {} traces failed: {}", traces.size(), e.getMessage());
+            } finally {
+                traces.clear();
+            }
+        }
+        flush();
+    }
+
+    /**
+     * Writes everything queued so far, then answers the flush requests taken before the drain
+     */
+    private void flush() {
+        List<CompletableResultCode> requests = new ArrayList<>();
+        CompletableResultCode request;
+        while ((request = flushRequests.poll()) != null) {
+            requests.add(request);
+        }
+        List<List<SpanData>> traces = new ArrayList<>();
+        exportQueue.drainTo(traces);
+        export(traces);
+        CompletableResultCode flushed = exporter.flush();
+        requests.forEach(r -> flushed.whenComplete(() -> {
+            if (flushed.isSuccess()) {
+                r.succeed();
+            } else {
+                r.fail();
+            }
+        }));
+    }
+
+    // One export call per batch of traces, so the exporter flushes once per batch
+    private void export(List<List<SpanData>> traces) {
+        if (traces.isEmpty()) {
+            return;
+        }
+        List<SpanData> spans = new ArrayList<>();
+        traces.forEach(spans::addAll);
+        exporter.export(spans);
+    }
+
+    private static boolean isError(SpanData span) {
+        return span.getStatus().getStatusCode() == StatusCode.ERROR
+                || "SERVER_ERROR".equals(span.getAttributes().get(OUTCOME));
+    }
+}
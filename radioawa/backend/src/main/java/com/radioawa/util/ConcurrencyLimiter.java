@@ -0,0 +1,100 @@
+package com.radioawa.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Concurrency Limiter
+ * Caps the number of requests in flight. The adaptive variant adjusts its cap with AIMD:
+ * every request that finishes within the latency threshold while the cap was at least half
+ * used raises it by one; a slow or failed request cuts it by the backoff ratio. Decreases
+ * are applied at most once per threshold window, because every request in flight during a
+ * slowdown reports the same slowdown and should not shrink the cap once each.
+ *
+ * tryAcquire never blocks: a caller over the cap is expected to shed the request.
+ */
+public final class ConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    private final LongSupplier clock;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+    private long lastDecreaseNanos;
+
+    ConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, long latencyThresholdMillis,
+                       double backoffRatio, LongSupplier clock) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+        this.latencyThresholdNanos = TimeUnit.MILLISECONDS.toNanos(latencyThresholdMillis);
+        this.backoffRatio = backoffRatio;
+        this.clock = clock;
+        this.lastDecreaseNanos = clock.getAsLong() - latencyThresholdNanos;
+    }
+
+    /**
+     * Limiter whose cap follows observed latency between minLimit and maxLimit
+     */
+    public static ConcurrencyLimiter adaptive(int initialLimit, int minLimit, int maxLimit,
+                                              long latencyThresholdMillis, double backoffRatio) {
+        return new ConcurrencyLimiter(initialLimit, minLimit, maxLimit, latencyThresholdMillis, backoffRatio, System::nanoTime);
+    }
+
+    /**
+     * Limiter with a constant cap (a bulkhead)
+     */
+    public static ConcurrencyLimiter fixed(int limit) {
+        return new ConcurrencyLimiter(limit, limit, limit, Long.MAX_VALUE / 1_000_000, 1.0, System::nanoTime);
+    }
+
+    /**
+     * Take a slot, or return false if the limit is reached
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Return a slot taken by tryAcquire and feed the request's outcome into the limit
+     * @param failed the request failed in a way that indicates overload (timeout, 5xx)
+     */
+    public void release(long latencyNanos, boolean failed) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        if (minLimit == maxLimit) {
+            return;
+        }
+        synchronized (this) {
+            if (failed || latencyNanos > latencyThresholdNanos) {
+                long now = clock.getAsLong();
+                if (now - lastDecreaseNanos >= latencyThresholdNanos) {
+                    limit = Math.max(minLimit, (int) (limit * backoffRatio));
+                    lastDecreaseNanos = now;
+                }
+            } else if (inFlightBefore * 2 >= limit) {
+                // Only probe upwards when the current limit is actually in use
+                limit = Math.min(maxLimit, limit + 1);
+            }
+        }
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
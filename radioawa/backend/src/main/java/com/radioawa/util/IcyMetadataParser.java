@@ -0,0 +1,171 @@
+package com.radioawa.util;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * ICY Metadata Parser
+ * Incremental parser for a Shoutcast/Icecast stream requested with "Icy-MetaData: 1".
+ * The stream interleaves metaInt audio bytes, one length byte (length / 16) and that many
+ * metadata bytes ("StreamTitle='Artist - Title';StreamUrl='';"), over and over.
+ *
+ * feed accepts buffers split anywhere, including inside a metadata block. Audio is skipped
+ * by moving the buffer position and never copied; metadata goes into one reusable array.
+ * Servers usually resend the same block until the track changes, so a block identical to
+ * the previous one is dropped before it is decoded: a steady stream allocates nothing, and
+ * the listener only hears about StreamTitle changes. Not thread-safe; one parser per stream.
+ */
+public final class IcyMetadataParser {
+
+    private static final int MAX_BLOCK_BYTES = 255 * 16;
+    private static final byte[] STREAM_TITLE = "StreamTitle='".getBytes(StandardCharsets.US_ASCII);
+
+    private final int metaInt;
+    private final Consumer<String> titleListener;
+
+    private final byte[] block = new byte[MAX_BLOCK_BYTES];
+    private final byte[] lastBlock = new byte[MAX_BLOCK_BYTES];
+    private int lastBlockLength = -1;
+    private String lastTitle;
+
+    private int audioRemaining;
+    private int blockLength = -1;
+    private int blockFilled;
+
+    /**
+     * @param metaInt audio bytes between metadata blocks (the icy-metaint response header)
+     * @param titleListener called with each new StreamTitle, on the thread calling feed
+     */
+    public IcyMetadataParser(int metaInt, Consumer<String> titleListener) {
+        if (metaInt <= 0) {
+            throw new IllegalArgumentException("icy-metaint must be positive: " + metaInt);
+        }
+        this.metaInt = metaInt;
+        this.titleListener = titleListener;
+        this.audioRemaining = metaInt;
+    }
+
+    /**
+     * Consume every remaining byte of the buffer
+     */
+    public void feed(ByteBuffer buffer) {
+        while (buffer.hasRemaining()) {
+            if (audioRemaining > 0) {
+                int skip = Math.min(audioRemaining, buffer.remaining());
+                buffer.position(buffer.position() + skip);
+                audioRemaining -= skip;
+            } else if (blockLength < 0) {
+                blockLength = (buffer.get() & 0xFF) * 16;
+                blockFilled = 0;
+                if (blockLength == 0) {
+                    endBlock();
+                }
+            } else {
+                int take = Math.min(blockLength - blockFilled, buffer.remaining());
+                buffer.get(block, blockFilled, take);
+                blockFilled += take;
+                if (blockFilled == blockLength) {
+                    onBlock();
+                    endBlock();
+                }
+            }
+        }
+    }
+
+    /**
+     * Last StreamTitle seen, or null if none yet
+     */
+    public String lastTitle() {
+        return lastTitle;
+    }
+
+    private void endBlock() {
+        blockLength = -1;
+        audioRemaining = metaInt;
+    }
+
+    private void onBlock() {
+        if (Arrays.equals(block, 0, blockLength, lastBlock, 0, Math.max(0, lastBlockLength))) {
+            return;
+        }
+        System.arraycopy(block, 0, lastBlock, 0, blockLength);
+        lastBlockLength = blockLength;
+
+        String title = streamTitle(block, blockLength);
+        if (title != null && !title.equals(lastTitle)) {
+            lastTitle = title;
+            titleListener.accept(title);
+        }
+    }
+
+    /**
+     * StreamTitle value of a block; titles may contain quotes, so it ends at the last "';" of the field
+     */
+    static String streamTitle(byte[] block, int length) {
+        int start = indexOf(block, length, STREAM_TITLE, 0);
+        if (start < 0) {
+            return null;
+        }
+        start += STREAM_TITLE.length;
+        int end = -1;
+        for (int i = start; i < length - 1; i++) {
+            if (block[i] == '\'' && block[i + 1] == ';') {
+                end = i;
+                if (i + 2 >= length || block[i + 2] == 0 || startsWith(block, length, i + 2, "Stream")) {
+                    break;
+                }
+            }
+        }
+        if (end < 0) {
+            // Unterminated: take everything up to the NUL padding
+            end = start;
+            while (end < length && block[end] != 0) {
+                end++;
+            }
+        }
+        return decode(block, start, end - start).trim();
+    }
+
+    private static String decode(byte[] bytes, int offset, int length) {
+        try {
+            CharBuffer chars = StandardCharsets.UTF_8.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPORT)
+                    .onUnmappableCharacter(CodingErrorAction.REPORT)
+                    .decode(ByteBuffer.wrap(bytes, offset, length));
+            return chars.toString();
+        } catch (CharacterCodingException e) {
+            // Older Shoutcast servers send Latin-1
+            return new String(bytes, offset, length, StandardCharsets.ISO_8859_1);
+        }
+    }
+
+    private static int indexOf(byte[] bytes, int length, byte[] needle, int from) {
+        outer:
+        for (int i = from; i <= length - needle.length; i++) {
+            for (int j = 0; j < needle.length; j++) {
+                if (bytes[i + j] != needle[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    private static boolean startsWith(byte[] bytes, int length, int offset, String prefix) {
+        if (offset + prefix.length() > length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (bytes[offset + i] != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,60 @@
+package com.radioawa.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Log Rate Limiter
+ * Lets at most a fixed number of log statements through per interval, for warnings and
+ * errors on request paths where an upstream outage would otherwise log once per request.
+ * The statement that gets through next reports how many were suppressed in between:
+ *
+ *   long suppressed = limiter.tryAcquire();
+ *   if (suppressed >= 0) logger.warn("Upstream failed: {} ({} similar suppressed)", msg, suppressed);
+ *
+ * Lock-free and allocation-free; at a window boundary a few statements more or less than
+ * the limit may pass, which is fine for logging.
+ */
+public final class LogRateLimiter {
+
+    private final int permitsPerInterval;
+    private final long intervalNanos;
+    private final LongSupplier clock;
+
+    private final AtomicLong windowStart;
+    private final AtomicInteger used = new AtomicInteger();
+    private final AtomicLong suppressed = new AtomicLong();
+
+    LogRateLimiter(int permitsPerInterval, long intervalMillis, LongSupplier clock) {
+        this.permitsPerInterval = permitsPerInterval;
+        this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMillis);
+        this.clock = clock;
+        this.windowStart = new AtomicLong(clock.getAsLong());
+    }
+
+    /**
+     * Limiter allowing permitsPerInterval statements every intervalMillis
+     */
+    public static LogRateLimiter perInterval(int permitsPerInterval, long intervalMillis) {
+        return new LogRateLimiter(permitsPerInterval, intervalMillis, System::nanoTime);
+    }
+
+    /**
+     * @return the number of statements suppressed since the last one that got through,
+     *         or -1 if this statement should be suppressed
+     */
+    public long tryAcquire() {
+        long now = clock.getAsLong();
+        long start = windowStart.get();
+        if (now - start >= intervalNanos && windowStart.compareAndSet(start, now)) {
+            used.set(0);
+        }
+        if (used.incrementAndGet() <= permitsPerInterval) {
+            return suppressed.getAndSet(0);
+        }
+        suppressed.incrementAndGet();
+        return -1;
+    }
+}
@@ -0,0 +1,148 @@
+package com.radioawa.util;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Single-Flight Cache
+ * Coalesces concurrent loads of the same key: the first caller runs the loader, callers
+ * arriving while it runs wait for and share its result, and the result is then served to
+ * later callers until the TTL expires. Failed loads are not cached; every waiter sees the
+ * failure and the next caller loads again. An interrupted waiter stops waiting with a
+ * CancellationException. A load invalidated while in flight still answers the callers
+ * already waiting for it, but is not cached: it may have read the data before the change
+ * that caused the invalidation.
+ *
+ * Meant for very short TTLs (sub-second) on hot keys, where the point is collapsing bursts
+ * of identical reads rather than long-lived caching. Expired entries are swept once the
+ * cache grows past maxEntries.
+ */
+public final class SingleFlightCache<K, V> {
+
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final LongSupplier clock;
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder joins = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+
+    public SingleFlightCache(long ttlMillis, int maxEntries) {
+        this(ttlMillis, maxEntries, System::nanoTime);
+    }
+
+    SingleFlightCache(long ttlMillis, int maxEntries, LongSupplier clock) {
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+    }
+
+    /**
+     * Cached or in-flight value for the key, or the loader's result if neither exists.
+     * A RuntimeException thrown by the loader is rethrown to the caller and to every waiter.
+     */
+    public V get(K key, Function<K, V> loader) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null && entry.isUsable(clock.getAsLong())) {
+            return await(entry);
+        }
+
+        Entry<V> created = new Entry<>();
+        Entry<V> winner = entries.compute(key, (k, existing) ->
+                existing != null && existing.isUsable(clock.getAsLong()) ? existing : created);
+        if (winner != created) {
+            return await(winner);
+        }
+
+        loads.increment();
+        try {
+            V value = loader.apply(key);
+            created.expiresAt = clock.getAsLong() + ttlNanos;
+            created.future.complete(value);
+            if (entries.size() > maxEntries) {
+                sweep();
+            }
+            return value;
+        } catch (RuntimeException | Error e) {
+            entries.remove(key, created);
+            created.future.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Drop the cached or in-flight value so the next caller loads again
+     */
+    public void invalidate(K key) {
+        // The loader completes its entry's future without touching the map, so an in-flight
+        // entry removed here still reaches its waiters and is never visible to later callers
+        entries.remove(key);
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long joinCount() {
+        return joins.sum();
+    }
+
+    public long loadCount() {
+        return loads.sum();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private V await(Entry<V> entry) {
+        if (entry.future.isDone()) {
+            hits.increment();
+        } else {
+            joins.increment();
+        }
+        try {
+            return entry.future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new CompletionException(e.getCause());
+        } catch (InterruptedException e) {
+            // The waiter gives up (e.g. a cancelled bootstrap part); the load itself carries on
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for an in-flight load");
+        }
+    }
+
+    private void sweep() {
+        long now = clock.getAsLong();
+        Iterator<Entry<V>> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry<V> entry = iterator.next();
+            if (!entry.isUsable(now)) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private static final class Entry<V> {
+        private final CompletableFuture<V> future = new CompletableFuture<>();
+        // Written before the future completes, so readers that see it done see the expiry too
+        private volatile long expiresAt;
+
+        private boolean isUsable(long now) {
+            return !future.isDone() || (!future.isCompletedExceptionally() && now - expiresAt < 0);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.radioawa.util;
+
+/**
+ * Sliding Count-Min Sketch
+ * Approximate per-key counts over the last windowMillis, in constant memory. The window
+ * is split into slices, each a depth x width count-min table; a running total of the
+ * live slices answers queries in O(depth), and the oldest slice is subtracted from the
+ * total and cleared as the window moves past it.
+ *
+ * Estimates never undercount. They overcount by at most 2e/width of the window's total
+ * count with probability 1 - (1/2)^depth, and the window edge is as coarse as one slice.
+ */
+public final class SlidingCountMinSketch {
+
+    private final int depth;
+    private final int width;
+    private final int slices;
+    private final long sliceMillis;
+
+    private final int[][] sliceCounts;
+    private final int[] total;
+    private long currentSlice = Long.MIN_VALUE;
+
+    public SlidingCountMinSketch(int depth, int width, int slices, long windowMillis) {
+        if (depth < 1 || width < 1 || slices < 1 || windowMillis < slices) {
+            throw new IllegalArgumentException("Invalid sketch dimensions");
+        }
+        this.depth = depth;
+        this.width = width;
+        this.slices = slices;
+        this.sliceMillis = windowMillis / slices;
+        this.sliceCounts = new int[slices][depth * width];
+        this.total = new int[depth * width];
+    }
+
+    /**
+     * Count one occurrence of the key at nowMillis and return its count over the window, this one included
+     */
+    public synchronized int addAndEstimate(long keyHash, long nowMillis) {
+        int[] slice = advanceTo(nowMillis);
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int cell = row * width + column(keyHash, row);
+            slice[cell]++;
+            estimate = Math.min(estimate, ++total[cell]);
+        }
+        return estimate;
+    }
+
+    /**
+     * Count of the key over the window ending at nowMillis
+     */
+    public synchronized int estimate(long keyHash, long nowMillis) {
+        advanceTo(nowMillis);
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, total[row * width + column(keyHash, row)]);
+        }
+        return estimate;
+    }
+
+    /**
+     * Bytes held by the counters
+     */
+    public long memoryBytes() {
+        return (long) (slices + 1) * depth * width * Integer.BYTES;
+    }
+
+    private int[] advanceTo(long nowMillis) {
+        long slice = Math.floorDiv(nowMillis, sliceMillis);
+        if (currentSlice == Long.MIN_VALUE) {
+            currentSlice = slice;
+        }
+        // Expire every slice the window has moved past (all of them after a long idle gap)
+        long steps = Math.min(slices, Math.max(0, slice - currentSlice));
+        for (long s = 1; s <= steps; s++) {
+            int[] expired = sliceCounts[(int) Math.floorMod(currentSlice + s, (long) slices)];
+            for (int i = 0; i < expired.length; i++) {
+                if (expired[i] != 0) {
+                    total[i] -= expired[i];
+                    expired[i] = 0;
+                }
+            }
+        }
+        currentSlice = Math.max(currentSlice, slice);
+        return sliceCounts[(int) Math.floorMod(currentSlice, (long) slices)];
+    }
+
+    private int column(long keyHash, int row) {
+        // Double hashing: row i uses h1 + i * h2
+        int h1 = (int) keyHash;
+        int h2 = (int) (keyHash >>> 32) | 1;
+        int combined = h1 + row * h2;
+        return (combined & Integer.MAX_VALUE) % width;
+    }
+}
@@ -0,0 +1,297 @@
+package com.radioawa.util;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Vote Matrix
+ * Sparse user × song matrix of +1 (thumbs up) / -1 (thumbs down) votes, stored twice: as
+ * per-user rows and per-song columns of primitive arrays, each addressed by dense ordinals.
+ *
+ * computeNeighbors() derives item-item similarity from co-votes: the cosine of two songs'
+ * vote columns, dot(i, j) / sqrt(votes(i) * votes(j)), where the dot product only runs over
+ * the users who voted on both. For one song it walks the song's voters and their rows into
+ * a dense per-thread accumulator (only touched slots are reset afterwards), then keeps the
+ * k most similar songs with at least minCoVotes shared voters. Songs are spread over the
+ * common fork/join pool; each task writes only its own songs' slots.
+ *
+ * Not thread-safe: the matrix must not change while neighbors are computed.
+ */
+public final class VoteMatrix {
+
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int INITIAL_ROW_CAPACITY = 4;
+    // Songs per fork/join leaf; column sizes are skewed, so small leaves keep the workers busy
+    private static final int LEAF_SIZE = 16;
+
+    private static final int[] NO_ORDINALS = new int[0];
+    private static final byte[] NO_VOTES = new byte[0];
+
+    private int[][] userItems = new int[INITIAL_CAPACITY][];
+    private byte[][] userValues = new byte[INITIAL_CAPACITY][];
+    private int[] userSizes = new int[INITIAL_CAPACITY];
+    private int userCount;
+
+    private int[][] itemUsers = new int[INITIAL_CAPACITY][];
+    private byte[][] itemValues = new byte[INITIAL_CAPACITY][];
+    private int[] itemSizes = new int[INITIAL_CAPACITY];
+    private int itemCount;
+
+    private long voteCount;
+
+    /**
+     * Nearest songs of one song, most similar first
+     */
+    public record Neighbors(int[] items, float[] scores) {
+        public static final Neighbors EMPTY = new Neighbors(NO_ORDINALS, new float[0]);
+
+        public int size() {
+            return items.length;
+        }
+    }
+
+    public int addUser() {
+        if (userCount == userSizes.length) {
+            int capacity = userCount * 2;
+            userItems = Arrays.copyOf(userItems, capacity);
+            userValues = Arrays.copyOf(userValues, capacity);
+            userSizes = Arrays.copyOf(userSizes, capacity);
+        }
+        userItems[userCount] = NO_ORDINALS;
+        userValues[userCount] = NO_VOTES;
+        return userCount++;
+    }
+
+    public int addItem() {
+        if (itemCount == itemSizes.length) {
+            int capacity = itemCount * 2;
+            itemUsers = Arrays.copyOf(itemUsers, capacity);
+            itemValues = Arrays.copyOf(itemValues, capacity);
+            itemSizes = Arrays.copyOf(itemSizes, capacity);
+        }
+        itemUsers[itemCount] = NO_ORDINALS;
+        itemValues[itemCount] = NO_VOTES;
+        return itemCount++;
+    }
+
+    public int userCount() {
+        return userCount;
+    }
+
+    public int itemCount() {
+        return itemCount;
+    }
+
+    public long voteCount() {
+        return voteCount;
+    }
+
+    public int userVotes(int user) {
+        return userSizes[user];
+    }
+
+    public int itemVotes(int item) {
+        return itemSizes[item];
+    }
+
+    /**
+     * Record a user's vote on a song
+     * @param value +1 or -1
+     * @return the previous vote, or 0 if the user had not voted on the song
+     */
+    public int set(int user, int item, int value) {
+        if (value != 1 && value != -1) {
+            throw new IllegalArgumentException("Votes are +1 or -1: " + value);
+        }
+        int[] items = userItems[user];
+        int size = userSizes[user];
+        for (int k = 0; k < size; k++) {
+            if (items[k] == item) {
+                int previous = userValues[user][k];
+                if (previous != value) {
+                    userValues[user][k] = (byte) value;
+                    updateColumn(item, user, value);
+                }
+                return previous;
+            }
+        }
+        appendToRow(user, item, value);
+        appendToColumn(item, user, value);
+        voteCount++;
+        return 0;
+    }
+
+    /**
+     * Copy the user's row: song ordinals in ascending order, and the vote on each
+     */
+    public int copyRow(int user, int[] itemsOut, byte[] valuesOut) {
+        int size = userSizes[user];
+        long[] sorted = new long[size];
+        for (int k = 0; k < size; k++) {
+            sorted[k] = ((long) userItems[user][k] << 8) | (userValues[user][k] & 0xff);
+        }
+        Arrays.sort(sorted);
+        for (int k = 0; k < size; k++) {
+            itemsOut[k] = (int) (sorted[k] >>> 8);
+            valuesOut[k] = (byte) sorted[k];
+        }
+        return size;
+    }
+
+    /**
+     * Compute the neighbors of the given songs in parallel on the common fork/join pool
+     * @param items song ordinals to compute
+     * @param out receives each song's neighbors at its ordinal; must hold itemCount() slots
+     * @param k neighbors kept per song
+     * @param minCoVotes shared voters needed before a similarity is trusted
+     * @param maxUserVotes users with more votes are left out of co-votes (they pair with everything)
+     */
+    public void computeNeighbors(int[] items, Neighbors[] out, int k, int minCoVotes, int maxUserVotes) {
+        if (out.length < itemCount) {
+            throw new IllegalArgumentException("Need " + itemCount + " output slots, got " + out.length);
+        }
+        int songs = itemCount;
+        ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(() -> new Scratch(songs, k));
+        ForkJoinPool.commonPool().invoke(
+                new NeighborTask(items, 0, items.length, out, scratch, minCoVotes, maxUserVotes));
+    }
+
+    private Neighbors neighbors(int item, Scratch scratch, int minCoVotes, int maxUserVotes) {
+        double[] dot = scratch.dot;
+        int[] coVotes = scratch.coVotes;
+        int[] touched = scratch.touched;
+        int touchedCount = 0;
+
+        int[] voters = itemUsers[item];
+        byte[] voterValues = itemValues[item];
+        for (int v = 0; v < itemSizes[item]; v++) {
+            int user = voters[v];
+            int rowSize = userSizes[user];
+            if (rowSize > maxUserVotes) {
+                continue;
+            }
+            int vote = voterValues[v];
+            int[] row = userItems[user];
+            byte[] rowValues = userValues[user];
+            for (int r = 0; r < rowSize; r++) {
+                int other = row[r];
+                if (other == item) {
+                    continue;
+                }
+                if (coVotes[other]++ == 0) {
+                    touched[touchedCount++] = other;
+                }
+                dot[other] += vote * rowValues[r];
+            }
+        }
+
+        TopK top = scratch.top;
+        top.clear();
+        double norm = itemSizes[item];
+        for (int t = 0; t < touchedCount; t++) {
+            int other = touched[t];
+            // Songs the co-voters mostly disagree on are not neighbors
+            if (coVotes[other] >= minCoVotes && dot[other] > 0) {
+                top.offer(other, (float) (dot[other] / Math.sqrt(norm * itemSizes[other])));
+            }
+            dot[other] = 0;
+            coVotes[other] = 0;
+        }
+        if (top.size() == 0) {
+            return Neighbors.EMPTY;
+        }
+        int count = top.drain(scratch.ids, scratch.scores);
+        return new Neighbors(Arrays.copyOf(scratch.ids, count), Arrays.copyOf(scratch.scores, count));
+    }
+
+    private void appendToRow(int user, int item, int value) {
+        int size = userSizes[user];
+        if (size == userItems[user].length) {
+            int capacity = Math.max(INITIAL_ROW_CAPACITY, size * 2);
+            userItems[user] = Arrays.copyOf(userItems[user], capacity);
+            userValues[user] = Arrays.copyOf(userValues[user], capacity);
+        }
+        userItems[user][size] = item;
+        userValues[user][size] = (byte) value;
+        userSizes[user] = size + 1;
+    }
+
+    private void appendToColumn(int item, int user, int value) {
+        int size = itemSizes[item];
+        if (size == itemUsers[item].length) {
+            int capacity = Math.max(INITIAL_ROW_CAPACITY, size * 2);
+            itemUsers[item] = Arrays.copyOf(itemUsers[item], capacity);
+            itemValues[item] = Arrays.copyOf(itemValues[item], capacity);
+        }
+        itemUsers[item][size] = user;
+        itemValues[item][size] = (byte) value;
+        itemSizes[item] = size + 1;
+    }
+
+    private void updateColumn(int item, int user, int value) {
+        int[] users = itemUsers[item];
+        for (int k = 0; k < itemSizes[item]; k++) {
+            if (users[k] == user) {
+                itemValues[item][k] = (byte) value;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Per-thread working memory: dense accumulators indexed by song ordinal, kept zeroed between songs
+     */
+    private static final class Scratch {
+        private final double[] dot;
+        private final int[] coVotes;
+        private final int[] touched;
+        private final TopK top;
+        private final int[] ids;
+        private final float[] scores;
+
+        private Scratch(int items, int k) {
+            this.dot = new double[items];
+            this.coVotes = new int[items];
+            this.touched = new int[items];
+            this.top = new TopK(k);
+            this.ids = new int[k];
+            this.scores = new float[k];
+        }
+    }
+
+    private final class NeighborTask extends RecursiveAction {
+        private final int[] items;
+        private final int from;
+        private final int to;
+        private final Neighbors[] out;
+        private final ThreadLocal<Scratch> scratch;
+        private final int minCoVotes;
+        private final int maxUserVotes;
+
+        private NeighborTask(int[] items, int from, int to, Neighbors[] out, ThreadLocal<Scratch> scratch,
+                             int minCoVotes, int maxUserVotes) {
+            this.items = items;
+            this.from = from;
+            this.to = to;
+            this.out = out;
+            this.scratch = scratch;
+            this.minCoVotes = minCoVotes;
+            this.maxUserVotes = maxUserVotes;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= LEAF_SIZE) {
+                Scratch local = scratch.get();
+                for (int i = from; i < to; i++) {
+                    out[items[i]] = neighbors(items[i], local, minCoVotes, maxUserVotes);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new NeighborTask(items, from, mid, out, scratch, minCoVotes, maxUserVotes),
+                    new NeighborTask(items, mid, to, out, scratch, minCoVotes, maxUserVotes));
+        }
+    }
+}
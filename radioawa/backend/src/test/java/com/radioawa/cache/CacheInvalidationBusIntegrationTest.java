@@ -0,0 +1,130 @@
+package com.radioawa.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for CacheInvalidationBus
+ * Two buses on one PostgreSQL instance stand in for two backend nodes.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("Cache Invalidation Bus Integration Tests")
+class CacheInvalidationBusIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private CacheInvalidationBus nodeA;
+    private CacheInvalidationBus nodeB;
+    private RecordingListener listenerA;
+    private RecordingListener listenerB;
+
+    @BeforeEach
+    void setUp() {
+        nodeA = createBus();
+        nodeB = createBus();
+        listenerA = new RecordingListener();
+        listenerB = new RecordingListener();
+        nodeA.subscribe(listenerA);
+        nodeB.subscribe(listenerB);
+        nodeA.start();
+        nodeB.start();
+
+        awaitTrue(() -> nodeA.isConnected() && nodeB.isConnected());
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodeA.stop();
+        nodeB.stop();
+    }
+
+    @Test
+    @DisplayName("Should deliver invalidations to other nodes and evict locally once")
+    void publish_reachesOtherNode() {
+        nodeA.publish(CacheTopic.ARTWORK, "Arijit Singh|Tum Hi Ho");
+
+        awaitTrue(() -> listenerB.invalidations.contains("ARTWORK:Arijit Singh|Tum Hi Ho"));
+        // The publishing node evicts directly and ignores its own notification
+        assertThat(listenerA.invalidations).containsExactly("ARTWORK:Arijit Singh|Tum Hi Ho");
+    }
+
+    @Test
+    @DisplayName("Should reconnect and resync after the listen connection is killed")
+    void lostConnection_reconnectsAndResyncs() {
+        int resyncsBefore = listenerB.resyncs.get();
+
+        new JdbcTemplate(new DriverManagerDataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword()))
+                .queryForList("SELECT pg_terminate_backend(pid) FROM pg_stat_activity " +
+                        "WHERE application_name = 'radioawa-cache-listener'");
+
+        awaitTrue(() -> listenerB.resyncs.get() > resyncsBefore && nodeB.isConnected());
+
+        nodeA.publish(CacheTopic.STATION, "ENGLISH");
+        awaitTrue(() -> listenerB.invalidations.contains("STATION:ENGLISH"));
+    }
+
+    @Test
+    @DisplayName("Should deliver notifications sent by database triggers to every node")
+    void databaseNotification_reachesAllNodes() {
+        // Same payload as the stations_notify trigger in DEPLOYMENT.md
+        new JdbcTemplate(new DriverManagerDataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword()))
+                .queryForList("SELECT pg_notify('radioawa_cache_test', 'db:STATION:*')");
+
+        awaitTrue(() -> listenerA.invalidations.contains("STATION:*") && listenerB.invalidations.contains("STATION:*"));
+    }
+
+    // Helper methods
+
+    private CacheInvalidationBus createBus() {
+        return new CacheInvalidationBus(
+                new DriverManagerDataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword()),
+                new SimpleMeterRegistry(), true, "radioawa_cache_test",
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword(), 1000, 100);
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("Condition not met within 10s");
+            }
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError(e);
+            }
+        }
+    }
+
+    static class RecordingListener implements CacheInvalidationListener {
+        final List<String> invalidations = new CopyOnWriteArrayList<>();
+        final AtomicInteger resyncs = new AtomicInteger();
+
+        @Override
+        public void onInvalidate(CacheTopic topic, String key) {
+            invalidations.add(topic + ":" + key);
+        }
+
+        @Override
+        public void onResync() {
+            resyncs.incrementAndGet();
+        }
+    }
+}
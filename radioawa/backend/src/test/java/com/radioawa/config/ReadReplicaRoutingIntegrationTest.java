@@ -0,0 +1,224 @@
+package com.radioawa.config;
+
+import com.radioawa.dto.RatingCountsResponse;
+import com.radioawa.dto.RatingRequest;
+import com.radioawa.entity.RatingType;
+import com.radioawa.entity.Song;
+import com.radioawa.entity.Station;
+import com.radioawa.repository.SongRepository;
+import com.radioawa.repository.StationRepository;
+import com.radioawa.service.RatingService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for read-replica routing
+ * Runs two independent PostgreSQL instances; the "replica" is seeded with different
+ * counts than the primary so each assertion can tell which pool served the read.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("Read Replica Routing Integration Tests")
+class ReadReplicaRoutingIntegrationTest {
+
+    private static final List<String> TABLES = List.of("stations", "songs", "ratings");
+
+    @Container
+    static PostgreSQLContainer<?> primary = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Container
+    static PostgreSQLContainer<?> replica = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", primary::getJdbcUrl);
+        registry.add("spring.datasource.username", primary::getUsername);
+        registry.add("spring.datasource.password", primary::getPassword);
+        registry.add("spring.datasource.driverClassName", () -> "org.postgresql.Driver");
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.PostgreSQLDialect");
+        registry.add("app.datasource.replica.enabled", () -> "true");
+        registry.add("app.datasource.replica.url", replica::getJdbcUrl);
+        registry.add("app.datasource.replica.username", replica::getUsername);
+        registry.add("app.datasource.replica.password", replica::getPassword);
+        registry.add("app.datasource.replica.max-lag-ms", () -> "1000");
+        // Lag is driven by the test instead of pg_last_xact_replay_timestamp()
+        registry.add("app.datasource.replica.lag-query", () -> "SELECT lag_ms FROM replica_lag");
+        registry.add("app.datasource.replica.check-interval-ms", () -> "3600000");
+        // Each read below must reach a pool, not the counts micro-cache
+        registry.add("app.ratings.counts.cache-ttl-ms", () -> "0");
+    }
+
+    @Autowired
+    private RatingService ratingService;
+
+    @Autowired
+    private StationRepository stationRepository;
+
+    @Autowired
+    private SongRepository songRepository;
+
+    @Autowired
+    private ReplicaHealthMonitor replicaHealthMonitor;
+
+    private JdbcTemplate primaryJdbc;
+    private JdbcTemplate replicaJdbc;
+
+    @BeforeEach
+    void setUp() {
+        primaryJdbc = new JdbcTemplate(new DriverManagerDataSource(
+                primary.getJdbcUrl(), primary.getUsername(), primary.getPassword()));
+        replicaJdbc = new JdbcTemplate(new DriverManagerDataSource(
+                replica.getJdbcUrl(), replica.getUsername(), replica.getPassword()));
+
+        copySchemaToReplica();
+        primaryJdbc.execute("TRUNCATE ratings, songs, stations RESTART IDENTITY");
+        replicaJdbc.execute("TRUNCATE ratings, songs, stations RESTART IDENTITY");
+
+        replicaJdbc.execute("CREATE TABLE IF NOT EXISTS replica_lag (lag_ms BIGINT NOT NULL)");
+        replicaJdbc.execute("DELETE FROM replica_lag");
+        replicaJdbc.update("INSERT INTO replica_lag (lag_ms) VALUES (0)");
+
+        Station station = stationRepository.save(createStation("ENGLISH"));
+        songRepository.save(createSong(station, 1, 0));
+
+        replicaJdbc.update("INSERT INTO stations (code, name, stream_url, metadata_url, is_active, display_order, created_at) " +
+                "VALUES ('ENGLISH', 'RadioAwa English', 'https://example.com/live.m3u8', '/api/metadata/english', true, 1, now())");
+        replicaJdbc.update("INSERT INTO stations (code, name, stream_url, metadata_url, is_active, display_order, created_at) " +
+                "VALUES ('REPLICA_ONLY', 'Replica Only', 'https://example.com/live.m3u8', '/api/metadata/english', true, 2, now())");
+        replicaJdbc.update("INSERT INTO songs (station_id, artist, title, thumbs_up_count, thumbs_down_count, created_at) " +
+                "SELECT id, 'Test Artist', 'Test Song', 42, 7, now() FROM stations WHERE code = 'ENGLISH'");
+
+        replicaHealthMonitor.checkReplica();
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Should serve read-only rating counts from the replica")
+    void readOnlyCounts_servedFromReplica() {
+        RatingCountsResponse response = ratingService.getRatingCounts("ENGLISH", "Test Artist", "Test Song", "user-123");
+
+        assertThat(replicaHealthMonitor.isReplicaUsable()).isTrue();
+        assertThat(response.getThumbsUpCount()).isEqualTo(42);
+        assertThat(response.getThumbsDownCount()).isEqualTo(7);
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Should serve read-only station lookups from the replica")
+    void stationLookup_servedFromReplica() {
+        assertThat(stationRepository.findByCode("REPLICA_ONLY")).isPresent();
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Should fall back to the primary when replica lag exceeds the tolerance")
+    void laggingReplica_fallsBackToPrimary() {
+        replicaJdbc.update("UPDATE replica_lag SET lag_ms = 60000");
+        replicaHealthMonitor.checkReplica();
+
+        RatingCountsResponse response = ratingService.getRatingCounts("ENGLISH", "Test Artist", "Test Song", null);
+
+        assertThat(replicaHealthMonitor.isReplicaUsable()).isFalse();
+        assertThat(response.getThumbsUpCount()).isEqualTo(1);
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Should always send writes to the primary")
+    void submitRating_writesToPrimary() {
+        RatingRequest request = new RatingRequest();
+        request.setStationCode("ENGLISH");
+        request.setArtist("Test Artist");
+        request.setTitle("Test Song");
+        request.setUserId("user-123");
+        request.setRatingType(RatingType.THUMBS_UP);
+        request.setIpAddress("10.0.0.1");
+
+        ratingService.submitRating(request);
+
+        assertThat(primaryJdbc.queryForObject("SELECT COUNT(*) FROM ratings", Long.class)).isEqualTo(1L);
+        assertThat(replicaJdbc.queryForObject("SELECT COUNT(*) FROM ratings", Long.class)).isZero();
+    }
+
+    @Test
+    @Order(5)
+    @DisplayName("Should fall back to the primary when the replica is down")
+    void replicaDown_fallsBackToPrimary() {
+        replica.stop();
+
+        RatingCountsResponse response = ratingService.getRatingCounts("ENGLISH", "Test Artist", "Test Song", null);
+
+        assertThat(response.getThumbsUpCount()).isEqualTo(1);
+        assertThat(replicaHealthMonitor.isReplicaUsable()).isFalse();
+    }
+
+    // Helper methods
+
+    /**
+     * Recreate the Hibernate-generated tables on the replica (columns only, no constraints)
+     */
+    private void copySchemaToReplica() {
+        for (String table : TABLES) {
+            List<Map<String, Object>> columns = primaryJdbc.queryForList(
+                    "SELECT column_name, data_type, character_maximum_length FROM information_schema.columns " +
+                    "WHERE table_schema = 'public' AND table_name = ? ORDER BY ordinal_position", table);
+
+            String columnDefinitions = columns.stream()
+                    .map(column -> {
+                        String name = (String) column.get("column_name");
+                        String type = (String) column.get("data_type");
+                        Object length = column.get("character_maximum_length");
+                        if ("id".equals(name)) {
+                            return "id BIGSERIAL PRIMARY KEY";
+                        }
+                        return name + " " + type + (length != null ? "(" + length + ")" : "");
+                    })
+                    .collect(Collectors.joining(", "));
+
+            replicaJdbc.execute("CREATE TABLE IF NOT EXISTS " + table + " (" + columnDefinitions + ")");
+        }
+    }
+
+    private Station createStation(String code) {
+        Station station = new Station();
+        station.setCode(code);
+        station.setName("RadioAwa English");
+        station.setStreamUrl("https://example.com/live.m3u8");
+        station.setMetadataUrl("/api/metadata/english");
+        station.setIsActive(true);
+        station.setDisplayOrder(1);
+        return station;
+    }
+
+    private Song createSong(Station station, int thumbsUp, int thumbsDown) {
+        Song song = new Song();
+        song.setStation(station);
+        song.setArtist("Test Artist");
+        song.setTitle("Test Song");
+        song.setThumbsUpCount(thumbsUp);
+        song.setThumbsDownCount(thumbsDown);
+        return song;
+    }
+}
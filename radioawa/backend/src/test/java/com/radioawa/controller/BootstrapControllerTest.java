@@ -0,0 +1,163 @@
+package com.radioawa.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.radioawa.entity.Song;
+import com.radioawa.entity.Station;
+import com.radioawa.repository.RatingRepository;
+import com.radioawa.repository.SongRepository;
+import com.radioawa.repository.StationRepository;
+import com.radioawa.service.RatingCountsCache;
+import com.radioawa.service.StationCatalog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for BootstrapController
+ * Calls the real server so response compression (done by the connector) is covered too.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "app.album-art.itunes-url=http://127.0.0.1:1/search",
+        "app.metadata.english-url=http://127.0.0.1:1/metadatav2.json"
+})
+@ActiveProfiles("test")
+@DisplayName("BootstrapController Tests")
+class BootstrapControllerTest {
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private MetadataProxyController metadataProxyController;
+
+    @Autowired
+    private StationCatalog stationCatalog;
+
+    @Autowired
+    private StationRepository stationRepository;
+
+    @Autowired
+    private SongRepository songRepository;
+
+    @Autowired
+    private RatingRepository ratingRepository;
+
+    @Autowired
+    private RatingCountsCache ratingCountsCache;
+
+    private Station hindi;
+
+    @BeforeEach
+    void setUp() {
+        ratingRepository.deleteAll();
+        songRepository.deleteAll();
+        stationRepository.deleteAll();
+        stationRepository.save(createStation("ENGLISH", "/api/metadata/english", 1));
+        hindi = stationRepository.save(createStation("HINDI", "/api/metadata/hindi", 2));
+        stationCatalog.onResync();
+    }
+
+    @Test
+    @DisplayName("Should assemble stations, now playing and rating counts for the requested station")
+    void bootstrap_returnsAllParts() throws Exception {
+        Map<String, Object> playing = metadataProxyController.getHindiMetadata().getBody();
+        songRepository.save(createSong(hindi, playing.get("artist").toString(), playing.get("title").toString()));
+        // Other tests may have cached "no counts" for this song before it was saved
+        ratingCountsCache.evict("HINDI", playing.get("artist").toString(), playing.get("title").toString());
+
+        JsonNode body = bootstrap("?stationCode=HINDI&userId=user-1");
+
+        assertThat(body.get("stationCode").asText()).isEqualTo("HINDI");
+        assertThat(body.get("health").get("status").asText()).isEqualTo("ok");
+        assertThat(body.get("health").get("data").get("status").asText()).isEqualTo("UP");
+        assertThat(body.get("environment").get("status").asText()).isEqualTo("ok");
+        assertThat(body.get("stations").get("source").asText()).isEqualTo("snapshot");
+        assertThat(body.get("stations").get("data")).hasSize(2);
+        assertThat(body.get("nowPlaying").get("source").asText()).isEqualTo("playlist");
+        assertThat(body.get("nowPlaying").get("data").get("title").asText()).isEqualTo(playing.get("title"));
+        assertThat(body.get("nowPlaying").get("ageMs").asLong()).isNotNegative();
+        assertThat(body.get("ratingCounts").get("status").asText()).isEqualTo("ok");
+        assertThat(body.get("ratingCounts").get("data").get("thumbsUpCount").asInt()).isEqualTo(3);
+        assertThat(body.get("ratingCounts").get("data").get("thumbsDownCount").asInt()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should fall back to the first active station for an unknown code")
+    void bootstrap_unknownStation_selectsFirstActive() throws Exception {
+        JsonNode body = bootstrap("?stationCode=TAMIL");
+
+        assertThat(body.get("stationCode").asText()).isEqualTo("ENGLISH");
+        // CloudFront is unreachable in tests: fallback metadata, and no counts for it
+        assertThat(body.get("nowPlaying").get("source").asText()).isEqualTo("fallback");
+        assertThat(body.get("ratingCounts").get("status").asText()).isEqualTo("unavailable");
+    }
+
+    @Test
+    @DisplayName("Should gzip the response when the client accepts it")
+    void bootstrap_isCompressed() throws Exception {
+        HttpResponse<InputStream> response = httpClient.send(request("?stationCode=HINDI"), HttpResponse.BodyHandlers.ofInputStream());
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("Content-Encoding")).contains("gzip");
+        try (InputStream body = new GZIPInputStream(response.body())) {
+            assertThat(objectMapper.readTree(body).get("stationCode").asText()).isEqualTo("HINDI");
+        }
+    }
+
+    // Helper methods
+
+    private JsonNode bootstrap(String query) throws Exception {
+        HttpResponse<InputStream> response = httpClient.send(request(query), HttpResponse.BodyHandlers.ofInputStream());
+        assertThat(response.statusCode()).isEqualTo(200);
+        boolean gzip = response.headers().firstValue("Content-Encoding").filter("gzip"::equals).isPresent();
+        try (InputStream body = gzip ? new GZIPInputStream(response.body()) : response.body()) {
+            return objectMapper.readTree(body);
+        }
+    }
+
+    private HttpRequest request(String query) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/bootstrap" + query))
+                .header("Accept-Encoding", "gzip")
+                .GET()
+                .build();
+    }
+
+    private Station createStation(String code, String metadataUrl, int displayOrder) {
+        Station station = new Station();
+        station.setCode(code);
+        station.setName("RadioAwa " + code);
+        station.setStreamUrl("https://example.com/" + code.toLowerCase() + ".m3u8");
+        station.setMetadataUrl(metadataUrl);
+        station.setIsActive(true);
+        station.setDisplayOrder(displayOrder);
+        return station;
+    }
+
+    private Song createSong(Station station, String artist, String title) {
+        Song song = new Song();
+        song.setStation(station);
+        song.setArtist(artist);
+        song.setTitle(title);
+        song.setThumbsUpCount(3);
+        song.setThumbsDownCount(1);
+        return song;
+    }
+}
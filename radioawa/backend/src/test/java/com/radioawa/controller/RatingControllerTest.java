@@ -5,14 +5,20 @@ import com.radioawa.dto.RatingCountsResponse;
 import com.radioawa.dto.RatingRequest;
 import com.radioawa.dto.RatingResponse;
 import com.radioawa.entity.RatingType;
+import com.radioawa.service.RatingIngestPipeline;
 import com.radioawa.service.RatingService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.Tracer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.util.concurrent.CompletableFuture;
+
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -30,7 +36,9 @@ class RatingControllerTest {
     @BeforeEach
     void setUp() {
         ratingService = new MockRatingService();
-        RatingController controller = new RatingController(ratingService);
+        RatingIngestPipeline ingestPipeline = new RatingIngestPipeline(
+            ratingService, null, new SimpleMeterRegistry(), RatingIngestPipeline.MODE_DIRECT, 1, 1, 1, 1, 1);
+        RatingController controller = new RatingController(ratingService, ingestPipeline);
         mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
         objectMapper = new ObjectMapper();
     }
@@ -40,9 +48,13 @@ class RatingControllerTest {
     void submitRating_validPayload_returns200() throws Exception {
         RatingRequest request = createValidRequest();
 
-        mockMvc.perform(post("/api/ratings")
+        MvcResult result = mockMvc.perform(post("/api/ratings")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(request)))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
             .andExpect(status().isOk())
             .andExpect(jsonPath("$.artist").value("Test Artist"))
             .andExpect(jsonPath("$.title").value("Test Song"))
@@ -56,13 +68,34 @@ class RatingControllerTest {
         RatingRequest request = createValidRequest();
         request.setRatingType(RatingType.THUMBS_DOWN);
 
-        mockMvc.perform(post("/api/ratings")
+        MvcResult result = mockMvc.perform(post("/api/ratings")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(request)))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
             .andExpect(status().isOk())
             .andExpect(jsonPath("$.userRating").value("THUMBS_DOWN"));
     }
 
+    @Test
+    @DisplayName("Should answer asynchronously in batched ingest mode")
+    void submitRating_batchedMode_returnsAsync() throws Exception {
+        RatingController controller = new RatingController(ratingService, new ImmediateIngestPipeline(ratingService));
+        MockMvc batchedMockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+
+        MvcResult result = batchedMockMvc.perform(post("/api/ratings")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(createValidRequest())))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        batchedMockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.userRating").value("THUMBS_UP"));
+    }
+
     @Test
     @DisplayName("Should get rating counts")
     void getRatingCounts_success() throws Exception {
@@ -104,7 +137,7 @@ class RatingControllerTest {
     static class MockRatingService extends RatingService {
         public MockRatingService() {
             // Create with null repositories - won't be used in these tests
-            super(null, null, null);
+            super(null, null, null, null, null, null, null, null, new SimpleMeterRegistry(), Tracer.NOOP);
         }
 
         @Override
@@ -132,4 +165,21 @@ class RatingControllerTest {
             );
         }
     }
+
+    /**
+     * Batched pipeline that applies each vote as soon as it is submitted
+     */
+    static class ImmediateIngestPipeline extends RatingIngestPipeline {
+        private final RatingService ratingService;
+
+        ImmediateIngestPipeline(RatingService ratingService) {
+            super(ratingService, null, new SimpleMeterRegistry(), MODE_BATCHED, 1, 1, 1, 1, 1);
+            this.ratingService = ratingService;
+        }
+
+        @Override
+        public CompletableFuture<RatingResponse> submit(RatingRequest request) {
+            return CompletableFuture.completedFuture(ratingService.submitRating(request));
+        }
+    }
 }
@@ -0,0 +1,134 @@
+package com.radioawa.service;
+
+import com.radioawa.cache.CacheInvalidationBus;
+import com.radioawa.dto.BootstrapResponse;
+import com.radioawa.dto.StationResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.Tracer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for BootstrapService
+ * Uses a fixed station catalog and a metadata service that blocks until released
+ */
+@DisplayName("BootstrapService Tests")
+class BootstrapServiceTest {
+
+    private BootstrapService bootstrapService;
+    private BlockingMetadataService metadataService;
+
+    @AfterEach
+    void tearDown() {
+        metadataService.release.countDown();
+        bootstrapService.stop();
+    }
+
+    @Test
+    @DisplayName("Should assemble in-memory parts and time out slow metadata, cancelling its task")
+    void bootstrap_slowMetadata_timesOutAndCancels() throws Exception {
+        metadataService = new BlockingMetadataService(true);
+        bootstrapService = createService(2, 4);
+
+        BootstrapResponse response = bootstrapService.bootstrap("HINDI", null);
+
+        assertThat(response.getStationCode()).isEqualTo("HINDI");
+        assertThat(response.getStations().getStatus()).isEqualTo("ok");
+        assertThat(response.getEnvironment().getStatus()).isEqualTo("ok");
+        assertThat(response.getHealth().getData()).containsEntry("status", "UP");
+        assertThat(response.getNowPlaying().getStatus()).isEqualTo("timeout");
+        assertThat(response.getRatingCounts().getStatus()).isEqualTo("unavailable");
+        assertThat(metadataService.interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should report metadata unavailable when the pool's queue is full")
+    void bootstrap_queueFull_reportsUnavailable() {
+        metadataService = new BlockingMetadataService(false);
+        bootstrapService = createService(1, 1);
+
+        // The first call occupies the only thread and the second the only queue slot
+        bootstrapService.bootstrap("HINDI", null);
+        bootstrapService.bootstrap("HINDI", null);
+        BootstrapResponse response = bootstrapService.bootstrap("HINDI", null);
+
+        assertThat(response.getStations().getStatus()).isEqualTo("ok");
+        assertThat(response.getNowPlaying().getStatus()).isEqualTo("unavailable");
+        assertThat(response.getRatingCounts().getStatus()).isEqualTo("unavailable");
+    }
+
+    // Helper methods
+
+    private BootstrapService createService(int threads, int queueCapacity) {
+        return new BootstrapService(new EnvironmentService(), new FixedStationCatalog(), metadataService, null,
+                100, threads, queueCapacity);
+    }
+
+    private static CacheInvalidationBus localInvalidationBus() {
+        return new CacheInvalidationBus(null, new SimpleMeterRegistry(), false, "radioawa_cache",
+                "jdbc:h2:mem:bootstrap", "", "", 10000, 1000);
+    }
+
+    /**
+     * One active station, without a database
+     */
+    static class FixedStationCatalog extends StationCatalog {
+        private final StationResponse hindi = new StationResponse(1L, "HINDI", "RadioAwa Hindi",
+                "https://example.com/hindi.m3u8", "/api/metadata/hindi", true, 1,
+                null, null, null, null, null, null, null, null, null);
+
+        FixedStationCatalog() {
+            super(null, localInvalidationBus(), false, Long.MAX_VALUE);
+        }
+
+        @Override
+        public List<StationResponse> findActive() {
+            return List.of(hindi);
+        }
+
+        @Override
+        public Instant loadedAt() {
+            return Instant.now();
+        }
+    }
+
+    /**
+     * Metadata that never arrives before release; optionally gives up when interrupted
+     */
+    static class BlockingMetadataService extends StationMetadataService {
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch interrupted = new CountDownLatch(1);
+        private final boolean interruptible;
+
+        BlockingMetadataService(boolean interruptible) {
+            super(null, null, new RestTemplateBuilder(), "http://127.0.0.1:1/metadatav2.json", 0, 1000, Tracer.NOOP);
+            this.interruptible = interruptible;
+        }
+
+        @Override
+        public Optional<StationMetadata> currentMetadata(String metadataUrl) {
+            while (true) {
+                try {
+                    release.await();
+                    return Optional.empty();
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                    if (interruptible) {
+                        Thread.currentThread().interrupt();
+                        return Optional.empty();
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.radioawa.service;
+
+import com.radioawa.dto.ImportResultResponse;
+import com.radioawa.dto.RatingRequest;
+import com.radioawa.entity.RatingType;
+import com.radioawa.entity.Song;
+import com.radioawa.entity.Station;
+import com.radioawa.repository.RatingRepository;
+import com.radioawa.repository.SongRepository;
+import com.radioawa.repository.StationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Integration tests for BulkImportService
+ * COPY is PostgreSQL-only, so these run against a Testcontainers instance instead of H2.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("Bulk Import Integration Tests")
+class BulkImportServiceIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.driverClassName", () -> "org.postgresql.Driver");
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.PostgreSQLDialect");
+    }
+
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    @Autowired
+    private StationRepository stationRepository;
+
+    @Autowired
+    private SongRepository songRepository;
+
+    @Autowired
+    private RatingRepository ratingRepository;
+
+    @Autowired
+    private RatingService ratingService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ratingRepository.deleteAll();
+        songRepository.deleteAll();
+        stationRepository.deleteAll();
+        importStations("""
+                code,name,stream_url,metadata_url,display_order
+                ENGLISH,RadioAwa English,https://example.com/en.m3u8,/api/metadata/english,1
+                HINDI,RadioAwa Hindi,https://example.com/hi.m3u8,/api/metadata/hindi,2
+                """);
+    }
+
+    @Test
+    @DisplayName("Should import CSV songs, keep the last duplicate and skip unknown stations")
+    void importCsv_duplicatesAndUnknownStation() throws Exception {
+        ImportResultResponse result = importSongs(ImportFormat.CSV, false, """
+                station_code,artist,title,thumbs_up_count,thumbs_down_count
+                ENGLISH,Artist A,Song 1,1,0
+                ENGLISH,Artist A,Song 1,5,2
+                HINDI,Artist B,"Song, with comma",0,0
+                UNKNOWN,Artist C,Song 3,0,0
+                """);
+
+        assertThat(result.getRowsStaged()).isEqualTo(4);
+        assertThat(result.getInserted()).isEqualTo(2);
+        assertThat(result.getSkipped()).isEqualTo(2);
+        Song song = findSong("Artist A", "Song 1");
+        assertThat(song.getThumbsUpCount()).isEqualTo(5);
+        assertThat(song.getNetScore()).isEqualTo(3);
+        assertThat(findSong("Artist B", "Song, with comma")).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should keep existing songs' counts on both skip and update")
+    void importNdjson_conflictModes() throws Exception {
+        String ndjson = """
+                {"station_code":"ENGLISH","artist":"Artist A","title":"Song 1","thumbs_up_count":1}
+                """;
+        importSongs(ImportFormat.NDJSON, false, ndjson);
+
+        String changed = """
+                {"station_code":"ENGLISH","artist":"Artist A","title":"Song 1","thumbs_up_count":9}
+                """;
+        ImportResultResponse skipped = importSongs(ImportFormat.NDJSON, false, changed);
+        assertThat(skipped.getSkipped()).isEqualTo(1);
+        assertThat(findSong("Artist A", "Song 1").getThumbsUpCount()).isEqualTo(1);
+
+        ImportResultResponse updated = importSongs(ImportFormat.NDJSON, true, changed);
+        assertThat(updated.getUpdated()).isZero();
+        assertThat(updated.getSkipped()).isEqualTo(1);
+        assertThat(findSong("Artist A", "Song 1").getThumbsUpCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should keep vote counts when a catalog-only file is re-imported with update")
+    void importCsv_updateOverVotedSongs_keepsCounts() throws Exception {
+        importSongs(ImportFormat.CSV, false, """
+                station_code,artist,title
+                ENGLISH,Artist A,Song 1
+                """);
+        vote("user-1", RatingType.THUMBS_UP);
+        vote("user-2", RatingType.THUMBS_UP);
+        vote("user-3", RatingType.THUMBS_DOWN);
+
+        ImportResultResponse result = importSongs(ImportFormat.CSV, true, """
+                station_code,artist,title
+                ENGLISH,Artist A,Song 1
+                ENGLISH,Artist B,Song 2
+                """);
+
+        assertThat(result.getInserted()).isEqualTo(1);
+        Song song = findSong("Artist A", "Song 1");
+        assertThat(song.getThumbsUpCount()).isEqualTo(2);
+        assertThat(song.getThumbsDownCount()).isEqualTo(1);
+        assertThat(song.getNetScore()).isEqualTo(1);
+        assertThat(ratingRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should only overwrite the station columns present in the file on update")
+    void importStations_partialUpdate_keepsOtherColumns() throws Exception {
+        importStations("""
+                code,name,stream_url,metadata_url,is_active,display_order,genre
+                TAMIL,RadioAwa Tamil,https://example.com/ta.m3u8,/api/metadata/tamil,false,3,Film
+                """);
+
+        ImportResultResponse result = bulkImportService.importFile(ImportTarget.STATIONS, ImportFormat.CSV, true,
+                toStream("""
+                        code,name,stream_url,metadata_url
+                        TAMIL,Radio Tamil,https://example.com/ta.m3u8,/api/metadata/tamil
+                        """));
+
+        assertThat(result.getUpdated()).isEqualTo(1);
+        Station tamil = stationRepository.findByCode("TAMIL").orElseThrow();
+        assertThat(tamil.getName()).isEqualTo("Radio Tamil");
+        assertThat(tamil.getIsActive()).isFalse();
+        assertThat(tamil.getDisplayOrder()).isEqualTo(3);
+        assertThat(tamil.getGenre()).isEqualTo("Film");
+    }
+
+    @Test
+    @DisplayName("Should reject the whole file when a value cannot be converted")
+    void importCsv_badValue_rollsBack() {
+        assertThatThrownBy(() -> importSongs(ImportFormat.CSV, false, """
+                station_code,artist,title,thumbs_up_count
+                ENGLISH,Artist A,Song 1,1
+                ENGLISH,Artist A,Song 2,lots
+                """)).isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(songRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reject a CSV header with unknown columns")
+    void importCsv_unknownColumn_rejected() {
+        assertThatThrownBy(() -> importSongs(ImportFormat.CSV, false, """
+                station_code,artist,title,album
+                ENGLISH,Artist A,Song 1,Album
+                """)).isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("album");
+    }
+
+    // Helper methods
+
+    private void importStations(String csv) throws Exception {
+        bulkImportService.importFile(ImportTarget.STATIONS, ImportFormat.CSV, false, toStream(csv));
+    }
+
+    private void vote(String userId, RatingType ratingType) {
+        RatingRequest request = new RatingRequest();
+        request.setStationCode("ENGLISH");
+        request.setArtist("Artist A");
+        request.setTitle("Song 1");
+        request.setUserId(userId);
+        request.setRatingType(ratingType);
+        ratingService.submitRating(request);
+    }
+
+    private ImportResultResponse importSongs(ImportFormat format, boolean updateExisting, String body) throws Exception {
+        return bulkImportService.importFile(ImportTarget.SONGS, format, updateExisting, toStream(body));
+    }
+
+    private Song findSong(String artist, String title) {
+        return songRepository.findAll().stream()
+                .filter(song -> song.getArtist().equals(artist) && song.getTitle().equals(title))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static InputStream toStream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,87 @@
+package com.radioawa.service;
+
+import com.radioawa.profiling.SnapshotRebuildEvent;
+import com.radioawa.profiling.UpstreamFetchEvent;
+import com.radioawa.profiling.VoteSubmissionEvent;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for FlightRecorderService
+ */
+@DisplayName("Flight Recorder Service Tests")
+class FlightRecorderServiceTest {
+
+    private final FlightRecorderService service = new FlightRecorderService(60, 16);
+
+    @AfterEach
+    void tearDown() {
+        service.discard();
+    }
+
+    @Test
+    @DisplayName("Should capture the application events in the dumped recording")
+    void stopAndDump_containsApplicationEvents() throws Exception {
+        service.start(Duration.ofSeconds(30), "default");
+
+        VoteSubmissionEvent vote = new VoteSubmissionEvent();
+        vote.begin();
+        vote.setStation("ENGLISH");
+        vote.setOutcome("success");
+        vote.setWriteNanos(1_000);
+        vote.commit();
+        UpstreamFetchEvent.cacheHit("itunes", "itunes.apple.com");
+        SnapshotRebuildEvent rebuild = new SnapshotRebuildEvent("stations");
+        rebuild.setEntries(2);
+        rebuild.commit();
+
+        Path file = service.stopAndDump();
+        try {
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().startsWith("com.radioawa."))
+                    .toList();
+
+            assertThat(events).extracting(event -> event.getEventType().getName())
+                    .contains("com.radioawa.VoteSubmission", "com.radioawa.UpstreamFetch", "com.radioawa.SnapshotRebuild");
+            RecordedEvent recordedVote = events.stream()
+                    .filter(event -> event.getEventType().getName().equals("com.radioawa.VoteSubmission"))
+                    .findFirst().orElseThrow();
+            assertThat(recordedVote.getString("station")).isEqualTo("ENGLISH");
+            assertThat(recordedVote.getString("outcome")).isEqualTo("success");
+        } finally {
+            Files.deleteIfExists(file);
+        }
+        assertThat(service.status()).containsEntry("state", "NONE");
+    }
+
+    @Test
+    @DisplayName("Should allow one running recording and cap its duration")
+    void start_singleBoundedRecording() {
+        service.start(Duration.ofHours(2), "profile");
+
+        assertThat(service.status())
+                .containsEntry("state", "RUNNING")
+                .containsEntry("durationSeconds", 60L);
+        assertThatThrownBy(() -> service.start(Duration.ofSeconds(10), "default"))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject unknown settings and stopping without a recording")
+    void start_rejectsInvalidRequests() {
+        assertThatThrownBy(() -> service.start(Duration.ofSeconds(10), "everything"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(service::stopAndDump).isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,162 @@
+package com.radioawa.service;
+
+import com.radioawa.service.IcyMetadataService.NowPlaying;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for IcyMetadataService against a local fake Icecast server
+ * The fake answers like Shoutcast v1 ("ICY 200 OK"), then streams silent audio with
+ * metadata blocks fed from a queue, so each test controls when titles change.
+ */
+@DisplayName("ICY Metadata Service Tests")
+class IcyMetadataServiceTest {
+
+    private static final int META_INT = 256;
+
+    private ServerSocket server;
+    private Thread serverThread;
+    private final BlockingQueue<String> titles = new LinkedBlockingQueue<>();
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private IcyMetadataService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        serverThread = new Thread(this::serve, "fake-icecast");
+        serverThread.setDaemon(true);
+        serverThread.start();
+
+        service = new IcyMetadataService(meterRegistry,
+                "hindi=http://127.0.0.1:" + server.getLocalPort() + "/live", 2000, 2000, 50, 200);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        service.stop();
+        server.close();
+    }
+
+    @Test
+    @DisplayName("Should publish track changes with history and ignore repeated titles")
+    void start_publishesTrackChanges() {
+        titles.add("Arijit Singh - Tum Hi Ho");
+        service.start();
+
+        awaitTrue(() -> service.nowPlaying("HINDI").isPresent());
+        NowPlaying first = service.nowPlaying("HINDI").orElseThrow();
+        assertThat(first.current().artist()).isEqualTo("Arijit Singh");
+        assertThat(first.current().title()).isEqualTo("Tum Hi Ho");
+        assertThat(first.recent()).isEmpty();
+
+        titles.add("Arijit Singh - Tum Hi Ho");
+        titles.add("Atif Aslam - Pehli Nazar Mein");
+        awaitTrue(() -> "Pehli Nazar Mein".equals(service.nowPlaying("HINDI").orElseThrow().current().title()));
+
+        NowPlaying second = service.nowPlaying("HINDI").orElseThrow();
+        assertThat(second.recent()).extracting(IcyMetadataService.Track::title).containsExactly("Tum Hi Ho");
+        assertThat(meterRegistry.counter("radioawa.metadata.icy.track_changes", "station", "HINDI").count()).isEqualTo(2);
+        assertThat(requests.get(0)).contains("GET /live HTTP/1.0").containsIgnoringCase("Icy-MetaData: 1");
+    }
+
+    @Test
+    @DisplayName("Should reconnect after the server drops the stream")
+    void start_reconnects() throws Exception {
+        titles.add("Neha Kakkar - Dilbar");
+        service.start();
+        awaitTrue(() -> service.nowPlaying("HINDI").isPresent());
+
+        titles.add("DISCONNECT");
+        titles.add("Sonu Nigam - Abhi Mujh Mein Kahin");
+        awaitTrue(() -> "Abhi Mujh Mein Kahin".equals(service.nowPlaying("HINDI").orElseThrow().current().title()));
+
+        assertThat(requests).hasSizeGreaterThanOrEqualTo(2);
+        assertThat(service.nowPlaying("ENGLISH")).isEmpty();
+    }
+
+    // Helper methods
+
+    private void serve() {
+        while (!server.isClosed()) {
+            try (Socket socket = server.accept()) {
+                requests.add(readRequest(socket.getInputStream()));
+                OutputStream out = socket.getOutputStream();
+                out.write("ICY 200 OK\r\nicy-name: Fake\r\nicy-metaint: 256\r\n\r\n".getBytes(StandardCharsets.ISO_8859_1));
+                while (true) {
+                    String title = titles.poll(20, TimeUnit.MILLISECONDS);
+                    if ("DISCONNECT".equals(title)) {
+                        break;
+                    }
+                    out.write(new byte[META_INT]);
+                    out.write(metadataBlock(title));
+                    out.flush();
+                }
+            } catch (IOException e) {
+                // Server closed or client went away
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private static String readRequest(InputStream in) throws IOException {
+        ByteArrayOutputStream request = new ByteArrayOutputStream();
+        int b;
+        while ((b = in.read()) != -1) {
+            request.write(b);
+            String text = request.toString(StandardCharsets.ISO_8859_1);
+            if (text.endsWith("\r\n\r\n")) {
+                return text;
+            }
+        }
+        return request.toString(StandardCharsets.ISO_8859_1);
+    }
+
+    private static byte[] metadataBlock(String title) {
+        if (title == null) {
+            return new byte[]{0};
+        }
+        byte[] metadata = ("StreamTitle='" + title + "';StreamUrl='';").getBytes(StandardCharsets.UTF_8);
+        int padded = (metadata.length + 15) / 16 * 16;
+        byte[] block = new byte[1 + padded];
+        block[0] = (byte) (padded / 16);
+        System.arraycopy(metadata, 0, block, 1, metadata.length);
+        return block;
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("Condition not met within 10s");
+            }
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError(e);
+            }
+        }
+    }
+}
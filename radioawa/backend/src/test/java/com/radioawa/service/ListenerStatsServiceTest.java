@@ -0,0 +1,126 @@
+package com.radioawa.service;
+
+import com.radioawa.dto.ListenerStatsResponse;
+import com.radioawa.entity.ListenerSketch;
+import com.radioawa.entity.ListenerSketchGranularity;
+import com.radioawa.entity.Station;
+import com.radioawa.repository.ListenerSketchRepository;
+import com.radioawa.repository.RatingRepository;
+import com.radioawa.repository.SongRepository;
+import com.radioawa.repository.StationRepository;
+import com.radioawa.util.HyperLogLog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.withinPercentage;
+
+/**
+ * Integration tests for ListenerStatsService
+ * Drives heartbeats, flushes and refreshes with explicit timestamps (the cron jobs are
+ * disabled) and plays a second instance by writing its sketch rows directly.
+ */
+@SpringBootTest(properties = {
+        "app.listeners.flush-cron=-",
+        "app.listeners.refresh-cron=-"
+})
+@ActiveProfiles("test")
+@DisplayName("Listener Stats Service Tests")
+class ListenerStatsServiceTest {
+
+    private static final long START = Instant.parse("2020-01-01T10:00:10Z").toEpochMilli();
+
+    @Autowired
+    private ListenerStatsService listenerStatsService;
+
+    @Autowired
+    private ListenerSketchRepository sketchRepository;
+
+    @Autowired
+    private StationCatalog stationCatalog;
+
+    @Autowired
+    private StationRepository stationRepository;
+
+    @Autowired
+    private SongRepository songRepository;
+
+    @Autowired
+    private RatingRepository ratingRepository;
+
+    @BeforeEach
+    void setUp() {
+        sketchRepository.deleteAll();
+        ratingRepository.deleteAll();
+        songRepository.deleteAll();
+        stationRepository.deleteAll();
+        stationRepository.save(createStation("ENGLISH"));
+        stationCatalog.onResync();
+    }
+
+    @Test
+    @DisplayName("Should merge this instance's sketches with another instance's into listener estimates")
+    void refreshEstimates_mergesInstances() {
+        for (int i = 0; i < 300; i++) {
+            // Two heartbeats per listener within the minute count once
+            assertThat(listenerStatsService.heartbeat("ENGLISH", "listener-" + i, START)).isTrue();
+            listenerStatsService.heartbeat("ENGLISH", "listener-" + i, START + 30_000);
+        }
+        listenerStatsService.flush(START + 60_000);
+
+        // Another instance heard 200 listeners, 100 of them also heard here
+        HyperLogLog other = new HyperLogLog(10);
+        for (int i = 200; i < 400; i++) {
+            other.add("listener-" + i);
+        }
+        saveOtherInstance(ListenerSketchGranularity.MINUTE, LocalDateTime.of(2020, 1, 1, 10, 0), other);
+        saveOtherInstance(ListenerSketchGranularity.HOUR, LocalDateTime.of(2020, 1, 1, 10, 0), other);
+        saveOtherInstance(ListenerSketchGranularity.DAY, LocalDateTime.of(2020, 1, 1, 0, 0), other);
+
+        listenerStatsService.refreshEstimates(START + 85_000);
+
+        ListenerStatsResponse stats = listenerStatsService.findByStation("ENGLISH").orElseThrow();
+        assertThat((double) stats.getCurrentListeners()).isCloseTo(400, withinPercentage(5));
+        assertThat((double) stats.getUniqueListenersThisHour()).isCloseTo(400, withinPercentage(5));
+        assertThat((double) stats.getUniqueListenersToday()).isCloseTo(400, withinPercentage(5));
+        assertThat((double) listenerStatsService.uniqueListenersBetween("ENGLISH",
+                LocalDate.of(2019, 12, 31), LocalDate.of(2020, 1, 1))).isCloseTo(400, withinPercentage(5));
+    }
+
+    @Test
+    @DisplayName("Should ignore heartbeats for unknown stations")
+    void heartbeat_unknownStation() {
+        assertThat(listenerStatsService.heartbeat("NOPE", "listener-1", START)).isFalse();
+    }
+
+    // Helper methods
+
+    private void saveOtherInstance(ListenerSketchGranularity granularity, LocalDateTime bucketStart, HyperLogLog sketch) {
+        ListenerSketch row = new ListenerSketch();
+        row.setStationCode("ENGLISH");
+        row.setGranularity(granularity);
+        row.setBucketStart(bucketStart);
+        row.setInstanceId("other-instance");
+        row.setRegisters(sketch.toBytes());
+        sketchRepository.save(row);
+    }
+
+    private Station createStation(String code) {
+        Station station = new Station();
+        station.setCode(code);
+        station.setName("RadioAwa English");
+        station.setStreamUrl("https://example.com/live.m3u8");
+        station.setMetadataUrl("/api/metadata/english");
+        station.setIsActive(true);
+        station.setDisplayOrder(1);
+        return station;
+    }
+}
@@ -0,0 +1,132 @@
+package com.radioawa.service;
+
+import com.radioawa.cache.CacheInvalidationBus;
+import com.radioawa.entity.Rating;
+import com.radioawa.entity.RatingType;
+import com.radioawa.entity.Song;
+import com.radioawa.entity.Station;
+import com.radioawa.repository.RatingRepository;
+import com.radioawa.repository.SongRepository;
+import com.radioawa.repository.StationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for RatedUserFilter against the H2 test database
+ * Votes "taken by another instance" are written straight to the tables, as that instance would.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("RatedUserFilter Tests")
+class RatedUserFilterTest {
+
+    @Autowired
+    private StationRepository stationRepository;
+
+    @Autowired
+    private SongRepository songRepository;
+
+    @Autowired
+    private RatingRepository ratingRepository;
+
+    @Autowired
+    private CacheInvalidationBus invalidationBus;
+
+    private RatedUserFilter filter;
+    private Song song;
+
+    @BeforeEach
+    void setUp() {
+        ratingRepository.deleteAll();
+        songRepository.deleteAll();
+        stationRepository.deleteAll();
+        Station station = stationRepository.save(createStation());
+        song = songRepository.save(createSong(station));
+        filter = new RatedUserFilter(ratingRepository, new SimpleMeterRegistry(), invalidationBus,
+                true, 0.01, 100_000, 10_000);
+    }
+
+    @Test
+    @DisplayName("Should find voters and rule out everyone else")
+    void findUserRating_knownVoters() {
+        remoteVote("user-1", RatingType.THUMBS_UP, false);
+        remoteVote("user-2", RatingType.THUMBS_DOWN, false);
+
+        assertThat(filter.findUserRating(song, 2, "user-1")).contains(RatingType.THUMBS_UP);
+        assertThat(filter.findUserRating(song, 2, "user-2")).contains(RatingType.THUMBS_DOWN);
+        assertThat(filter.findUserRating(song, 2, "user-3")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should rebuild for votes taken elsewhere when quarantined rows exist")
+    void findUserRating_remoteVotesWithQuarantinedRows_rebuilds() {
+        remoteVote("user-1", RatingType.THUMBS_UP, false);
+        remoteVote("flagged-1", RatingType.THUMBS_UP, true);
+        remoteVote("flagged-2", RatingType.THUMBS_UP, true);
+        // Builds the filter: one counted vote, two quarantined
+        assertThat(filter.findUserRating(song, 1, "listener")).isEmpty();
+        assertThat(filter.findUserRating(song, 1, "flagged-1")).contains(RatingType.THUMBS_UP);
+
+        // Another instance takes two counted votes, as many as there are quarantined rows
+        remoteVote("user-2", RatingType.THUMBS_DOWN, false);
+        remoteVote("user-3", RatingType.THUMBS_UP, false);
+
+        assertThat(filter.findUserRating(song, 3, "user-2")).contains(RatingType.THUMBS_DOWN);
+        assertThat(filter.findUserRating(song, 3, "user-3")).contains(RatingType.THUMBS_UP);
+    }
+
+    @Test
+    @DisplayName("Should not count a local quarantined vote against the counters")
+    void recordVote_quarantined_doesNotHideRemoteVote() {
+        remoteVote("user-1", RatingType.THUMBS_UP, false);
+        assertThat(filter.findUserRating(song, 1, "listener")).isEmpty();
+
+        // Local quarantined vote, then a counted vote on another instance
+        remoteVote("flagged-1", RatingType.THUMBS_UP, true);
+        filter.recordVote(song, "flagged-1", false);
+        remoteVote("user-2", RatingType.THUMBS_DOWN, false);
+
+        assertThat(filter.findUserRating(song, 2, "flagged-1")).contains(RatingType.THUMBS_UP);
+        assertThat(filter.findUserRating(song, 2, "user-2")).contains(RatingType.THUMBS_DOWN);
+    }
+
+    // Helper methods
+
+    private void remoteVote(String userId, RatingType ratingType, boolean quarantined) {
+        Rating rating = new Rating();
+        rating.setSong(song);
+        rating.setUserId(userId);
+        rating.setIpAddress("192.0.2.1");
+        rating.setRatingType(ratingType);
+        rating.setQuarantined(quarantined ? true : null);
+        ratingRepository.save(rating);
+    }
+
+    private Station createStation() {
+        Station station = new Station();
+        station.setCode("ENGLISH");
+        station.setName("RadioAwa English");
+        station.setStreamUrl("https://example.com/english.m3u8");
+        station.setMetadataUrl("/api/metadata/english");
+        station.setIsActive(true);
+        station.setDisplayOrder(1);
+        return station;
+    }
+
+    private Song createSong(Station station) {
+        Song song = new Song();
+        song.setStation(station);
+        song.setArtist("Test Artist");
+        song.setTitle("Test Song");
+        song.setThumbsUpCount(0);
+        song.setThumbsDownCount(0);
+        return song;
+    }
+}
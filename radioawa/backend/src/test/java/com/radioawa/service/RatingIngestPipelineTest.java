@@ -0,0 +1,180 @@
+package com.radioawa.service;
+
+import com.radioawa.dto.RatingRequest;
+import com.radioawa.dto.RatingResponse;
+import com.radioawa.entity.RatingType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.Tracer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for RatingIngestPipeline
+ * Uses a recording RatingService and a no-op transaction manager that counts commits
+ */
+@DisplayName("RatingIngestPipeline Tests")
+class RatingIngestPipelineTest {
+
+    private RatingIngestPipeline pipeline;
+
+    @AfterEach
+    void tearDown() {
+        if (pipeline != null) {
+            pipeline.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Should apply one song's votes in order and in fewer transactions than votes")
+    void batchedVotes_appliedInOrderAndBatched() throws Exception {
+        RecordingRatingService ratingService = new RecordingRatingService();
+        CountingTransactionManager transactionManager = new CountingTransactionManager();
+        pipeline = new RatingIngestPipeline(ratingService, transactionManager, new SimpleMeterRegistry(),
+                RatingIngestPipeline.MODE_BATCHED, 2, 50, 20, 1000, 50);
+        pipeline.start();
+
+        List<CompletableFuture<RatingResponse>> results = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            results.add(pipeline.submit(createRequest(i % 2 == 0 ? RatingType.THUMBS_UP : RatingType.THUMBS_DOWN)));
+        }
+        CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+
+        for (int i = 0; i < results.size(); i++) {
+            assertThat(results.get(i).get().getUserRating())
+                    .isEqualTo(i % 2 == 0 ? RatingType.THUMBS_UP : RatingType.THUMBS_DOWN);
+        }
+        assertThat(ratingService.applied).hasSize(200);
+        for (int i = 0; i < 200; i++) {
+            assertThat(ratingService.applied.get(i))
+                    .isEqualTo(i % 2 == 0 ? RatingType.THUMBS_UP : RatingType.THUMBS_DOWN);
+        }
+        assertThat(transactionManager.commits.get()).isLessThan(200);
+    }
+
+    @Test
+    @DisplayName("Should fail only the rejected vote and keep the rest of its batch")
+    void rejectedVote_doesNotFailBatch() throws Exception {
+        RecordingRatingService ratingService = new RecordingRatingService();
+        pipeline = new RatingIngestPipeline(ratingService, new CountingTransactionManager(), new SimpleMeterRegistry(),
+                RatingIngestPipeline.MODE_BATCHED, 1, 50, 20, 1000, 50);
+        pipeline.start();
+
+        RatingRequest rejected = createRequest(RatingType.THUMBS_UP);
+        rejected.setStationCode("UNKNOWN");
+        CompletableFuture<RatingResponse> first = pipeline.submit(createRequest(RatingType.THUMBS_UP));
+        CompletableFuture<RatingResponse> second = pipeline.submit(rejected);
+        CompletableFuture<RatingResponse> third = pipeline.submit(createRequest(RatingType.THUMBS_DOWN));
+
+        assertThat(first.get(5, TimeUnit.SECONDS).getUserRating()).isEqualTo(RatingType.THUMBS_UP);
+        assertThat(third.get(5, TimeUnit.SECONDS).getUserRating()).isEqualTo(RatingType.THUMBS_DOWN);
+        assertThatThrownBy(() -> second.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(RatingRejectedException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject votes when the writer queue is full")
+    void fullQueue_rejectsVotes() {
+        RecordingRatingService ratingService = new RecordingRatingService();
+        ratingService.blockUntil = new CountDownLatch(1);
+        pipeline = new RatingIngestPipeline(ratingService, new CountingTransactionManager(), new SimpleMeterRegistry(),
+                RatingIngestPipeline.MODE_BATCHED, 1, 1, 0, 2, 10);
+        pipeline.start();
+
+        try {
+            assertThatThrownBy(() -> {
+                for (int i = 0; i < 10; i++) {
+                    pipeline.submit(createRequest(RatingType.THUMBS_UP));
+                }
+            }).isInstanceOf(RejectedExecutionException.class);
+        } finally {
+            ratingService.blockUntil.countDown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should refuse a configuration without writers")
+    void constructor_noWriters_throws() {
+        assertThatThrownBy(() -> new RatingIngestPipeline(new RecordingRatingService(), new CountingTransactionManager(),
+                new SimpleMeterRegistry(), RatingIngestPipeline.MODE_BATCHED, 0, 50, 20, 1000, 50))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("writers=0");
+    }
+
+    // Helper methods
+
+    private RatingRequest createRequest(RatingType ratingType) {
+        RatingRequest request = new RatingRequest();
+        request.setStationCode("ENGLISH");
+        request.setArtist("Test Artist");
+        request.setTitle("Test Song");
+        request.setUserId("user-123");
+        request.setRatingType(ratingType);
+        return request;
+    }
+
+    /**
+     * Records the order votes are applied in; rejects unknown stations like the real service
+     */
+    static class RecordingRatingService extends RatingService {
+        final List<RatingType> applied = Collections.synchronizedList(new ArrayList<>());
+        volatile CountDownLatch blockUntil;
+
+        RecordingRatingService() {
+            super(null, null, null, null, null, null, null, null, new SimpleMeterRegistry(), Tracer.NOOP);
+        }
+
+        @Override
+        public RatingResponse applyRating(RatingRequest request, VoteFraudDetector.Inspection inspection) {
+            if (blockUntil != null) {
+                try {
+                    blockUntil.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (!"ENGLISH".equals(request.getStationCode())) {
+                throw new RatingRejectedException("Station not found: " + request.getStationCode());
+            }
+            applied.add(request.getRatingType());
+            return new RatingResponse(1L, request.getArtist(), request.getTitle(), 0, 0,
+                    request.getRatingType(), "Rating submitted successfully");
+        }
+    }
+
+    static class CountingTransactionManager implements PlatformTransactionManager {
+        final AtomicInteger commits = new AtomicInteger();
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+            commits.incrementAndGet();
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    }
+}
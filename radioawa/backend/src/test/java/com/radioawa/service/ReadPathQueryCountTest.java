@@ -0,0 +1,140 @@
+package com.radioawa.service;
+
+import com.radioawa.dto.RatingCountsResponse;
+import com.radioawa.dto.StationResponse;
+import com.radioawa.entity.Rating;
+import com.radioawa.entity.RatingType;
+import com.radioawa.entity.Song;
+import com.radioawa.entity.Station;
+import com.radioawa.repository.RatingRepository;
+import com.radioawa.repository.SongRepository;
+import com.radioawa.repository.StationRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Query-count tests for the read path
+ * Uses Hibernate statistics (enabled in the test profile) to pin down how many statements
+ * each read issues and that no entity is hydrated along the way.
+ */
+@SpringBootTest(properties = "app.ratings.counts.cache-ttl-ms=60000")
+@ActiveProfiles("test")
+@DisplayName("Read Path Query Count Tests")
+class ReadPathQueryCountTest {
+
+    @Autowired
+    private RatingService ratingService;
+
+    @Autowired
+    private StationCatalog stationCatalog;
+
+    @Autowired
+    private StationRepository stationRepository;
+
+    @Autowired
+    private SongRepository songRepository;
+
+    @Autowired
+    private RatingRepository ratingRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private String title;
+
+    @BeforeEach
+    void setUp() {
+        ratingRepository.deleteAll();
+        songRepository.deleteAll();
+        stationRepository.deleteAll();
+        stationCatalog.onResync();
+
+        Station station = stationRepository.save(createStation("ENGLISH"));
+        // Unique title per test so the counts cache never carries over between tests
+        title = "Song " + System.nanoTime();
+        Song song = songRepository.save(createSong(station, title, 1, 0));
+        ratingRepository.save(createRating(song, "voter", RatingType.THUMBS_UP));
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("Should load the station list with one query and no entities")
+    void stationCatalog_projectionOnly() {
+        statistics.clear();
+
+        List<StationResponse> stations = stationCatalog.findAll();
+
+        assertThat(stations).extracting(StationResponse::getCode).containsExactly("ENGLISH");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should answer counts with projections and share them across users")
+    void getRatingCounts_projectionOnly() {
+        stationCatalog.findAll();
+        statistics.clear();
+
+        // Counts projection + rated-user filter seed; the filter rules out this listener
+        RatingCountsResponse first = ratingService.getRatingCounts("ENGLISH", "Test Artist", title, "listener-1");
+        assertThat(first.getThumbsUpCount()).isEqualTo(1);
+        assertThat(first.getUserRating()).isNull();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+
+        // Cached counts, filter answers without a query
+        ratingService.getRatingCounts("ENGLISH", "Test Artist", title, "listener-2");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+
+        // A voter needs exactly one extra lookup for their own rating
+        RatingCountsResponse voter = ratingService.getRatingCounts("ENGLISH", "Test Artist", title, "voter");
+        assertThat(voter.getUserRating()).isEqualTo(RatingType.THUMBS_UP);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    // Helper methods
+
+    private Station createStation(String code) {
+        Station station = new Station();
+        station.setCode(code);
+        station.setName("RadioAwa English");
+        station.setStreamUrl("https://example.com/live.m3u8");
+        station.setMetadataUrl("/api/metadata/english");
+        station.setIsActive(true);
+        station.setDisplayOrder(1);
+        return station;
+    }
+
+    private Song createSong(Station station, String title, int thumbsUp, int thumbsDown) {
+        Song song = new Song();
+        song.setStation(station);
+        song.setArtist("Test Artist");
+        song.setTitle(title);
+        song.setThumbsUpCount(thumbsUp);
+        song.setThumbsDownCount(thumbsDown);
+        return song;
+    }
+
+    private Rating createRating(Song song, String userId, RatingType ratingType) {
+        Rating rating = new Rating();
+        rating.setSong(song);
+        rating.setUserId(userId);
+        rating.setIpAddress("10.0.0.1");
+        rating.setRatingType(ratingType);
+        return rating;
+    }
+}
@@ -0,0 +1,163 @@
+package com.radioawa.service;
+
+import com.radioawa.dto.SongRecommendation;
+import com.radioawa.entity.Rating;
+import com.radioawa.entity.RatingType;
+import com.radioawa.entity.Song;
+import com.radioawa.entity.Station;
+import com.radioawa.repository.RatingRepository;
+import com.radioawa.repository.SongRepository;
+import com.radioawa.repository.StationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for RecommendationService against the H2 test database
+ */
+@SpringBootTest(properties = "app.recommendations.refresh-interval-ms=50")
+@ActiveProfiles("test")
+@DisplayName("RecommendationService Tests")
+class RecommendationServiceTest {
+
+    @Autowired
+    private RecommendationService recommendationService;
+
+    @Autowired
+    private StationRepository stationRepository;
+
+    @Autowired
+    private SongRepository songRepository;
+
+    @Autowired
+    private RatingRepository ratingRepository;
+
+    private Station english;
+    private Station hindi;
+    private Song halo;
+    private Song hymn;
+    private Song lights;
+    private Song tumHiHo;
+
+    @BeforeEach
+    void setUp() {
+        ratingRepository.deleteAll();
+        songRepository.deleteAll();
+        stationRepository.deleteAll();
+
+        english = stationRepository.save(createStation("ENGLISH", 1));
+        hindi = stationRepository.save(createStation("HINDI", 2));
+        halo = songRepository.save(createSong(english, "Beyoncé", "Halo"));
+        hymn = songRepository.save(createSong(english, "Coldplay", "Hymn for the Weekend"));
+        lights = songRepository.save(createSong(english, "The Weeknd", "Blinding Lights"));
+        tumHiHo = songRepository.save(createSong(hindi, "Arijit Singh", "Tum Hi Ho"));
+
+        // Listeners who like Halo also like Hymn for the Weekend and Tum Hi Ho, and dislike Blinding Lights
+        for (String userId : List.of("fan-1", "fan-2", "fan-3")) {
+            ratingRepository.save(createRating(halo, userId, RatingType.THUMBS_UP));
+            ratingRepository.save(createRating(hymn, userId, RatingType.THUMBS_UP));
+            ratingRepository.save(createRating(tumHiHo, userId, RatingType.THUMBS_UP));
+            ratingRepository.save(createRating(lights, userId, RatingType.THUMBS_DOWN));
+        }
+        ratingRepository.save(createRating(halo, "listener", RatingType.THUMBS_UP));
+
+        rebuildAndAwait();
+    }
+
+    @Test
+    @DisplayName("Should recommend co-voted songs the listener has not voted on, best first")
+    void recommend_similarUnratedSongs() {
+        List<SongRecommendation> results = recommendationService.recommend("listener", null, 10);
+
+        assertThat(results).extracting(SongRecommendation::getTitle)
+                .containsExactlyInAnyOrder("Hymn for the Weekend", "Tum Hi Ho");
+        assertThat(results).extracting(SongRecommendation::getScore).allMatch(score -> score > 0);
+    }
+
+    @Test
+    @DisplayName("Should restrict recommendations to one station")
+    void recommend_stationFilter() {
+        assertThat(recommendationService.recommend("listener", "HINDI", 10))
+                .extracting(SongRecommendation::getId)
+                .containsExactly(tumHiHo.getId());
+        assertThat(recommendationService.recommend("listener", "UNKNOWN", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should return nothing for listeners without votes")
+    void recommend_unknownListener() {
+        assertThat(recommendationService.recommend("newcomer", null, 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should apply committed votes without a rebuild")
+    void recordVote_updatesIncrementally() {
+        recommendationService.recordVote(hymn, "ENGLISH", "listener", RatingType.THUMBS_UP);
+
+        awaitTrue(() -> recommendationService.recommend("listener", null, 10).stream()
+                .noneMatch(result -> result.getId().equals(hymn.getId())));
+        assertThat(recommendationService.recommend("listener", null, 10))
+                .extracting(SongRecommendation::getId)
+                .containsExactly(tumHiHo.getId());
+    }
+
+    // Helper methods
+
+    private void rebuildAndAwait() {
+        recommendationService.onResync();
+        // Song ids are never reused, so this only passes once the rebuild has seen this test's rows
+        awaitTrue(() -> recommendationService.isReady() && recommendationService.recommend("listener", null, 10)
+                .stream().anyMatch(result -> result.getId().equals(hymn.getId())));
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("Condition not met within 10s");
+            }
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError(e);
+            }
+        }
+    }
+
+    private Station createStation(String code, int displayOrder) {
+        Station station = new Station();
+        station.setCode(code);
+        station.setName("RadioAwa " + code);
+        station.setStreamUrl("https://example.com/live.m3u8");
+        station.setMetadataUrl("/api/metadata/" + code.toLowerCase());
+        station.setIsActive(true);
+        station.setDisplayOrder(displayOrder);
+        return station;
+    }
+
+    private Song createSong(Station station, String artist, String title) {
+        Song song = new Song();
+        song.setStation(station);
+        song.setArtist(artist);
+        song.setTitle(title);
+        return song;
+    }
+
+    private Rating createRating(Song song, String userId, RatingType ratingType) {
+        Rating rating = new Rating();
+        rating.setSong(song);
+        rating.setUserId(userId);
+        rating.setIpAddress("10.0.0.1");
+        rating.setRatingType(ratingType);
+        return rating;
+    }
+}
@@ -0,0 +1,150 @@
+package com.radioawa.service;
+
+import com.radioawa.dto.SongPageResponse;
+import com.radioawa.dto.SongSummaryResponse;
+import com.radioawa.entity.Song;
+import com.radioawa.entity.Station;
+import com.radioawa.repository.RatingRepository;
+import com.radioawa.repository.SongRepository;
+import com.radioawa.repository.StationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Integration tests for SongCatalogService against the H2 test database
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("SongCatalogService Tests")
+class SongCatalogServiceTest {
+
+    private static final int SONG_COUNT = 25;
+
+    @Autowired
+    private SongCatalogService songCatalogService;
+
+    @Autowired
+    private StationRepository stationRepository;
+
+    @Autowired
+    private SongRepository songRepository;
+
+    @Autowired
+    private RatingRepository ratingRepository;
+
+    @Autowired
+    private StationCatalog stationCatalog;
+
+    @BeforeEach
+    void setUp() {
+        ratingRepository.deleteAll();
+        songRepository.deleteAll();
+        stationRepository.deleteAll();
+        stationCatalog.onResync();
+
+        Station station = stationRepository.save(createStation("ENGLISH"));
+        for (int i = 0; i < SONG_COUNT; i++) {
+            // Scores repeat so the id tie-breaker is exercised
+            songRepository.save(createSong(station, "Song " + i, i % 4, i % 3));
+        }
+    }
+
+    @Test
+    @DisplayName("Should page through every song by score without gaps or duplicates")
+    void findPage_byScore_walksWholeCatalog() {
+        List<SongSummaryResponse> songs = readAllPages(SongSort.SCORE, 10);
+
+        assertThat(songs).hasSize(SONG_COUNT);
+        assertThat(songs).extracting(SongSummaryResponse::getId).doesNotHaveDuplicates();
+        assertThat(songs).isSortedAccordingTo(
+                Comparator.comparing(SongSummaryResponse::getNetScore)
+                        .thenComparing(SongSummaryResponse::getId)
+                        .reversed());
+    }
+
+    @Test
+    @DisplayName("Should page through every song by recency without gaps or duplicates")
+    void findPage_byRecency_walksWholeCatalog() {
+        List<SongSummaryResponse> songs = readAllPages(SongSort.RECENT, 7);
+
+        assertThat(songs).hasSize(SONG_COUNT);
+        assertThat(songs).extracting(SongSummaryResponse::getId).doesNotHaveDuplicates();
+        assertThat(songs).isSortedAccordingTo(
+                Comparator.comparing(SongSummaryResponse::getCreatedAt)
+                        .thenComparing(SongSummaryResponse::getId)
+                        .reversed());
+    }
+
+    @Test
+    @DisplayName("Should stream songs in the same order as the pages")
+    void stream_matchesPagedOrder() {
+        List<SongSummaryResponse> streamed = new ArrayList<>();
+
+        boolean found = songCatalogService.stream("ENGLISH", SongSort.SCORE, null, streamed::add);
+
+        assertThat(found).isTrue();
+        assertThat(streamed).extracting(SongSummaryResponse::getId)
+                .containsExactlyElementsOf(readAllPages(SongSort.SCORE, 10).stream().map(SongSummaryResponse::getId).toList());
+    }
+
+    @Test
+    @DisplayName("Should reject a cursor issued for a different sort")
+    void findPage_cursorFromOtherSort_rejected() {
+        String cursor = songCatalogService.findPage("ENGLISH", SongSort.SCORE, null, 5).orElseThrow().getNextCursor();
+
+        assertThatThrownBy(() -> songCatalogService.findPage("ENGLISH", SongSort.RECENT, cursor, 5))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should return empty for an unknown station")
+    void findPage_unknownStation_empty() {
+        assertThat(songCatalogService.findPage("UNKNOWN", SongSort.SCORE, null, 10)).isEmpty();
+    }
+
+    // Helper methods
+
+    private List<SongSummaryResponse> readAllPages(SongSort sort, int limit) {
+        List<SongSummaryResponse> songs = new ArrayList<>();
+        String cursor = null;
+        do {
+            SongPageResponse page = songCatalogService.findPage("ENGLISH", sort, cursor, limit).orElseThrow();
+            assertThat(page.getSongs()).hasSizeLessThanOrEqualTo(limit);
+            songs.addAll(page.getSongs());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return songs;
+    }
+
+    private Station createStation(String code) {
+        Station station = new Station();
+        station.setCode(code);
+        station.setName("RadioAwa English");
+        station.setStreamUrl("https://example.com/live.m3u8");
+        station.setMetadataUrl("/api/metadata/english");
+        station.setIsActive(true);
+        station.setDisplayOrder(1);
+        return station;
+    }
+
+    private Song createSong(Station station, String title, int thumbsUp, int thumbsDown) {
+        Song song = new Song();
+        song.setStation(station);
+        song.setArtist("Test Artist");
+        song.setTitle(title);
+        song.setThumbsUpCount(thumbsUp);
+        song.setThumbsDownCount(thumbsDown);
+        return song;
+    }
+}
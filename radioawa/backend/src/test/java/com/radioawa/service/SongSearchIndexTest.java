@@ -0,0 +1,154 @@
+package com.radioawa.service;
+
+import com.radioawa.cache.CacheTopic;
+import com.radioawa.dto.SongSearchResult;
+import com.radioawa.entity.Song;
+import com.radioawa.entity.Station;
+import com.radioawa.repository.RatingRepository;
+import com.radioawa.repository.SongRepository;
+import com.radioawa.repository.StationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for SongSearchIndex against the H2 test database
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("SongSearchIndex Tests")
+class SongSearchIndexTest {
+
+    @Autowired
+    private SongSearchIndex songSearchIndex;
+
+    @Autowired
+    private StationRepository stationRepository;
+
+    @Autowired
+    private SongRepository songRepository;
+
+    @Autowired
+    private RatingRepository ratingRepository;
+
+    private Station english;
+    private Station hindi;
+
+    @BeforeEach
+    void setUp() {
+        ratingRepository.deleteAll();
+        songRepository.deleteAll();
+        stationRepository.deleteAll();
+
+        english = stationRepository.save(createStation("ENGLISH", 1));
+        hindi = stationRepository.save(createStation("HINDI", 2));
+        Song halo = songRepository.save(createSong(english, "Beyoncé", "Halo"));
+        songRepository.save(createSong(english, "Coldplay", "Hymn for the Weekend"));
+        songRepository.save(createSong(english, "The Weeknd", "Blinding Lights"));
+        songRepository.save(createSong(hindi, "Arijit Singh", "Tum Hi Ho"));
+
+        rebuildAndAwait(halo.getId());
+    }
+
+    @Test
+    @DisplayName("Should match word prefixes in any order, ignoring case and accents")
+    void search_prefixesAnyOrder() {
+        assertThat(titles(songSearchIndex.search("HAL beyon", null, 10))).containsExactly("Halo");
+        assertThat(titles(songSearchIndex.search("tum arij", null, 10))).containsExactly("Tum Hi Ho");
+    }
+
+    @Test
+    @DisplayName("Should rank whole-word matches above longer words")
+    void search_exactWordFirst() {
+        assertThat(titles(songSearchIndex.search("weeknd", null, 10))).containsExactly("Blinding Lights");
+        assertThat(titles(songSearchIndex.search("week", null, 10)))
+                .containsExactlyInAnyOrder("Hymn for the Weekend", "Blinding Lights");
+    }
+
+    @Test
+    @DisplayName("Should restrict results to one station")
+    void search_stationFilter() {
+        assertThat(songSearchIndex.search("h", "HINDI", 10))
+                .extracting(SongSearchResult::getStationCode)
+                .containsOnly("HINDI");
+        assertThat(songSearchIndex.search("halo", "HINDI", 10)).isEmpty();
+        assertThat(songSearchIndex.search("halo", "UNKNOWN", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should index a created song without a rebuild")
+    void onInvalidate_addsNewSong() {
+        Song created = songRepository.save(createSong(hindi, "Shreya Ghoshal", "Teri Ore"));
+
+        songSearchIndex.onInvalidate(CacheTopic.SONG, String.valueOf(created.getId()));
+        songSearchIndex.onInvalidate(CacheTopic.SONG, String.valueOf(created.getId()));
+        awaitTrue(() -> songSearchIndex.size() == 5);
+
+        assertThat(songSearchIndex.search("shreya ter", "HINDI", 10))
+                .extracting(SongSearchResult::getId)
+                .containsExactly(created.getId());
+    }
+
+    @Test
+    @DisplayName("Should tokenize on punctuation and keep non-Latin combining marks")
+    void tokenize_normalizes() {
+        assertThat(SongSearchIndex.tokenize("AC/DC - Back in Black")).containsExactly("ac", "back", "black", "dc", "in");
+        assertThat(SongSearchIndex.tokenize("Café Del Mar")).containsExactly("cafe", "del", "mar");
+        assertThat(SongSearchIndex.tokenize("तुम ही हो")).containsExactly("तुम", "ही", "हो");
+    }
+
+    // Helper methods
+
+    private void rebuildAndAwait(Long latestSongId) {
+        songSearchIndex.onResync();
+        // Ids are never reused, so this only passes once the rebuild has seen this test's rows
+        awaitTrue(() -> songSearchIndex.isReady() && songSearchIndex.search("halo", null, 10).stream()
+                .anyMatch(result -> result.getId().equals(latestSongId)));
+    }
+
+    private static List<String> titles(List<SongSearchResult> results) {
+        return results.stream().map(SongSearchResult::getTitle).toList();
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("Condition not met within 10s");
+            }
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError(e);
+            }
+        }
+    }
+
+    private Station createStation(String code, int displayOrder) {
+        Station station = new Station();
+        station.setCode(code);
+        station.setName("RadioAwa " + code);
+        station.setStreamUrl("https://example.com/live.m3u8");
+        station.setMetadataUrl("/api/metadata/" + code.toLowerCase());
+        station.setIsActive(true);
+        station.setDisplayOrder(displayOrder);
+        return station;
+    }
+
+    private Song createSong(Station station, String artist, String title) {
+        Song song = new Song();
+        song.setStation(station);
+        song.setArtist(artist);
+        song.setTitle(title);
+        return song;
+    }
+}
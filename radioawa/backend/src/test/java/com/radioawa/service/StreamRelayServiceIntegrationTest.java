@@ -0,0 +1,251 @@
+package com.radioawa.service;
+
+import com.radioawa.entity.Station;
+import com.radioawa.repository.RatingRepository;
+import com.radioawa.repository.SongRepository;
+import com.radioawa.repository.StationRepository;
+import com.radioawa.service.StreamRelayService.RelayedResource;
+import com.radioawa.service.StreamRelayService.UpstreamException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Integration tests for StreamRelayService
+ * Runs the relay against a local fake HLS origin (JDK HttpServer) that counts requests
+ * and can be switched into failure mode.
+ */
+@SpringBootTest(properties = {
+        "app.stream.relay.enabled=true",
+        "app.stream.relay.playlist-ttl-ms=0"
+})
+@ActiveProfiles("test")
+@DisplayName("Stream Relay Integration Tests")
+class StreamRelayServiceIntegrationTest {
+
+    private static final String PLAYLIST = """
+            #EXTM3U
+            #EXT-X-VERSION:3
+            #EXT-X-TARGETDURATION:6
+            #EXT-X-MEDIA-SEQUENCE:1
+            #EXT-X-KEY:METHOD=AES-128,URI="keys/k1.key"
+            #EXTINF:6.0,
+            seg1.ts
+            #EXTINF:6.0,
+            https://cdn.other.example/seg2.ts
+            """;
+
+    private static HttpServer origin;
+    private static final AtomicInteger playlistRequests = new AtomicInteger();
+    private static final AtomicInteger segmentRequests = new AtomicInteger();
+    private static final AtomicBoolean failing = new AtomicBoolean();
+
+    @Autowired
+    private StreamRelayService streamRelayService;
+
+    @Autowired
+    private StationCatalog stationCatalog;
+
+    @Autowired
+    private StationRepository stationRepository;
+
+    @Autowired
+    private SongRepository songRepository;
+
+    @Autowired
+    private RatingRepository ratingRepository;
+
+    @BeforeAll
+    static void startOrigin() throws IOException {
+        origin = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        origin.setExecutor(Executors.newFixedThreadPool(8));
+        origin.createContext("/hls/live.m3u8", exchange -> {
+            playlistRequests.incrementAndGet();
+            respond(exchange, failing.get() ? 500 : 200, PLAYLIST.getBytes(StandardCharsets.UTF_8));
+        });
+        origin.createContext("/hls/seg1.ts", exchange -> {
+            segmentRequests.incrementAndGet();
+            sleep(200);
+            respond(exchange, 200, new byte[188 * 100]);
+        });
+        origin.createContext("/hls/seg3.ts", exchange -> {
+            segmentRequests.incrementAndGet();
+            respond(exchange, 200, new byte[188 * 10]);
+        });
+        origin.start();
+    }
+
+    @AfterAll
+    static void stopOrigin() {
+        origin.stop(0);
+    }
+
+    @BeforeEach
+    void setUp() {
+        ratingRepository.deleteAll();
+        songRepository.deleteAll();
+        stationRepository.deleteAll();
+        stationRepository.save(createStation("ENGLISH",
+                "http://127.0.0.1:" + origin.getAddress().getPort() + "/hls/live.m3u8"));
+        stationCatalog.onResync();
+
+        playlistRequests.set(0);
+        segmentRequests.set(0);
+        failing.set(false);
+    }
+
+    @Test
+    @DisplayName("Should expose the relay URL on HLS stations")
+    void stationCatalog_relayUrl() {
+        assertThat(stationCatalog.findByCode("ENGLISH").orElseThrow().getRelayUrl())
+                .isEqualTo("/api/stations/ENGLISH/hls/live.m3u8");
+    }
+
+    @Test
+    @DisplayName("Should rewrite same-origin playlist URIs to the relay and leave others alone")
+    void fetch_rewritesPlaylist() {
+        RelayedResource playlist = streamRelayService.fetch("ENGLISH", "/live.m3u8", null).orElseThrow();
+
+        String body = new String(playlist.body(), StandardCharsets.UTF_8);
+        assertThat(playlist.playlist()).isTrue();
+        assertThat(playlist.contentType()).isEqualTo(StreamRelayService.PLAYLIST_CONTENT_TYPE);
+        assertThat(body).contains("URI=\"/api/stations/ENGLISH/hls/keys/k1.key\"");
+        assertThat(body).contains("\n/api/stations/ENGLISH/hls/seg1.ts\n");
+        assertThat(body).contains("\nhttps://cdn.other.example/seg2.ts\n");
+        assertThat(body).contains("#EXT-X-MEDIA-SEQUENCE:1");
+    }
+
+    @Test
+    @DisplayName("Should fetch a segment once for concurrent listeners and serve the same bytes")
+    void fetch_collapsesConcurrentSegmentMisses() throws Exception {
+        int listeners = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(listeners);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<RelayedResource>> results = new ArrayList<>();
+            for (int i = 0; i < listeners; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return streamRelayService.fetch("ENGLISH", "/seg1.ts", null).orElseThrow();
+                }));
+            }
+            start.countDown();
+
+            byte[] first = results.get(0).get(10, TimeUnit.SECONDS).body();
+            for (Future<RelayedResource> result : results) {
+                RelayedResource segment = result.get(10, TimeUnit.SECONDS);
+                assertThat(segment.body()).isSameAs(first);
+                assertThat(segment.contentType()).isEqualTo("video/mp2t");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(segmentRequests.get()).isEqualTo(1);
+        assertThat(streamRelayService.fetch("ENGLISH", "/seg1.ts", null)).isPresent();
+        assertThat(segmentRequests.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should key caches on the path and drop query parameters that are not forwarded")
+    void fetch_ignoresClientQueryStrings() {
+        // A segment no other test fetches, since the relay's segment cache outlives each test
+        streamRelayService.fetch("ENGLISH", "/seg3.ts", "cachebust=1");
+        streamRelayService.fetch("ENGLISH", "/seg3.ts", "cachebust=2");
+        streamRelayService.fetch("ENGLISH", "/seg3.ts", null);
+
+        assertThat(segmentRequests.get()).isEqualTo(1);
+        assertThat(StreamRelayService.filterQuery("b=2&token=abc&a=1", Set.of("token", "a"))).isEqualTo("a=1&token=abc");
+        assertThat(StreamRelayService.filterQuery("cachebust=1", Set.of("token"))).isNull();
+    }
+
+    @Test
+    @DisplayName("Should serve the last good playlist while the origin fails")
+    void fetch_servesStalePlaylistOnOriginFailure() {
+        byte[] good = streamRelayService.fetch("ENGLISH", "/live.m3u8", null).orElseThrow().body();
+
+        failing.set(true);
+        RelayedResource stale = streamRelayService.fetch("ENGLISH", "/live.m3u8", null).orElseThrow();
+
+        assertThat(stale.body()).isEqualTo(good);
+        assertThat(playlistRequests.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should report origin errors when nothing is cached")
+    void fetch_originMissing() {
+        assertThatThrownBy(() -> streamRelayService.fetch("ENGLISH", "/missing.ts", null))
+                .isInstanceOf(UpstreamException.class)
+                .extracting(e -> ((UpstreamException) e).getStatus())
+                .isEqualTo(404);
+    }
+
+    @Test
+    @DisplayName("Should reject paths that leave the stream directory")
+    void fetch_rejectsPathTraversal() {
+        assertThatThrownBy(() -> streamRelayService.fetch("ENGLISH", "/../secret.m3u8", null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> streamRelayService.fetch("ENGLISH", "/http://evil.example/x.ts", null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(playlistRequests.get()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should return empty for unknown stations")
+    void fetch_unknownStation() {
+        assertThat(streamRelayService.fetch("NOPE", "/live.m3u8", null)).isEmpty();
+    }
+
+    // Helper methods
+
+    private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Station createStation(String code, String streamUrl) {
+        Station station = new Station();
+        station.setCode(code);
+        station.setName("RadioAwa English");
+        station.setStreamUrl(streamUrl);
+        station.setMetadataUrl("/api/metadata/english");
+        station.setIsActive(true);
+        station.setDisplayOrder(1);
+        return station;
+    }
+}
@@ -0,0 +1,172 @@
+package com.radioawa.service;
+
+import com.radioawa.dto.UserRatingPageResponse;
+import com.radioawa.dto.UserRatingResponse;
+import com.radioawa.entity.Rating;
+import com.radioawa.entity.RatingType;
+import com.radioawa.entity.Song;
+import com.radioawa.entity.Station;
+import com.radioawa.repository.RatingRepository;
+import com.radioawa.repository.SongRepository;
+import com.radioawa.repository.StationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Integration tests for UserRatingService against the H2 test database
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("UserRatingService Tests")
+class UserRatingServiceTest {
+
+    private static final int SONGS_PER_STATION = 12;
+    private static final String USER_ID = "user-123";
+
+    @Autowired
+    private UserRatingService userRatingService;
+
+    @Autowired
+    private StationRepository stationRepository;
+
+    @Autowired
+    private SongRepository songRepository;
+
+    @Autowired
+    private RatingRepository ratingRepository;
+
+    @Autowired
+    private StationCatalog stationCatalog;
+
+    @BeforeEach
+    void setUp() {
+        ratingRepository.deleteAll();
+        songRepository.deleteAll();
+        stationRepository.deleteAll();
+
+        Station english = stationRepository.save(createStation("ENGLISH", 1));
+        Station hindi = stationRepository.save(createStation("HINDI", 2));
+        stationCatalog.onResync();
+        for (int i = 0; i < SONGS_PER_STATION; i++) {
+            // Inserted back to back, so updated_at ties are likely and the id tie-breaker is exercised
+            Song englishSong = songRepository.save(createSong(english, "English Song " + i));
+            Song hindiSong = songRepository.save(createSong(hindi, "Hindi Song " + i));
+            RatingType type = i % 3 == 0 ? RatingType.THUMBS_DOWN : RatingType.THUMBS_UP;
+            ratingRepository.save(createRating(englishSong, USER_ID, type));
+            ratingRepository.save(createRating(hindiSong, USER_ID, type));
+            ratingRepository.save(createRating(englishSong, "someone-else", RatingType.THUMBS_UP));
+        }
+    }
+
+    @Test
+    @DisplayName("Should page through all of the user's ratings, newest first, without gaps or duplicates")
+    void findPage_walksWholeHistory() {
+        List<UserRatingResponse> ratings = readAllPages(null, null, 5);
+
+        assertThat(ratings).hasSize(2 * SONGS_PER_STATION);
+        assertThat(ratings).extracting(UserRatingResponse::getId).doesNotHaveDuplicates();
+        assertThat(ratings).isSortedAccordingTo(
+                Comparator.comparing(UserRatingResponse::getUpdatedAt)
+                        .thenComparing(UserRatingResponse::getId)
+                        .reversed());
+    }
+
+    @Test
+    @DisplayName("Should return song and station fields with each rating")
+    void findPage_includesSongAndStation() {
+        UserRatingResponse rating = userRatingService.findPage(USER_ID, "HINDI", null, null, 1)
+                .orElseThrow().getRatings().get(0);
+
+        assertThat(rating.getStationCode()).isEqualTo("HINDI");
+        assertThat(rating.getStationName()).isEqualTo("RadioAwa HINDI");
+        assertThat(rating.getTitle()).isEqualTo("Hindi Song " + (SONGS_PER_STATION - 1));
+        assertThat(rating.getArtist()).isEqualTo("Test Artist");
+        assertThat(rating.getSongId()).isNotNull();
+        assertThat(rating.getThumbsUpCount()).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("Should filter by station and rating type across pages")
+    void findPage_filters() {
+        List<UserRatingResponse> ratings = readAllPages("ENGLISH", RatingType.THUMBS_DOWN, 2);
+
+        assertThat(ratings).hasSize(SONGS_PER_STATION / 3);
+        assertThat(ratings).allSatisfy(rating -> {
+            assertThat(rating.getStationCode()).isEqualTo("ENGLISH");
+            assertThat(rating.getRatingType()).isEqualTo(RatingType.THUMBS_DOWN);
+        });
+    }
+
+    @Test
+    @DisplayName("Should return empty for an unknown station and an empty page for an unknown user")
+    void findPage_unknownStationOrUser() {
+        assertThat(userRatingService.findPage(USER_ID, "UNKNOWN", null, null, 10)).isEmpty();
+
+        UserRatingPageResponse page = userRatingService.findPage("nobody", null, null, null, 10).orElseThrow();
+        assertThat(page.getRatings()).isEmpty();
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should reject a malformed cursor")
+    void findPage_malformedCursor_rejected() {
+        assertThatThrownBy(() -> userRatingService.findPage(USER_ID, null, null, "not-a-cursor", 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // Helper methods
+
+    private List<UserRatingResponse> readAllPages(String stationCode, RatingType ratingType, int limit) {
+        List<UserRatingResponse> ratings = new ArrayList<>();
+        String cursor = null;
+        do {
+            UserRatingPageResponse page = userRatingService.findPage(USER_ID, stationCode, ratingType, cursor, limit)
+                    .orElseThrow();
+            assertThat(page.getRatings()).hasSizeLessThanOrEqualTo(limit);
+            ratings.addAll(page.getRatings());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return ratings;
+    }
+
+    private Station createStation(String code, int displayOrder) {
+        Station station = new Station();
+        station.setCode(code);
+        station.setName("RadioAwa " + code);
+        station.setStreamUrl("https://example.com/live.m3u8");
+        station.setMetadataUrl("/api/metadata/" + code.toLowerCase());
+        station.setIsActive(true);
+        station.setDisplayOrder(displayOrder);
+        return station;
+    }
+
+    private Song createSong(Station station, String title) {
+        Song song = new Song();
+        song.setStation(station);
+        song.setArtist("Test Artist");
+        song.setTitle(title);
+        song.setThumbsUpCount(0);
+        song.setThumbsDownCount(0);
+        return song;
+    }
+
+    private Rating createRating(Song song, String userId, RatingType ratingType) {
+        Rating rating = new Rating();
+        rating.setSong(song);
+        rating.setUserId(userId);
+        rating.setIpAddress("10.0.0.1");
+        rating.setRatingType(ratingType);
+        return rating;
+    }
+}
@@ -0,0 +1,186 @@
+package com.radioawa.service;
+
+import com.radioawa.dto.RatingRequest;
+import com.radioawa.entity.RatingType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for VoteFraudDetector
+ */
+@DisplayName("Vote Fraud Detector Tests")
+class VoteFraudDetectorTest {
+
+    private static final long NOW = 1_600_000_000_000L;
+    private static final long HOUR = 3_600_000L;
+
+    @Test
+    @DisplayName("Should quarantine votes once a subnet exceeds its threshold on one song")
+    void inspect_quarantinesSubnetBurst() {
+        VoteFraudDetector detector = detector("quarantine");
+        warmUpUsers(detector, 9);
+
+        for (int i = 1; i <= 8; i++) {
+            assertThat(detector.inspect(vote("user-" + i, "203.0.113." + i, "Song A"), NOW + i)).isNull();
+        }
+        assertThat(detector.inspect(vote("user-9", "203.0.113.9", "Song A"), NOW + 9))
+                .isEqualTo(VoteFraudDetector.Signal.SUBNET);
+        // Other songs and other subnets are unaffected
+        assertThat(detector.inspect(vote("user-9", "203.0.113.9", "Song B"), NOW + 10)).isNull();
+        assertThat(detector.inspect(vote("user-9", "198.51.100.9", "Song A"), NOW + 11)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should let the subnet vote again after the window has passed")
+    void inspect_windowExpires() {
+        VoteFraudDetector detector = detector("quarantine");
+        warmUpUsers(detector, 10);
+        for (int i = 1; i <= 9; i++) {
+            detector.inspect(vote("user-" + i, "203.0.113." + i, "Song A"), NOW);
+        }
+
+        assertThat(detector.inspect(vote("user-10", "203.0.113.10", "Song A"), NOW + 601_000)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should flag a wave of never-seen user ids once a full memory window has passed")
+    void inspect_quarantinesNewUsers() {
+        VoteFraudDetector detector = detector("quarantine");
+        // Up for longer than new-user-memory-hours
+        detector.inspect(vote("early", "192.168.0.1", "Warm-up"), NOW - 25 * HOUR);
+
+        VoteFraudDetector.Signal last = null;
+        for (int i = 1; i <= 21; i++) {
+            // Distinct /24s so only the new-user signal can trip
+            last = detector.inspect(vote("fresh-" + i, "10." + i + ".0.1", "Song A"), NOW + i);
+        }
+
+        assertThat(last).isEqualTo(VoteFraudDetector.Signal.NEW_USERS);
+    }
+
+    @Test
+    @DisplayName("Should not count new users before a full memory window, when every user looks new")
+    void inspect_ignoresNewUsersAfterStartup() {
+        VoteFraudDetector detector = detector("quarantine");
+
+        for (int i = 1; i <= 30; i++) {
+            assertThat(detector.inspect(vote("fresh-" + i, "10." + i + ".0.1", "Song A"), NOW + i)).isNull();
+        }
+    }
+
+    @Test
+    @DisplayName("Should flag new users right after startup once recent voters are seeded")
+    void inspect_seededUsers_countsNewUsersImmediately() {
+        VoteFraudDetector detector = detector("quarantine");
+        detector.seedSeenUsers(List.of("regular-1", "regular-2"), NOW);
+
+        for (int i = 1; i <= 20; i++) {
+            assertThat(detector.inspect(vote("fresh-" + i, "10." + i + ".0.1", "Song A"), NOW + i)).isNull();
+        }
+        // Seeded voters are not new
+        assertThat(detector.inspect(vote("regular-1", "10.100.0.1", "Song A"), NOW + 21)).isNull();
+        assertThat(detector.inspect(vote("fresh-21", "10.21.0.1", "Song A"), NOW + 22))
+                .isEqualTo(VoteFraudDetector.Signal.NEW_USERS);
+    }
+
+    @Test
+    @DisplayName("Should flag one User-Agent voting from rotating addresses")
+    void inspect_quarantinesUserAgentAcrossSubnets() {
+        VoteFraudDetector detector = detector("quarantine");
+        warmUpUsers(detector, 41);
+
+        for (int i = 1; i <= 40; i++) {
+            RatingRequest request = vote("user-" + i, "10." + i + ".0.1", "Song A");
+            request.setUserAgent("vote-bot/1.0");
+            assertThat(detector.inspect(request, NOW + i)).isNull();
+        }
+        RatingRequest request = vote("user-41", "10.41.0.1", "Song A");
+        request.setUserAgent("vote-bot/1.0");
+        assertThat(detector.inspect(request, NOW + 41)).isEqualTo(VoteFraudDetector.Signal.USER_AGENT);
+
+        // Other clients are unaffected
+        RatingRequest browser = vote("user-41", "10.42.0.1", "Song A");
+        browser.setUserAgent("Mozilla/5.0");
+        assertThat(detector.inspect(browser, NOW + 42)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should count a vote once however often it is inspected with the same inspection")
+    void inspect_sameInspectionCountsOnce() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        VoteFraudDetector detector = new VoteFraudDetector(null, registry, "flag", 600_000, 4, 2048, 8, 40, 20, 24, 10_000);
+        warmUpUsers(detector, 9);
+        for (int i = 1; i <= 8; i++) {
+            detector.inspect(vote("user-" + i, "203.0.113." + i, "Song A"));
+        }
+
+        // A failed batch replays its votes with the inspections from the first attempt
+        RatingRequest request = vote("user-9", "203.0.113.9", "Song A");
+        VoteFraudDetector.Inspection inspection = new VoteFraudDetector.Inspection();
+        detector.inspect(request, inspection);
+        detector.inspect(request, inspection);
+
+        assertThat(registry.counter("radioawa.ratings.fraud.flagged", "signal", "subnet").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should only count suspicious votes in flag mode")
+    void inspect_flagModeNeverQuarantines() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        VoteFraudDetector detector = new VoteFraudDetector(null, registry, "flag", 600_000, 4, 2048, 8, 40, 20, 24, 10_000);
+        warmUpUsers(detector, 12);
+
+        for (int i = 1; i <= 12; i++) {
+            assertThat(detector.inspect(vote("user-" + i, "203.0.113." + i, "Song A"), NOW + i)).isNull();
+        }
+        assertThat(registry.counter("radioawa.ratings.fraud.flagged", "signal", "subnet").count()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should reduce addresses to their /24 or /64 network")
+    void subnetOf_normalizesAddresses() {
+        assertThat(VoteFraudDetector.subnetOf("203.0.113.77")).isEqualTo("203.0.113.0/24");
+        assertThat(VoteFraudDetector.subnetOf("2001:db8:0:1::abcd")).isEqualTo("2001:db8:0:1::/64");
+        assertThat(VoteFraudDetector.subnetOf("2001:0DB8:0000:0001:1:2:3:4")).isEqualTo("2001:db8:0:1::/64");
+        assertThat(VoteFraudDetector.subnetOf("fe80::1%eth0")).isEqualTo("fe80:0:0:0::/64");
+        // IPv4 clients on a dual-stack socket keep their own /24
+        assertThat(VoteFraudDetector.subnetOf("::ffff:203.0.113.77")).isEqualTo("203.0.113.0/24");
+        assertThat(VoteFraudDetector.subnetOf("::FFFF:198.51.100.9")).isEqualTo("198.51.100.0/24");
+        assertThat(VoteFraudDetector.subnetOf("0:0:0:0:0:ffff:cb00:714d")).isEqualTo("203.0.113.0/24");
+        assertThat(VoteFraudDetector.subnetOf("64:ff9b::203.0.113.77")).isEqualTo("64:ff9b:0:0::/64");
+        assertThat(VoteFraudDetector.subnetOf("::ffff:1.2.3")).isNull();
+        assertThat(VoteFraudDetector.subnetOf("unknown")).isNull();
+        assertThat(VoteFraudDetector.subnetOf(null)).isNull();
+    }
+
+    // Helper methods
+
+    private VoteFraudDetector detector(String action) {
+        return new VoteFraudDetector(null, new SimpleMeterRegistry(), action, 600_000, 4, 2048, 8, 40, 20, 24, 10_000);
+    }
+
+    /**
+     * Make the users known (votes on an unrelated song from distinct networks) so the new-user signal stays quiet
+     */
+    private void warmUpUsers(VoteFraudDetector detector, int users) {
+        for (int i = 1; i <= users; i++) {
+            detector.inspect(vote("user-" + i, "172.16." + i + ".1", "Warm-up " + i), NOW - 1_000_000);
+        }
+    }
+
+    private RatingRequest vote(String userId, String ipAddress, String title) {
+        RatingRequest request = new RatingRequest();
+        request.setStationCode("ENGLISH");
+        request.setArtist("Artist");
+        request.setTitle(title);
+        request.setUserId(userId);
+        request.setRatingType(RatingType.THUMBS_UP);
+        request.setIpAddress(ipAddress);
+        return request;
+    }
+}
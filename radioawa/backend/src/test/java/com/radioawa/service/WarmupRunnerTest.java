@@ -0,0 +1,100 @@
+package com.radioawa.service;
+
+import com.radioawa.entity.Song;
+import com.radioawa.entity.Station;
+import com.radioawa.repository.RatingRepository;
+import com.radioawa.repository.SongRepository;
+import com.radioawa.repository.StationRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for WarmupRunner
+ * Runs the warm-up against a real web server and checks that the synthetic votes went
+ * through the rating service without leaving anything behind.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "app.warmup.enabled=true",
+        "app.warmup.iterations=5"
+})
+@ActiveProfiles("test")
+@DisplayName("Warm-up Runner Tests")
+class WarmupRunnerTest {
+
+    @Autowired
+    private WarmupRunner warmupRunner;
+
+    @Autowired
+    private StationCatalog stationCatalog;
+
+    @Autowired
+    private StationRepository stationRepository;
+
+    @Autowired
+    private SongRepository songRepository;
+
+    @Autowired
+    private RatingRepository ratingRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        ratingRepository.deleteAll();
+        songRepository.deleteAll();
+        stationRepository.deleteAll();
+        Station station = stationRepository.save(createStation("ENGLISH"));
+        songRepository.save(createSong(station));
+        stationCatalog.onResync();
+    }
+
+    @Test
+    @DisplayName("Should apply synthetic votes and roll every one of them back")
+    void run_rollsBackSyntheticVotes() {
+        double before = submittedVotes();
+
+        warmupRunner.run(null);
+
+        // 5 iterations x 4 votes went through applyRating
+        assertThat(submittedVotes() - before).isEqualTo(20);
+        assertThat(songRepository.findAll()).extracting(Song::getArtist).containsOnly("Test Artist");
+        assertThat(ratingRepository.count()).isZero();
+    }
+
+    // Helper methods
+
+    private double submittedVotes() {
+        Timer timer = meterRegistry.find("radioawa.ratings.submit").tag("station", "ENGLISH").tag("outcome", "success").timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private Station createStation(String code) {
+        Station station = new Station();
+        station.setCode(code);
+        station.setName("RadioAwa English");
+        station.setStreamUrl("https://example.com/live.m3u8");
+        station.setMetadataUrl("/api/metadata/english");
+        station.setIsActive(true);
+        station.setDisplayOrder(1);
+        return station;
+    }
+
+    private Song createSong(Station station) {
+        Song song = new Song();
+        song.setStation(station);
+        song.setArtist("Test Artist");
+        song.setTitle("Test Song");
+        song.setThumbsUpCount(3);
+        song.setThumbsDownCount(1);
+        return song;
+    }
+}
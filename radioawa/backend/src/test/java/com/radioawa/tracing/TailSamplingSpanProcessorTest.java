@@ -0,0 +1,233 @@
+package com.radioawa.tracing;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for TailSamplingSpanProcessor and JsonLinesSpanExporter
+ * Spans are given explicit timestamps so the slow/fast decision does not depend on the clock.
+ */
+@DisplayName("Tail Sampling Span Processor Tests")
+class TailSamplingSpanProcessorTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CollectingExporter exporter = new CollectingExporter();
+    private SdkTracerProvider tracerProvider;
+
+    @AfterEach
+    void tearDown() {
+        if (tracerProvider != null) {
+            tracerProvider.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Should drop a fast trace without errors")
+    void onEnd_dropsFastTrace() {
+        Tracer tracer = tracer(new TailSamplingSpanProcessor(exporter, 500, 0, 100, 100, meterRegistry));
+
+        endTrace(tracer, 20, null);
+        flush();
+
+        assertThat(exporter.spans).isEmpty();
+        assertThat(decisions("dropped")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should keep the whole trace when the root span is slow")
+    void onEnd_keepsSlowTrace() {
+        Tracer tracer = tracer(new TailSamplingSpanProcessor(exporter, 500, 0, 100, 100, meterRegistry));
+
+        endTrace(tracer, 800, null);
+        flush();
+
+        assertThat(exporter.spans).extracting(SpanData::getName).containsExactly("RatingRepository.save", "rating.apply");
+        assertThat(exporter.spans).extracting(SpanData::getTraceId).containsOnly(exporter.spans.get(0).getTraceId());
+        assertThat(decisions("slow")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should keep a fast trace when a child span failed")
+    void onEnd_keepsErrorTrace() {
+        Tracer tracer = tracer(new TailSamplingSpanProcessor(exporter, 500, 0, 100, 100, meterRegistry));
+
+        endTrace(tracer, 20, new IllegalStateException("connection refused"));
+        flush();
+
+        assertThat(exporter.spans).hasSize(2);
+        assertThat(exporter.spans.get(0).getStatus().getStatusCode()).isEqualTo(StatusCode.ERROR);
+        assertThat(decisions("error")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should keep every trace when the keep ratio is 1")
+    void onEnd_keepsSampledTrace() {
+        Tracer tracer = tracer(new TailSamplingSpanProcessor(exporter, 500, 1.0, 100, 100, meterRegistry));
+
+        endTrace(tracer, 20, null);
+        flush();
+
+        assertThat(exporter.spans).hasSize(2);
+        assertThat(decisions("sampled")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should evict the oldest unfinished trace when the pending map is full")
+    void onEnd_boundsPendingTraces() {
+        TailSamplingSpanProcessor processor = new TailSamplingSpanProcessor(exporter, 500, 1.0, 2, 100, meterRegistry);
+        Tracer tracer = tracer(processor);
+
+        // Children whose roots never end
+        for (int i = 0; i < 3; i++) {
+            Span root = tracer.spanBuilder("root").startSpan();
+            tracer.spanBuilder("child").setParent(Context.current().with(root)).startSpan().end();
+        }
+        flush();
+
+        assertThat(processor.pendingTraces()).isEqualTo(2);
+        assertThat(decisions("evicted")).isEqualTo(1);
+        assertThat(exporter.spans).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should drop and count kept traces when the export queue is full")
+    void onEnd_exportQueueFull_dropsTrace() throws Exception {
+        BlockingExporter blocking = new BlockingExporter();
+        Tracer tracer = tracer(new TailSamplingSpanProcessor(blocking, 500, 1.0, 100, 1, meterRegistry));
+
+        // The first trace occupies the export thread, the second the only queue slot
+        endTrace(tracer, 20, null);
+        assertThat(blocking.exporting.await(5, TimeUnit.SECONDS)).isTrue();
+        endTrace(tracer, 20, null);
+        endTrace(tracer, 20, null);
+
+        assertThat(meterRegistry.counter("radioawa.tracing.export.dropped").count()).isEqualTo(1);
+        assertThat(decisions("sampled")).isEqualTo(3);
+        blocking.release.countDown();
+        flush();
+        assertThat(blocking.spans).hasSize(4);
+    }
+
+    @Test
+    @DisplayName("Should write kept spans as OTLP-style JSON lines")
+    void export_writesJsonLines(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("traces/spans.jsonl");
+        JsonLinesSpanExporter fileExporter = new JsonLinesSpanExporter(file);
+        Tracer tracer = tracer(new TailSamplingSpanProcessor(fileExporter, 500, 0, 100, 100, meterRegistry));
+
+        endTrace(tracer, 20, new IllegalStateException("connection refused"));
+        flush();
+
+        List<String> lines = Files.readAllLines(file);
+        assertThat(lines).hasSize(2);
+        ObjectMapper objectMapper = new ObjectMapper();
+        JsonNode child = objectMapper.readTree(lines.get(0));
+        JsonNode root = objectMapper.readTree(lines.get(1));
+        assertThat(child.get("name").asText()).isEqualTo("RatingRepository.save");
+        assertThat(child.get("parentSpanId").asText()).isEqualTo(root.get("spanId").asText());
+        assertThat(child.get("status").get("code").asText()).isEqualTo("STATUS_CODE_ERROR");
+        assertThat(root.has("parentSpanId")).isFalse();
+        assertThat(root.get("attributes").get("station").asText()).isEqualTo("ENGLISH");
+        assertThat(Long.parseLong(root.get("endTimeUnixNano").asText()) - Long.parseLong(root.get("startTimeUnixNano").asText()))
+                .isEqualTo(TimeUnit.MILLISECONDS.toNanos(20));
+    }
+
+    // Helper methods
+
+    private Tracer tracer(TailSamplingSpanProcessor processor) {
+        tracerProvider = SdkTracerProvider.builder().addSpanProcessor(processor).build();
+        return tracerProvider.get("test");
+    }
+
+    private void flush() {
+        assertThat(tracerProvider.forceFlush().join(5, TimeUnit.SECONDS).isSuccess()).isTrue();
+    }
+
+    /**
+     * A root span lasting rootMillis with one repository child span, which fails with error if given
+     */
+    private void endTrace(Tracer tracer, long rootMillis, Exception error) {
+        long start = TimeUnit.MILLISECONDS.toNanos(1_000);
+        Span root = tracer.spanBuilder("rating.apply").setStartTimestamp(start, TimeUnit.NANOSECONDS).startSpan();
+        root.setAttribute("station", "ENGLISH");
+        Span child = tracer.spanBuilder("RatingRepository.save")
+                .setParent(Context.current().with(root))
+                .setStartTimestamp(start + 1_000, TimeUnit.NANOSECONDS)
+                .startSpan();
+        if (error != null) {
+            child.recordException(error);
+            child.setStatus(StatusCode.ERROR, error.getMessage());
+        }
+        child.end(start + 2_000, TimeUnit.NANOSECONDS);
+        root.end(start + TimeUnit.MILLISECONDS.toNanos(rootMillis), TimeUnit.NANOSECONDS);
+    }
+
+    private double decisions(String decision) {
+        return meterRegistry.counter("radioawa.tracing.traces", "decision", decision).count();
+    }
+
+    private static class CollectingExporter implements SpanExporter {
+
+        final List<SpanData> spans = new CopyOnWriteArrayList<>();
+
+        @Override
+        public CompletableResultCode export(Collection<SpanData> batch) {
+            spans.addAll(batch);
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode flush() {
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode shutdown() {
+            return CompletableResultCode.ofSuccess();
+        }
+    }
+
+    /**
+     * Holds the export thread in its first export until released
+     */
+    private static class BlockingExporter extends CollectingExporter {
+
+        private final CountDownLatch exporting = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public CompletableResultCode export(Collection<SpanData> batch) {
+            exporting.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return super.export(batch);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.radioawa.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for BloomFilter
+ */
+@DisplayName("BloomFilter Tests")
+class BloomFilterTest {
+
+    @Test
+    @DisplayName("Should never report an inserted value as absent")
+    void insertedValues_alwaysContained() {
+        BloomFilter filter = BloomFilter.create(1000, 0.01);
+        String[] userIds = new String[1000];
+        for (int i = 0; i < userIds.length; i++) {
+            userIds[i] = UUID.randomUUID().toString();
+            filter.put(userIds[i]);
+        }
+
+        for (String userId : userIds) {
+            assertThat(filter.mightContain(userId)).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep the false-positive rate near the configured probability")
+    void absentValues_falsePositiveRateWithinBounds() {
+        BloomFilter filter = BloomFilter.create(1000, 0.01);
+        for (int i = 0; i < 1000; i++) {
+            filter.put(UUID.randomUUID().toString());
+        }
+
+        int falsePositives = 0;
+        int probes = 100_000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+
+        assertThat((double) falsePositives / probes).isLessThan(0.03);
+    }
+}
@@ -0,0 +1,112 @@
+package com.radioawa.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for ConcurrencyLimiter
+ */
+@DisplayName("ConcurrencyLimiter Tests")
+class ConcurrencyLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(500);
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.SECONDS.toNanos(100));
+
+    @Test
+    @DisplayName("Should reject once the limit is reached and admit again after a release")
+    void tryAcquire_respectsLimit() {
+        ConcurrencyLimiter limiter = ConcurrencyLimiter.fixed(2);
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+
+        limiter.release(FAST, false);
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.getLimit()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should grow the limit while requests are fast and the limit is in use")
+    void release_fastAndBusy_increasesLimit() {
+        ConcurrencyLimiter limiter = createLimiter(4);
+
+        fill(limiter, 4);
+        limiter.release(FAST, false);
+
+        assertThat(limiter.getLimit()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should not grow the limit while mostly idle")
+    void release_fastButIdle_keepsLimit() {
+        ConcurrencyLimiter limiter = createLimiter(10);
+
+        fill(limiter, 1);
+        limiter.release(FAST, false);
+
+        assertThat(limiter.getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Should cut the limit once per window however many slow requests report it")
+    void release_slow_decreasesOncePerWindow() {
+        ConcurrencyLimiter limiter = createLimiter(10);
+
+        fill(limiter, 3);
+        limiter.release(SLOW, false);
+        limiter.release(SLOW, false);
+        limiter.release(FAST, true);
+        assertThat(limiter.getLimit()).isEqualTo(9);
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(250));
+        fill(limiter, 1);
+        limiter.release(SLOW, false);
+        assertThat(limiter.getLimit()).isEqualTo(8);
+    }
+
+    @Test
+    @DisplayName("Should keep the limit between min and max")
+    void release_staysWithinBounds() {
+        ConcurrencyLimiter limiter = createLimiter(10);
+
+        for (int i = 0; i < 100; i++) {
+            clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+            fill(limiter, 1);
+            limiter.release(SLOW, true);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(2);
+
+        for (int i = 0; i < 100; i++) {
+            fill(limiter, limiter.getLimit());
+            limiter.release(FAST, false);
+            drain(limiter, limiter.getInFlight());
+        }
+        assertThat(limiter.getLimit()).isEqualTo(20);
+    }
+
+    // Helper methods
+
+    private ConcurrencyLimiter createLimiter(int initialLimit) {
+        return new ConcurrencyLimiter(initialLimit, 2, 20, 250, 0.9, clock::get);
+    }
+
+    private static void fill(ConcurrencyLimiter limiter, int count) {
+        for (int i = 0; i < count; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+        }
+    }
+
+    private static void drain(ConcurrencyLimiter limiter, int count) {
+        for (int i = 0; i < count; i++) {
+            limiter.release(FAST, false);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.radioawa.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.withinPercentage;
+
+/**
+ * Unit tests for HyperLogLog
+ */
+@DisplayName("HyperLogLog Tests")
+class HyperLogLogTest {
+
+    @Test
+    @DisplayName("Should estimate distinct counts within a few standard errors")
+    void estimate_withinErrorBounds() {
+        for (int distinct : new int[]{10, 1_000, 100_000}) {
+            HyperLogLog sketch = new HyperLogLog(10);
+            for (int i = 0; i < distinct; i++) {
+                String userId = UUID.randomUUID().toString();
+                sketch.add(userId);
+                sketch.add(userId); // repeats must not count
+            }
+
+            // 3.25% standard error at precision 10; allow three of them
+            assertThat((double) sketch.estimate()).isCloseTo(distinct, withinPercentage(10));
+        }
+    }
+
+    @Test
+    @DisplayName("Should estimate the union when merging overlapping sketches")
+    void merge_estimatesUnion() {
+        HyperLogLog first = new HyperLogLog(12);
+        HyperLogLog second = new HyperLogLog(12);
+        for (int i = 0; i < 30_000; i++) {
+            first.add("user-" + i);
+        }
+        for (int i = 20_000; i < 50_000; i++) {
+            second.add("user-" + i);
+        }
+
+        first.merge(second);
+
+        assertThat((double) first.estimate()).isCloseTo(50_000, withinPercentage(5));
+        assertThatThrownBy(() -> first.merge(new HyperLogLog(10))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should round-trip through bytes")
+    void toBytes_roundTrip() {
+        HyperLogLog sketch = new HyperLogLog(10);
+        for (int i = 0; i < 5_000; i++) {
+            sketch.add("listener-" + i);
+        }
+
+        byte[] bytes = sketch.toBytes();
+        HyperLogLog restored = HyperLogLog.fromBytes(bytes);
+
+        assertThat(bytes).hasSize(1025);
+        assertThat(restored.estimate()).isEqualTo(sketch.estimate());
+        assertThat(new HyperLogLog(10).isEmpty()).isTrue();
+        assertThatThrownBy(() -> HyperLogLog.fromBytes(new byte[]{10, 1, 2})).isInstanceOf(IllegalArgumentException.class);
+    }
+}
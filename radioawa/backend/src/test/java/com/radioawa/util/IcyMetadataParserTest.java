@@ -0,0 +1,84 @@
+package com.radioawa.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for IcyMetadataParser
+ */
+@DisplayName("IcyMetadataParser Tests")
+class IcyMetadataParserTest {
+
+    private static final int META_INT = 64;
+
+    @Test
+    @DisplayName("Should report each title change once, skipping repeats and empty blocks")
+    void feed_reportsTitleChanges() {
+        byte[] stream = stream(
+                "StreamTitle='Arijit Singh - Tum Hi Ho';",
+                null,
+                "StreamTitle='Arijit Singh - Tum Hi Ho';",
+                "StreamTitle='Atif Aslam - Pehli Nazar Mein';StreamUrl='';");
+        List<String> titles = new ArrayList<>();
+
+        new IcyMetadataParser(META_INT, titles::add).feed(ByteBuffer.wrap(stream));
+
+        assertThat(titles).containsExactly("Arijit Singh - Tum Hi Ho", "Atif Aslam - Pehli Nazar Mein");
+    }
+
+    @Test
+    @DisplayName("Should parse identically when the stream arrives one byte at a time")
+    void feed_splitAnywhere() {
+        byte[] stream = stream("StreamTitle='Shreya Ghoshal - Teri Meri';", "StreamTitle='Rock 'n' Roll';StreamUrl='x';");
+        List<String> titles = new ArrayList<>();
+        IcyMetadataParser parser = new IcyMetadataParser(META_INT, titles::add);
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(1);
+        for (byte b : stream) {
+            buffer.clear();
+            buffer.put(b).flip();
+            parser.feed(buffer);
+        }
+
+        assertThat(titles).containsExactly("Shreya Ghoshal - Teri Meri", "Rock 'n' Roll");
+    }
+
+    @Test
+    @DisplayName("Should decode UTF-8 titles and fall back to Latin-1")
+    void feed_decodesCharsets() {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        appendBlock(stream, "StreamTitle='लता मंगेशकर - लग जा गले';".getBytes(StandardCharsets.UTF_8));
+        appendBlock(stream, "StreamTitle='Beyoncé - Halo';".getBytes(StandardCharsets.ISO_8859_1));
+        List<String> titles = new ArrayList<>();
+
+        new IcyMetadataParser(META_INT, titles::add).feed(ByteBuffer.wrap(stream.toByteArray()));
+
+        assertThat(titles).containsExactly("लता मंगेशकर - लग जा गले", "Beyoncé - Halo");
+    }
+
+    // Helper methods
+
+    private static byte[] stream(String... blocks) {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        for (String block : blocks) {
+            appendBlock(stream, block == null ? new byte[0] : block.getBytes(StandardCharsets.UTF_8));
+        }
+        return stream.toByteArray();
+    }
+
+    private static void appendBlock(ByteArrayOutputStream stream, byte[] metadata) {
+        stream.writeBytes(new byte[META_INT]);
+        int padded = (metadata.length + 15) / 16 * 16;
+        stream.write(padded / 16);
+        stream.writeBytes(metadata);
+        stream.writeBytes(new byte[padded - metadata.length]);
+    }
+}
@@ -0,0 +1,53 @@
+package com.radioawa.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for LogRateLimiter
+ */
+@DisplayName("LogRateLimiter Tests")
+class LogRateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.SECONDS.toNanos(100));
+
+    @Test
+    @DisplayName("Should let the permitted statements through and suppress the rest of the interval")
+    void tryAcquire_suppressesOverLimit() {
+        LogRateLimiter limiter = new LogRateLimiter(2, 10_000, clock::get);
+
+        assertThat(limiter.tryAcquire()).isZero();
+        assertThat(limiter.tryAcquire()).isZero();
+        assertThat(limiter.tryAcquire()).isEqualTo(-1);
+        assertThat(limiter.tryAcquire()).isEqualTo(-1);
+    }
+
+    @Test
+    @DisplayName("Should report the suppressed count with the first statement of the next interval")
+    void tryAcquire_reportsSuppressedCount() {
+        LogRateLimiter limiter = new LogRateLimiter(1, 10_000, clock::get);
+        limiter.tryAcquire();
+        for (int i = 0; i < 7; i++) {
+            limiter.tryAcquire();
+        }
+
+        advance(9_999);
+        assertThat(limiter.tryAcquire()).isEqualTo(-1);
+
+        advance(1);
+        assertThat(limiter.tryAcquire()).isEqualTo(8);
+        advance(10_000);
+        assertThat(limiter.tryAcquire()).isZero();
+    }
+
+    // Helper methods
+
+    private void advance(long millis) {
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+}
@@ -0,0 +1,145 @@
+package com.radioawa.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for SingleFlightCache
+ */
+@DisplayName("SingleFlightCache Tests")
+class SingleFlightCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    @DisplayName("Should run one load for concurrent callers of the same key")
+    void get_concurrentCallers_shareOneLoad() throws Exception {
+        SingleFlightCache<String, Integer> cache = new SingleFlightCache<>(500, 100);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            results.add(executor.submit(() -> cache.get("song", key -> {
+                loading.countDown();
+                await(release);
+                return loads.incrementAndGet();
+            })));
+            loading.await(5, TimeUnit.SECONDS);
+            for (int i = 0; i < 7; i++) {
+                results.add(executor.submit(() -> cache.get("song", key -> loads.incrementAndGet())));
+            }
+            awaitJoins(cache, 7);
+            release.countDown();
+
+            for (Future<Integer> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+            }
+            assertThat(loads.get()).isEqualTo(1);
+            assertThat(cache.joinCount()).isEqualTo(7);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should reuse a value until the TTL expires")
+    void get_afterTtl_loadsAgain() {
+        SingleFlightCache<String, Integer> cache = new SingleFlightCache<>(500, 100, clock::get);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertThat(cache.get("song", key -> loads.incrementAndGet())).isEqualTo(1);
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(499));
+        assertThat(cache.get("song", key -> loads.incrementAndGet())).isEqualTo(1);
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+        assertThat(cache.get("song", key -> loads.incrementAndGet())).isEqualTo(2);
+        assertThat(cache.hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not cache failures")
+    void get_loaderFails_nextCallLoadsAgain() {
+        SingleFlightCache<String, Integer> cache = new SingleFlightCache<>(500, 100, clock::get);
+
+        assertThatThrownBy(() -> cache.get("song", key -> {
+            throw new IllegalStateException("database down");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(cache.get("song", key -> 3)).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should load again after invalidate and sweep expired entries")
+    void invalidateAndSweep() {
+        SingleFlightCache<String, Integer> cache = new SingleFlightCache<>(500, 2, clock::get);
+        cache.get("a", key -> 1);
+        cache.invalidate("a");
+        assertThat(cache.get("a", key -> 2)).isEqualTo(2);
+
+        cache.get("b", key -> 1);
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        // Third entry pushes the cache over its cap: the two expired ones are swept
+        cache.get("c", key -> 1);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should answer waiters but not cache a load invalidated while in flight")
+    void invalidate_duringLoad_notCached() throws Exception {
+        SingleFlightCache<String, Integer> cache = new SingleFlightCache<>(500, 100);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            // Reads the pre-vote counts, then the vote commits and evicts before the load returns
+            Future<Integer> stale = executor.submit(() -> cache.get("song", key -> {
+                loading.countDown();
+                await(release);
+                return 1;
+            }));
+            loading.await(5, TimeUnit.SECONDS);
+            Future<Integer> waiter = executor.submit(() -> cache.get("song", key -> 99));
+            awaitJoins(cache, 1);
+            cache.invalidate("song");
+            release.countDown();
+
+            assertThat(stale.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+            assertThat(waiter.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+            assertThat(cache.get("song", key -> 2)).isEqualTo(2);
+            assertThat(cache.loadCount()).isEqualTo(2);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // Helper methods
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void awaitJoins(SingleFlightCache<?, ?> cache, long expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (cache.joinCount() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.radioawa.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for SlidingCountMinSketch
+ */
+@DisplayName("SlidingCountMinSketch Tests")
+class SlidingCountMinSketchTest {
+
+    private static final long WINDOW = 60_000;
+
+    @Test
+    @DisplayName("Should count a key within the window")
+    void addAndEstimate_countsWithinWindow() {
+        SlidingCountMinSketch sketch = new SlidingCountMinSketch(4, 1024, 6, WINDOW);
+        long key = Hashing.hash64("song|10.0.0.0/24");
+
+        for (int i = 1; i <= 5; i++) {
+            assertThat(sketch.addAndEstimate(key, 1_000L * i)).isEqualTo(i);
+        }
+        assertThat(sketch.estimate(key, 10_000)).isEqualTo(5);
+        assertThat(sketch.estimate(Hashing.hash64("other"), 10_000)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should forget counts once the window has moved past them")
+    void estimate_slidesWindow() {
+        SlidingCountMinSketch sketch = new SlidingCountMinSketch(4, 1024, 6, WINDOW);
+        long key = Hashing.hash64("song|10.0.0.0/24");
+
+        sketch.addAndEstimate(key, 0);
+        sketch.addAndEstimate(key, 0);
+        sketch.addAndEstimate(key, 30_000);
+
+        // First slice expires once the window is a full window past it
+        assertThat(sketch.estimate(key, 59_000)).isEqualTo(3);
+        assertThat(sketch.estimate(key, 61_000)).isEqualTo(1);
+        // A long idle gap clears everything
+        assertThat(sketch.estimate(key, 10 * WINDOW)).isZero();
+        assertThat(sketch.addAndEstimate(key, 10 * WINDOW)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should never undercount under heavy collisions")
+    void estimate_neverUndercounts() {
+        SlidingCountMinSketch sketch = new SlidingCountMinSketch(3, 64, 4, WINDOW);
+        Map<Long, Integer> exact = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 5_000; i++) {
+            long key = Hashing.hash64("key-" + random.nextInt(500));
+            sketch.addAndEstimate(key, 1_000);
+            exact.merge(key, 1, Integer::sum);
+        }
+
+        exact.forEach((key, count) -> assertThat(sketch.estimate(key, 1_000)).isGreaterThanOrEqualTo(count));
+    }
+
+    @Test
+    @DisplayName("Should reject invalid dimensions")
+    void constructor_rejectsInvalidDimensions() {
+        assertThatThrownBy(() -> new SlidingCountMinSketch(0, 1024, 6, WINDOW)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new SlidingCountMinSketch(4, 1024, 10, 5)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(new SlidingCountMinSketch(4, 2048, 10, WINDOW).memoryBytes()).isEqualTo(11L * 4 * 2048 * 4);
+    }
+}
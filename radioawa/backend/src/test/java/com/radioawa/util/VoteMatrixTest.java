@@ -0,0 +1,129 @@
+package com.radioawa.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Unit tests for VoteMatrix
+ */
+@DisplayName("VoteMatrix Tests")
+class VoteMatrixTest {
+
+    @Test
+    @DisplayName("Should score co-voted songs by cosine and drop songs the co-voters disagree on")
+    void computeNeighbors_cosineOfCoVotes() {
+        VoteMatrix matrix = new VoteMatrix();
+        int a = matrix.addItem();
+        int b = matrix.addItem();
+        int c = matrix.addItem();
+        vote(matrix, matrix.addUser(), new int[]{a, b}, new int[]{1, 1});
+        vote(matrix, matrix.addUser(), new int[]{a, b, c}, new int[]{1, 1, -1});
+        vote(matrix, matrix.addUser(), new int[]{a, c}, new int[]{1, 1});
+
+        VoteMatrix.Neighbors[] neighbors = computeAll(matrix, 5, 1);
+
+        // dot(a, b) = 2 over 3 and 2 voters; a and c split 1:1, b and c only disagree
+        assertThat(neighbors[a].items()).containsExactly(b);
+        assertThat(neighbors[a].scores()[0]).isCloseTo((float) (2 / Math.sqrt(6)), within(1e-6f));
+        assertThat(neighbors[b].items()).containsExactly(a);
+        assertThat(neighbors[c].size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should keep the k most similar songs with enough shared voters")
+    void computeNeighbors_topKAndMinCoVotes() {
+        VoteMatrix matrix = new VoteMatrix();
+        int seed = matrix.addItem();
+        int[] others = new int[5];
+        for (int j = 0; j < others.length; j++) {
+            others[j] = matrix.addItem();
+        }
+        // Song j is co-voted by the first 2 * (j + 1) users, so similarity grows with j
+        for (int u = 0; u < 10; u++) {
+            int user = matrix.addUser();
+            matrix.set(user, seed, 1);
+            for (int j = 0; j < others.length; j++) {
+                if (u < 2 * (j + 1)) {
+                    matrix.set(user, others[j], 1);
+                }
+            }
+        }
+
+        assertThat(computeAll(matrix, 2, 1)[seed].items()).containsExactly(others[4], others[3]);
+        assertThat(computeAll(matrix, 10, 3)[seed].items()).containsExactly(others[4], others[3], others[2], others[1]);
+    }
+
+    @Test
+    @DisplayName("Should report the previous vote and count each user-song pair once")
+    void set_replacesVote() {
+        VoteMatrix matrix = new VoteMatrix();
+        int user = matrix.addUser();
+        int first = matrix.addItem();
+        int second = matrix.addItem();
+
+        assertThat(matrix.set(user, second, 1)).isZero();
+        assertThat(matrix.set(user, first, -1)).isZero();
+        assertThat(matrix.set(user, second, 1)).isEqualTo(1);
+        assertThat(matrix.set(user, second, -1)).isEqualTo(1);
+
+        int[] items = new int[2];
+        byte[] values = new byte[2];
+        assertThat(matrix.copyRow(user, items, values)).isEqualTo(2);
+        assertThat(items).containsExactly(first, second);
+        assertThat(values).containsExactly(-1, -1);
+        assertThat(matrix.voteCount()).isEqualTo(2);
+        assertThat(matrix.itemVotes(second)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should compute the same neighbors for a subset as in the parallel full build")
+    void computeNeighbors_subsetMatchesFullBuild() {
+        VoteMatrix matrix = new VoteMatrix();
+        Random random = new Random(42);
+        for (int i = 0; i < 2000; i++) {
+            matrix.addItem();
+        }
+        for (int u = 0; u < 3000; u++) {
+            int user = matrix.addUser();
+            for (int v = 0; v < 20; v++) {
+                // Skewed towards low ordinals, like play counts
+                int item = (int) (matrix.itemCount() * Math.pow(random.nextDouble(), 2));
+                matrix.set(user, item, random.nextInt(4) == 0 ? -1 : 1);
+            }
+        }
+
+        VoteMatrix.Neighbors[] full = computeAll(matrix, 20, 2);
+        VoteMatrix.Neighbors[] subset = new VoteMatrix.Neighbors[matrix.itemCount()];
+        int[] items = {0, 7, 150, 1999};
+        matrix.computeNeighbors(items, subset, 20, 2, Integer.MAX_VALUE);
+
+        for (int item : items) {
+            assertThat(subset[item].items()).containsExactly(full[item].items());
+            assertThat(subset[item].scores()).containsExactly(full[item].scores());
+        }
+        assertThat(full[0].size()).isEqualTo(20);
+    }
+
+    // Helper methods
+
+    private static void vote(VoteMatrix matrix, int user, int[] items, int[] values) {
+        for (int i = 0; i < items.length; i++) {
+            matrix.set(user, items[i], values[i]);
+        }
+    }
+
+    private static VoteMatrix.Neighbors[] computeAll(VoteMatrix matrix, int k, int minCoVotes) {
+        VoteMatrix.Neighbors[] out = new VoteMatrix.Neighbors[matrix.itemCount()];
+        int[] items = new int[out.length];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = i;
+        }
+        matrix.computeNeighbors(items, out, k, minCoVotes, Integer.MAX_VALUE);
+        return out;
+    }
+}
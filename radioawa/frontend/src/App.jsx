@@ -1,28 +1,11 @@
-import { useState, useEffect } from 'react'
 import { StationProvider } from './contexts/StationContext'
 import RadioPlayer from './components/RadioPlayer'
 import StationSelector from './components/StationSelector'
 import EnvironmentBadge from './components/EnvironmentBadge'
+import BackendStatus from './components/BackendStatus'
 import './App.css'
 
 function App() {
-  const [backendHealth, setBackendHealth] = useState(null)
-  const [loading, setLoading] = useState(true)
-
-  useEffect(() => {
-    fetch('/api/health')
-      .then(res => res.json())
-      .then(data => {
-        setBackendHealth(data)
-        setLoading(false)
-      })
-      .catch(error => {
-        console.error('Backend health check failed:', error)
-        setBackendHealth({ status: 'DOWN', error: error.message })
-        setLoading(false)
-      })
-  }, [])
-
   return (
     <StationProvider>
       <EnvironmentBadge />
@@ -38,15 +21,7 @@ function App() {
         <main className="app-main">
           <RadioPlayer />
 
-          <div className="backend-status">
-            {loading ? (
-              <span className="status-text">Checking backend...</span>
-            ) : backendHealth?.status === 'UP' ? (
-              <span className="status-text status-up">Backend connected: {backendHealth.service}</span>
-            ) : (
-              <span className="status-text status-down">Backend unavailable</span>
-            )}
-          </div>
+          <BackendStatus />
         </main>
 
         <footer className="app-footer">
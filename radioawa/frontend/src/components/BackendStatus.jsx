@@ -0,0 +1,46 @@
+import { useState, useEffect } from 'react'
+import { useStation } from '../contexts/StationContext'
+
+function BackendStatus() {
+  const { loading: stationsLoading, takeBootstrap } = useStation()
+  const [backendHealth, setBackendHealth] = useState(null)
+  const [loading, setLoading] = useState(true)
+
+  useEffect(() => {
+    if (stationsLoading) return
+
+    // Health comes with the bootstrap response; only checked separately if that failed
+    const initial = takeBootstrap('health')
+    if (initial) {
+      setBackendHealth(initial)
+      setLoading(false)
+      return
+    }
+
+    fetch('/api/health')
+      .then(res => res.json())
+      .then(data => {
+        setBackendHealth(data)
+        setLoading(false)
+      })
+      .catch(error => {
+        console.error('Backend health check failed:', error)
+        setBackendHealth({ status: 'DOWN', error: error.message })
+        setLoading(false)
+      })
+  }, [stationsLoading, takeBootstrap])
+
+  return (
+    <div className="backend-status">
+      {loading ? (
+        <span className="status-text">Checking backend...</span>
+      ) : backendHealth?.status === 'UP' ? (
+        <span className="status-text status-up">Backend connected: {backendHealth.service}</span>
+      ) : (
+        <span className="status-text status-down">Backend unavailable</span>
+      )}
+    </div>
+  )
+}
+
+export default BackendStatus
@@ -1,14 +1,25 @@
 import { useState, useEffect } from 'react'
+import { useStation } from '../contexts/StationContext'
 import './EnvironmentBadge.css'
 
 function EnvironmentBadge() {
+  const { loading: stationsLoading, takeBootstrap } = useStation()
   const [envInfo, setEnvInfo] = useState(null)
   const [showDetails, setShowDetails] = useState(false)
   const [loading, setLoading] = useState(true)
 
   useEffect(() => {
+    if (stationsLoading) return
+
     const fetchEnvironmentInfo = async () => {
       try {
+        // Environment comes with the bootstrap response; only fetched separately if that failed
+        const initial = takeBootstrap('environment')
+        if (initial) {
+          setEnvInfo(initial)
+          return
+        }
+
         const response = await fetch('/api/environment')
         if (!response.ok) {
           throw new Error('Failed to fetch environment info')
@@ -25,7 +36,7 @@ function EnvironmentBadge() {
     }
 
     fetchEnvironmentInfo()
-  }, [])
+  }, [stationsLoading, takeBootstrap])
 
   if (loading || !envInfo) {
     return null
@@ -4,7 +4,7 @@ import SongRating from './SongRating'
 import './NowPlaying.css'
 
 function NowPlaying() {
-  const { currentStation } = useStation()
+  const { currentStation, takeBootstrap } = useStation()
   const [metadata, setMetadata] = useState(null)
   const [loading, setLoading] = useState(true)
   const [error, setError] = useState(null)
@@ -14,6 +14,30 @@ function NowPlaying() {
   const metadataUrl = currentStation?.metadataUrl
   const albumArtUrl = currentStation?.albumArtUrl
 
+  const applyMetadata = (data) => {
+    // Transform prev_* fields into queue array
+    const queue = []
+    for (let i = 1; i <= 5; i++) {
+      const artist = data[`prev_artist_${i}`]
+      const title = data[`prev_title_${i}`]
+      if (artist && title) {
+        queue.push({ artist, title })
+      }
+    }
+
+    // Add queue to metadata
+    const enrichedData = { ...data, queue }
+    setMetadata(enrichedData)
+    setError(null)
+
+    // Set album art URL from metadata or station config
+    // Priority: metadata.album_art > station.albumArtUrl > generic fallback
+    const artUrl = data.album_art || albumArtUrl || `https://dummyimage.com/300x300/FF6B35/ffffff.png?text=${encodeURIComponent(data.album || 'Music')}`
+    console.log('Setting artwork URL:', artUrl)
+    setArtworkUrl(artUrl)
+    setArtworkError(false)
+  }
+
   const fetchMetadata = async () => {
     if (!metadataUrl) return
 
@@ -22,29 +46,7 @@ function NowPlaying() {
       if (!response.ok) {
         throw new Error('Failed to fetch metadata')
       }
-      const data = await response.json()
-
-      // Transform prev_* fields into queue array
-      const queue = []
-      for (let i = 1; i <= 5; i++) {
-        const artist = data[`prev_artist_${i}`]
-        const title = data[`prev_title_${i}`]
-        if (artist && title) {
-          queue.push({ artist, title })
-        }
-      }
-
-      // Add queue to metadata
-      const enrichedData = { ...data, queue }
-      setMetadata(enrichedData)
-      setError(null)
-
-      // Set album art URL from metadata or station config
-      // Priority: metadata.album_art > station.albumArtUrl > generic fallback
-      const artUrl = data.album_art || albumArtUrl || `https://dummyimage.com/300x300/FF6B35/ffffff.png?text=${encodeURIComponent(data.album || 'Music')}`
-      console.log('Setting artwork URL:', artUrl)
-      setArtworkUrl(artUrl)
-      setArtworkError(false)
+      applyMetadata(await response.json())
     } catch (err) {
       console.error('Error fetching metadata:', err)
       setError('Unable to load track info')
@@ -63,8 +65,14 @@ function NowPlaying() {
 
     let intervalId = null
 
-    // Initial fetch
-    fetchMetadata()
+    // Initial metadata: from the bootstrap response when it covers this station, otherwise fetched
+    const initial = takeBootstrap('nowPlaying', currentStation?.code)
+    if (initial) {
+      applyMetadata(initial)
+      setLoading(false)
+    } else {
+      fetchMetadata()
+    }
 
     // Start polling
     const startPolling = () => {
@@ -1,10 +1,14 @@
 import { useState, useEffect, useRef } from 'react'
 import Hls from 'hls.js'
 import { useStation } from '../contexts/StationContext'
+import { sendListenerHeartbeat } from '../services/stationService'
+import { getUserId } from '../utils/userIdentity'
 import NowPlaying from './NowPlaying'
 import StationInfo from './StationInfo'
 import './RadioPlayer.css'
 
+const HEARTBEAT_INTERVAL_MS = 30000
+
 function RadioPlayer() {
   const { currentStation } = useStation()
   const audioRef = useRef(null)
@@ -14,7 +18,8 @@ function RadioPlayer() {
   const [status, setStatus] = useState('offline')
   const [error, setError] = useState('')
 
-  const streamUrl = currentStation?.streamUrl
+  // Prefer the backend relay when it is enabled so listeners share one origin fetch
+  const streamUrl = currentStation?.relayUrl || currentStation?.streamUrl
 
   useEffect(() => {
     const audio = audioRef.current
@@ -98,6 +103,17 @@ function RadioPlayer() {
     }
   }, [isPlaying, volume])
 
+  // Listener heartbeat every 30 seconds while playing
+  const stationCode = currentStation?.code
+  useEffect(() => {
+    if (!isPlaying || !stationCode) return
+
+    const userId = getUserId()
+    sendListenerHeartbeat(stationCode, userId)
+    const interval = setInterval(() => sendListenerHeartbeat(stationCode, userId), HEARTBEAT_INTERVAL_MS)
+    return () => clearInterval(interval)
+  }, [isPlaying, stationCode])
+
   const showError = (message) => {
     setError(message)
     setTimeout(() => setError(''), 5000)
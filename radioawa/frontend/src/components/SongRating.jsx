@@ -5,7 +5,7 @@ import { submitRating, getRatingCounts } from '../services/ratingService';
 import './SongRating.css';
 
 function SongRating({ artist, title, compact = false }) {
-  const { currentStation } = useStation();
+  const { currentStation, takeBootstrap } = useStation();
   const [userId] = useState(getUserId());
   const [ratings, setRatings] = useState({
     thumbsUpCount: 0,
@@ -21,7 +21,11 @@ function SongRating({ artist, title, compact = false }) {
 
     const fetchRatings = async () => {
       try {
-        const data = await getRatingCounts(artist, title, userId, currentStation.code);
+        // The bootstrap response already carries the counts for the song playing at load time
+        const initial = takeBootstrap('ratingCounts', currentStation.code);
+        const data = initial && initial.artist === artist && initial.title === title
+          ? initial
+          : await getRatingCounts(artist, title, userId, currentStation.code);
         setRatings({
           thumbsUpCount: data.thumbsUpCount || 0,
           thumbsDownCount: data.thumbsDownCount || 0,
@@ -37,7 +41,7 @@ function SongRating({ artist, title, compact = false }) {
     };
 
     fetchRatings();
-  }, [artist, title, userId, currentStation]);
+  }, [artist, title, userId, currentStation, takeBootstrap]);
 
   const handleRating = async (ratingType) => {
     if (submitting) return;
@@ -1,6 +1,8 @@
-import { createContext, useContext, useState, useEffect } from 'react';
+import { createContext, useContext, useState, useEffect, useRef, useCallback } from 'react';
 import { getLastStation, setLastStation } from '../utils/stationStorage';
+import { getUserId } from '../utils/userIdentity';
 import { fetchStations } from '../services/stationService';
+import { fetchBootstrap, partData } from '../services/bootstrapService';
 
 const StationContext = createContext(null);
 
@@ -8,10 +10,19 @@ export function StationProvider({ children }) {
   const [stations, setStations] = useState([]);
   const [currentStation, setCurrentStation] = useState(null);
   const [loading, setLoading] = useState(true);
+  const [bootstrap, setBootstrap] = useState(null);
+  const consumedParts = useRef(new Set());
 
   useEffect(() => {
-    // Fetch stations from API
-    fetchStations().then(data => {
+    // One request for the first paint; the stations endpoint is only used if bootstrap is unavailable
+    const loadStations = async () => {
+      const initial = await fetchBootstrap(getLastStation(), getUserId());
+      const bootstrapStations = partData(initial, 'stations');
+      setBootstrap(initial);
+      return bootstrapStations?.length ? bootstrapStations : fetchStations();
+    };
+
+    loadStations().then(data => {
       setStations(data);
 
       // Restore last selected station or default to first active
@@ -27,6 +38,18 @@ export function StationProvider({ children }) {
     });
   }, []);
 
+  // Bootstrap data for a part (and station, for station-specific parts), handed out once:
+  // later refreshes go to the part's own endpoint
+  const takeBootstrap = useCallback((name, stationCode) => {
+    if (!bootstrap || consumedParts.current.has(name)) return null;
+    if (stationCode !== undefined && bootstrap.stationCode !== stationCode) return null;
+    const data = partData(bootstrap, name);
+    if (data) {
+      consumedParts.current.add(name);
+    }
+    return data;
+  }, [bootstrap]);
+
   const changeStation = (stationCode) => {
     const station = stations.find(s => s.code === stationCode);
     if (station) {
@@ -40,7 +63,8 @@ export function StationProvider({ children }) {
       stations,
       currentStation,
       changeStation,
-      loading
+      loading,
+      takeBootstrap
     }}>
       {children}
     </StationContext.Provider>
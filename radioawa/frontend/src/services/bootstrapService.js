@@ -0,0 +1,34 @@
+const API_BASE = '/api/bootstrap';
+
+/**
+ * Fetch everything needed for the first paint in one request.
+ * Returns null when the endpoint is unavailable, so callers fall back to the individual endpoints.
+ */
+export async function fetchBootstrap(stationCode, userId) {
+  const params = new URLSearchParams();
+  if (stationCode) {
+    params.append('stationCode', stationCode);
+  }
+  if (userId) {
+    params.append('userId', userId);
+  }
+
+  try {
+    const response = await fetch(`${API_BASE}?${params.toString()}`);
+    if (!response.ok) {
+      throw new Error(`Bootstrap failed: ${response.statusText}`);
+    }
+    return await response.json();
+  } catch (error) {
+    console.error('Error fetching bootstrap:', error);
+    return null;
+  }
+}
+
+/**
+ * Data of a bootstrap part, or null if the part is missing or did not succeed
+ */
+export function partData(bootstrap, name) {
+  const part = bootstrap?.[name];
+  return part?.status === 'ok' ? part.data : null;
+}
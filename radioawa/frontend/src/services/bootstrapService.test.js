@@ -0,0 +1,61 @@
+import { describe, it, expect, vi, beforeEach } from 'vitest'
+import * as bootstrapService from './bootstrapService'
+
+// Mock global fetch
+global.fetch = vi.fn()
+
+describe('bootstrapService', () => {
+  beforeEach(() => {
+    vi.clearAllMocks()
+    global.fetch.mockClear()
+  })
+
+  describe('fetchBootstrap', () => {
+    it('should request the last station and user', async () => {
+      const mockResponse = { stationCode: 'HINDI', stations: { status: 'ok', data: [] } }
+
+      global.fetch.mockResolvedValue({
+        ok: true,
+        json: async () => mockResponse,
+      })
+
+      const result = await bootstrapService.fetchBootstrap('HINDI', 'user-123')
+
+      expect(global.fetch).toHaveBeenCalledWith('/api/bootstrap?stationCode=HINDI&userId=user-123')
+      expect(result).toEqual(mockResponse)
+    })
+
+    it('should return null when the endpoint fails', async () => {
+      global.fetch.mockResolvedValue({
+        ok: false,
+        statusText: 'Not Found',
+      })
+
+      const result = await bootstrapService.fetchBootstrap('ENGLISH', 'user-123')
+
+      expect(result).toBeNull()
+    })
+
+    it('should return null on network errors', async () => {
+      global.fetch.mockRejectedValue(new Error('Network error'))
+
+      const result = await bootstrapService.fetchBootstrap('ENGLISH', 'user-123')
+
+      expect(result).toBeNull()
+    })
+  })
+
+  describe('partData', () => {
+    it('should return data only for parts that succeeded', () => {
+      const bootstrap = {
+        health: { status: 'ok', data: { status: 'UP' } },
+        ratingCounts: { status: 'timeout', data: null, error: 'Not ready in time' },
+      }
+
+      expect(bootstrapService.partData(bootstrap, 'health')).toEqual({ status: 'UP' })
+      expect(bootstrapService.partData(bootstrap, 'ratingCounts')).toBeNull()
+      expect(bootstrapService.partData(bootstrap, 'nowPlaying')).toBeNull()
+      expect(bootstrapService.partData(null, 'health')).toBeNull()
+    })
+  })
+})
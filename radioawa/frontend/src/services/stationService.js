@@ -29,3 +29,21 @@ export async function getStationByCode(code) {
   }
   return await response.json();
 }
+
+/**
+ * Tell the backend this listener is tuned in (feeds listener estimates; failures are ignored)
+ */
+export async function sendListenerHeartbeat(code, userId) {
+  try {
+    await fetch(`${API_BASE}/${code}/heartbeat`, {
+      method: 'POST',
+      headers: {
+        'Content-Type': 'application/json',
+      },
+      body: JSON.stringify({ userId }),
+      keepalive: true,
+    });
+  } catch (error) {
+    console.debug('Listener heartbeat failed:', error);
+  }
+}